@@ -2,6 +2,7 @@ package org.lukos.controller;
 
 import org.lukos.controller.response.ErrorResponse;
 import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.exceptions.chatsystem.ChatBusyException;
 import org.lukos.model.exceptions.instances.GameAlreadyStartedException;
 import org.lukos.model.exceptions.instances.NoSuchInstanceException;
 import org.lukos.model.exceptions.instances.NotEnoughPlayersException;
@@ -183,6 +184,18 @@ public class ControllerAdvisor extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(new ErrorResponse(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * {@code ExceptionHandler} for the {@link ChatBusyException}, telling the client to send the message again later.
+     *
+     * @param e       the exception
+     * @param request the request that caused the {@code ChatBusyException}
+     * @return a {@code ResponseEntity} with the {@code ErrorResponse} in accordance with the {@code ChatBusyException}.
+     */
+    @ExceptionHandler(ChatBusyException.class)
+    public ResponseEntity<ErrorResponse> handleChatBusyException(ChatBusyException e, WebRequest request) {
+        return new ResponseEntity<>(new ErrorResponse(e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(StackOverflowError.class)
     public ResponseEntity<ErrorResponse> handleStackOverFlowException(StackOverflowError e, WebRequest request) {
         return new ResponseEntity<>(new ErrorResponse(e.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -1,10 +1,13 @@
 package org.lukos.controller;
 
 import org.lukos.model.instances.InstanceRunner;
+import org.lukos.model.instances.util.RoleDivisionTables;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 
+import java.sql.SQLException;
+
 /**
  * The class that runs the Spring application.
  *
@@ -18,8 +21,10 @@ public class ControllerApplication {
      *
      * @param args the arguments of the main function
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws SQLException {
+        // Load and validate the role divisions before accepting requests
+        RoleDivisionTables.getInstance();
         SpringApplication.run(ControllerApplication.class, args);
-        InstanceRunner.getInstanceRunner();
+        InstanceRunner.getInstanceRunner().start();
     }
 }
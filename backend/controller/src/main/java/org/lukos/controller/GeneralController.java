@@ -6,15 +6,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.lukos.controller.request.*;
 import org.lukos.controller.response.*;
+import org.lukos.controller.websocket.ClusterEventForwarder;
 import org.lukos.controller.websocket.GameEndEvent;
+import org.lukos.controller.websocket.GameStateMessage;
 import org.lukos.controller.websocket.InstanceAction;
 import org.lukos.controller.websocket.InstanceNotification;
-import org.lukos.database.ActionMessagesDB;
-import org.lukos.database.InstanceDB;
+import org.lukos.controller.websocket.LobbyMessage;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.PlayerSnapshot;
 import org.lukos.database.UserDB;
 import org.lukos.model.actionsystem.ActionEnc;
+import org.lukos.model.actionsystem.ActionInbox;
 import org.lukos.model.actionsystem.actions.ActionMessageDT;
 import org.lukos.model.chatsystem.*;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
+import org.lukos.model.events.LobbyEvent;
 import org.lukos.model.events.NextPhaseEvent;
 import org.lukos.model.events.WinEvent;
 import org.lukos.model.exceptions.GameException;
@@ -28,13 +35,18 @@ import org.lukos.model.exceptions.user.UserException;
 import org.lukos.model.instances.DayPhase;
 import org.lukos.model.instances.IInstance;
 import org.lukos.model.instances.InstanceManager;
+import org.lukos.model.instances.InstanceRunner;
 import org.lukos.model.instances.InstanceState;
+import org.lukos.model.instances.LobbyDirectory;
+import org.lukos.model.instances.LobbyEntry;
+import org.lukos.model.instances.LobbyPage;
+import org.lukos.model.listeners.GameStateListener;
+import org.lukos.model.listeners.LobbyListener;
 import org.lukos.model.listeners.NextPhaseListener;
 import org.lukos.model.listeners.WinEventListener;
 import org.lukos.model.location.Bridge;
 import org.lukos.model.location.House;
 import org.lukos.model.location.Location;
-import org.lukos.model.rolesystem.DoubleRole;
 import org.lukos.model.rolesystem.Group;
 import org.lukos.model.rolesystem.Purpose;
 import org.lukos.model.rolesystem.RoleActionInformation;
@@ -48,7 +60,6 @@ import org.lukos.model.voting.Vote;
 import org.lukos.model.voting.VoteRetriever;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.servlet.error.ErrorController;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -58,14 +69,27 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.http.HttpServletRequest;
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import static org.lukos.controller.util.InstanceHelper.getInstance;
 import static org.lukos.controller.util.InstanceHelper.getInstanceWithPermissionsCheck;
@@ -75,16 +99,24 @@ import static org.lukos.controller.util.UserHelper.*;
 
 @RestController
 @RequestMapping()
-public class GeneralController implements ErrorController, NextPhaseListener, WinEventListener {
+public class GeneralController
+        implements ErrorController, NextPhaseListener, WinEventListener, GameStateListener, LobbyListener {
+
+    /** Time in seconds that a request to move a game to the next phase waits for the phase change. */
+    private static final long PHASE_TIMEOUT_SECONDS = 10;
 
     private final SimpMessagingTemplate template;
     private final ChatManager chatManager = ChatManager.getInstance();
+    /** Sequence number of the last change to the state of a game that has been pushed to each player. */
+    private final Map<PlayerIdentifier, AtomicLong> stateSequences = new ConcurrentHashMap<>();
 
     @Autowired
     public GeneralController(SimpMessagingTemplate template) {
         this.template = template;
         NextPhaseEvent.getNextPhaseEvent().subscribe(this);
         WinEvent.getWinEvent().subscribe(this);
+        GameStateEvent.getGameStateEvent().subscribe(this);
+        LobbyEvent.getLobbyEvent().subscribe(this);
     }
 
     // <===== API Methods GameChatController =====>
@@ -106,20 +138,9 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
             throw new NoSuchPlayerException("Player is not in this game, and cannot submit chats.");
         }
 
-        if (!InstanceManager.getInstanceManager().getInstance(gid).isStarted()) {
-            throw new NoPermissionException("Chats aren't accessible when the game hasn't started yet");
-        }
-
-        int uid = player.getPlayerIdentifier().userID();
-
-        boolean writeAccess = Chat.checkPermission(cid, uid, gid);
-        if (!writeAccess) {
-            throw new NoPermissionException("The player is not allowed to write messages to this chat");
-        }
-
-        Chat.submitChat(uid, cid, message, time);
-
-        ChatMessage text = new ChatMessage(cid, new MessageEntry(auth.getUid(), time, message));
+        // Checks the permissions from memory, the message is stored in the background
+        ChatMessage text =
+                ChatPipeline.getInstance().submit(gid, cid, player.getPlayerIdentifier().userID(), message, time);
         this.template.convertAndSend("/topic/" + gid + "/chat/" + cid, text);
         return new ResponseEntity<>(new SuccessResponse("Chat was sent successfully"), HttpStatus.OK);
     }
@@ -146,7 +167,35 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
             throw new NoPermissionException("Chats aren't accessible when the game hasn't started yet");
         }
 
-        List<ChatMessage> messages = Chat.getMessages(cid, time, amount);
+        List<ChatMessage> messages = ChatPipeline.getInstance().getMessages(cid, time, amount);
+
+        return new ResponseEntity<>(new MessageResponse(messages), HttpStatus.OK);
+    }
+
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "processing error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))})
+    @GetMapping("/api/game/{game_id}/chat/{chat_id}/messages")
+    public ResponseEntity<MessageResponse> getMessagePage(@PathVariable("game_id") int gid,
+                                                          @PathVariable("chat_id") int cid,
+                                                          @RequestParam(required = false) Integer before,
+                                                          @RequestParam(required = false) Integer after,
+                                                          @RequestParam(defaultValue = "50") int limit,
+                                                          @AuthenticationPrincipal OAuth2User principal)
+            throws Exception {
+        User auth = getUser(principal);
+        Player player = auth.getPlayer();
+
+        if (!playerInGame(gid, player)) {
+            throw new NoSuchPlayerException("Player is not in this game, thus cannot access chat history.");
+        }
+
+        if (!InstanceManager.getInstanceManager().getInstance(gid).isStarted()) {
+            throw new NoPermissionException("Chats aren't accessible when the game hasn't started yet");
+        }
+
+        // Pages are keyed on message IDs, the messages are returned oldest first
+        List<ChatMessage> messages = ChatPipeline.getInstance().getPage(cid, before, after, limit);
 
         return new ResponseEntity<>(new MessageResponse(messages), HttpStatus.OK);
     }
@@ -226,14 +275,45 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
     // <===== API Methods GamePhaseController =====>
 
+    /**
+     * Moves a game to the next phase. The phase change runs after the commands of the game that have already been
+     * submitted, and the request waits for it for at most {@value #PHASE_TIMEOUT_SECONDS} seconds. A phase change that
+     * fails is reported like any other error. If it takes longer, {@code 202 Accepted} is returned and the phase
+     * change continues in the background, in which case its outcome is only pushed over the WebSocket.
+     *
+     * @param gameId    the ID of the game
+     * @param principal the game master of the game
+     * @return whether the game moved to the next phase, or is still moving to it
+     */
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "202", description = "phase change still in progress"),
             @ApiResponse(responseCode = "500", description = "processing error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))})
     @GetMapping("/api/game/{game_id}/phase/next")
     private ResponseEntity<SuccessResponse> nextPhase(@PathVariable("game_id") String gameId,
                                                       @AuthenticationPrincipal OAuth2User principal)
             throws GameException, SQLException, ReflectiveOperationException, MessagingException {
-        getInstanceWithPermissionsCheck(Integer.parseInt(gameId), principal).nextPhase();
+        int iid = getInstanceWithPermissionsCheck(Integer.parseInt(gameId), principal).getIid();
+        try {
+            InstanceRunner.getInstanceRunner().advance(iid).get(PHASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return new ResponseEntity<>(new SuccessResponse("Phase change in progress"), HttpStatus.ACCEPTED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the phase change", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GameException gameException) {
+                throw gameException;
+            } else if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            } else if (cause instanceof ReflectiveOperationException reflectiveException) {
+                throw reflectiveException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("The phase change failed", cause);
+        }
         return new ResponseEntity<>(new SuccessResponse(""), HttpStatus.OK);
     }
 
@@ -256,37 +336,27 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
         // 2. the status (alive/deceased/not_started) of that player (not_started is to
         // indicate that the player is
         // in a game that has not started yet)
-        List<Player> playerList = instance.getPlayerList();
+        List<PlayerSnapshot> playerList = PlayerDB.getPlayerSnapshots(instance.getIid());
 
         if (instance.isStarted()) {
-            Player thisPlayer = getUser(principal).getPlayer();
-            Group thisPlayerGroup = getGroupPlayer(thisPlayer);
-            if (thisPlayerGroup == Group.TOWNSPEOPLE) {
-                for (Player player : playerList) {
-                    PlayerStatus status = getPlayerStatus(player);
-                    players.add(new PlayerEntry(new SimplePlayerEntry(player.getPlayerIdentifier().userID(), status,
-                            UserManager.getInstance().getUser(player.getPlayerIdentifier().userID()).getUsername()),
-                            Group.TOWNSPEOPLE));
-                }
-            } else {
-                for (Player player : playerList) {
-                    PlayerStatus status = getPlayerStatus(player);
-                    Group group = getGroupPlayer(player);
-                    if (thisPlayerGroup == group) {
-                        players.add(new PlayerEntry(new SimplePlayerEntry(player.getPlayerIdentifier().userID(), status,
-                                UserManager.getInstance().getUser(player.getPlayerIdentifier().userID()).getUsername()),
-                                thisPlayerGroup));
-                    } else {
-                        players.add(new PlayerEntry(new SimplePlayerEntry(player.getPlayerIdentifier().userID(), status,
-                                UserManager.getInstance().getUser(player.getPlayerIdentifier().userID()).getUsername()),
-                                Group.TOWNSPEOPLE));
-                    }
+            int thisUserID = getUser(principal).getUid();
+            Group thisPlayerGroup = null;
+            for (PlayerSnapshot player : playerList) {
+                if (player.playerIdentifier().userID() == thisUserID) {
+                    thisPlayerGroup = player.getGroup();
                 }
             }
+            for (PlayerSnapshot player : playerList) {
+                // Townspeople do not know the group of anyone, others only know who is in their own group
+                Group group = thisPlayerGroup != Group.TOWNSPEOPLE && thisPlayerGroup == player.getGroup() ?
+                        thisPlayerGroup : Group.TOWNSPEOPLE;
+                players.add(new PlayerEntry(new SimplePlayerEntry(player.playerIdentifier().userID(),
+                        getPlayerStatus(player), player.username()), group));
+            }
         } else {
-            for (Player player : playerList) {
-                players.add(new PlayerEntry(new SimplePlayerEntry(player.getPlayerIdentifier().userID(), null,
-                        UserManager.getInstance().getUser(player.getPlayerIdentifier().userID()).getUsername()), null));
+            for (PlayerSnapshot player : playerList) {
+                players.add(new PlayerEntry(
+                        new SimplePlayerEntry(player.playerIdentifier().userID(), null, player.username()), null));
             }
         }
 
@@ -330,19 +400,22 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
         int uid = Integer.parseInt(pid);
         User requester = getUser(principal);
         Player player = getUser(uid).getPlayer();
+        PlayerSnapshot snapshot = PlayerDB.getPlayerSnapshots(iid).stream()
+                .filter(p -> p.playerIdentifier().equals(player.getPlayerIdentifier())).findFirst()
+                .orElseThrow(() -> new NoPermissionException("You cannot perform this command!"));
 
         // Checks whether the user is actually in the game, and whether if a player is
         // alive it is that player that
         // requests the obituary, because you should not be able to see the obituary of
         // other alive players.
-        if (!userInGame(iid, requester) || (player.alive() && requester.getUid() != uid)) {
+        if (!userInGame(iid, requester) || (snapshot.alive() && requester.getUid() != uid)) {
             throw new NoPermissionException("You cannot perform this command!");
         }
         if (!InstanceManager.getInstanceManager().getInstance(iid).isStarted()) {
             throw new NoPermissionException("The game hasn't started yet");
         }
 
-        return new ResponseEntity<>(new ObituaryEntry(listPlayerRoles(player), player.getDeathnote().getContent()),
+        return new ResponseEntity<>(new ObituaryEntry(listPlayerRoles(snapshot), player.getDeathnote().getContent()),
                 HttpStatus.OK);
     }
 
@@ -439,13 +512,8 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
         Player player = user.getPlayer();
 
-        List<ActionMessageDT> messages = new ArrayList<>();
-
-        // Get all message that need to be sent
-        List<Integer> messageIds = ActionMessagesDB.getAllNotSendMessagesForUser(player.getPlayerIdentifier());
-        for (int id : messageIds) {
-            messages.add(ActionMessagesDB.getMessage(id));
-        }
+        // Get all unlocked messages with their data at once, new messages are marked as sent
+        List<ActionMessageDT> messages = ActionInbox.fetch(player.getPlayerIdentifier());
 
         return new ResponseEntity<>(new ActionResultResponse("Messages retrieved successfully", messages),
                 HttpStatus.OK);
@@ -555,27 +623,45 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
     }
 
     /**
-     * Download one's user info in a logical format.
+     * Download one's user info in a logical format, optionally gzip-compressed. The data is read from the database
+     * in pages of a bounded number of rows, and every page is sent to the client before the next one is read.
      *
+     * @param gzip      whether to compress the data using gzip.
      * @param principal is the user whose data will be downloaded.
      * @return whether providing the download was successful.
      */
     @ApiResponses(value = {@ApiResponse(responseCode = "501", description = "Not implemented",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))})
-    @GetMapping(value = "/api/user/gdpr/download_user_info", produces = "text/csv")
-    public ResponseEntity<?> downloadUserInfo(@AuthenticationPrincipal OAuth2User principal) {
+    @GetMapping(value = "/api/user/gdpr/download_user_info", produces = {"text/csv", "application/gzip"})
+    public ResponseEntity<StreamingResponseBody> downloadUserInfo(
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal OAuth2User principal) {
+        int uid;
         try {
-            User user = getUser(principal);
-            File file = UserDB.getAllUserInfo(user.getUid()); // = getReportService().generateReport(reportName);
-
-            return ResponseEntity.ok().header("Content-Disposition", "attachment; filename=userData.csv")
-                    .contentLength(file.length()).contentType(MediaType.parseMediaType("text/csv"))
-                    .body(new FileSystemResource(file));
-
+            uid = getUser(principal).getUid();
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unable to generate report: userData",
                     e);
         }
+
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out) : null;
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8));
+            try {
+                UserDB.writeAllUserInfo(uid, writer);
+            } catch (SQLException e) {
+                throw new IOException("Unable to generate report: userData", e);
+            }
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+
+        String fileName = gzip ? "userData.csv.gz" : "userData.csv";
+        return ResponseEntity.ok().header("Content-Disposition", "attachment; filename=" + fileName)
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "text/csv")).body(body);
     }
 
     // <===== API Methods GameVoteController =====>
@@ -611,7 +697,7 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
         List<Vote> gameVotes = instance.getOngoingVotes();
 
         for (Vote vote : gameVotes) {
-            if (vote.getAllowed().contains(playerID) && vote.isBusy()) {
+            if (vote.isAllowed(playerID) && vote.isBusy()) {
                 voteEntries.add(new VoteEntry(vote.getVid(), vote.getVoteType()));
             }
         }
@@ -675,17 +761,19 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
             throws GameException, SQLException {
         Vote vote = getVote(principal, gid, vid);
 
+        Map<PlayerIdentifier, PlayerSnapshot> players = new HashMap<>();
+        for (PlayerSnapshot player : PlayerDB.getPlayerSnapshots(Integer.parseInt(gid))) {
+            players.put(player.playerIdentifier(), player);
+        }
+
         List<SimplePlayerEntry> eligible = new ArrayList<>();
         for (PlayerIdentifier player : vote.getAllowed()) {
-            String username = UserManager.getInstance().getUser(player.userID()).getUsername();
-            if (InstanceDB.getAlivePlayers(Integer.parseInt(gid)).contains((player))) {
-                eligible.add(new SimplePlayerEntry(player.userID(), PlayerStatus.ALIVE, username));
-            } else {
-                // player is deceased
-                // assumes players are either alive or dead
-                eligible.add(new SimplePlayerEntry(player.userID(), PlayerStatus.DECEASED, username));
-            }
-
+            PlayerSnapshot snapshot = players.get(player);
+            String username = snapshot == null ? UserManager.getInstance().getUser(player.userID()).getUsername() :
+                    snapshot.username();
+            // assumes players are either alive or dead
+            PlayerStatus status = snapshot != null && snapshot.alive() ? PlayerStatus.ALIVE : PlayerStatus.DECEASED;
+            eligible.add(new SimplePlayerEntry(player.userID(), status, username));
         }
         return new ResponseEntity<>(new GetVoteEligibleResponse(eligible), HttpStatus.OK);
     }
@@ -724,6 +812,20 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
     // <===== API Methods InstanceController =====>
 
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "500", description = "processing error",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))})
+    @GetMapping("/api/lobby/list")
+    public ResponseEntity<LobbyListResponse> listLobbies(@RequestParam(required = false) String name,
+                                                         @RequestParam(required = false) Boolean started,
+                                                         @RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "20") int size)
+            throws SQLException {
+        // Served from memory, changes to the list are pushed on /topic/lobbies
+        LobbyPage lobbies = LobbyDirectory.getInstance().getLobbies(name, started, page, size);
+        return new ResponseEntity<>(new LobbyListResponse(lobbies.lobbies(), lobbies.total()), HttpStatus.OK);
+    }
+
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "successful operation"),
             @ApiResponse(responseCode = "500", description = "processing error",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))})
@@ -763,9 +865,12 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
         // create the actual game
         user.createGame(gameCreateRequest.getGameName(), gameCreateRequest.getSEED());
+        int iid = user.getPlayer().getPlayerIdentifier().instanceID();
+        if (gameCreateRequest.getRoleDivision() != null) {
+            getInstance(iid).setRoleDivision(user.getUid(), gameCreateRequest.getRoleDivision());
+        }
 
-        return new ResponseEntity<>(new SingleGameResponse(user.getPlayer().getPlayerIdentifier().instanceID()),
-                HttpStatus.OK);
+        return new ResponseEntity<>(new SingleGameResponse(iid), HttpStatus.OK);
     }
 
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "successful operation"),
@@ -848,6 +953,7 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
         this.template.convertAndSend("/topic/lobby/" + iid, text);
 
         user.leaveGame(iid);
+        stateSequences.remove(new PlayerIdentifier(iid, uid));
 
         return new ResponseEntity<>(new SuccessResponse("Success"), HttpStatus.OK);
     }
@@ -919,22 +1025,13 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
     // <===== Helper methods GamePlayerController =====>
 
-    private static PlayerStatus getPlayerStatus(Player player) throws SQLException, GameException {
+    private static PlayerStatus getPlayerStatus(PlayerSnapshot player) {
         if (player.alive()) {
             return PlayerStatus.ALIVE;
         }
         return PlayerStatus.DECEASED;
     }
 
-    private static Group getGroupPlayer(Player player)
-            throws GameException, ReflectiveOperationException, SQLException {
-        List<DoubleRole> doubleRoles = player.getDoubleRoles();
-        if (doubleRoles.size() > 0) {
-            return doubleRoles.get(0).getGroup();
-        }
-        return player.getMainRole().getGroup();
-    }
-
     // <===== Helper methods GameVoteController =====>
 
     // Helper method to get a vote from a game and vote id
@@ -949,7 +1046,7 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
 
         // if user is not in game or if user is not in list of players that are allowed
         // to vote
-        if (!userInGame(iid, user) || !vote.getAllowed().contains(user.getPlayer().getPlayerIdentifier())) {
+        if (!userInGame(iid, user) || !vote.isAllowed(user.getPlayer().getPlayerIdentifier())) {
             throw new NoPermissionException("User is not allowed to request for ballots.");
         }
         return vote;
@@ -958,18 +1055,46 @@ public class GeneralController implements ErrorController, NextPhaseListener, Wi
     // <===== Helper methods InstanceController =====>
 
     @Override
-    public void win(int gid, Group winGroup) throws GameException, SQLException, ReflectiveOperationException {
-        List<Player> playerList = getInstance(gid).getPlayerList();
-        List<Integer> usernames = new ArrayList<>();
-
-        for (Player player : playerList) {
-            if (player.getMainRole().getGroup() == winGroup) {
-                // add the list to the response
-                usernames.add(player.getPlayerIdentifier().userID());
-            }
+    public void win(int gid, Group winGroup, List<Integer> winners) {
+        GameEndEvent text = new GameEndEvent(winGroup, winners);
+        this.template.convertAndSend("/topic/" + gid + "/end", text);
+
+        stateSequences.keySet().removeIf(player -> player.instanceID() == gid);
+    }
+
+    /**
+     * Pushes a change to the state of a game to the players that are allowed to see it, on their own queue {@code
+     * /user/queue/game/{gid}}. Every player has its own sequence of messages per game and server, so that clients can
+     * detect a missed change and fetch the state again. The sequence of a player is forgotten when the player leaves
+     * or the game ends, after which it starts at 1 again.
+     *
+     * @param delta      the change to the state of the game
+     * @param recipients the IDs of the users that are allowed to see the change
+     * @throws SQLException when the recipients could not be looked up
+     */
+    @Override
+    public void gameStateChanged(GameStateDelta delta, List<Integer> recipients) throws SQLException {
+        int gid = delta.instanceID();
+        for (int uid : recipients) {
+            long sequence = stateSequences.computeIfAbsent(new PlayerIdentifier(gid, uid), key -> new AtomicLong())
+                    .incrementAndGet();
+            this.template.convertAndSendToUser(new User(uid).getSub(), "/queue/game/" + gid,
+                    new GameStateMessage(ClusterEventForwarder.getNodeID(), sequence, delta));
         }
+    }
 
-        GameEndEvent text = new GameEndEvent(winGroup, usernames);
-        this.template.convertAndSend("/topic/" + gid + "/end", text);
+    /**
+     * Pushes a change to the list of lobbies to everyone browsing it, on {@code /topic/lobbies}. When the game no
+     * longer exists, the sequence numbers of its players are forgotten.
+     *
+     * @param gid   the game of which the lobby information changed
+     * @param lobby the new lobby information of the game, or {@code null} if the game no longer exists
+     */
+    @Override
+    public void lobbyChanged(int gid, LobbyEntry lobby) {
+        if (lobby == null) {
+            stateSequences.keySet().removeIf(player -> player.instanceID() == gid);
+        }
+        this.template.convertAndSend("/topic/lobbies", new LobbyMessage(gid, lobby));
     }
 }
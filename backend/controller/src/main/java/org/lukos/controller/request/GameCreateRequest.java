@@ -1,5 +1,7 @@
 package org.lukos.controller.request;
 
+import org.lukos.model.instances.RoleDivisionConfig;
+
 /**
  * The request datatype for creating a game.
  *
@@ -13,6 +15,8 @@ public class GameCreateRequest {
     private int maxAmountOfPlayers;
     /** The seed to be used in RNG. */
     private int SEED;
+    /** The role division of the created game, {@code null} for the configured role division. */
+    private RoleDivisionConfig roleDivision;
 
     /**
      * Returns the game name of the created game.
@@ -67,4 +71,22 @@ public class GameCreateRequest {
     public void setSEED(int SEED) {
         this.SEED = SEED;
     }
+
+    /**
+     * Returns the role division of the created game.
+     *
+     * @return the role division, {@code null} for the configured role division
+     */
+    public RoleDivisionConfig getRoleDivision() {
+        return roleDivision;
+    }
+
+    /**
+     * Sets the role division of the created game.
+     *
+     * @param roleDivision the role division
+     */
+    public void setRoleDivision(RoleDivisionConfig roleDivision) {
+        this.roleDivision = roleDivision;
+    }
 }
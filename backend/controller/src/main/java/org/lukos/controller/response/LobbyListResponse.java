@@ -0,0 +1,48 @@
+package org.lukos.controller.response;
+
+import org.lukos.model.instances.LobbyEntry;
+
+import java.util.List;
+
+/**
+ * The response datatype that sends a page of the list of lobbies.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class LobbyListResponse extends SuccessResponse {
+    /** The lobbies on the page. */
+    private final List<LobbyEntry> lobbies;
+    /** The number of lobbies that match the filter, over all pages. */
+    private final int total;
+
+    /**
+     * Constructor for responses of {@code LobbyListResponse}.
+     *
+     * @param lobbies the lobbies on the page
+     * @param total   the number of lobbies that match the filter
+     */
+    public LobbyListResponse(List<LobbyEntry> lobbies, int total) {
+        super(null);
+        this.lobbies = lobbies;
+        this.total = total;
+    }
+
+    /**
+     * Returns the lobbies on the page.
+     *
+     * @return the lobbies
+     */
+    public List<LobbyEntry> getLobbies() {
+        return lobbies;
+    }
+
+    /**
+     * Returns the number of lobbies that match the filter, over all pages.
+     *
+     * @return the number of lobbies
+     */
+    public int getTotal() {
+        return total;
+    }
+}
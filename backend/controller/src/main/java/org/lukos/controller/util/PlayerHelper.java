@@ -1,7 +1,9 @@
 package org.lukos.controller.util;
 
 import org.lukos.controller.response.SingleRoleEntry;
+import org.lukos.database.PlayerSnapshot;
 import org.lukos.model.exceptions.GameException;
+import org.lukos.model.exceptions.user.NoSuchRoleException;
 import org.lukos.model.rolesystem.DoubleRole;
 import org.lukos.model.rolesystem.Job;
 import org.lukos.model.rolesystem.MainRole;
@@ -53,4 +55,26 @@ public class PlayerHelper {
 
         return roles;
     }
+
+    /**
+     * Returns a list with the roles of a player as strings.
+     *
+     * @param player The snapshot of the {@code Player} of which the roles are
+     * @return The list with roles
+     * @throws NoSuchRoleException when the player does not have a main role
+     */
+    public static List<SingleRoleEntry> listPlayerRoles(PlayerSnapshot player) throws NoSuchRoleException {
+        List<SingleRoleEntry> roles = new ArrayList<>();
+
+        MainRole mainRole = player.getMainRole();
+        roles.add(new SingleRoleEntry(mainRole.getClass().getSimpleName(), mainRole.getGroup()));
+        for (DoubleRole role : player.doubleRoles()) {
+            roles.add(new SingleRoleEntry(role.getClass().getSimpleName(), role.getGroup()));
+        }
+        for (Job job : player.jobs()) {
+            roles.add(new SingleRoleEntry(job.getClass().getSimpleName(), null));
+        }
+
+        return roles;
+    }
 }
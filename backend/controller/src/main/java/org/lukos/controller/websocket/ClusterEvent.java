@@ -0,0 +1,25 @@
+package org.lukos.controller.websocket;
+
+import org.lukos.model.rolesystem.Group;
+
+/**
+ * The datatype for an event that is shared with the other servers of the cluster through the {@link EventBridge}.
+ *
+ * @param nodeID   the ID of the server on which the event occurred
+ * @param type     the kind of event
+ * @param gid      the ID of the game in which the event occurred
+ * @param winGroup the group that has won the game, or {@code null} if the event is not a win
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ClusterEvent(String nodeID, Type type, int gid, Group winGroup) {
+
+    /**
+     * The kinds of events that are shared with the other servers.
+     */
+    public enum Type {
+        NEXT_PHASE,
+        WIN,
+        LOBBY
+    }
+}
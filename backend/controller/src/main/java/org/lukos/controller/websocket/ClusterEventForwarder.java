@@ -0,0 +1,115 @@
+package org.lukos.controller.websocket;
+
+import org.lukos.database.InstanceDB;
+import org.lukos.database.PlayerDB;
+import org.lukos.model.events.LobbyEvent;
+import org.lukos.model.events.NextPhaseEvent;
+import org.lukos.model.events.WinEvent;
+import org.lukos.model.instances.LobbyDirectory;
+import org.lukos.model.instances.LobbyEntry;
+import org.lukos.model.listeners.LobbyListener;
+import org.lukos.model.listeners.NextPhaseListener;
+import org.lukos.model.listeners.WinEventListener;
+import org.lukos.model.rolesystem.Group;
+import org.lukos.model.voting.VoteTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shares the {@link NextPhaseEvent}, {@link WinEvent} and {@link LobbyEvent} of the games on this server with the other
+ * servers of the cluster. The WebSocket messages of these events already reach all clients through the broker relay,
+ * so the other servers only drop or reread the state of the game that they keep in memory, which has been changed by
+ * this server.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+@Component
+public class ClusterEventForwarder implements NextPhaseListener, WinEventListener, LobbyListener {
+
+    /** The ID of this server, the value of NODE_ID if set, otherwise random */
+    private static final String NODE_ID =
+            System.getenv("NODE_ID") != null ? System.getenv("NODE_ID") : UUID.randomUUID().toString();
+
+    private final EventBridge bridge;
+    private final String nodeID;
+
+    @Autowired
+    public ClusterEventForwarder(EventBridge bridge) {
+        this(bridge, NODE_ID);
+    }
+
+    /**
+     * Constructs a forwarder that identifies itself with the given ID, to simulate multiple servers in one process.
+     *
+     * @param bridge the channel to the other servers
+     * @param nodeID the ID of this server
+     */
+    ClusterEventForwarder(EventBridge bridge, String nodeID) {
+        this.bridge = bridge;
+        this.nodeID = nodeID;
+        bridge.subscribe(this::receive);
+        NextPhaseEvent.getNextPhaseEvent().subscribe(this);
+        WinEvent.getWinEvent().subscribe(this);
+        LobbyEvent.getLobbyEvent().subscribe(this);
+    }
+
+    /**
+     * Returns the ID of this server.
+     *
+     * @return the ID of this server
+     */
+    public static String getNodeID() {
+        return NODE_ID;
+    }
+
+    @Override
+    public void nextPhaseUpdate(int gid) {
+        bridge.publish(new ClusterEvent(nodeID, ClusterEvent.Type.NEXT_PHASE, gid, null));
+    }
+
+    @Override
+    public void win(int gid, Group winGroup, List<Integer> winners) {
+        bridge.publish(new ClusterEvent(nodeID, ClusterEvent.Type.WIN, gid, winGroup));
+    }
+
+    @Override
+    public void lobbyChanged(int gid, LobbyEntry lobby) {
+        bridge.publish(new ClusterEvent(nodeID, ClusterEvent.Type.LOBBY, gid, null));
+    }
+
+    /**
+     * Stops forwarding the events of this server.
+     */
+    @PreDestroy
+    public void close() {
+        NextPhaseEvent.getNextPhaseEvent().unsubscribe(this);
+        WinEvent.getWinEvent().unsubscribe(this);
+        LobbyEvent.getLobbyEvent().unsubscribe(this);
+    }
+
+    private void receive(ClusterEvent event) {
+        if (nodeID.equals(event.nodeID())) {
+            return;
+        }
+        InstanceDB.refreshInstanceRecord(event.gid());
+        if (event.type() == ClusterEvent.Type.NEXT_PHASE) {
+            // Votes of the instance have been started or ended on the other server
+            VoteTracker.getInstance().evictInstance(event.gid());
+        }
+        if (event.type() == ClusterEvent.Type.LOBBY) {
+            // Users joined or left the game on the other server
+            PlayerDB.refreshPlayers();
+            try {
+                LobbyDirectory.getInstance().refresh(event.gid());
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.lukos.controller.websocket;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish-subscribe channel between the servers of a cluster, used to share model events with the servers that did
+ * not trigger them. Every server receives all published events, including its own.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public interface EventBridge extends AutoCloseable {
+
+    /**
+     * Publishes an event to all servers.
+     *
+     * @param event the event to publish
+     */
+    void publish(ClusterEvent event);
+
+    /**
+     * Registers a receiver that is called for every event published by any server.
+     *
+     * @param receiver the receiver of the events
+     */
+    void subscribe(Consumer<ClusterEvent> receiver);
+
+    /**
+     * Disconnects from the other servers.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,19 @@
+package org.lukos.controller.websocket;
+
+import org.lukos.model.events.GameStateDelta;
+
+/**
+ * The datatype for a WebSocket notification of a change to the state of a game, sent to a single player. The sequence
+ * number increases by one for every message sent to the player in this game by the same server, such that a client
+ * that sees a gap knows it missed a change and has to fetch the state again. The sequence starts at 1 again when the
+ * player rejoins, when the game is recreated, or when the server restarts, so a client has to fetch the state again
+ * whenever the sequence of a server is not exactly one more than the last one it received from that server.
+ *
+ * @param node     the ID of the server that sent this message, as every server counts its own sequence
+ * @param sequence the sequence number of this message for the receiving player
+ * @param delta    the change to the state of the game
+ * @author agent
+ * @since 18-10-2026
+ */
+public record GameStateMessage(String node, long sequence, GameStateDelta delta) {
+}
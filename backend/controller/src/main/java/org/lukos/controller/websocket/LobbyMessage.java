@@ -0,0 +1,14 @@
+package org.lukos.controller.websocket;
+
+import org.lukos.model.instances.LobbyEntry;
+
+/**
+ * The datatype for a WebSocket notification of a change to the list of lobbies.
+ *
+ * @param gid   the ID of the game of which the lobby changed
+ * @param lobby the new lobby information of the game, or {@code null} if the game no longer exists
+ * @author agent
+ * @since 18-10-2026
+ */
+public record LobbyMessage(int gid, LobbyEntry lobby) {
+}
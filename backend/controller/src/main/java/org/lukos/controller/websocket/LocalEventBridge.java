@@ -0,0 +1,35 @@
+package org.lukos.controller.websocket;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link EventBridge} that delivers events within this process only. This is used when running a single server with
+ * the in-memory broker, and can stand in for the message broker in tests by sharing it between multiple receivers.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class LocalEventBridge implements EventBridge {
+
+    /** The receivers of the published events */
+    private final List<Consumer<ClusterEvent>> receivers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ClusterEvent event) {
+        for (Consumer<ClusterEvent> receiver : receivers) {
+            receiver.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void close() {
+        receivers.clear();
+    }
+}
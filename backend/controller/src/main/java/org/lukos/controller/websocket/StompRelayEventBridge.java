@@ -0,0 +1,132 @@
+package org.lukos.controller.websocket;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link EventBridge} that shares events through a topic on the external STOMP broker that is also used to relay the
+ * WebSocket messages. When the connection to the broker is lost, it is re-established in the background; events
+ * published in the meantime are not delivered to the other servers.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class StompRelayEventBridge implements EventBridge {
+
+    /** The topic on the broker on which the events are shared */
+    static final String DESTINATION = "/topic/lukos.cluster";
+    /** Time in seconds to wait before reconnecting to the broker */
+    private static final long RECONNECT_DELAY = 5;
+
+    private final ReactorNettyTcpStompClient client;
+    private final StompHeaders connectHeaders;
+    private final List<Consumer<ClusterEvent>> receivers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService reconnector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-bridge-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The session with the broker, {@code null} while not connected */
+    private volatile StompSession session;
+    private volatile boolean closed;
+
+    /**
+     * Connects to the STOMP broker at the given address.
+     *
+     * @param host        host of the broker
+     * @param port        port of the STOMP-endpoint of the broker
+     * @param login       login of the broker
+     * @param passcode    passcode of the broker
+     * @param virtualHost virtual host of the broker, {@code null} or empty for the default
+     */
+    public StompRelayEventBridge(String host, int port, String login, String passcode, String virtualHost) {
+        this.client = new ReactorNettyTcpStompClient(host, port);
+        this.client.setMessageConverter(new MappingJackson2MessageConverter());
+        this.connectHeaders = new StompHeaders();
+        this.connectHeaders.setLogin(login);
+        this.connectHeaders.setPasscode(passcode);
+        if (virtualHost != null && !virtualHost.isEmpty()) {
+            this.connectHeaders.setHost(virtualHost);
+        }
+        connect();
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        StompSession current = this.session;
+        if (current == null || !current.isConnected()) {
+            System.err.println("Not connected to the message broker, dropped " + event);
+            return;
+        }
+        current.send(DESTINATION, event);
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        reconnector.shutdownNow();
+        StompSession current = this.session;
+        if (current != null && current.isConnected()) {
+            current.disconnect();
+        }
+        client.shutdown();
+    }
+
+    private void connect() {
+        if (closed) {
+            return;
+        }
+        client.connect(connectHeaders, new Handler()).addCallback(connected -> this.session = connected,
+                failure -> reconnect());
+    }
+
+    private void reconnect() {
+        this.session = null;
+        if (!closed) {
+            reconnector.schedule(this::connect, RECONNECT_DELAY, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Subscribes to the events once connected, and reconnects when the connection is lost. */
+    private class Handler extends StompSessionHandlerAdapter {
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            session.subscribe(DESTINATION, this);
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ClusterEvent.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            for (Consumer<ClusterEvent> receiver : receivers) {
+                receiver.accept((ClusterEvent) payload);
+            }
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            exception.printStackTrace();
+            if (!session.isConnected()) {
+                reconnect();
+            }
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package org.lukos.controller.websocket;
 
+import org.lukos.database.DatabaseConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Config file for the WebSocket connection
+ * <p>
+ * By default the in-memory broker is used, which only reaches the clients connected to this server. When the relay is
+ * enabled, messages are relayed through an external STOMP broker (such as RabbitMQ or ActiveMQ), such that multiple
+ * servers can each serve a share of the clients of the same game. These servers use the same database, so state that
+ * other servers may change without a cluster event is then no longer kept in memory.
  *
  * @author Marco Pleket (1295713)
  * @since 23-03-2022
@@ -16,13 +26,64 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${lukos.websocket.relay.enabled:false}")
+    private boolean relayEnabled;
+    @Value("${lukos.websocket.relay.host:localhost}")
+    private String relayHost;
+    @Value("${lukos.websocket.relay.port:61613}")
+    private int relayPort;
+    @Value("${lukos.websocket.relay.login:guest}")
+    private String relayLogin;
+    @Value("${lukos.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+    @Value("${lukos.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    /**
+     * Tells the database layer whether other servers use the same database, which is the case when the relay is
+     * enabled.
+     */
+    @PostConstruct
+    public void shareDatabase() {
+        DatabaseConnection.getInstance().setShared(relayEnabled);
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if (relayEnabled) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setVirtualHost(relayVirtualHost.isEmpty() ? null : relayVirtualHost)
+                    // Share the connected users between servers, so messages reach users connected elsewhere
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
+        config.setUserDestinationPrefix("/user");
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/api/socket");
     }
+
+    /**
+     * The channel on which events are shared with the other servers, which goes through the external broker when the
+     * relay is enabled.
+     *
+     * @return the channel to the other servers
+     */
+    @Bean
+    public EventBridge eventBridge() {
+        if (relayEnabled) {
+            return new StompRelayEventBridge(relayHost, relayPort, relayLogin, relayPasscode, relayVirtualHost);
+        }
+        return new LocalEventBridge();
+    }
 }
@@ -399,4 +399,82 @@ public class GameChatControllerTests {
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.error").value("Player is not in this game, thus cannot access chat history."));
     }
+
+    /** @utp.description Tests paging through the chat history using message IDs as cursors */
+    @Test
+    @DirtiesContext
+    public void messagesChatShouldReturnSuccess() throws Exception {
+        // Simple game creation
+        MvcResult game = TestHelpers.createGameOK("messagesReturnSuccess1", this.mockMvc, this.getClass().getName());
+
+        // Obtain their user id
+        String user1 = TestHelpers.getUserFromString("messagesReturnSuccess1", this.mockMvc,
+                this.getClass().getName(), this.objectMapper);
+
+        // Extract gameId
+        JsonNode json = objectMapper.readTree(game.getResponse().getContentAsString());
+        String gameId = json.get("gameId").asText();
+        // Make gameId into an input
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<String, String>();
+        map.add("gameId", gameId);
+
+        // Join so that the game can be started
+        TestHelpers.joinGameOK("messagesReturnSuccess2", this.mockMvc, this.getClass().getName(), map);
+        // Start the game
+        TestHelpers.startGameOK("messagesReturnSuccess1", this.mockMvc, this.getClass().getName());
+
+        List<ChatStatus> chats = ChatManager.getInstance().getPlayerChats(Integer.parseInt(user1));
+
+        int id = chats.get(0).id();
+        String[] mess = {"This", "is", "a", "test"};
+        for (String m : mess) {
+            Chat.submitChat(Integer.parseInt(user1), id, m, Instant.now());
+        }
+
+        // The most recent page, oldest message first
+        MvcResult latest = this.mockMvc.perform(get("/api/game/" + gameId + "/chat/" + id + "/messages")
+                        .param("limit", "2")
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "messagesReturnSuccess1")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "testUser")
+                                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.history.length()").value(2))
+                .andExpect(jsonPath("$.history[0].message.content").value("a"))
+                .andExpect(jsonPath("$.history[1].message.content").value("test"))
+                .andReturn();
+        String cursor = objectMapper.readTree(latest.getResponse().getContentAsString())
+                .get("history").get(0).get("messageId").asText();
+
+        // The page before the oldest message of the most recent page
+        MvcResult older = this.mockMvc.perform(get("/api/game/" + gameId + "/chat/" + id + "/messages")
+                        .param("before", cursor)
+                        .param("limit", "10")
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "messagesReturnSuccess1")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "testUser")
+                                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.history.length()").value(2))
+                .andExpect(jsonPath("$.history[0].message.content").value("This"))
+                .andExpect(jsonPath("$.history[1].message.content").value("is"))
+                .andReturn();
+        cursor = objectMapper.readTree(older.getResponse().getContentAsString())
+                .get("history").get(0).get("messageId").asText();
+
+        // The messages after the oldest message
+        this.mockMvc.perform(get("/api/game/" + gameId + "/chat/" + id + "/messages")
+                        .param("after", cursor)
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "messagesReturnSuccess1")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "testUser")
+                                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.history.length()").value(3))
+                .andExpect(jsonPath("$.history[0].message.content").value("is"))
+                .andExpect(jsonPath("$.history[2].message.content").value("test"));
+    }
 }
@@ -116,6 +116,9 @@ public class GamePhaseControllerTests {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value(""));
 
+        // The request waits for the phase change
+        assertThat(IM.getInstance(Integer.parseInt(gameId)).getInstanceState().getPhase()).isEqualTo(phase.next());
+
         // TODO: Test WebSocket response!
     }
 }
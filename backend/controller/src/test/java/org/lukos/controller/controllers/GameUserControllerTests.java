@@ -1,10 +1,12 @@
 package org.lukos.controller.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,7 +38,10 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Test cases for {@code BasicUserController}.
@@ -256,9 +261,55 @@ public class GameUserControllerTests {
     /**
      * @utp.description Tests success message for download user info request
      */
-    //@Test
+    @Test
+    @DirtiesContext
     public void downloadUserInfoShouldReturnSuccess() throws Exception {
+        UserManager.getInstance()
+                .createUser(new IssuerSub(this.getClass().getName(), "downloadReturnSuccess"), "downloadUser");
+
+        MvcResult result = this.mockMvc.perform(get("/api/user/gdpr/download_user_info")
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "downloadReturnSuccess")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "downloadUser")
+                                )))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=userData.csv"))
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string(containsString("downloadUser")));
+    }
+
+    /**
+     * @utp.description Tests that the user info is gzip-compressed when requested
+     */
+    @Test
+    @DirtiesContext
+    public void downloadUserInfoGzipShouldReturnSuccess() throws Exception {
+        UserManager.getInstance()
+                .createUser(new IssuerSub(this.getClass().getName(), "downloadGzipReturnSuccess"), "gzipUser");
+
+        MvcResult result = this.mockMvc.perform(get("/api/user/gdpr/download_user_info").param("gzip", "true")
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "downloadGzipReturnSuccess")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "gzipUser")
+                                )))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=userData.csv.gz"))
+                .andReturn().getResponse().getContentAsByteArray();
 
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("gzipUser");
+        }
     }
 
     /**
@@ -113,6 +113,30 @@ public class InstanceControllerTest {
                         .andExpect(jsonPath("$.gameId").isNumber());
     }
 
+    /** @utp.description Tests whether a created game is listed in the lobby list, with its players */
+    @Test
+    @DirtiesContext
+    public void listShouldReturnSuccess() throws Exception {
+        // Simple game creation
+        MvcResult gameResult = TestHelpers.createGameOK("listReturnSuccess", this.mockMvc, this.getClass().getName());
+        int gameId = objectMapper.readTree(gameResult.getResponse().getContentAsString()).get("gameId").asInt();
+
+        // The game is listed among the lobbies that have not been started, with its game master as only player
+        this.mockMvc.perform(get("/api/lobby/list")
+                        .param("name", "listReturnSuccess")
+                        .param("started", "false")
+                        .param("size", "100")
+                        .with(oidcLogin()
+                                .idToken(token -> token.claim("sub", "listReturnSuccess")
+                                        .claim("iss", this.getClass().getName())
+                                        .claim("name", "testUser")
+                                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").isNumber())
+                .andExpect(jsonPath("$.lobbies[?(@.instanceID == " + gameId + ")].players").value(1))
+                .andExpect(jsonPath("$.lobbies[?(@.instanceID == " + gameId + ")].started").value(false));
+    }
+
     /** @utp.description Tests AlreadyInGameException for game creation */
     @Test
     @DirtiesContext
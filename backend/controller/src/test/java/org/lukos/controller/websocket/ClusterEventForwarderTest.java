@@ -0,0 +1,119 @@
+package org.lukos.controller.websocket;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.model.instances.LobbyDirectory;
+import org.lukos.model.instances.LobbyEntry;
+import org.lukos.model.rolesystem.Group;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ClusterEventForwarder}, simulating two servers that share a {@link LocalEventBridge}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ClusterEventForwarderTest {
+
+    /** The channel shared by the simulated servers */
+    private LocalEventBridge bridge;
+    /** The simulated server on which the events occur */
+    private ClusterEventForwarder first;
+    /** The simulated server that should be told about the events */
+    private ClusterEventForwarder second;
+
+    /**
+     * Method used to set up the necessary parts for testing.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.bridge = new LocalEventBridge();
+        this.first = new ClusterEventForwarder(bridge, "first");
+        this.second = new ClusterEventForwarder(bridge, "second");
+    }
+
+    /**
+     * Method used to stop the simulated servers, as the model events are shared by all test cases.
+     */
+    @AfterEach
+    public void tearDown() {
+        first.close();
+        second.close();
+        bridge.close();
+    }
+
+    /** @utp.description Tests whether the events of a server are published with the ID of that server. */
+    @Test
+    public void publishTest() {
+        List<ClusterEvent> events = new ArrayList<>();
+        bridge.subscribe(events::add);
+        first.nextPhaseUpdate(4);
+        first.win(4, Group.TOWNSPEOPLE, List.of());
+        assertEquals(List.of(new ClusterEvent("first", ClusterEvent.Type.NEXT_PHASE, 4, null),
+                new ClusterEvent("first", ClusterEvent.Type.WIN, 4, Group.TOWNSPEOPLE)), events);
+    }
+
+    /**
+     * @utp.description Tests whether a server drops the state it keeps in memory of a game that went to the next phase
+     * on another server.
+     */
+    @Test
+    public void receiveTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "clusterGame", 1);
+            assertEquals(-1, InstanceDB.getInstanceRecord(iid).day());
+
+            // Another server changes the game, without this server knowing about it
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "UPDATE Instance SET day=? WHERE instanceID=?;")) {
+                statement.setInt(1, 2);
+                statement.setInt(2, iid);
+                DatabaseConnection.getInstance().writeStatement(statement);
+            }
+            assertEquals(-1, InstanceDB.getInstanceRecord(iid).day());
+
+            first.nextPhaseUpdate(iid);
+            assertEquals(2, InstanceDB.getInstanceRecord(iid).day());
+            InstanceDB.deleteInstanceByIID(iid);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether a server rereads the lobby information it keeps in memory of a game of which the
+     * lobby changed on another server.
+     */
+    @Test
+    public void receiveLobbyTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "clusterLobby", 1);
+            LobbyDirectory directory = LobbyDirectory.getInstance();
+            directory.refresh(iid);
+            assertEquals(List.of(new LobbyEntry(iid, "clusterLobby", 1, 0, false)),
+                    directory.getLobbies("clusterLobby", null, 0, 100).lobbies().stream()
+                            .filter(lobby -> lobby.instanceID() == iid).toList());
+
+            // Another server removes the game, without this server knowing about it
+            InstanceDB.deleteInstanceByIID(iid);
+            assertEquals(1, directory.getLobbies("clusterLobby", null, 0, 100).lobbies().stream()
+                    .filter(lobby -> lobby.instanceID() == iid).count());
+
+            first.lobbyChanged(iid, null);
+            assertEquals(0, directory.getLobbies("clusterLobby", null, 0, 100).lobbies().stream()
+                    .filter(lobby -> lobby.instanceID() == iid).count());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
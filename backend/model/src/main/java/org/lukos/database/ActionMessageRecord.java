@@ -0,0 +1,17 @@
+package org.lukos.database;
+
+import org.lukos.model.actionsystem.actions.ActionMessageDT;
+
+/**
+ * An action message together with its data, as stored in the `ActionLogs` and `ActionLogsData`-tables of the
+ * database.
+ *
+ * @param messageID  ID of the message
+ * @param receiverID ID of the user that receives the message
+ * @param sent       whether the message has been marked as 'SENT'
+ * @param message    the type and data of the message
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ActionMessageRecord(int messageID, int receiverID, boolean sent, ActionMessageDT message) {
+}
@@ -4,14 +4,19 @@ import org.lukos.model.actionsystem.ActionMessages;
 import org.lukos.model.actionsystem.actions.ActionMessageDT;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ActionMessagesDB {
 
@@ -26,49 +31,102 @@ public class ActionMessagesDB {
      */
     public static List<Integer> getAllNotSendMessagesForUser(PlayerIdentifier playerIdentifier) throws SQLException {
         // Create query
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT messageID " + "FROM ActionLogs log, Actions act " +
-                        "WHERE act.instanceID=? AND act.actionID=log.actionID AND receiverID=? AND log" +
-                        ".status='NOT_SENT';");
-
-        statement.setInt(1, playerIdentifier.instanceID());
-        statement.setInt(2, playerIdentifier.userID());
-
-        // Execute query
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        List<Integer> messages = new ArrayList<>();
-
-        // Process the messages
-        while (resultSet.next()) {
-            messages.add(resultSet.getInt("messageID"));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT messageID " + "FROM ActionLogs log, Actions act " +
+                             "WHERE act.instanceID=? AND act.actionID=log.actionID AND receiverID=? AND log" +
+                             ".status='NOT_SENT';")) {
+            statement.setInt(1, playerIdentifier.instanceID());
+            statement.setInt(2, playerIdentifier.userID());
+
+            // Execute query
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<Integer> messages = new ArrayList<>();
+
+                // Process the messages
+                while (resultSet.next()) {
+                    messages.add(resultSet.getInt("messageID"));
+                }
+
+                return messages;
+            }
         }
+    }
 
-        return messages;
+    /**
+     * Get the messages that have been unlocked for the player with id={@code playerIdentifier}, together with their
+     * data, using a single query.
+     *
+     * @param playerIdentifier the player to get the messages for
+     * @param includeSent      whether messages that have been marked as 'SENT' are included as well
+     * @return the messages, in the order in which they were added
+     * @throws SQLException Exception thrown when reading expected query fails
+     */
+    public static List<ActionMessageRecord> getMessagesForUser(PlayerIdentifier playerIdentifier, boolean includeSent)
+            throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT log.messageID, log.receiverID, log.status, log.messageType, data.position, data.data " +
+                             "FROM ActionLogs log JOIN Actions act ON act.actionID=log.actionID " +
+                             "LEFT JOIN ActionLogsData data ON data.messageID=log.messageID " +
+                             "WHERE act.instanceID=? AND log.receiverID=? AND log.status IN ('NOT_SENT', ?) " +
+                             "ORDER BY log.messageID, data.position;")) {
+            statement.setInt(1, playerIdentifier.instanceID());
+            statement.setInt(2, playerIdentifier.userID());
+            statement.setString(3, includeSent ? "SENT" : "NOT_SENT");
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return readMessages(resultSet);
+            }
+        }
     }
 
     /**
      * Unlock all LOCKED messages for an instance.
      *
      * @param instanceID the instance
+     * @return the IDs of the users that received at least one of the unlocked messages
+     * @throws SQLException Exception thrown when writing expected query fails
      */
-    public static void unlockMessages(int instanceID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT messageID " + "FROM ActionLogs log, Actions act " +
-                        "WHERE act.instanceID=? AND act.actionID=log.actionID AND log.status='LOCKED';");
-        statement.setInt(1, instanceID);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
+    public static Set<Integer> unlockMessages(int instanceID) throws SQLException {
+        Set<Integer> receivers = new LinkedHashSet<>();
+        for (ActionMessageRecord message : unlockAndGetMessages(instanceID)) {
+            receivers.add(message.receiverID());
+        }
+        return receivers;
+    }
 
-        PreparedStatement updateStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ActionLogs SET status='NOT_SENT' WHERE messageID=?;");
-        int messageId;
-        while (resultSet.next()) {
-            messageId = resultSet.getInt("messageID");
-            updateStatement.setInt(1, messageId);
+    /**
+     * Unlock all LOCKED messages for an instance, and return them together with their data. The messages are read
+     * using a single query, and unlocked using a single update.
+     *
+     * @param instanceID the instance
+     * @return the unlocked messages, in the order in which they were added
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    public static List<ActionMessageRecord> unlockAndGetMessages(int instanceID) throws SQLException {
+        List<ActionMessageRecord> messages;
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT log.messageID, log.receiverID, log.status, log.messageType, data.position, data.data " +
+                             "FROM ActionLogs log JOIN Actions act ON act.actionID=log.actionID " +
+                             "LEFT JOIN ActionLogsData data ON data.messageID=log.messageID " +
+                             "WHERE act.instanceID=? AND log.status='LOCKED' " +
+                             "ORDER BY log.messageID, data.position;")) {
+            statement.setInt(1, instanceID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                messages = readMessages(resultSet);
+            }
+        }
 
-            DatabaseConnection.getInstance().writeStatement(updateStatement);
+        // Only unlock the messages that have been read, such that every unlocked message is returned exactly once
+        List<Integer> messageIds = new ArrayList<>();
+        for (ActionMessageRecord message : messages) {
+            messageIds.add(message.messageID());
         }
+        updateStatus(messageIds, "NOT_SENT");
+        return messages;
     }
 
     /**
@@ -81,40 +139,42 @@ public class ActionMessagesDB {
     public static ActionMessageDT getMessage(int messageId) throws SQLException {
         // Get messageType
         // Create query
-        PreparedStatement typeStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM ActionLogs WHERE messageID=?;");
-
-        typeStatement.setInt(1, messageId);
-
-        // Execute query
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(typeStatement);
-        resultSet.next();
-        ActionMessages messageType = ActionMessages.valueOf(resultSet.getString("messageType"));
-
-        // Get data
-        PreparedStatement dataStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT data, position FROM ActionLogsData WHERE messageID=?;");
-
-        dataStatement.setInt(1, messageId);
-
-        ResultSet dataResultSet = DatabaseConnection.getInstance().readStatement(dataStatement);
-
-        // Get field data
-        Map<Integer, String> positionMap = new HashMap<>();
-        int size = 0;
-
-        while (dataResultSet.next()) {
-            positionMap.put(dataResultSet.getInt("position"), dataResultSet.getString("data"));
-            size++;
-        }
-
-        // Put the field data in the correct order
-        List<String> data = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            data.add(positionMap.get(i));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement typeStatement = connection.prepareStatement(
+                     "SELECT * FROM ActionLogs WHERE messageID=?;")) {
+            typeStatement.setInt(1, messageId);
+
+            // Execute query
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(typeStatement)) {
+                resultSet.next();
+                ActionMessages messageType = ActionMessages.valueOf(resultSet.getString("messageType"));
+
+                // Get data
+                try (PreparedStatement dataStatement = connection.prepareStatement(
+                        "SELECT data, position FROM ActionLogsData WHERE messageID=?;")) {
+                    dataStatement.setInt(1, messageId);
+
+                    try (ResultSet dataResultSet = DatabaseConnection.getInstance().readStatement(dataStatement)) {
+                        // Get field data
+                        Map<Integer, String> positionMap = new HashMap<>();
+                        int size = 0;
+
+                        while (dataResultSet.next()) {
+                            positionMap.put(dataResultSet.getInt("position"), dataResultSet.getString("data"));
+                            size++;
+                        }
+
+                        // Put the field data in the correct order
+                        List<String> data = new ArrayList<>();
+                        for (int i = 0; i < size; i++) {
+                            data.add(positionMap.get(i));
+                        }
+
+                        return new ActionMessageDT(messageType, data);
+                    }
+                }
+            }
         }
-
-        return new ActionMessageDT(messageType, data);
     }
 
     /**
@@ -147,35 +207,41 @@ public class ActionMessagesDB {
     public static int addNewMessage(ActionMessageDT message, int actionId, PlayerIdentifier player)
             throws SQLException {
         // Create query
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "INSERT INTO ActionLogs(actionID, receiverID, status, messageType) VALUES (?, ?, 'LOCKED', ?);",
-                Statement.RETURN_GENERATED_KEYS);
-        statement.setInt(1, actionId);
-        statement.setInt(2, player.userID());
-        statement.setString(3, message.messageType().name());
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-
-        ResultSet resultSet = statement.getGeneratedKeys();
-
-        if (resultSet.next()) {
-            int messageId = resultSet.getInt(1);
-
-            List<String> data = message.data();
-
-            // Add the fields to the ActionLogsData table
-            PreparedStatement dataStatement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("INSERT INTO ActionLogsData(messageID, position, data) VALUES (?, ?, ?);");
-            dataStatement.setInt(1, messageId);
-            for (int i = 0; i < data.size(); i++) {
-                dataStatement.setInt(2, i);
-                dataStatement.setString(3, data.get(i));
-                DatabaseConnection.getInstance().writeStatement(dataStatement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO ActionLogs(actionID, receiverID, status, messageType) VALUES (?, ?, 'LOCKED', ?);",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, actionId);
+            statement.setInt(2, player.userID());
+            statement.setString(3, message.messageType().name());
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                if (resultSet.next()) {
+                    int messageId = resultSet.getInt(1);
+
+                    List<String> data = message.data();
+
+                    // Add the fields to the ActionLogsData table
+                    try (PreparedStatement dataStatement = connection.prepareStatement(
+                            "INSERT INTO ActionLogsData(messageID, position, data) VALUES (?, ?, ?);")) {
+                        dataStatement.setInt(1, messageId);
+                        for (int i = 0; i < data.size(); i++) {
+                            dataStatement.setInt(2, i);
+                            dataStatement.setString(3, data.get(i));
+                            dataStatement.addBatch();
+                        }
+                        if (!data.isEmpty()) {
+                            DatabaseConnection.getInstance().writeBatch(dataStatement);
+                        }
+
+                        return messageId;
+                    }
+                }
+                throw new SQLException("[addNewMessage] No messageID was generated. That should not occur...");
             }
-
-            return messageId;
         }
-        throw new SQLException("[addNewMessage] No messageID was generated. That should not occur...");
     }
 
     /**
@@ -205,11 +271,13 @@ public class ActionMessagesDB {
      * @throws SQLException Exception thrown when writing expected query fails
      */
     public static void unlockMessage(int messageId) throws SQLException {
-        PreparedStatement updateStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ActionLogs SET status='NOT_SENT' WHERE messageID=?;");
-        updateStatement.setInt(1, messageId);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement updateStatement = connection.prepareStatement(
+                     "UPDATE ActionLogs SET status='NOT_SENT' WHERE messageID=?;")) {
+            updateStatement.setInt(1, messageId);
 
-        DatabaseConnection.getInstance().writeStatement(updateStatement);
+            DatabaseConnection.getInstance().writeStatement(updateStatement);
+        }
     }
 
     /**
@@ -220,11 +288,13 @@ public class ActionMessagesDB {
      * @throws SQLException Exception thrown when writing expected query fails
      */
     public static void unlockMessageWithActionId(int actionId) throws SQLException {
-        PreparedStatement updateStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ActionLogs SET status='NOT_SENT' WHERE actionID=?;");
-        updateStatement.setInt(1, actionId);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement updateStatement = connection.prepareStatement(
+                     "UPDATE ActionLogs SET status='NOT_SENT' WHERE actionID=?;")) {
+            updateStatement.setInt(1, actionId);
 
-        DatabaseConnection.getInstance().writeStatement(updateStatement);
+            DatabaseConnection.getInstance().writeStatement(updateStatement);
+        }
     }
 
     /**
@@ -235,10 +305,78 @@ public class ActionMessagesDB {
      */
     public static void markAsSent(int messageId) throws SQLException {
         // Mark the message as sent
-        PreparedStatement updateStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ActionLogs SET status='SENT' WHERE messageID=?;");
-        updateStatement.setInt(1, messageId);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement updateStatement = connection.prepareStatement(
+                     "UPDATE ActionLogs SET status='SENT' WHERE messageID=?;")) {
+            updateStatement.setInt(1, messageId);
+
+            DatabaseConnection.getInstance().writeStatement(updateStatement);
+        }
+    }
+
+    /**
+     * Mark multiple messages as 'SENT', using a single update.
+     *
+     * @param messageIds the messages to mark
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    public static void markAsSent(Collection<Integer> messageIds) throws SQLException {
+        updateStatus(messageIds, "SENT");
+    }
+
+    /**
+     * Set the status of multiple messages using a single update.
+     *
+     * @param messageIds the messages to update
+     * @param status     the new status of the messages
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    private static void updateStatus(Collection<Integer> messageIds, String status) throws SQLException {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        StringBuilder query = new StringBuilder("UPDATE ActionLogs SET status=? WHERE messageID IN (");
+        query.append("?, ".repeat(messageIds.size()));
+        query.setLength(query.length() - 2);
+        query.append(");");
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement updateStatement = connection.prepareStatement(query.toString())) {
+            int index = 1;
+            updateStatement.setString(index++, status);
+            for (int messageId : messageIds) {
+                updateStatement.setInt(index++, messageId);
+            }
 
-        DatabaseConnection.getInstance().writeStatement(updateStatement);
+            DatabaseConnection.getInstance().writeStatement(updateStatement);
+        }
+    }
+
+    /**
+     * Reads messages from rows holding the columns of a message joined with one of its data fields, ordered by
+     * message ID and position. Messages without data are represented by a single row without data.
+     *
+     * @param resultSet the rows to read
+     * @return the messages, in the order of the rows
+     * @throws SQLException Exception thrown when reading the rows fails
+     */
+    private static List<ActionMessageRecord> readMessages(ResultSet resultSet) throws SQLException {
+        Map<Integer, ActionMessageRecord> messages = new LinkedHashMap<>();
+        while (resultSet.next()) {
+            int messageId = resultSet.getInt("messageID");
+            ActionMessageRecord message = messages.get(messageId);
+            if (message == null) {
+                message = new ActionMessageRecord(messageId, resultSet.getInt("receiverID"),
+                        "SENT".equals(resultSet.getString("status")),
+                        new ActionMessageDT(ActionMessages.valueOf(resultSet.getString("messageType")),
+                                new ArrayList<>()));
+                messages.put(messageId, message);
+            }
+            String data = resultSet.getString("data");
+            if (data != null) {
+                message.message().data().add(data);
+            }
+        }
+        return new ArrayList<>(messages.values());
     }
 }
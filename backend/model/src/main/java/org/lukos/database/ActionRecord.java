@@ -0,0 +1,15 @@
+package org.lukos.database;
+
+import org.lukos.model.actionsystem.ActionDT;
+
+/**
+ * An action together with its targets, as stored in the `Actions`, `ActionTargetPlayers` and
+ * `ActionTargetLocation`-tables of the database.
+ *
+ * @param actionID ID of the action
+ * @param action   the action, the player performing it and its targets
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ActionRecord(int actionID, ActionDT action) {
+}
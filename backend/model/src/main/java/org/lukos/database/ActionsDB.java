@@ -3,12 +3,20 @@ package org.lukos.database;
 import org.lukos.model.actionsystem.*;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Class for handling database-operations related to actions.
@@ -30,73 +38,77 @@ public class ActionsDB {
     public static int addNewAction(ActionDT action) throws SQLException {
         //BEGIN execute main query, containing general information
         // Create main query
-        PreparedStatement mainStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "INSERT INTO Actions(instanceID, userID, time, name, status, targetType) VALUES (?, ?, ?, ?, " +
-                        "'NOT_EXECUTED', ?);", Statement.RETURN_GENERATED_KEYS);
-
-        boolean hasPlayers =
-                action.preAction().data().players() != null && action.preAction().data().players().size() > 0;
-        boolean hasLocations =
-                action.preAction().data().locations() != null && action.preAction().data().locations().size() > 0;
-        String targetType;
-        if (hasLocations && hasPlayers) {
-            targetType = "BOTH";
-        } else if (hasPlayers) {
-            targetType = "PLAYER";
-        } else if (hasLocations) {
-            targetType = "LOCATION";
-        } else {
-            return -1;
-        }
-
-        mainStatement.setInt(1, action.preAction().playerIdentifier().instanceID());
-        mainStatement.setObject(2,
-                action.preAction().playerIdentifier().userID() == -1 ?
-                        null : action.preAction().playerIdentifier().userID());
-        mainStatement.setTimestamp(3, java.sql.Timestamp.from(action.time()));
-        mainStatement.setString(4, action.action().getClass().getSimpleName());
-        mainStatement.setString(5, targetType);
-
-        // Execute query
-        DatabaseConnection.getInstance().writeStatement(mainStatement);
-
-        // Get the actionID
-        ResultSet resultSet = mainStatement.getGeneratedKeys();
-        int actionId;
-        if (resultSet.next()) {
-            // Index 1 returns the generated key
-            actionId = resultSet.getInt(1);
-        } else {
-            throw new SQLException("[addNewAction] No actionID was generated. That should not occur...");
-        }
-        //END execute main query
-
-        //BEGIN target queries
-        // player targets
-        if (action.preAction().data().players() != null) {
-            for (PlayerIdentifier player : action.preAction().data().players()) {
-                PreparedStatement playerStatement = DatabaseConnection.getInstance().getConnect()
-                        .prepareStatement("INSERT INTO ActionTargetPlayers(actionID, targetUserID) VALUES (?, ?);");
-                playerStatement.setInt(1, actionId);
-                playerStatement.setInt(2, player.userID());
-                DatabaseConnection.getInstance().writeStatement(playerStatement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement mainStatement = connection.prepareStatement(
+                     "INSERT INTO Actions(instanceID, userID, time, name, status, targetType) VALUES (?, ?, ?, ?, " +
+                             "'NOT_EXECUTED', ?);", Statement.RETURN_GENERATED_KEYS)) {
+            boolean hasPlayers =
+                    action.preAction().data().players() != null && action.preAction().data().players().size() > 0;
+            boolean hasLocations =
+                    action.preAction().data().locations() != null && action.preAction().data().locations().size() > 0;
+            String targetType;
+            if (hasLocations && hasPlayers) {
+                targetType = "BOTH";
+            } else if (hasPlayers) {
+                targetType = "PLAYER";
+            } else if (hasLocations) {
+                targetType = "LOCATION";
+            } else {
+                return -1;
             }
-        }
 
-        // location targets
-        if (action.preAction().data().locations() != null) {
-            for (int locationID : action.preAction().data().locations()) {
-                PreparedStatement locationStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                        "INSERT INTO ActionTargetLocation(actionID, targetLocationID) VALUES (?, ?);");
-                locationStatement.setInt(1, actionId);
-                locationStatement.setInt(2, locationID);
-                DatabaseConnection.getInstance().writeStatement(locationStatement);
-            }
-        }
+            mainStatement.setInt(1, action.preAction().playerIdentifier().instanceID());
+            mainStatement.setObject(2,
+                    action.preAction().playerIdentifier().userID() == -1 ?
+                            null : action.preAction().playerIdentifier().userID());
+            mainStatement.setTimestamp(3, java.sql.Timestamp.from(action.time()));
+            mainStatement.setString(4, action.action().getClass().getSimpleName());
+            mainStatement.setString(5, targetType);
+
+            // Execute query
+            DatabaseConnection.getInstance().writeStatement(mainStatement);
+
+            // Get the actionID
+            try (ResultSet resultSet = mainStatement.getGeneratedKeys()) {
+                int actionId;
+                if (resultSet.next()) {
+                    // Index 1 returns the generated key
+                    actionId = resultSet.getInt(1);
+                } else {
+                    throw new SQLException("[addNewAction] No actionID was generated. That should not occur...");
+                }
+                //END execute main query
+
+                //BEGIN target queries
+                // player targets
+                if (action.preAction().data().players() != null) {
+                    for (PlayerIdentifier player : action.preAction().data().players()) {
+                        try (PreparedStatement playerStatement = connection.prepareStatement(
+                                "INSERT INTO ActionTargetPlayers(actionID, targetUserID) VALUES (?, ?);")) {
+                            playerStatement.setInt(1, actionId);
+                            playerStatement.setInt(2, player.userID());
+                            DatabaseConnection.getInstance().writeStatement(playerStatement);
+                        }
+                    }
+                }
 
-        //END target queries
+                // location targets
+                if (action.preAction().data().locations() != null) {
+                    for (int locationID : action.preAction().data().locations()) {
+                        try (PreparedStatement locationStatement = connection.prepareStatement(
+                                "INSERT INTO ActionTargetLocation(actionID, targetLocationID) VALUES (?, ?);")) {
+                            locationStatement.setInt(1, actionId);
+                            locationStatement.setInt(2, locationID);
+                            DatabaseConnection.getInstance().writeStatement(locationStatement);
+                        }
+                    }
+                }
 
-        return actionId;
+                //END target queries
+
+                return actionId;
+            }
+        }
     }
 
     /**
@@ -107,12 +119,14 @@ public class ActionsDB {
      */
     public static void executeAction(int actionID) throws SQLException {
         // Create query
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Actions SET status='EXECUTED' WHERE actionID=?;");
-        statement.setInt(1, actionID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Actions SET status='EXECUTED' WHERE actionID=?;")) {
+            statement.setInt(1, actionID);
 
-        // Execute query
-        DatabaseConnection.getInstance().writeStatement(statement);
+            // Execute query
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -123,12 +137,51 @@ public class ActionsDB {
      */
     public static void completeAction(int actionID) throws SQLException {
         // Create query
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Actions SET status='COMPLETED' WHERE actionID=?;");
-        statement.setInt(1, actionID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Actions SET status='COMPLETED' WHERE actionID=?;")) {
+            statement.setInt(1, actionID);
+
+            // Execute query
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /**
+     * Set the status of multiple {@code Action}s to 'EXECUTED', using a single update.
+     *
+     * @param actionIDs the ids of the actions
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    public static void executeActions(Collection<Integer> actionIDs) throws SQLException {
+        updateStatus(actionIDs, "EXECUTED");
+    }
 
-        // Execute query
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Set the status of multiple {@code Action}s to 'COMPLETED', using a single update.
+     *
+     * @param actionIDs the ids of the actions
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    public static void completeActions(Collection<Integer> actionIDs) throws SQLException {
+        updateStatus(actionIDs, "COMPLETED");
+    }
+
+    /**
+     * Set the status of all actions of an instance that have not been completed yet to 'COMPLETED', using a single
+     * update.
+     *
+     * @param instanceId the instance id
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    public static void completeActions(int instanceId) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Actions SET status='COMPLETED' WHERE instanceID=? AND status<>'COMPLETED';")) {
+            statement.setInt(1, instanceId);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -152,20 +205,22 @@ public class ActionsDB {
      */
     public static ArrayList<Integer> getActions(int instanceId, String status) throws SQLException {
         // Create query
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT actionID FROM Actions WHERE instanceID=? AND status=?;");
-        statement.setInt(1, instanceId);
-        statement.setString(2, status);
-
-        // Execute query
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        // Convert result to list
-        ArrayList<Integer> returnList = new ArrayList<>();
-        while (resultSet.next()) {
-            returnList.add(resultSet.getInt("actionID"));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT actionID FROM Actions WHERE instanceID=? AND status=?;")) {
+            statement.setInt(1, instanceId);
+            statement.setString(2, status);
+
+            // Execute query
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                // Convert result to list
+                ArrayList<Integer> returnList = new ArrayList<>();
+                while (resultSet.next()) {
+                    returnList.add(resultSet.getInt("actionID"));
+                }
+                return returnList;
+            }
         }
-        return returnList;
     }
 
     /**
@@ -173,105 +228,173 @@ public class ActionsDB {
      *
      * @param actionId the action ID of the action to be fetched
      * @return the {@code ActionDT} for that {@code actionId}
-     * @throws SQLException                 Exception thrown for database errors
-     * @throws ReflectiveOperationException Catch-all exception
+     * @throws SQLException           Exception thrown for database errors
+     * @throws ClassNotFoundException when the action cannot be restored from its name, such as a {@code CompAction}
      */
-    public static ActionDT getActionFromID(int actionId) throws SQLException, ReflectiveOperationException {
-
-        // Create query for general information
-        PreparedStatement generalStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Actions WHERE actionID=?;");
-        generalStatement.setInt(1, actionId);
-
-        // Execute query
-        ResultSet generalResultSet = DatabaseConnection.getInstance().readStatement(generalStatement);
+    public static ActionDT getActionFromID(int actionId) throws SQLException, ClassNotFoundException {
 
-        if (!generalResultSet.next()) {
-            throw new SQLException("Action with id " + actionId + " was not found!");
-        }
-        // Assert: found the action in the DB
-
-        int instanceID = generalResultSet.getInt("instanceID");
-        ArrayList<PlayerIdentifier> playerList = new ArrayList<>();
-        ArrayList<Integer> locationList = new ArrayList<>();
-        boolean playerTargets = false;
-        boolean locationTargets = false;
-
-        // Check what targets we need to query
-        switch (generalResultSet.getString("targetType")) {
-            case "PLAYER" -> playerTargets = true;
-            case "LOCATION" -> locationTargets = true;
-            case "BOTH" -> {
-                playerTargets = true;
-                locationTargets = true;
-            }
-        }
-
-        // Get the targets
-        if (playerTargets) {
-            // Create player query
-            PreparedStatement playerStatement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("SELECT targetUserID FROM ActionTargetPlayers WHERE actionID=?;");
-            playerStatement.setInt(1, actionId);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             // Create query for general information
+             PreparedStatement generalStatement = connection.prepareStatement(
+                     "SELECT * FROM Actions WHERE actionID=?;")) {
+            generalStatement.setInt(1, actionId);
 
             // Execute query
-            ResultSet playerResultSet = DatabaseConnection.getInstance().readStatement(playerStatement);
+            try (ResultSet generalResultSet = DatabaseConnection.getInstance().readStatement(generalStatement)) {
+                if (!generalResultSet.next()) {
+                    throw new SQLException("Action with id " + actionId + " was not found!");
+                }
+                // Assert: found the action in the DB
+
+                int instanceID = generalResultSet.getInt("instanceID");
+                ArrayList<PlayerIdentifier> playerList = new ArrayList<>();
+                ArrayList<Integer> locationList = new ArrayList<>();
+                boolean playerTargets = false;
+                boolean locationTargets = false;
+
+                // Check what targets we need to query
+                switch (generalResultSet.getString("targetType")) {
+                    case "PLAYER" -> playerTargets = true;
+                    case "LOCATION" -> locationTargets = true;
+                    case "BOTH" -> {
+                        playerTargets = true;
+                        locationTargets = true;
+                    }
+                }
 
-            // Process players
-            while (playerResultSet.next()) {
-                playerList.add(new PlayerIdentifier(instanceID, playerResultSet.getInt("targetUserID")));
-            }
-        }
-        if (locationTargets) {
-            // -- Get all the houses --
-            PreparedStatement houseStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "SELECT targetLocationID FROM ActionTargetLocation WHERE actionID=? AND " +
-                            "targetLocationID NOT IN (SELECT bridgeID FROM Bridge);"
-                    // IMPORTANT: This query assumes that if the location is not a Bridge, it must be a House!
-            );
-            houseStatement.setInt(1, actionId);
+                // Get the targets
+                if (playerTargets) {
+                    // Create player query
+                    try (PreparedStatement playerStatement = connection.prepareStatement(
+                            "SELECT targetUserID FROM ActionTargetPlayers WHERE actionID=?;")) {
+                        playerStatement.setInt(1, actionId);
+
+                        // Execute query
+                        try (ResultSet playerResultSet = DatabaseConnection.getInstance()
+                                .readStatement(playerStatement)) {
+                            // Process players
+                            while (playerResultSet.next()) {
+                                playerList.add(
+                                        new PlayerIdentifier(instanceID, playerResultSet.getInt("targetUserID")));
+                            }
+                        }
+                    }
+                }
+                if (locationTargets) {
+                    // -- Get all the houses --
+                    try (PreparedStatement houseStatement = connection.prepareStatement(
+                            "SELECT targetLocationID FROM ActionTargetLocation WHERE actionID=? AND " +
+                                    "targetLocationID NOT IN (SELECT bridgeID FROM Bridge);"
+                            // IMPORTANT: This query assumes that if the location is not a Bridge, it must be a House!
+                    )) {
+                        houseStatement.setInt(1, actionId);
+
+                        // Execute query
+                        try (ResultSet housesResultSet = DatabaseConnection.getInstance()
+                                .readStatement(houseStatement)) {
+                            // Process houses
+                            while (housesResultSet.next()) {
+                                locationList.add(housesResultSet.getInt("targetLocationID"));
+                            }
+                        }
+                    }
+
+                    // -- Get all the bridges --
+                    try (PreparedStatement bridgeStatement = connection.prepareStatement(
+                            "SELECT targetLocationID FROM ActionTargetLocation WHERE actionID=? AND " +
+                                    "targetLocationID IN (SELECT bridgeID FROM Bridge);")) {
+                        bridgeStatement.setInt(1, actionId);
+
+                        // Execute query
+                        try (ResultSet bridgeResultSet = DatabaseConnection.getInstance()
+                                .readStatement(bridgeStatement)) {
+                            // Process bridges
+                            while (bridgeResultSet.next()) {
+                                locationList.add(bridgeResultSet.getInt("targetLocationID"));
+                            }
+                        }
+                    }
+                }
 
-            // Execute query
-            ResultSet housesResultSet = DatabaseConnection.getInstance().readStatement(houseStatement);
+                // --- Process data ---
+                // Package data in correct format
+                ActionEnc data = new ActionEnc(locationList, playerList);
 
-            // Process houses
-            while (housesResultSet.next()) {
-                locationList.add(housesResultSet.getInt("targetLocationID"));
-            }
+                // Define the player that performs the action
+                PlayerIdentifier performingPlayer =
+                        new PlayerIdentifier(generalResultSet.getInt("instanceID"), generalResultSet.getInt("userID"));
 
-            // -- Get all the bridges --
-            PreparedStatement bridgeStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "SELECT targetLocationID FROM ActionTargetLocation WHERE actionID=? AND " +
-                            "targetLocationID IN (SELECT bridgeID FROM Bridge);");
-            bridgeStatement.setInt(1, actionId);
+                // Create preAction
+                PreActionDT preActionDT = new PreActionDT(performingPlayer, data);
 
-            // Execute query
-            ResultSet bridgeResultSet = DatabaseConnection.getInstance().readStatement(bridgeStatement);
+                // Create correct Action object
+                String actionName = generalResultSet.getString("name");
+                if (!ActionRegistry.contains(actionName)) {
+                    throw new ClassNotFoundException("There is no action called " + actionName + ".");
+                }
+                Action actionObject = ActionRegistry.createAction(actionName);
 
-            // Process bridges
-            while (bridgeResultSet.next()) {
-                locationList.add(bridgeResultSet.getInt("targetLocationID"));
+                return new ActionDT(generalResultSet.getTimestamp("time").toInstant(), actionObject, preActionDT);
             }
         }
+    }
 
-        // --- Process data ---
-        // Package data in correct format
-        ActionEnc data = new ActionEnc(locationList, playerList);
-
-        // Define the player that performs the action
-        PlayerIdentifier performingPlayer =
-                new PlayerIdentifier(generalResultSet.getInt("instanceID"), generalResultSet.getInt("userID"));
-
-        // Create preAction
-        PreActionDT preActionDT = new PreActionDT(performingPlayer, data);
-
-        // Create correct Action object
-        // Based on https://makeinjava.com/create-object-instance-class-name-using-class-forname-java-examples/
-        String actionName = generalResultSet.getString("name");
-        Class<?> actionClass = Class.forName("org.lukos.model.actionsystem.actions." + actionName);
-        Action actionObject = (Action) actionClass.getDeclaredConstructor().newInstance();
+    /**
+     * Get all actions of an instance that are at a given status, together with their targets, using a single query.
+     *
+     * @param instanceId for which instance to get the actions for
+     * @param status     the status of the actions
+     * @return the actions with {@code status}, ordered by the time they were submitted
+     * @throws SQLException           Exception thrown for database errors
+     * @throws ClassNotFoundException when an action cannot be restored from its name, such as a {@code CompAction}
+     */
+    public static List<ActionRecord> getActionRecords(int instanceId, String status)
+            throws SQLException, ClassNotFoundException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT act.actionID, act.userID, act.time, act.name, act.targetType, " +
+                             "player.targetUserID, location.targetLocationID, bridge.bridgeID " +
+                             "FROM Actions act " +
+                             "LEFT JOIN ActionTargetPlayers player ON player.actionID=act.actionID " +
+                             "LEFT JOIN ActionTargetLocation location ON location.actionID=act.actionID " +
+                             "LEFT JOIN Bridge bridge ON bridge.bridgeID=location.targetLocationID " +
+                             "WHERE act.instanceID=? AND act.status=? ORDER BY act.time, act.actionID;")) {
+            statement.setInt(1, instanceId);
+            statement.setString(2, status);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                // A row per combination of targets, which are collected per action
+                Map<Integer, ActionRow> rows = new LinkedHashMap<>();
+                while (resultSet.next()) {
+                    int actionId = resultSet.getInt("actionID");
+                    ActionRow row = rows.get(actionId);
+                    if (row == null) {
+                        row = new ActionRow(resultSet.getInt("userID"), resultSet.getTimestamp("time").toInstant(),
+                                resultSet.getString("name"), resultSet.getString("targetType"));
+                        rows.put(actionId, row);
+                    }
+                    int target = resultSet.getInt("targetUserID");
+                    if (!resultSet.wasNull() && !row.targetType.equals("LOCATION")) {
+                        row.players.add(target);
+                    }
+                    target = resultSet.getInt("targetLocationID");
+                    if (!resultSet.wasNull() && !row.targetType.equals("PLAYER")) {
+                        // IMPORTANT: This assumes that if the location is not a Bridge, it must be a House!
+                        if (resultSet.getObject("bridgeID") == null) {
+                            row.houses.add(target);
+                        } else {
+                            row.bridges.add(target);
+                        }
+                    }
+                }
 
-        return new ActionDT(generalResultSet.getTimestamp("time").toInstant(), actionObject, preActionDT);
+                List<ActionRecord> actions = new ArrayList<>();
+                for (Map.Entry<Integer, ActionRow> entry : rows.entrySet()) {
+                    actions.add(new ActionRecord(entry.getKey(), entry.getValue().toActionDT(instanceId)));
+                }
+                return actions;
+            }
+        }
     }
 
     /**
@@ -282,37 +405,105 @@ public class ActionsDB {
      * @throws SQLException Exception thrown when writing expected query fails
      */
     public static void CheckIfComplete(int instanceID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT act.actionID, log.status FROM Actions act, ActionLogs log " +
-                        "WHERE act.instanceID=? AND act.actionID=log.actionID AND act.status='EXECUTED';");
-
-        statement.setInt(1, instanceID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT act.actionID, log.status FROM Actions act, ActionLogs log " +
+                             "WHERE act.instanceID=? AND act.actionID=log.actionID AND act.status='EXECUTED';")) {
+            statement.setInt(1, instanceID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                HashMap<Integer, Boolean> result = new HashMap<>();
+
+                // Check all messages and whether they have been sent
+                while (resultSet.next()) {
+                    int actionId = resultSet.getInt("actionID");
+                    boolean sent = resultSet.getBoolean("actionID");
+
+                    if (result.containsKey(actionId)) {
+                        result.put(actionId, result.get(actionId) && sent);
+                    } else {
+                        result.put(actionId, sent);
+                    }
+
+                    try (PreparedStatement markAsComplete = connection.prepareStatement(
+                            "UPDATE Actions SET status='COMPLETE' WHERE actionID=?;")) {
+                        for (int actId : result.keySet()) {
+                            // If all messages have been sent, we mark the action as 'COMPLETE'
+                            if (result.get(actId)) {
+                                markAsComplete.setInt(1, actId);
+                                DatabaseConnection.getInstance().writeStatement(markAsComplete);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
+    /**
+     * Set the status of multiple actions using a single update.
+     *
+     * @param actionIDs the ids of the actions
+     * @param status    the new status of the actions
+     * @throws SQLException Exception thrown when writing expected query fails
+     */
+    private static void updateStatus(Collection<Integer> actionIDs, String status) throws SQLException {
+        if (actionIDs.isEmpty()) {
+            return;
+        }
+        StringBuilder query = new StringBuilder("UPDATE Actions SET status=? WHERE actionID IN (");
+        query.append("?, ".repeat(actionIDs.size()));
+        query.setLength(query.length() - 2);
+        query.append(");");
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query.toString())) {
+            int index = 1;
+            statement.setString(index++, status);
+            for (int actionId : actionIDs) {
+                statement.setInt(index++, actionId);
+            }
 
-        HashMap<Integer, Boolean> result = new HashMap<>();
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
 
-        // Check all messages and whether they have been sent
-        while (resultSet.next()) {
-            int actionId = resultSet.getInt("actionID");
-            boolean sent = resultSet.getBoolean("actionID");
+    /**
+     * The columns of an action read by {@link #getActionRecords(int, String)}, with the targets collected so far.
+     */
+    private static final class ActionRow {
+        private final int userID;
+        private final Instant time;
+        private final String name;
+        private final String targetType;
+        private final Set<Integer> players = new LinkedHashSet<>();
+        private final Set<Integer> houses = new LinkedHashSet<>();
+        private final Set<Integer> bridges = new LinkedHashSet<>();
+
+        private ActionRow(int userID, Instant time, String name, String targetType) {
+            this.userID = userID;
+            this.time = time;
+            this.name = name;
+            this.targetType = targetType;
+        }
 
-            if (result.containsKey(actionId)) {
-                result.put(actionId, result.get(actionId) && sent);
-            } else {
-                result.put(actionId, sent);
+        /**
+         * Restores the action, listing the targeted houses before the targeted bridges like {@link
+         * #getActionFromID(int)} does.
+         */
+        private ActionDT toActionDT(int instanceID) throws ClassNotFoundException {
+            ArrayList<PlayerIdentifier> playerList = new ArrayList<>();
+            for (int player : players) {
+                playerList.add(new PlayerIdentifier(instanceID, player));
             }
+            ArrayList<Integer> locationList = new ArrayList<>(houses);
+            locationList.addAll(bridges);
 
-            PreparedStatement markAsComplete = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("UPDATE Actions SET status='COMPLETE' WHERE actionID=?;");
-
-            for (int actId : result.keySet()) {
-                // If all messages have been sent, we mark the action as 'COMPLETE'
-                if (result.get(actId)) {
-                    markAsComplete.setInt(1, actId);
-                    DatabaseConnection.getInstance().writeStatement(markAsComplete);
-                }
+            if (!ActionRegistry.contains(name)) {
+                throw new ClassNotFoundException("There is no action called " + name + ".");
             }
+            return new ActionDT(time, ActionRegistry.createAction(name),
+                    new PreActionDT(new PlayerIdentifier(instanceID, userID), new ActionEnc(locationList, playerList)));
         }
     }
 }
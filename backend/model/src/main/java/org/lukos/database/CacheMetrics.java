@@ -0,0 +1,23 @@
+package org.lukos.database;
+
+/**
+ * Snapshot of the usage of an in-memory cache of the database.
+ *
+ * @param hits    number of reads that were served from memory since startup
+ * @param misses  number of reads that had to go to the database since startup
+ * @param entries number of entries that are currently kept in memory
+ * @author agent
+ * @since 18-10-2026
+ */
+public record CacheMetrics(long hits, long misses, int entries) {
+
+    /**
+     * Returns the fraction of reads that were served from memory.
+     *
+     * @return the hit rate, between 0 and 1
+     */
+    public double hitRate() {
+        long reads = hits + misses;
+        return reads == 0 ? 0 : (double) hits / reads;
+    }
+}
@@ -2,13 +2,17 @@ package org.lukos.database;
 
 import org.lukos.model.chatsystem.*;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Class for handling database operations related to chats
@@ -29,19 +33,22 @@ public class ChatDB {
     public static List<ChatIdentifier> findChatsByID(int iid) throws SQLException {
         List<ChatIdentifier> list = new ArrayList<>();
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT chatID, chatType FROM ChatInstance WHERE instanceID=?;");
-        statement.setInt(1, iid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        while (resultSet.next()) {
-            int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
-            ChatType type = ChatType.valueOf(resultSet.getString("chatType")); // reading chatType from resultset
-            list.add(new ChatIdentifier(chatID, type)); // adding username to list
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT chatID, chatType FROM ChatInstance WHERE instanceID=?;")) {
+            statement.setInt(1, iid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                while (resultSet.next()) {
+                    int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
+                    // reading chatType from resultset
+                    ChatType type = ChatType.valueOf(resultSet.getString("chatType"));
+                    list.add(new ChatIdentifier(chatID, type)); // adding username to list
+                }
+
+                return list;
+            }
         }
-
-        return list;
     }
 
     /**
@@ -55,20 +62,23 @@ public class ChatDB {
     public static List<ChatStatus> findChatsByPlayer(int uid) throws SQLException {
         List<ChatStatus> list = new ArrayList<>();
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT ChatInstance.chatID, ChatInstance.chatType, ChatInstance.isOpen FROM ChatInstance, " +
-                        "ChatMembers WHERE ChatMembers.userID=? AND ChatInstance.chatID = ChatMembers.chatID;");
-        statement.setInt(1, uid);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        while (resultSet.next()) {
-            int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
-            ChatType type = ChatType.valueOf(resultSet.getString("chatType")); // reading chatType from resultset
-            boolean open = resultSet.getBoolean("isOpen");
-            list.add(new ChatStatus(chatID, type, open)); // adding username to list
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT ChatInstance.chatID, ChatInstance.chatType, ChatInstance.isOpen FROM ChatInstance, " +
+                             "ChatMembers WHERE ChatMembers.userID=? AND ChatInstance.chatID = ChatMembers.chatID;")) {
+            statement.setInt(1, uid);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                while (resultSet.next()) {
+                    int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
+                    // reading chatType from resultset
+                    ChatType type = ChatType.valueOf(resultSet.getString("chatType"));
+                    boolean open = resultSet.getBoolean("isOpen");
+                    list.add(new ChatStatus(chatID, type, open)); // adding username to list
+                }
+
+                return list;
+            }
         }
-
-        return list;
     }
 
     /**
@@ -80,15 +90,18 @@ public class ChatDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static void addChatPlayer(int uid, int cid, boolean writeAccess) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO ChatMembers(userID, chatID, writeAccess) VALUES (?, ?, ?);",
-                        // Make sure this uses RETURN_GENERATED_KEYS
-                        Statement.RETURN_GENERATED_KEYS);
-        statement.setInt(1, uid);
-        statement.setInt(2, cid);
-        statement.setBoolean(3, writeAccess);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO ChatMembers(userID, chatID, writeAccess) VALUES (?, ?, ?);",
+                     // Make sure this uses RETURN_GENERATED_KEYS
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, uid);
+            statement.setInt(2, cid);
+            statement.setBoolean(3, writeAccess);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidateChat(cid);
+        }
     }
 
     /**
@@ -99,12 +112,15 @@ public class ChatDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static void removeChatPlayer(int uid, int cid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM ChatMembers WHERE ?=userID AND ?=chatID;");
-        statement.setInt(1, uid);
-        statement.setInt(2, cid);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM ChatMembers WHERE ?=userID AND ?=chatID;")) {
+            statement.setInt(1, uid);
+            statement.setInt(2, cid);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidateChat(cid);
+        }
     }
 
     /**
@@ -116,13 +132,16 @@ public class ChatDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static void toggleWriteAccessPlayer(int uid, int cid, boolean writeAccess) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ChatMembers SET writeAccess=? WHERE userID=? AND chatID=?;");
-        statement.setBoolean(1, writeAccess);
-        statement.setInt(2, uid);
-        statement.setInt(3, cid);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE ChatMembers SET writeAccess=? WHERE userID=? AND chatID=?;")) {
+            statement.setBoolean(1, writeAccess);
+            statement.setInt(2, uid);
+            statement.setInt(3, cid);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidateChat(cid);
+        }
     }
 
     /**
@@ -134,17 +153,20 @@ public class ChatDB {
     public static List<Integer> getPlayers(int cid) throws SQLException {
         List<Integer> list = new ArrayList<>();
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM ChatMembers WHERE ChatMembers.chatID=? AND writeAccess=?;");
-        statement.setInt(1, cid);
-        statement.setBoolean(2, false);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        while (resultSet.next()) {
-            int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
-            list.add(chatID); // adding username to list
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID FROM ChatMembers WHERE ChatMembers.chatID=? AND writeAccess=?;")) {
+            statement.setInt(1, cid);
+            statement.setBoolean(2, false);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                while (resultSet.next()) {
+                    int chatID = resultSet.getInt("chatID"); // reading chatid from resultset
+                    list.add(chatID); // adding username to list
+                }
+                return list;
+            }
         }
-        return list;
     }
 
     /**
@@ -155,21 +177,23 @@ public class ChatDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static int createChat(int iid, ChatType type) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO ChatInstance(instanceID, chatType, isOpen) VALUES (?, ?, ?);",
-                        // Make sure this uses RETURN_GENERATED_KEYS
-                        Statement.RETURN_GENERATED_KEYS);
-        statement.setInt(1, iid);
-        statement.setString(2, type.toString());
-        statement.setBoolean(3, true);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-        ResultSet resultSet = statement.getGeneratedKeys();
-
-        if (resultSet.next()) {
-            return resultSet.getInt(1);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO ChatInstance(instanceID, chatType, isOpen) VALUES (?, ?, ?);",
+                     // Make sure this uses RETURN_GENERATED_KEYS
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, iid);
+            statement.setString(2, type.toString());
+            statement.setBoolean(3, true);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+                throw new SQLException("No Chat ID was generated. That should not occur...");
+            }
         }
-        throw new SQLException("No Chat ID was generated. That should not occur...");
     }
 
     /**
@@ -179,14 +203,17 @@ public class ChatDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean getOpen(int cid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT isOpen FROM ChatInstance WHERE chatID=?;");
-        statement.setInt(1, cid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT isOpen FROM ChatInstance WHERE chatID=?;")) {
+            statement.setInt(1, cid);
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        resultSet.next();
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                resultSet.next();
 
-        return resultSet.getBoolean("isOpen");
+                return resultSet.getBoolean("isOpen");
+            }
+        }
     }
 
     /**
@@ -201,16 +228,59 @@ public class ChatDB {
      */
     public static void submitChat(int uid, int cid, String message, Instant time) throws SQLException {
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO ChatMessages(chatID, timeSent, userID, message) VALUES (?, ?, ?, ?);",
-                        // Make sure this uses RETURN_GENERATED_KEYS
-                        Statement.RETURN_GENERATED_KEYS);
-        statement.setInt(1, cid);
-        statement.setTimestamp(2, java.sql.Timestamp.from(time));
-        statement.setInt(3, uid);
-        statement.setString(4, message);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO ChatMessages(chatID, timeSent, userID, message) VALUES (?, ?, ?, ?);",
+                     // Make sure this uses RETURN_GENERATED_KEYS
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, cid);
+            statement.setTimestamp(2, java.sql.Timestamp.from(time));
+            statement.setInt(3, uid);
+            statement.setString(4, message);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Submits a batch of chat messages to the ChatMessages table with a single statement. The messages are inserted in
+     * the order of the list.
+     *
+     * @param cid      The chat the messages are submitted to
+     * @param messages The messages, each holding the ID of the user that submitted it, the time at which it arrived in
+     *                 the backend, and its content
+     * @return the IDs of the stored messages in the order of the list, empty if storing them failed
+     * @throws SQLException Exception thrown when writing expected query to database fails
+     */
+    public static List<Integer> submitChats(int cid, List<MessageEntry> messages) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        if (messages.isEmpty()) {
+            return ids;
+        }
+        StringBuilder query = new StringBuilder("INSERT INTO ChatMessages(chatID, timeSent, userID, message) VALUES ");
+        query.append("(?, ?, ?, ?), ".repeat(messages.size()));
+        query.setLength(query.length() - 2);
+        query.append(';');
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query.toString(),
+                     Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (MessageEntry message : messages) {
+                statement.setInt(index++, cid);
+                statement.setTimestamp(index++, java.sql.Timestamp.from(message.timestamp()));
+                statement.setInt(index++, message.id());
+                statement.setString(index++, message.content());
+            }
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+            return ids;
+        }
     }
 
     /**
@@ -222,22 +292,112 @@ public class ChatDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static List<ChatMessage> getMessages(int cid, Instant fromTime, int amount) throws SQLException {
-        List<ChatMessage> list = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT chatID, messageID, timeSent, userID, message FROM ChatMessages WHERE chatID=? AND " +
+                             "timeSent > ? ORDER BY timeSent ASC, messageID ASC limit ?;")) {
+            statement.setInt(1, cid);
+            statement.setTimestamp(2, java.sql.Timestamp.from(fromTime));
+            statement.setInt(3, amount);
+
+            return readMessages(statement);
+        }
+    }
+
+    /**
+     * Obtains the messages in a chat that were stored before the given message, using the message IDs as cursor.
+     *
+     * @param cid      The chat we want to obtain the message history from
+     * @param beforeID The ID of the message before which we search, exclusive
+     * @param amount   The amount of messages we load at most, starting with the most recent messages
+     * @return the messages, oldest first
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static List<ChatMessage> getMessagesBefore(int cid, int beforeID, int amount) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT chatID, messageID, timeSent, userID, message FROM ChatMessages WHERE chatID=? AND " +
+                             "messageID < ? ORDER BY messageID DESC limit ?;")) {
+            statement.setInt(1, cid);
+            statement.setInt(2, beforeID);
+            statement.setInt(3, amount);
+
+            List<ChatMessage> list = readMessages(statement);
+            Collections.reverse(list);
+            return list;
+        }
+    }
+
+    /**
+     * Obtains the messages in a chat that were stored after the given message, using the message IDs as cursor.
+     *
+     * @param cid     The chat we want to obtain the message history from
+     * @param afterID The ID of the message after which we search, exclusive
+     * @param amount  The amount of messages we load at most, starting with the oldest messages
+     * @return the messages, oldest first
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static List<ChatMessage> getMessagesAfter(int cid, int afterID, int amount) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT chatID, messageID, timeSent, userID, message FROM ChatMessages WHERE chatID=? AND " +
+                             "messageID > ? ORDER BY messageID ASC limit ?;")) {
+            statement.setInt(1, cid);
+            statement.setInt(2, afterID);
+            statement.setInt(3, amount);
+
+            return readMessages(statement);
+        }
+    }
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT chatID, timeSent, userID, message FROM ChatMessages WHERE chatID=? AND timeSent > ? " +
-                        "ORDER BY timeSent ASC limit ?;");
-        statement.setInt(1, cid);
-        statement.setTimestamp(2, java.sql.Timestamp.from(fromTime));
-        statement.setInt(3, amount);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        while (resultSet.next()) {
-            list.add(new ChatMessage(resultSet.getInt("chatID"),
-                    new MessageEntry(resultSet.getInt("userID"), resultSet.getTimestamp("timeSent").toInstant(),
-                            resultSet.getString("message"))));
+    private static List<ChatMessage> readMessages(PreparedStatement statement) throws SQLException {
+        List<ChatMessage> list = new ArrayList<>();
+        try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+            while (resultSet.next()) {
+                list.add(new ChatMessage(resultSet.getInt("chatID"), resultSet.getInt("messageID"),
+                        new MessageEntry(resultSet.getInt("userID"), resultSet.getTimestamp("timeSent").toInstant(),
+                                resultSet.getString("message"))));
+            }
+            return list;
         }
-        return list;
+    }
+
+    /**
+     * Getting who may write messages to a chat. The permissions of chats are kept in memory, such that they can be
+     * checked without going to the database.
+     *
+     * @param cid The chat we want to obtain the permissions of
+     * @return the permissions of the chat, or {@code null} if there is no chat with the given ID
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static ChatRecord getChatRecord(int cid) throws SQLException {
+        return GameStateCache.getInstance().getChat(cid, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT ChatInstance.instanceID, ChatInstance.isOpen, Players.userID FROM ChatInstance " +
+                                 "LEFT JOIN ChatMembers ON ChatMembers.chatID=ChatInstance.chatID AND " +
+                                 "ChatMembers.writeAccess LEFT JOIN Players ON Players.userID=ChatMembers.userID " +
+                                 "AND Players.instanceID=ChatInstance.instanceID AND NOT Players.muted " +
+                                 "WHERE ChatInstance.chatID=?;")) {
+                statement.setInt(1, cid);
+
+                try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    int iid = resultSet.getInt("instanceID");
+                    boolean open = resultSet.getBoolean("isOpen");
+                    Set<Integer> writers = new HashSet<>();
+                    do {
+                        int uid = resultSet.getInt("userID");
+                        if (!resultSet.wasNull()) {
+                            writers.add(uid);
+                        }
+                    } while (resultSet.next());
+                    return new ChatRecord(cid, iid, open, Set.copyOf(writers));
+                }
+            }
+        });
     }
 
     /**
@@ -248,16 +408,19 @@ public class ChatDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean checkWritePermission(int cid, int uid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT writeAccess FROM ChatMembers WHERE chatID=? AND userID=?;");
-        statement.setInt(1, cid);
-        statement.setInt(2, uid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            return resultSet.getBoolean("writeAccess");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT writeAccess FROM ChatMembers WHERE chatID=? AND userID=?;")) {
+            statement.setInt(1, cid);
+            statement.setInt(2, uid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getBoolean("writeAccess");
+                }
+                return false;
+            }
         }
-        return false;
     }
 
     /**
@@ -268,14 +431,17 @@ public class ChatDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean checkMuted(int uid, int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT muted FROM Players WHERE userID=? AND instanceID=?;");
-        statement.setInt(1, uid);
-        statement.setInt(2, iid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        resultSet.next();
-        return resultSet.getBoolean("muted");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT muted FROM Players WHERE userID=? AND instanceID=?;")) {
+            statement.setInt(1, uid);
+            statement.setInt(2, iid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                resultSet.next();
+                return resultSet.getBoolean("muted");
+            }
+        }
     }
 
     /**
@@ -286,11 +452,14 @@ public class ChatDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static void openChat(int cid, boolean open) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE ChatInstance SET isOpen=? WHERE chatID=?;");
-        statement.setInt(1, cid);
-        statement.setBoolean(2, open);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE ChatInstance SET isOpen=? WHERE chatID=?;")) {
+            statement.setInt(1, cid);
+            statement.setBoolean(2, open);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidateChat(cid);
+        }
     }
 }
@@ -0,0 +1,28 @@
+package org.lukos.database;
+
+import java.util.Set;
+
+/**
+ * The state of a chat that decides who may write messages to it, as stored in the `ChatInstance`, `ChatMembers` and
+ * `Players`-tables of the database.
+ *
+ * @param chatID     ID of the chat
+ * @param instanceID ID of the instance the chat belongs to
+ * @param open       whether the chat is open
+ * @param writers    IDs of the users that are a player of the instance, have write access to the chat, and are not
+ *                   muted
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ChatRecord(int chatID, int instanceID, boolean open, Set<Integer> writers) {
+
+    /**
+     * Returns whether the given user may write messages to this chat.
+     *
+     * @param uid ID of the user
+     * @return whether the chat is open and the user is one of its writers
+     */
+    public boolean canWrite(int uid) {
+        return open && writers.contains(uid);
+    }
+}
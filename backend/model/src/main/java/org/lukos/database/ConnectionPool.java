@@ -0,0 +1,202 @@
+package org.lukos.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of physical database connections. At most {@code maxSize} connections are handed out at the same time,
+ * further borrowers wait up to {@code timeoutMillis} for one to be released. Connections are created lazily and
+ * validated before they are handed out again.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+class ConnectionPool {
+
+    /** Number of seconds a connection gets to prove it is still usable when it is taken from the idle queue. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    /** Upper bound for the back-off between two attempts to open a connection. */
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long timeoutMillis;
+
+    /** Connections that are open but not borrowed by anyone. */
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    /** One permit per connection that may still be borrowed. */
+    private final Semaphore permits;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Constructs a pool for the given database.
+     *
+     * @param url           JDBC connection string of the database
+     * @param user          user to connect as
+     * @param password      password of that user
+     * @param maxSize       maximum number of connections that can be borrowed at the same time
+     * @param timeoutMillis time a borrower waits for a connection before giving up
+     */
+    ConnectionPool(String url, String user, String password, int maxSize, long timeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("A connection pool needs at least one connection.");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available. The caller has to
+     * hand it back using {@link #release(Connection)}.
+     *
+     * @return an open connection that is not used by anyone else
+     * @throws SQLTimeoutException if no connection became available within the timeout
+     * @throws SQLException        if the thread was interrupted while waiting, or the database could not be reached
+     */
+    Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        // Only wait (and thus react to interrupts) when the pool is actually exhausted
+        if (!permits.tryAcquire()) {
+            try {
+                if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTimeoutException(
+                            "No database connection became available within " + timeoutMillis + " ms.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection.", e);
+            }
+        }
+
+        try {
+            Connection connection = takeIdle();
+            if (connection == null) {
+                connection = open(deadline);
+            }
+            active.incrementAndGet();
+            recordWait(System.nanoTime() - start);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands a borrowed connection back to the pool. Uncommitted work is rolled back, and connections that are broken
+     * are discarded instead of being reused.
+     *
+     * @param connection the connection that was borrowed
+     */
+    void release(Connection connection) {
+        active.decrementAndGet();
+        try {
+            if (!connection.isClosed()) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                idle.offer(connection);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the current state of the pool.
+     *
+     * @return the metrics of the pool
+     */
+    PoolMetrics getMetrics() {
+        return new PoolMetrics(active.get(), idle.size(), maxSize, permits.getQueueLength(), borrows.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    /**
+     * Takes a usable connection from the idle queue, closing every stale one it comes across.
+     *
+     * @return an idle connection, or {@code null} if there is none
+     */
+    private Connection takeIdle() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            try {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return connection;
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            closeQuietly(connection);
+        }
+        return null;
+    }
+
+    /**
+     * Opens a new physical connection, retrying with an increasing back-off until the deadline has passed. This
+     * allows the application to start before the database is ready to accept connections.
+     *
+     * @param deadline value of {@link System#nanoTime()} after which no new attempts are made
+     * @return a new connection
+     * @throws SQLException if no connection could be opened before the deadline, or the thread was interrupted
+     */
+    private Connection open(long deadline) throws SQLException {
+        long backoff = 10;
+        while (true) {
+            try {
+                return DriverManager.getConnection(url, user, password);
+            } catch (SQLException e) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(Math.min(backoff, remaining));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while connecting to the database.", ie);
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        borrows.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+}
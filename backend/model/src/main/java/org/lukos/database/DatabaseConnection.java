@@ -1,9 +1,21 @@
 package org.lukos.database;
 
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Singleton-class used for connecting to the database, and executing database-operations
+ * Singleton-class used for connecting to the database, and executing database-operations.
+ * <p>
+ * Connections are taken from a bounded {@link ConnectionPool}. Every call to {@link #getConnect()} returns a lease on
+ * a pooled connection, which has to be closed (preferably using try-with-resources) to hand the connection back.
+ * Leases are bound to the current thread: nested calls on the same thread share the physical connection, which is
+ * returned to the pool once the outermost lease is closed. This also allows a {@link Transaction} to span all
+ * database-operations performed by the thread that started it.
  *
  * @author Lucas Gether-Rønning
  * @since 11-03-22
@@ -17,16 +29,18 @@ public class DatabaseConnection {
                     System.getenv("MYSQL_DATABASE");
     private static final String MYSQL_USER = System.getenv("MYSQL_USER");
     private static final String MYSQL_PASSWORD = System.getenv("MYSQL_PASSWORD");
+    /** Maximum number of connections that are in use at the same time. */
+    private static final int POOL_SIZE = readIntEnv("MYSQL_POOL_SIZE", 10);
+    /** Time in milliseconds to wait for a free connection before giving up. */
+    private static final long POOL_TIMEOUT = readIntEnv("MYSQL_POOL_TIMEOUT", 30000);
 
-    private Connection connect; // connection to the database, initialized in constructor
+    private final ConnectionPool pool; // pool of connections to the database, initialized in constructor
+    private final ThreadLocal<Lease> lease = new ThreadLocal<>(); // connection currently borrowed by each thread
+    private volatile boolean shared; // whether other servers use the same database
 
     // Private constructor to ensure Singleton design.
     private DatabaseConnection() {
-        try {
-            connect();
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        pool = createPool(POOL_SIZE, POOL_TIMEOUT);
     }
 
     /**
@@ -39,39 +53,78 @@ public class DatabaseConnection {
     }
 
     /**
-     * Getter for connection to db.
+     * Creates a new pool of connections to the configured database.
+     *
+     * @param size    maximum number of connections of the pool
+     * @param timeout time in milliseconds to wait for a free connection
+     * @return the new pool
+     */
+    static ConnectionPool createPool(int size, long timeout) {
+        return new ConnectionPool(CONNECTION_STRING, MYSQL_USER, MYSQL_PASSWORD, size, timeout);
+    }
+
+    /**
+     * Getter for a connection to the db. The returned connection is a lease that has to be closed after use, closing
+     * it hands the connection back to the pool instead of closing the connection to the database.
      *
      * @return connection to db
+     * @throws SQLException if no connection could be borrowed from the pool
      */
     public Connection getConnect() throws SQLException {
-        if (this.connect.isClosed()) {
-            try {
-                connect();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-                throw new SQLException("Could not establish connection to the database.");
-            }
+        Lease current = lease.get();
+        if (current == null) {
+            current = new Lease(pool.borrow());
+            lease.set(current);
         }
-        return this.connect;
+        return current.open();
     }
 
-    /** Method used to set up database-connection */
-    public void connect() throws InterruptedException {
+    /**
+     * Starts a {@link Transaction} on the connection of the current thread. All database-operations of this thread are
+     * part of the transaction until it is closed.
+     *
+     * @return the new transaction, or one that joins the ongoing transaction of this thread
+     * @throws SQLException if no connection could be borrowed from the pool, or the transaction could not be started
+     */
+    public Transaction beginTransaction() throws SQLException {
+        Connection connection = getConnect();
         try {
-            connect = DriverManager.getConnection(CONNECTION_STRING, MYSQL_USER,
-                    MYSQL_PASSWORD);  // setting up connection
-        } catch (Exception e) {
-            e.printStackTrace();
-            Thread.sleep(1);
-            connect();
-        } finally {
-            if (this.connect == null) {
-                Thread.sleep(1);
-                connect();
-            }
+            return new Transaction(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
         }
     }
 
+    /**
+     * Returns the metrics of the connection pool, such as the number of active and idle connections and the time spent
+     * waiting for a connection.
+     *
+     * @return the metrics of the connection pool
+     */
+    public PoolMetrics getPoolMetrics() {
+        return pool.getMetrics();
+    }
+
+    /**
+     * Sets whether other servers use the same database. State that other servers may change without notifying this
+     * server is then no longer kept in memory, or only for the duration of a transaction.
+     *
+     * @param shared whether other servers use the same database
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Returns whether other servers use the same database, see {@link #setShared(boolean)}.
+     *
+     * @return whether other servers use the same database
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
     /**
      * TODO: update JavaDoc
      * Shared execution method to execute a SQL-query reading from the database (INSERT, UPDATE, DELETE)
@@ -94,6 +147,205 @@ public class DatabaseConnection {
             query.executeUpdate();
         } catch (Exception e) {
             e.printStackTrace();
+            setRollbackOnly(true);
+        }
+    }
+
+    /**
+     * Shared execution method to execute a batch of SQL-queries writing to the database (INSERT, UPDATE, DELETE), which
+     * have been added to the statement using {@link PreparedStatement#addBatch()}.
+     *
+     * @param query PreparedStatement containing the batch of prefilled SQL-queries
+     */
+    public void writeBatch(PreparedStatement query) {
+        try {
+            query.executeBatch();
+        } catch (Exception e) {
+            e.printStackTrace();
+            setRollbackOnly(true);
+        }
+    }
+
+    /**
+     * Marks the start of a transaction on the connection of the current thread.
+     */
+    void startTransaction() {
+        Lease current = lease.get();
+        current.transactional = true;
+        current.rollbackOnly = false;
+    }
+
+    /**
+     * Marks the end of the transaction on the connection of the current thread, and runs the tasks that were
+     * registered using {@link #afterCompletion(Runnable)}, followed by those registered using {@link
+     * #afterCommit(Runnable)} if the transaction has been committed, or those registered using {@link
+     * #afterRollback(Runnable)} if it has been rolled back.
+     *
+     * @param committed whether the work of the transaction has been committed
+     */
+    void endTransaction(boolean committed) {
+        Lease current = lease.get();
+        current.transactional = false;
+        current.rollbackOnly = false;
+        List<Runnable> tasks = new ArrayList<>(current.afterCompletion);
+        tasks.addAll(committed ? current.afterCommit : current.afterRollback);
+        current.afterCompletion.clear();
+        current.afterCommit.clear();
+        current.afterRollback.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Returns whether the current thread is performing a transaction.
+     *
+     * @return whether a transaction is ongoing on this thread
+     */
+    public boolean isInTransaction() {
+        Lease current = lease.get();
+        return current != null && current.transactional;
+    }
+
+    /**
+     * Registers a task to run once the ongoing transaction of the current thread has been committed or rolled back.
+     * Does nothing when the thread is not performing a transaction.
+     *
+     * @param task the task to run
+     */
+    void afterCompletion(Runnable task) {
+        if (isInTransaction()) {
+            lease.get().afterCompletion.add(task);
+        }
+    }
+
+    /**
+     * Registers a task to run once the work of the current thread has been committed, such as notifying others of
+     * the changes that were made. When the thread is not performing a transaction its work has already been committed,
+     * and the task is run right away. Tasks of a transaction that is rolled back are discarded.
+     *
+     * @param task the task to run
+     */
+    public void afterCommit(Runnable task) {
+        if (isInTransaction()) {
+            lease.get().afterCommit.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * Registers a task to run once the ongoing transaction of the current thread has been rolled back, such as
+     * discarding in-memory state that was updated along with the work of the transaction. Does nothing when the thread
+     * is not performing a transaction.
+     *
+     * @param task the task to run
+     */
+    public void afterRollback(Runnable task) {
+        if (isInTransaction()) {
+            lease.get().afterRollback.add(task);
+        }
+    }
+
+    /**
+     * Marks whether the ongoing transaction of the current thread has to be rolled back, as one of its statements
+     * failed. Does nothing when the thread has no connection.
+     *
+     * @param rollbackOnly whether the transaction has to be rolled back
+     */
+    void setRollbackOnly(boolean rollbackOnly) {
+        Lease current = lease.get();
+        if (current != null) {
+            current.rollbackOnly = rollbackOnly;
+        }
+    }
+
+    /**
+     * Returns whether one of the statements of the ongoing transaction of the current thread failed.
+     *
+     * @return whether the transaction has to be rolled back
+     */
+    boolean isRollbackOnly() {
+        Lease current = lease.get();
+        return current != null && current.rollbackOnly;
+    }
+
+    /**
+     * Reads a number from an environment variable, such as to configure the size of a pool or cache.
+     *
+     * @param name     the name of the environment variable
+     * @param fallback the value to use when the variable is not set
+     * @return the value of the variable, or {@code fallback} if it is not set
+     * @throws NumberFormatException when the variable is not a number
+     */
+    public static int readIntEnv(String name, int fallback) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    /**
+     * A connection borrowed from the pool by a single thread. Every {@link #open()} hands out a handle to the
+     * connection, and the connection goes back to the pool once all handles are closed.
+     */
+    private final class Lease {
+        private final Connection connection;
+        private final List<Runnable> afterCompletion = new ArrayList<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private final List<Runnable> afterRollback = new ArrayList<>();
+        private int handles;
+        private boolean transactional;
+        private boolean rollbackOnly;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        private Connection open() {
+            handles++;
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle());
+        }
+
+        private void close() {
+            if (--handles == 0) {
+                lease.remove();
+                pool.release(connection);
+            }
+        }
+
+        /** Forwards calls to the leased connection, except for {@code close}, which ends the lease instead. */
+        private final class Handle implements InvocationHandler {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            Lease.this.close();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || connection.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Lease[" + connection + "]";
+                    default:
+                        if (closed) {
+                            throw new SQLException("This connection has already been handed back to the pool.");
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
         }
     }
 
@@ -0,0 +1,210 @@
+package org.lukos.database;
+
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the {@code Instance}-row, the players and the chat permissions of every instance that has been
+ * read recently, such that frequently polled state (the day, phase and players of a game, and who may write to which
+ * chat) can be read without going to the database.
+ * <p>
+ * The database stays the source of truth: entries are loaded when they are first read, and every database-operation
+ * that modifies an instance, its players or its chats evicts the entry of that instance or chat. Within a {@link
+ * Transaction} the cache is bypassed, as uncommitted changes may not become visible to other threads, and the entries
+ * modified by the transaction are evicted again once it has ended. Every eviction increments a generation counter, so that a load
+ * that raced with a modification does not store outdated state.
+ * <p>
+ * When other servers use the same database, the chat permissions are not kept, as other servers change them (such as
+ * by muting a player) without notifying this server. The instances and players are refreshed by the cluster events.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+class GameStateCache {
+
+    private final Map<Integer, InstanceRecord> instances = new ConcurrentHashMap<>();
+    private final Map<Integer, Roster> rosters = new ConcurrentHashMap<>();
+    private final Map<Integer, ChatRecord> chats = new ConcurrentHashMap<>();
+    /** Incremented on every eviction, loads that overlap with an eviction are not stored. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Private constructor to ensure Singleton design.
+    private GameStateCache() {
+    }
+
+    /**
+     * Get the instance of {@code GameStateCache}, as there exist only 1.
+     *
+     * @return The instance of {@code GameStateCache}
+     */
+    static GameStateCache getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the {@code Instance}-row of the given instance, loading it if it is not cached.
+     *
+     * @param iid    ID of the instance
+     * @param loader reads the row from the database, returning {@code null} if the instance does not exist
+     * @return the state of the instance, or {@code null} if it does not exist
+     * @throws SQLException when loading the row fails
+     */
+    InstanceRecord getInstanceRecord(int iid, Loader<InstanceRecord> loader) throws SQLException {
+        return get(instances, iid, loader);
+    }
+
+    /**
+     * Returns the players of the given instance, loading them if they are not cached.
+     *
+     * @param iid    ID of the instance
+     * @param loader reads the players from the database
+     * @return the players of the instance
+     * @throws SQLException when loading the players fails
+     */
+    Roster getRoster(int iid, Loader<Roster> loader) throws SQLException {
+        return get(rosters, iid, loader);
+    }
+
+    /**
+     * Returns the permissions of the given chat, loading them if they are not cached.
+     *
+     * @param cid    ID of the chat
+     * @param loader reads the permissions from the database, returning {@code null} if the chat does not exist
+     * @return the permissions of the chat, or {@code null} if it does not exist
+     * @throws SQLException when loading the permissions fails
+     */
+    ChatRecord getChat(int cid, Loader<ChatRecord> loader) throws SQLException {
+        if (DatabaseConnection.getInstance().isShared()) {
+            misses.incrementAndGet();
+            return loader.load();
+        }
+        return get(chats, cid, loader);
+    }
+
+    /**
+     * Evicts the given instance, after it has been modified by the current thread. If the modification is part of a
+     * transaction, the instance is evicted again when the transaction ends.
+     *
+     * @param iid ID of the modified instance
+     */
+    void invalidate(int iid) {
+        evict(iid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evict(iid));
+    }
+
+    /**
+     * Evicts the given chat, after its members or state have been modified by the current thread. If the modification
+     * is part of a transaction, the chat is evicted again when the transaction ends.
+     *
+     * @param cid ID of the modified chat
+     */
+    void invalidateChat(int cid) {
+        evictChat(cid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evictChat(cid));
+    }
+
+    /**
+     * Evicts all instances, for modifications that may affect any instance (such as deleting users).
+     */
+    void invalidateAll() {
+        evictAll();
+        DatabaseConnection.getInstance().afterCompletion(this::evictAll);
+    }
+
+    /**
+     * Returns the number of reads that were served from memory.
+     *
+     * @return the number of cache hits
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of reads that had to go to the database.
+     *
+     * @return the number of cache misses
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    private <T> T get(Map<Integer, T> cache, int iid, Loader<T> loader) throws SQLException {
+        if (DatabaseConnection.getInstance().isInTransaction()) {
+            return loader.load();
+        }
+        T cached = cache.get(iid);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long stamp = generation.get();
+        T loaded = loader.load();
+        if (loaded != null) {
+            cache.put(iid, loaded);
+            // An eviction happened during the load, the loaded value might already be outdated
+            if (generation.get() != stamp) {
+                cache.remove(iid, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void evict(int iid) {
+        generation.incrementAndGet();
+        instances.remove(iid);
+        rosters.remove(iid);
+        // Muting or removing a player changes who may write to the chats of the instance
+        chats.values().removeIf(chat -> chat.instanceID() == iid);
+    }
+
+    private void evictChat(int cid) {
+        generation.incrementAndGet();
+        chats.remove(cid);
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        instances.clear();
+        rosters.clear();
+        chats.clear();
+    }
+
+    /**
+     * Reads a value from the database.
+     *
+     * @param <T> type of the value
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    /**
+     * The players of an instance, split by whether they are alive.
+     *
+     * @param players all players of the instance
+     * @param alive   the players that are alive
+     * @param dead    the players that are deceased
+     */
+    record Roster(List<PlayerIdentifier> players, List<PlayerIdentifier> alive, List<PlayerIdentifier> dead) {
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final GameStateCache uniqueInstance = new GameStateCache();
+    }
+}
@@ -9,10 +9,14 @@ import org.lukos.model.location.states.Repaired;
 import org.lukos.model.location.states.Soaked;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.lukos.database.util.ReadingHelper.readPlayerIdentifiers;
 
@@ -32,12 +36,10 @@ public class HouseDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static List<PlayerIdentifier> getHomelessPlayers(int instanceID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT * FROM Players WHERE alive='ALIVE' AND instanceID=? AND houseState='BURNED';");
-        statement.setInt(1, instanceID);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return readPlayerIdentifiers(resultSet, instanceID);
+        Set<PlayerIdentifier> alive = new HashSet<>(InstanceDB.getAlivePlayers(instanceID));
+        List<PlayerIdentifier> homeless = LocationDB.getLocations(instanceID).getOwners(Burned.getInstance());
+        homeless.removeIf(player -> !alive.contains(player));
+        return homeless;
     }
 
     /**
@@ -48,13 +50,16 @@ public class HouseDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static List<PlayerIdentifier> getHomeOwners(int instanceID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT * FROM Players WHERE alive='ALIVE' AND instanceID=? AND userID NOT IN (SELECT userID FROM " +
-                        "Players WHERE houseState='BURNED');");
-        statement.setInt(1, instanceID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM Players WHERE alive='ALIVE' AND instanceID=? AND userID NOT IN " +
+                             "(SELECT userID FROM Players WHERE houseState='BURNED');")) {
+            statement.setInt(1, instanceID);
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return readPlayerIdentifiers(resultSet, instanceID);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return readPlayerIdentifiers(resultSet, instanceID);
+            }
+        }
     }
 
     /**
@@ -65,14 +70,17 @@ public class HouseDB {
      * @throws SQLException Exception thrown when writing to the database fails
      */
     public static void setHousePlayerByID(PlayerIdentifier playerIdentifier, int houseID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET houseID=? WHERE instanceID=? AND userID=?;");
-        statement.setInt(1, houseID);
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setInt(3, playerIdentifier.userID());
-
-        // Execute the database query
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET houseID=? WHERE instanceID=? AND userID=?;")) {
+            statement.setInt(1, houseID);
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setInt(3, playerIdentifier.userID());
+
+            // Execute the database query
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().invalidate(playerIdentifier.instanceID());
+        }
     }
 
     /**
@@ -85,16 +93,53 @@ public class HouseDB {
      */
     public static int getHousePlayerByID(PlayerIdentifier playerIdentifier)
             throws SQLException, HouseDoesNotExistException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT houseID FROM Players WHERE instanceID=? AND userID=?;");
-        statement.setInt(1, playerIdentifier.instanceID());
-        statement.setInt(2, playerIdentifier.userID());
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            return resultSet.getInt("houseID");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT houseID FROM Players WHERE instanceID=? AND userID=?;")) {
+            statement.setInt(1, playerIdentifier.instanceID());
+            statement.setInt(2, playerIdentifier.userID());
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getInt("houseID");
+                }
+                throw new HouseDoesNotExistException("This player does not have a house yet!");
+            }
+        }
+    }
+
+    /**
+     * Getting the houses of all alive players of an instance.
+     *
+     * @param instanceID ID of the instance
+     * @return map of the alive players to the LocationID of their house
+     * @throws SQLException Exception thrown if reading from the database fails
+     */
+    public static Map<PlayerIdentifier, Integer> getHousesOfAlivePlayers(int instanceID) throws SQLException {
+        return LocationDB.getLocations(instanceID).getHouses(InstanceDB.getAlivePlayers(instanceID));
+    }
+
+    /**
+     * Puts every alive player of an instance back at their house, and progresses the building of the burned houses
+     * of those players, in a single update. A burned house is repaired on the third day after it burned down.
+     *
+     * @param instanceID ID of the instance
+     * @throws SQLException Exception thrown when writing to the database fails
+     */
+    public static void sendPlayersHome(int instanceID) throws SQLException {
+        // The assignments are evaluated from left to right, so houseState sees the updated houseStateDay
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET currentLocation=houseID, " +
+                             "houseStateDay=IF(houseState='BURNED', IF(houseStateDay+1=3, 0, houseStateDay+1), " +
+                             "houseStateDay), " +
+                             "houseState=IF(houseState='BURNED' AND houseStateDay=0, 'REPAIRED', houseState) " +
+                             "WHERE instanceID=? AND alive='ALIVE';")) {
+            statement.setInt(1, instanceID);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().sentHome(instanceID, InstanceDB.getAlivePlayers(instanceID));
         }
-        throw new HouseDoesNotExistException("This player does not have a house yet!");
     }
 
     /**
@@ -105,11 +150,18 @@ public class HouseDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static boolean existHouseByID(int houseID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Players WHERE houseID=?;");
-        statement.setInt(1, houseID);
+        LocationCache.Locations locations = LocationCache.getInstance().find(houseID);
+        if (locations != null) {
+            return locations.hasHouse(houseID);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM Players WHERE houseID=?;")) {
+            statement.setInt(1, houseID);
 
-        return DatabaseConnection.getInstance().readStatement(statement).next();
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return resultSet.next();
+            }
+        }
     }
 
     /**
@@ -126,15 +178,19 @@ public class HouseDB {
         int userID = pi.userID();
         int instanceID = pi.instanceID();
         if (!existHouseByID(houseID)) {
-            PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "UPDATE Players SET houseID=?, houseState=?, houseStateDay=? WHERE userID=? and instanceID=?;");
-            statement.setInt(1, houseID);
-            statement.setString(2, state.getClass().getSimpleName().toUpperCase());
-            statement.setInt(3, houseStateDay);
-            statement.setInt(4, userID);
-            statement.setInt(5, instanceID);
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "UPDATE Players SET houseID=?, houseState=?, houseStateDay=? " +
+                                 "WHERE userID=? and instanceID=?;")) {
+                statement.setInt(1, houseID);
+                statement.setString(2, state.getClass().getSimpleName().toUpperCase());
+                statement.setInt(3, houseStateDay);
+                statement.setInt(4, userID);
+                statement.setInt(5, instanceID);
 
-            DatabaseConnection.getInstance().writeStatement(statement);
+                DatabaseConnection.getInstance().writeStatement(statement);
+                LocationCache.getInstance().invalidate(instanceID);
+            }
         }
     }
 
@@ -146,16 +202,33 @@ public class HouseDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static HouseState getHouseState(int houseID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT houseState FROM Players WHERE houseID=?;");
-        statement.setInt(1, houseID);
+        LocationCache.Locations locations = LocationCache.getInstance().find(houseID);
+        if (locations != null && locations.hasHouse(houseID)) {
+            return locations.getState(houseID);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT houseState FROM Players WHERE houseID=?;")) {
+            statement.setInt(1, houseID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That is an invalid ID!");
+                }
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That is an invalid ID!");
+                return readHouseState(resultSet.getString("houseState"));
+            }
         }
+    }
 
-        String houseState = resultSet.getString("houseState");
+    /**
+     * Converts the value of the `houseState`-column to the corresponding {@code HouseState}.
+     *
+     * @param houseState value of the `houseState`-column
+     * @return the corresponding HouseState
+     * @throws SQLException Exception thrown when the value is not a known HouseState
+     */
+    static HouseState readHouseState(String houseState) throws SQLException {
         return switch (houseState) {
             case "REPAIRED" -> Repaired.getInstance();
             case "SOAKED" -> Soaked.getInstance();
@@ -175,15 +248,22 @@ public class HouseDB {
      * @throws NoSuchPlayerException Exception thrown when no player is found with the given house
      */
     public static int getHouseStateDay(int houseID) throws SQLException, NoSuchPlayerException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT houseStateDay FROM Players WHERE houseID=?;");
-        statement.setInt(1, houseID);
+        LocationCache.Locations locations = LocationCache.getInstance().find(houseID);
+        if (locations != null && locations.hasHouse(houseID)) {
+            return locations.getStateDay(houseID);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT houseStateDay FROM Players WHERE houseID=?;")) {
+            statement.setInt(1, houseID);
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            return resultSet.getInt("houseStateDay");
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getInt("houseStateDay");
+                }
+                throw new NoSuchPlayerException("Player has no house.");
+            }
         }
-        throw new NoSuchPlayerException("Player has no house.");
     }
 
     /**
@@ -194,12 +274,15 @@ public class HouseDB {
      * @throws SQLException Exception thrown when writing to database fails
      */
     public static void modifyHouseState(int houseID, HouseState state) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET houseState=? WHERE houseID=?;");
-        statement.setString(1, state.getClass().getSimpleName());
-        statement.setInt(2, houseID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET houseState=? WHERE houseID=?;")) {
+            statement.setString(1, state.getClass().getSimpleName());
+            statement.setInt(2, houseID);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().stateChanged(houseID, state);
+        }
     }
 
     /**
@@ -210,11 +293,14 @@ public class HouseDB {
      * @throws SQLException Exception thrown when writing to database fails
      */
     public static void modifyHouseStateDay(int houseID, int stateDay) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET houseStateDay=? WHERE houseID=?;");
-        statement.setInt(1, stateDay);
-        statement.setInt(2, houseID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET houseStateDay=? WHERE houseID=?;")) {
+            statement.setInt(1, stateDay);
+            statement.setInt(2, houseID);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().stateDayChanged(houseID, stateDay);
+        }
     }
 }
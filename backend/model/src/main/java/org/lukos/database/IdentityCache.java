@@ -0,0 +1,267 @@
+package org.lukos.database;
+
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.lukos.database.DatabaseConnection.readIntEnv;
+
+/**
+ * In-memory copy of the identities of the users that were active recently: the user that belongs to an account, the
+ * username of a user and the game that a user is playing in. These are read on nearly every request, to find out who
+ * is calling.
+ * <p>
+ * As in the {@link GameStateCache}, the database stays the source of truth. Every database-operation that modifies a
+ * user or the game they are in evicts the entries of that user, the cache is bypassed within a {@link Transaction},
+ * and a generation counter prevents loads that raced with a modification from storing outdated values. The number of
+ * entries is bounded, the least recently used ones are dropped first, and entries expire after a while, such that
+ * changes made by other servers sharing the database are picked up.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+class IdentityCache {
+
+    /** Maximum number of entries per kind of identity. */
+    private static final int CAPACITY = readIntEnv("IDENTITY_CACHE_SIZE", 10000);
+    /** Time in seconds after which an entry is read from the database again. */
+    private static final int TTL_SECONDS = readIntEnv("IDENTITY_CACHE_TTL", 60);
+
+    private final Lru<IssuerSub, Integer> subjects;
+    private final Lru<Integer, UserRecord> users;
+    private final Lru<Integer, Optional<PlayerIdentifier>> players;
+    private final long ttlMillis;
+    /** Incremented on every eviction, loads that overlap with an eviction are not stored. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // Private constructor to ensure Singleton design.
+    private IdentityCache() {
+        this(CAPACITY, TTL_SECONDS * 1000L);
+    }
+
+    /**
+     * Creates a cache with the given bounds.
+     *
+     * @param capacity  maximum number of entries per kind of identity
+     * @param ttlMillis time in milliseconds after which an entry expires
+     */
+    IdentityCache(int capacity, long ttlMillis) {
+        this.subjects = new Lru<>(capacity);
+        this.users = new Lru<>(capacity);
+        this.players = new Lru<>(capacity);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the instance of {@code IdentityCache}, as there exist only 1.
+     *
+     * @return The instance of {@code IdentityCache}
+     */
+    static IdentityCache getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the ID of the user with the given account, loading it if it is not cached.
+     *
+     * @param issuerSub the account of the user
+     * @param loader    reads the ID from the database, returning {@code null} if there is no such user
+     * @return the ID of the user, or {@code null} if there is no such user
+     * @throws SQLException when loading the ID fails
+     */
+    Integer getUserID(IssuerSub issuerSub, GameStateCache.Loader<Integer> loader) throws SQLException {
+        return get(subjects, issuerSub, loader);
+    }
+
+    /**
+     * Returns the identity of a user, loading it if it is not cached.
+     *
+     * @param uid    ID of the user
+     * @param loader reads the identity from the database, returning {@code null} if there is no such user
+     * @return the identity of the user, or {@code null} if there is no such user
+     * @throws SQLException when loading the identity fails
+     */
+    UserRecord getUser(int uid, GameStateCache.Loader<UserRecord> loader) throws SQLException {
+        return get(users, uid, loader);
+    }
+
+    /**
+     * Returns the player of a user, loading it if it is not cached.
+     *
+     * @param uid    ID of the user
+     * @param loader reads the player from the database, returning an empty {@code Optional} if the user is not in a
+     *               game
+     * @return the player of the user, empty if the user is not in a game
+     * @throws SQLException when loading the player fails
+     */
+    Optional<PlayerIdentifier> getPlayer(int uid, GameStateCache.Loader<Optional<PlayerIdentifier>> loader)
+            throws SQLException {
+        return get(players, uid, loader);
+    }
+
+    /**
+     * Evicts everything known about a user, after it has been modified or deleted by the current thread. If the
+     * modification is part of a transaction, the user is evicted again when the transaction ends.
+     *
+     * @param uid ID of the modified user
+     */
+    void invalidateUser(int uid) {
+        evictUser(uid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evictUser(uid));
+    }
+
+    /**
+     * Evicts the player of a user, after the user joined or left a game. If the modification is part of a
+     * transaction, the player is evicted again when the transaction ends.
+     *
+     * @param uid ID of the user
+     */
+    void invalidatePlayer(int uid) {
+        evictPlayer(uid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evictPlayer(uid));
+    }
+
+    /**
+     * Evicts the players of all users that are in the given instance, after it has been deleted. If the deletion is
+     * part of a transaction, the players are evicted again when the transaction ends.
+     *
+     * @param iid ID of the deleted instance
+     */
+    void invalidateInstance(int iid) {
+        evictInstance(iid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evictInstance(iid));
+    }
+
+    /**
+     * Evicts the players of all users, such as when another server changed who is in which game.
+     */
+    void evictPlayers() {
+        generation.incrementAndGet();
+        players.clear();
+    }
+
+    /**
+     * Returns the number of reads served from memory and from the database, and the number of cached entries.
+     *
+     * @return the usage of the cache
+     */
+    CacheMetrics getMetrics() {
+        return new CacheMetrics(hits.get(), misses.get(), subjects.size() + users.size() + players.size());
+    }
+
+    private <K, V> V get(Lru<K, V> cache, K key, GameStateCache.Loader<V> loader) throws SQLException {
+        if (DatabaseConnection.getInstance().isInTransaction()) {
+            return loader.load();
+        }
+        V cached = cache.get(key, System.currentTimeMillis());
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        long stamp = generation.get();
+        V loaded = loader.load();
+        if (loaded != null) {
+            // An eviction happened during the load, the loaded value might already be outdated
+            cache.putIf(key, loaded, System.currentTimeMillis() + ttlMillis, () -> generation.get() == stamp);
+        }
+        return loaded;
+    }
+
+    private void evictUser(int uid) {
+        generation.incrementAndGet();
+        subjects.removeValue(uid);
+        users.remove(uid);
+        players.remove(uid);
+    }
+
+    private void evictPlayer(int uid) {
+        generation.incrementAndGet();
+        players.remove(uid);
+    }
+
+    private void evictInstance(int iid) {
+        generation.incrementAndGet();
+        players.removeIf(player -> player.isPresent() && player.get().instanceID() == iid);
+    }
+
+    /** A value together with the time at which it expires. */
+    private record Expiring<V>(V value, long expires) {
+    }
+
+    /**
+     * A map of which the least recently used entries are dropped once it holds more than its capacity.
+     *
+     * @param <K> type of the keys
+     * @param <V> type of the values
+     */
+    private static final class Lru<K, V> {
+        private final LinkedHashMap<K, Expiring<V>> entries;
+
+        private Lru(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Expiring<V>> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private synchronized V get(K key, long now) {
+            Expiring<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expires() <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        private synchronized void putIf(K key, V value, long expires, BooleanSupplier condition) {
+            if (condition.getAsBoolean()) {
+                entries.put(key, new Expiring<>(value, expires));
+            }
+        }
+
+        private synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        private synchronized void removeValue(V value) {
+            entries.values().removeIf(entry -> entry.value().equals(value));
+        }
+
+        private synchronized void removeIf(Predicate<V> predicate) {
+            entries.values().removeIf(entry -> predicate.test(entry.value()));
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final IdentityCache uniqueInstance = new IdentityCache();
+    }
+}
@@ -2,8 +2,11 @@ package org.lukos.database;
 
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.instances.DayPhase;
+import org.lukos.model.instances.LobbyEntry;
+import org.lukos.model.instances.RoleDivisionConfig;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -11,7 +14,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
-import static org.lukos.database.util.ReadingHelper.readPlayerIdentifiers;
+import static org.lukos.database.util.ReadingHelper.detach;
 
 /**
  * Class for handling database-operations related to users
@@ -31,23 +34,27 @@ public class InstanceDB {
      * @throws SQLException Exception thrown when inserting into database fails
      */
     public static int addNewInstance(int gameMasterID, String name, int SEED) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO Instance(day, gameMasterID, name, seed) VALUES (?, ?, ?, ?);",
-                        // Make sure this uses RETURN_GENERATED_KEYS
-                        Statement.RETURN_GENERATED_KEYS);
-        // Initialize day to -1
-        statement.setInt(1, -1);
-        statement.setInt(2, gameMasterID);
-        statement.setString(3, name);
-        statement.setInt(4, SEED);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-        ResultSet resultSet = statement.getGeneratedKeys();
-
-        if (resultSet.next()) {
-            return resultSet.getInt(1);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Instance(day, gameMasterID, name, seed) VALUES (?, ?, ?, ?);",
+                     // Make sure this uses RETURN_GENERATED_KEYS
+                     Statement.RETURN_GENERATED_KEYS)) {
+            // Initialize day to -1
+            statement.setInt(1, -1);
+            statement.setInt(2, gameMasterID);
+            statement.setString(3, name);
+            statement.setInt(4, SEED);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                if (resultSet.next()) {
+                    int iid = resultSet.getInt(1);
+                    GameStateCache.getInstance().invalidate(iid);
+                    return iid;
+                }
+                throw new SQLException("No ID was generated. That should not occur...");
+            }
         }
-        throw new SQLException("No ID was generated. That should not occur...");
     }
 
     /**
@@ -59,14 +66,17 @@ public class InstanceDB {
      */
     public static boolean deleteInstanceByIID(int iid) throws SQLException {
         // TODO: Delete all occurrences of this instance in the whole db
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Instance WHERE instanceID=?;");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM Instance WHERE instanceID=?;")) {
+            statement.setInt(1, iid);
 
-        statement.setInt(1, iid);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-        // TODO: Add informative return
-        return true;
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+            LocationCache.getInstance().invalidate(iid);
+            IdentityCache.getInstance().invalidateInstance(iid);
+            // TODO: Add informative return
+            return true;
+        }
     }
 
     /**
@@ -77,16 +87,60 @@ public class InstanceDB {
      */
     public static List<Integer> generateInstanceIDList() throws SQLException {
         List<Integer> instanceIDs = new ArrayList<>(); // list for storing all instanceIDs
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT instanceID FROM Instance;");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT instanceID FROM Instance;")) {
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                while (resultSet.next()) {
+                    int instanceID = resultSet.getInt("instanceID"); // reading instanceid from resultset
+                    instanceIDs.add(instanceID); // adding username to list
+                }
+                return instanceIDs;
+            }
+        }
+    }
+
+    /**
+     * Getting the lobby information of all instances, together with their number of players, in one query.
+     *
+     * @return the lobby information of all instances, ordered by instanceID
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static List<LobbyEntry> getLobbyEntries() throws SQLException {
+        return readLobbyEntries(null);
+    }
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
+    /**
+     * Getting the lobby information of an instance, together with its number of players.
+     *
+     * @param iid InstanceID of the instance to get the lobby information of
+     * @return the lobby information, or {@code null} if there is no instance with the given ID
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static LobbyEntry getLobbyEntry(int iid) throws SQLException {
+        List<LobbyEntry> entries = readLobbyEntries(iid);
+        return entries.isEmpty() ? null : entries.get(0);
+    }
 
-        while (resultSet.next()) {
-            int instanceID = resultSet.getInt("instanceID"); // reading instanceid from resultset
-            instanceIDs.add(instanceID); // adding username to list
+    private static List<LobbyEntry> readLobbyEntries(Integer iid) throws SQLException {
+        String query = "SELECT i.instanceID, i.name, i.gameMasterID, i.dayPhase, COUNT(p.userID) AS players " +
+                "FROM Instance i LEFT JOIN Players p ON p.instanceID=i.instanceID " +
+                (iid == null ? "" : "WHERE i.instanceID=? ") +
+                "GROUP BY i.instanceID, i.name, i.gameMasterID, i.dayPhase ORDER BY i.instanceID;";
+        List<LobbyEntry> entries = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            if (iid != null) {
+                statement.setInt(1, iid);
+            }
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                while (resultSet.next()) {
+                    entries.add(new LobbyEntry(resultSet.getInt("instanceID"), resultSet.getString("name"),
+                            resultSet.getInt("gameMasterID"), resultSet.getInt("players"),
+                            resultSet.getString("dayPhase") != null));
+                }
+            }
         }
-        return instanceIDs;
+        return entries;
     }
 
     /**
@@ -97,13 +151,47 @@ public class InstanceDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static ResultSet findInstanceByID(int iid) throws SQLException {
-        // TODO: Potential ResultSet issue
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Instance WHERE instanceID=?;");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM Instance WHERE instanceID=?;")) {
+            statement.setInt(1, iid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return detach(resultSet);
+            }
+        }
+    }
 
-        statement.setInt(1, iid);
+    /**
+     * Getting the state of an instance, as stored in the `Instance`-table. The state of instances is kept in memory,
+     * such that it can be read without going to the database.
+     *
+     * @param iid InstanceID of the instance to get the state of
+     * @return the state of the instance, or {@code null} if there is no instance with the given ID
+     * @throws SQLException Exception thrown when reading expected query from database fails
+     */
+    public static InstanceRecord getInstanceRecord(int iid) throws SQLException {
+        return GameStateCache.getInstance().getInstanceRecord(iid, () -> {
+            try (ResultSet resultSet = findInstanceByID(iid)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                String phase = resultSet.getString("dayPhase");
+                return new InstanceRecord(iid, resultSet.getString("name"), resultSet.getInt("day"),
+                        phase == null ? null : DayPhase.valueOf(phase), resultSet.getInt("gameMasterID"),
+                        resultSet.getInt("seed"),
+                        RoleDivisionConfig.valueOf(resultSet.getString("roleDivision")));
+            }
+        });
+    }
 
-        return DatabaseConnection.getInstance().readStatement(statement);
+    /**
+     * Drops the state of an instance that is kept in memory, such that it is read from the database again. Used when
+     * the instance has been modified by another server sharing the same database.
+     *
+     * @param iid InstanceID of the instance that has been modified
+     */
+    public static void refreshInstanceRecord(int iid) {
+        GameStateCache.getInstance().invalidate(iid);
     }
 
     /**
@@ -114,13 +202,15 @@ public class InstanceDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static void modifyDay(int iid, int day) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Instance SET day=? WHERE instanceID=?;");
-
-        statement.setInt(1, day);
-        statement.setInt(2, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET day=? WHERE instanceID=?;")) {
+            statement.setInt(1, day);
+            statement.setInt(2, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+        }
     }
 
     /**
@@ -131,13 +221,61 @@ public class InstanceDB {
      * @throws SQLException Exception thrown when writing expected query to database fails
      */
     public static void modifyPhase(int iid, DayPhase phase) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Instance SET dayPhase=? WHERE instanceID=?;");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET dayPhase=? WHERE instanceID=?;")) {
+            statement.setString(1, phase.toString());
+            statement.setInt(2, iid);
 
-        statement.setString(1, phase.toString());
-        statement.setInt(2, iid);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+        }
+    }
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Method used to move an instance to another dayPhase, only if it is still in the given dayPhase. The check and
+     * the change are a single statement, so if several threads or nodes try to move the instance away from the same
+     * dayPhase, only one of them succeeds. Within a transaction the row stays locked until the transaction ends.
+     *
+     * @param iid      InstanceID of the instance to change dayPhase of
+     * @param expected Phase the instance is expected to be in
+     * @param phase    Phase to set the instance to
+     * @return whether the instance was in the expected dayPhase, and thus has been changed
+     * @throws SQLException Exception thrown when writing expected query to database fails
+     */
+    public static boolean modifyPhaseIfCurrent(int iid, DayPhase expected, DayPhase phase) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET dayPhase=? WHERE instanceID=? AND dayPhase=?;")) {
+            statement.setString(1, phase.toString());
+            statement.setInt(2, iid);
+            statement.setString(3, expected.toString());
+
+            // Not written through writeStatement, as the number of changed rows is needed
+            boolean changed = statement.executeUpdate() == 1;
+            // Also when nothing changed, as the cached phase is outdated then
+            GameStateCache.getInstance().invalidate(iid);
+            return changed;
+        }
+    }
+
+    /**
+     * Method used to change the role division an instance is started with.
+     *
+     * @param iid    InstanceID of the instance to change the role division of
+     * @param config Role division to set the instance to.
+     * @throws SQLException Exception thrown when writing expected query to database fails
+     */
+    public static void modifyRoleDivision(int iid, RoleDivisionConfig config) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET roleDivision=? WHERE instanceID=?;")) {
+            statement.setString(1, config.toString());
+            statement.setInt(2, iid);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+        }
     }
 
     /**
@@ -148,20 +286,7 @@ public class InstanceDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static List<PlayerIdentifier> getAlivePlayers(int iid) throws SQLException { //consider moving into PlayerDB
-        List<PlayerIdentifier> players = new ArrayList<>(); // list for storing all alive players
-
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Players WHERE alive='ALIVE' AND instanceID=?;");
-
-        statement.setInt(1, iid);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        while (resultSet.next()) {
-            int uid = resultSet.getInt("userID"); // reading userID from resultSet
-            PlayerIdentifier player = new PlayerIdentifier(iid, uid);
-            players.add(player); // adding player to list
-        }
-        return players;
+        return new ArrayList<>(getRoster(iid).alive());
     }
 
     /**
@@ -172,14 +297,7 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static boolean isAlivePlayer(PlayerIdentifier player) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Players WHERE userID=? AND instanceID=? AND alive='ALIVE';");
-
-        statement.setInt(1, player.userID());
-        statement.setInt(2, player.instanceID());
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return resultSet.next();
+        return getRoster(player.instanceID()).alive().contains(player);
     }
 
     /**
@@ -197,13 +315,15 @@ public class InstanceDB {
                 throw new NoSuchPlayerException("The player is not from this game.");
             }
             int uid = player.userID();
-            PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("UPDATE Players SET alive='ALIVE' WHERE userID=? AND instanceID=?;");
-
-            statement.setInt(1, uid);
-            statement.setInt(2, iid);
-
-            DatabaseConnection.getInstance().writeStatement(statement);
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "UPDATE Players SET alive='ALIVE' WHERE userID=? AND instanceID=?;")) {
+                statement.setInt(1, uid);
+                statement.setInt(2, iid);
+
+                DatabaseConnection.getInstance().writeStatement(statement);
+                GameStateCache.getInstance().invalidate(iid);
+            }
         }
     }
 
@@ -214,13 +334,15 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if writing to the database fails (updating)
      */
     public static void killPlayer(PlayerIdentifier player) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "UPDATE Players SET alive='DECEASED', toBeExecuted=false WHERE userID=? AND instanceID=?;");
-
-        statement.setInt(1, player.userID());
-        statement.setInt(2, player.instanceID());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET alive='DECEASED', toBeExecuted=false WHERE userID=? AND instanceID=?;")) {
+            statement.setInt(1, player.userID());
+            statement.setInt(2, player.instanceID());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(player.instanceID());
+        }
     }
 
     /**
@@ -230,13 +352,15 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if writing to the database fails (updating)
      */
     public static void revivePlayer(PlayerIdentifier player) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "UPDATE Players SET alive='ALIVE', toBeExecuted=false WHERE userID=? AND instanceID=?;");
-
-        statement.setInt(1, player.userID());
-        statement.setInt(2, player.instanceID());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET alive='ALIVE', toBeExecuted=false WHERE userID=? AND instanceID=?;")) {
+            statement.setInt(1, player.userID());
+            statement.setInt(2, player.instanceID());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(player.instanceID());
+        }
     }
 
     /**
@@ -248,24 +372,15 @@ public class InstanceDB {
      */
     public static List<PlayerIdentifier> getDeadPlayers(int instanceID)
             throws SQLException { //consider moving into PlayerDB
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Players WHERE alive='DECEASED' AND instanceID=?;");
-        statement.setInt(1, instanceID);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return readPlayerIdentifiers(resultSet, instanceID);
+        return new ArrayList<>(getRoster(instanceID).dead());
     }
 
     public static String getGameNameByInstanceID(int id) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT name FROM Instance WHERE instanceID=?;");
-        statement.setInt(1, id);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        if (resultSet.next()) {
-            return resultSet.getString("name");
+        InstanceRecord instance = getInstanceRecord(id);
+        if (instance == null) {
+            throw new SQLException("The ID was not valid.");
         }
-        throw new SQLException("The ID was not valid.");
+        return instance.name();
     }
 
     /**
@@ -276,16 +391,11 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static int getGameMaster(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT gameMasterID FROM Instance WHERE instanceID=?;");
-        statement.setObject(1, iid);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        if (resultSet.next()) {
-            String gameMasterID = resultSet.getString("gameMasterID");
-            return Integer.parseInt(gameMasterID);
+        InstanceRecord instance = getInstanceRecord(iid);
+        if (instance == null) {
+            throw new SQLException("The ID was not valid.");
         }
-        throw new SQLException("The ID was not valid.");
+        return instance.gameMasterID();
     }
 
     /**
@@ -296,17 +406,19 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static List<PlayerIdentifier> getToBeExecuted(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM Players WHERE instanceID=? AND toBeExecuted=?;");
-        statement.setObject(1, iid);
-        statement.setInt(2, 1);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        List<PlayerIdentifier> playerIdentifiers = new ArrayList<>();
-        while (resultSet.next()) {
-            playerIdentifiers.add(new PlayerIdentifier(iid, Integer.parseInt(resultSet.getString("userID"))));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID FROM Players WHERE instanceID=? AND toBeExecuted=?;")) {
+            statement.setObject(1, iid);
+            statement.setInt(2, 1);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<PlayerIdentifier> playerIdentifiers = new ArrayList<>();
+                while (resultSet.next()) {
+                    playerIdentifiers.add(new PlayerIdentifier(iid, Integer.parseInt(resultSet.getString("userID"))));
+                }
+                return playerIdentifiers;
+            }
         }
-        return playerIdentifiers;
     }
 
     /**
@@ -319,13 +431,15 @@ public class InstanceDB {
      */
     //FIXME: Can be moved to PlayerDB
     public static void modifyExecuted(int iid, PlayerIdentifier playerID, boolean toBeExecuted) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET toBeExecuted=? WHERE instanceID=? AND userID=?;");
-        statement.setBoolean(1, toBeExecuted);
-        statement.setInt(2, iid);
-        statement.setInt(3, playerID.userID());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET toBeExecuted=? WHERE instanceID=? AND userID=?;")) {
+            statement.setBoolean(1, toBeExecuted);
+            statement.setInt(2, iid);
+            statement.setInt(3, playerID.userID());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -336,12 +450,7 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static List<PlayerIdentifier> getPlayers(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM Players WHERE instanceID=?;");
-        statement.setObject(1, iid);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        return readPlayerIdentifiers(resultSet, iid);
+        return new ArrayList<>(getRoster(iid).players());
     }
 
 
@@ -353,12 +462,15 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static void setGameMasterByInstance(int iid, int gameMaster) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Instance SET gameMasterID=? WHERE instanceID=?;");
-        statement.setObject(1, gameMaster);
-        statement.setObject(2, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET gameMasterID=? WHERE instanceID=?;")) {
+            statement.setObject(1, gameMaster);
+            statement.setObject(2, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+        }
     }
 
     /**
@@ -368,11 +480,48 @@ public class InstanceDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static void initializeInstanceState(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET alive='ALIVE' WHERE instanceID=?;");
-        statement.setObject(1, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET alive='ALIVE' WHERE instanceID=?;")) {
+            statement.setObject(1, iid);
+
+            // Update all the players
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+        }
+    }
 
-        // Update all the players
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Getting all players of an instance, split by whether they are alive. The players of instances are kept in
+     * memory, such that they can be read without going to the database.
+     *
+     * @param iid ID of the instance to get players of
+     * @return the players of the instance
+     * @throws SQLException Exception thrown if reading from the database fails
+     */
+    private static GameStateCache.Roster getRoster(int iid) throws SQLException {
+        return GameStateCache.getInstance().getRoster(iid, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT userID, alive FROM Players WHERE instanceID=?;")) {
+                statement.setInt(1, iid);
+                try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                    List<PlayerIdentifier> players = new ArrayList<>();
+                    List<PlayerIdentifier> alive = new ArrayList<>();
+                    List<PlayerIdentifier> dead = new ArrayList<>();
+                    while (resultSet.next()) {
+                        PlayerIdentifier player = new PlayerIdentifier(iid, resultSet.getInt("userID"));
+                        players.add(player);
+                        String state = resultSet.getString("alive");
+                        if ("ALIVE".equals(state)) {
+                            alive.add(player);
+                        } else if ("DECEASED".equals(state)) {
+                            dead.add(player);
+                        }
+                    }
+                    return new GameStateCache.Roster(List.copyOf(players), List.copyOf(alive), List.copyOf(dead));
+                }
+            }
+        });
     }
 }
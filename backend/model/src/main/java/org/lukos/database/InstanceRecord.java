@@ -0,0 +1,30 @@
+package org.lukos.database;
+
+import org.lukos.model.instances.DayPhase;
+import org.lukos.model.instances.RoleDivisionConfig;
+
+/**
+ * The state of an instance as stored in the `Instance`-table of the database.
+ *
+ * @param instanceID   ID of the instance
+ * @param name         name of the game
+ * @param day          the current day, negative while the game is still in the lobby
+ * @param dayPhase     the current phase of the day, {@code null} if the game has not been started
+ * @param gameMasterID ID of the user that is the gamemaster of the game
+ * @param seed         randomness seed of the game
+ * @param roleDivision the role division the game is started with
+ * @author agent
+ * @since 18-10-2026
+ */
+public record InstanceRecord(int instanceID, String name, int day, DayPhase dayPhase, int gameMasterID, int seed,
+                             RoleDivisionConfig roleDivision) {
+
+    /**
+     * Returns whether the game of this instance has been started.
+     *
+     * @return whether the game has a phase
+     */
+    public boolean isStarted() {
+        return dayPhase != null;
+    }
+}
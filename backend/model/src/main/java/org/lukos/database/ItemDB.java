@@ -3,13 +3,21 @@ package org.lukos.database;
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Class for handling database-operations related to items
+ * <p>
+ * Every player has a single row per item, holding the number of units of that item they have. Adding and using units
+ * are atomic updates of that number, and the items of all players of an instance are initialized and replenished with a
+ * single statement, see {@link #updateItems(List)}.
  *
  * @author Rick van der Heijden (1461923)
  * @since 05-04-2022
@@ -22,43 +30,52 @@ public class ItemDB {
      *
      * @param player The given player
      * @param item   Item to add to player
-     * @return the key of the item
      * @throws SQLException Exception thrown when writing to database fails.
      */
-    public static int addPlayerItem(PlayerIdentifier player, String item) throws SQLException {
-        PreparedStatement statement;
-        statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO PlayerItems(userID, instanceID, item) values (?, ?, ?);",
-                        Statement.RETURN_GENERATED_KEYS);
-        statement.setObject(1, player.userID());
-        statement.setObject(2, player.instanceID());
-        statement.setString(3, item);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-        ResultSet resultSet = statement.getGeneratedKeys();
-
-        if (resultSet.next()) {
-            return resultSet.getInt(1);
+    public static void addPlayerItem(PlayerIdentifier player, String item) throws SQLException {
+        addPlayerItems(player, item, 1);
+    }
+
+    /**
+     * Method used to add a number of units of an item to a player.
+     *
+     * @param player The given player
+     * @param item   Item to add to player
+     * @param amount The number of units to add
+     * @throws SQLException Exception thrown when writing to database fails.
+     */
+    public static void addPlayerItems(PlayerIdentifier player, String item, int amount) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO PlayerItems(userID, instanceID, item, amount) values (?, ?, ?, ?) " +
+                             "ON DUPLICATE KEY UPDATE amount = amount + VALUES(amount);")) {
+            statement.setInt(1, player.userID());
+            statement.setInt(2, player.instanceID());
+            statement.setString(3, item);
+            statement.setInt(4, amount);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
         }
-        throw new SQLException("No Item ID was generated. That should not occur...");
     }
 
     /**
-     * Method to delete a certain item from a player.
+     * Method to delete a certain item from a player. Nothing happens if the player does not have the item.
      *
      * @param player The given player
      * @param item   Item to delete from player
      * @throws SQLException Exception thrown when writing to database fails.
      */
     public static void deletePlayerItem(PlayerIdentifier player, String item) throws SQLException {
-        PreparedStatement statement;
-        statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM PlayerItems WHERE userID=? AND instanceID=? AND item=? LIMIT 1;");
-        statement.setObject(1, player.userID());
-        statement.setObject(2, player.instanceID());
-        statement.setString(3, item);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE PlayerItems SET amount = amount - 1 " +
+                             "WHERE userID=? AND instanceID=? AND item=? AND amount > 0;")) {
+            statement.setInt(1, player.userID());
+            statement.setInt(2, player.instanceID());
+            statement.setString(3, item);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -71,19 +88,57 @@ public class ItemDB {
      * @throws NoSuchPlayerException Exception thrown when the player is not found in the database
      */
     public static int amountOfItems(PlayerIdentifier player, String item) throws SQLException, NoSuchPlayerException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM PlayerItems WHERE userID=? AND instanceID=? AND item=?;");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT amount FROM PlayerItems WHERE userID=? AND instanceID=? AND item=?;")) {
+            statement.setInt(1, player.userID());
+            statement.setInt(2, player.instanceID());
+            statement.setString(3, item);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return resultSet.next() ? resultSet.getInt("amount") : 0;
+            }
+        }
+    }
+
+    /**
+     * Changes the number of units of the given items of the given players, such as when their actions are initialized
+     * or replenished. The stocks are written with a single statement per kind of {@link ItemStock.Update}.
+     *
+     * @param stocks the changes of the number of units every player has of an item
+     * @throws SQLException Exception thrown when writing to database fails.
+     */
+    public static void updateItems(List<ItemStock> stocks) throws SQLException {
+        Map<ItemStock.Update, List<ItemStock>> updates = new EnumMap<>(ItemStock.Update.class);
+        for (ItemStock stock : stocks) {
+            updates.computeIfAbsent(stock.update(), key -> new ArrayList<>()).add(stock);
+        }
+        for (Map.Entry<ItemStock.Update, List<ItemStock>> entry : updates.entrySet()) {
+            writeStocks(entry.getValue(), entry.getKey().expression);
+        }
+    }
+
+    /**
+     * Writes the given stocks with a single statement, updating the rows that exist using {@code update}.
+     */
+    private static void writeStocks(List<ItemStock> stocks, String update) throws SQLException {
+        StringBuilder query = new StringBuilder("INSERT INTO PlayerItems(userID, instanceID, item, amount) VALUES ");
+        query.append("(?, ?, ?, ?), ".repeat(stocks.size()));
+        query.setLength(query.length() - 2);
+        query.append(" ON DUPLICATE KEY UPDATE amount = ").append(update).append(';');
 
-        statement.setInt(1, player.userID());
-        statement.setInt(2, player.instanceID());
-        statement.setString(3, item);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query.toString())) {
+            int index = 1;
+            for (ItemStock stock : stocks) {
+                statement.setInt(index++, stock.player().userID());
+                statement.setInt(index++, stock.player().instanceID());
+                statement.setString(index++, stock.item());
+                statement.setInt(index++, stock.amount());
+            }
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        int count = 0;
-        while (resultSet.next()) {
-            count++;
+            DatabaseConnection.getInstance().writeStatement(statement);
         }
-        return count;
     }
 
 }
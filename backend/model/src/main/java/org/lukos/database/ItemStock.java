@@ -0,0 +1,35 @@
+package org.lukos.database;
+
+import org.lukos.model.user.PlayerIdentifier;
+
+/**
+ * A change of the number of units of an item a player has, as stored in the `PlayerItems`-table of the database.
+ *
+ * @param player the player holding the item
+ * @param item   the name of the item
+ * @param amount the number of units of the item
+ * @param update how {@code amount} changes the number of units the player already has
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ItemStock(PlayerIdentifier player, String item, int amount, Update update) {
+
+    /**
+     * The ways in which the number of units of an item can be changed.
+     */
+    public enum Update {
+        /** The player gets {@code amount} more units. */
+        ADD("amount + VALUES(amount)"),
+        /** The player has exactly {@code amount} units afterwards. */
+        SET("VALUES(amount)"),
+        /** The player has at least {@code amount} units afterwards, and keeps any units beyond that. */
+        AT_LEAST("GREATEST(amount, VALUES(amount))");
+
+        /** The new number of units of an existing row, used in the {@code ON DUPLICATE KEY UPDATE} clause. */
+        final String expression;
+
+        Update(String expression) {
+            this.expression = expression;
+        }
+    }
+}
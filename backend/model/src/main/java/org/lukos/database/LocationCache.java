@@ -0,0 +1,396 @@
+package org.lukos.database;
+
+import org.lukos.model.location.HouseState;
+import org.lukos.model.location.states.Burned;
+import org.lukos.model.location.states.Repaired;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the locations of every instance that has been read recently: its bridges, the house of every
+ * player together with its {@link HouseState} and the number of days it has been in that state, and the location
+ * every player is currently at. The players are also indexed on the location they are at. Moving players around,
+ * changing the state of houses and looking up who is at a location during the night then no longer requires reading
+ * the locations of the instance from the database over and over again.
+ * <p>
+ * The locations of an instance are read from the database at once when they are first needed, after which the entry
+ * is updated as players move and houses change state. The database stays the source of truth: the updates are made
+ * after the corresponding statement has been executed, and the entry of an instance is discarded when the
+ * transaction performing them is rolled back. Adding or removing players, houses or bridges discards the entry of the
+ * instance as well, such that it is read again when it is next needed.
+ * <p>
+ * When other servers use the same database, players move and houses change state through other servers without
+ * notifying this server. The locations of an instance are then only kept for the duration of the transaction that
+ * read them, and read again for every call outside a transaction.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+class LocationCache {
+
+    private final Map<Integer, Locations> instances = new ConcurrentHashMap<>();
+    /** The instance of every house and bridge of the instances that are kept in memory. */
+    private final Map<Integer, Integer> locationInstances = new ConcurrentHashMap<>();
+    /** Incremented on every modification, loads that overlap with a modification are not stored. */
+    private final AtomicLong generation = new AtomicLong();
+
+    // Private constructor to ensure Singleton design.
+    private LocationCache() {
+    }
+
+    /**
+     * Get the instance of {@code LocationCache}, as there exist only 1.
+     *
+     * @return The instance of {@code LocationCache}
+     */
+    static LocationCache getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the locations of the given instance, loading them if they are not kept in memory.
+     *
+     * @param iid    ID of the instance
+     * @param loader reads the locations from the database
+     * @return the locations of the instance
+     * @throws SQLException when loading the locations fails
+     */
+    Locations get(int iid, GameStateCache.Loader<Locations> loader) throws SQLException {
+        Locations locations = instances.get(iid);
+        if (locations != null) {
+            return locations;
+        }
+
+        long stamp = generation.get();
+        locations = loader.load();
+        boolean shared = DatabaseConnection.getInstance().isShared();
+        if (shared && !DatabaseConnection.getInstance().isInTransaction()) {
+            return locations;
+        }
+        Locations existing = instances.putIfAbsent(iid, locations);
+        if (existing != null) {
+            return existing;
+        }
+        locations.getLocationIDs().forEach(id -> locationInstances.put(id, iid));
+        if (shared) {
+            DatabaseConnection.getInstance().afterCompletion(() -> evict(iid));
+        } else {
+            DatabaseConnection.getInstance().afterRollback(() -> evict(iid));
+        }
+        // A modification happened during the load, the loaded locations might already be outdated
+        if (generation.get() != stamp) {
+            evict(iid);
+        }
+        return locations;
+    }
+
+    /**
+     * Returns the locations of the instance that the given house or bridge is part of, if they are kept in memory.
+     *
+     * @param locationID ID of the house or bridge
+     * @return the locations of the instance, or {@code null} if they are not kept in memory
+     */
+    Locations find(int locationID) {
+        Integer iid = locationInstances.get(locationID);
+        return iid == null ? null : instances.get(iid);
+    }
+
+    /**
+     * Moves a player to another location, after the move has been stored in the database.
+     *
+     * @param player     the player that moved
+     * @param locationID ID of the location the player moved to
+     */
+    void visited(PlayerIdentifier player, int locationID) {
+        generation.incrementAndGet();
+        Locations locations = instances.get(player.instanceID());
+        if (locations != null) {
+            locations.visit(player, locationID);
+            DatabaseConnection.getInstance().afterRollback(() -> evict(player.instanceID()));
+        }
+    }
+
+    /**
+     * Changes the state of a house, after the change has been stored in the database.
+     *
+     * @param houseID ID of the house
+     * @param state   the new state of the house
+     */
+    void stateChanged(int houseID, HouseState state) {
+        generation.incrementAndGet();
+        Locations locations = find(houseID);
+        if (locations != null) {
+            locations.setState(houseID, state);
+            DatabaseConnection.getInstance().afterRollback(() -> evict(locations.instanceID));
+        }
+    }
+
+    /**
+     * Changes the number of days a house has been in its state, after the change has been stored in the database.
+     *
+     * @param houseID  ID of the house
+     * @param stateDay the new number of days
+     */
+    void stateDayChanged(int houseID, int stateDay) {
+        generation.incrementAndGet();
+        Locations locations = find(houseID);
+        if (locations != null) {
+            locations.setStateDay(houseID, stateDay);
+            DatabaseConnection.getInstance().afterRollback(() -> evict(locations.instanceID));
+        }
+    }
+
+    /**
+     * Puts the given players back at their house and progresses the building of their houses, after this has been
+     * stored in the database.
+     *
+     * @param iid     ID of the instance
+     * @param players the players that have been sent home, being the alive players of the instance
+     */
+    void sentHome(int iid, Collection<PlayerIdentifier> players) {
+        generation.incrementAndGet();
+        Locations locations = instances.get(iid);
+        if (locations != null) {
+            locations.sendHome(players);
+            DatabaseConnection.getInstance().afterRollback(() -> evict(iid));
+        }
+    }
+
+    /**
+     * Evicts the given instance, after its houses, bridges or players have been added or removed by the current
+     * thread. If the modification is part of a transaction, the instance is evicted again when the transaction ends.
+     *
+     * @param iid ID of the modified instance
+     */
+    void invalidate(int iid) {
+        evict(iid);
+        DatabaseConnection.getInstance().afterCompletion(() -> evict(iid));
+    }
+
+    /**
+     * Evicts the instance that the given house or bridge is part of, see {@link #invalidate(int)}.
+     *
+     * @param locationID ID of the modified house or bridge
+     */
+    void invalidateLocation(int locationID) {
+        Integer iid = locationInstances.get(locationID);
+        if (iid != null) {
+            invalidate(iid);
+        }
+    }
+
+    /**
+     * Evicts all instances, for modifications that may affect any instance (such as deleting users).
+     */
+    void invalidateAll() {
+        evictAll();
+        DatabaseConnection.getInstance().afterCompletion(this::evictAll);
+    }
+
+    private void evict(int iid) {
+        generation.incrementAndGet();
+        Locations locations = instances.remove(iid);
+        if (locations != null) {
+            locations.getLocationIDs().forEach(id -> locationInstances.remove(id, iid));
+        }
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        instances.clear();
+        locationInstances.clear();
+    }
+
+    /**
+     * The locations of a single instance: its bridges, the houses of its players and the location every player is at.
+     */
+    static final class Locations {
+        private static final Comparator<PlayerIdentifier> OCCUPANT_ORDER =
+                Comparator.comparingInt(PlayerIdentifier::instanceID).thenComparingInt(PlayerIdentifier::userID);
+
+        private final int instanceID;
+        private final Set<Integer> bridges;
+        /** The houses of the instance by their ID, in the order in which they have been read. */
+        private final Map<Integer, House> houses = new LinkedHashMap<>();
+        private final Map<PlayerIdentifier, Integer> currentLocations = new HashMap<>();
+        /** The players at every location, ordered in the same way as the index on `currentLocation`. */
+        private final Map<Integer, Set<PlayerIdentifier>> occupants = new HashMap<>();
+
+        Locations(int instanceID, Collection<Integer> bridges) {
+            this.instanceID = instanceID;
+            this.bridges = new LinkedHashSet<>(bridges);
+        }
+
+        /**
+         * Adds a player that has been read from the database.
+         *
+         * @param player          the player
+         * @param houseID         ID of the house of the player, or {@code null} if the player has no house
+         * @param state           state of the house
+         * @param stateDay        number of days the house has been in its state
+         * @param currentLocation ID of the location the player is at, or {@code null} if the player is nowhere
+         */
+        void addPlayer(PlayerIdentifier player, Integer houseID, HouseState state, int stateDay,
+                       Integer currentLocation) {
+            if (houseID != null) {
+                houses.put(houseID, new House(player, state, stateDay));
+            }
+            if (currentLocation != null) {
+                move(player, currentLocation);
+            }
+        }
+
+        /**
+         * Returns the IDs of all bridges and houses of the instance.
+         */
+        synchronized List<Integer> getLocationIDs() {
+            List<Integer> locations = new ArrayList<>(bridges);
+            locations.addAll(houses.keySet());
+            return locations;
+        }
+
+        synchronized boolean hasHouse(int houseID) {
+            return houses.containsKey(houseID);
+        }
+
+        synchronized boolean hasBridge(int bridgeID) {
+            return bridges.contains(bridgeID);
+        }
+
+        int getInstanceID() {
+            return instanceID;
+        }
+
+        synchronized PlayerIdentifier getOwner(int houseID) {
+            return houses.get(houseID).owner;
+        }
+
+        /**
+         * Returns the players that are at the given location.
+         */
+        synchronized List<PlayerIdentifier> getPlayersAt(int locationID) {
+            return new ArrayList<>(occupants.getOrDefault(locationID, Set.of()));
+        }
+
+        synchronized HouseState getState(int houseID) {
+            return houses.get(houseID).state;
+        }
+
+        synchronized int getStateDay(int houseID) {
+            return houses.get(houseID).stateDay;
+        }
+
+        /**
+         * Returns the house of every given player that has one.
+         */
+        synchronized Map<PlayerIdentifier, Integer> getHouses(Collection<PlayerIdentifier> players) {
+            Set<PlayerIdentifier> owners = new HashSet<>(players);
+            Map<PlayerIdentifier, Integer> result = new HashMap<>();
+            houses.forEach((houseID, house) -> {
+                if (owners.contains(house.owner)) {
+                    result.put(house.owner, houseID);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Returns the owners of the houses that are in the given state.
+         */
+        synchronized List<PlayerIdentifier> getOwners(HouseState state) {
+            List<PlayerIdentifier> owners = new ArrayList<>();
+            for (House house : houses.values()) {
+                if (house.state == state) {
+                    owners.add(house.owner);
+                }
+            }
+            return owners;
+        }
+
+        private synchronized void visit(PlayerIdentifier player, int locationID) {
+            move(player, locationID);
+        }
+
+        private void move(PlayerIdentifier player, int locationID) {
+            Integer previous = currentLocations.put(player, locationID);
+            if (previous != null) {
+                Set<PlayerIdentifier> players = occupants.get(previous);
+                players.remove(player);
+                if (players.isEmpty()) {
+                    occupants.remove(previous);
+                }
+            }
+            occupants.computeIfAbsent(locationID, id -> new TreeSet<>(OCCUPANT_ORDER)).add(player);
+        }
+
+        private synchronized void setState(int houseID, HouseState state) {
+            House house = houses.get(houseID);
+            if (house != null) {
+                house.state = state;
+            }
+        }
+
+        private synchronized void setStateDay(int houseID, int stateDay) {
+            House house = houses.get(houseID);
+            if (house != null) {
+                house.stateDay = stateDay;
+            }
+        }
+
+        /**
+         * Mirrors {@link HouseDB#sendPlayersHome(int)}: a burned house is rebuilt on the third day after it burned.
+         */
+        private synchronized void sendHome(Collection<PlayerIdentifier> players) {
+            Set<PlayerIdentifier> owners = new HashSet<>(players);
+            houses.forEach((houseID, house) -> {
+                if (!owners.contains(house.owner)) {
+                    return;
+                }
+                move(house.owner, houseID);
+                if (house.state == Burned.getInstance()) {
+                    house.stateDay = house.stateDay + 1 == 3 ? 0 : house.stateDay + 1;
+                    if (house.stateDay == 0) {
+                        house.state = Repaired.getInstance();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The house of a player, with its state and the number of days it has been in that state.
+     */
+    private static final class House {
+        private final PlayerIdentifier owner;
+        private HouseState state;
+        private int stateDay;
+
+        private House(PlayerIdentifier owner, HouseState state, int stateDay) {
+            this.owner = owner;
+            this.state = state;
+            this.stateDay = stateDay;
+        }
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final LocationCache uniqueInstance = new LocationCache();
+    }
+}
@@ -1,7 +1,9 @@
 package org.lukos.database;
 
 import org.lukos.model.exceptions.location.BridgeDoesNotExistException;
+import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -23,12 +25,18 @@ public class LocationDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean bridgeExists(int id) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT name FROM Bridge WHERE bridgeID=?;");
-        statement.setInt(1, id);
+        LocationCache.Locations locations = LocationCache.getInstance().find(id);
+        if (locations != null) {
+            return locations.hasBridge(id);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM Bridge WHERE bridgeID=?;")) {
+            statement.setInt(1, id);
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return resultSet.next(); // if this is false there are no rows corresponding to the query
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return resultSet.next(); // if this is false there are no rows corresponding to the query
+            }
+        }
     }
 
     /**
@@ -41,13 +49,16 @@ public class LocationDB {
      */
     public static void loadOrCreateBridge(int iid, int id, String name) throws SQLException {
         if (!bridgeExists(id)) {
-            PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("INSERT INTO Bridge(bridgeID, instanceID, name) VALUES (?, ?, ?);");
-            statement.setInt(1, id);
-            statement.setInt(2, iid);
-            statement.setString(3, name);
-
-            DatabaseConnection.getInstance().writeStatement(statement);
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "INSERT INTO Bridge(bridgeID, instanceID, name) VALUES (?, ?, ?);")) {
+                statement.setInt(1, id);
+                statement.setInt(2, iid);
+                statement.setString(3, name);
+
+                DatabaseConnection.getInstance().writeStatement(statement);
+                LocationCache.getInstance().invalidate(iid);
+            }
         }
     }
 
@@ -59,15 +70,16 @@ public class LocationDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static String getNameBridgeByID(int id) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT name FROM Bridge WHERE bridgeID=?;");
-        statement.setInt(1, id);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        if (resultSet.next()) {
-            return resultSet.getString("name");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT name FROM Bridge WHERE bridgeID=?;")) {
+            statement.setInt(1, id);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getString("name");
+                }
+                throw new SQLException("The ID was not valid.");
+            }
         }
-        throw new SQLException("The ID was not valid.");
     }
 
     /**
@@ -78,15 +90,21 @@ public class LocationDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static int getInstanceIDBridgeByID(int id) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT instanceID FROM Bridge WHERE bridgeID=?;");
-        statement.setInt(1, id);
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        if (resultSet.next()) {
-            return resultSet.getInt("instanceID");
+        LocationCache.Locations locations = LocationCache.getInstance().find(id);
+        if (locations != null && locations.hasBridge(id)) {
+            return locations.getInstanceID();
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT instanceID FROM Bridge WHERE bridgeID=?;")) {
+            statement.setInt(1, id);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getInt("instanceID");
+                }
+                throw new SQLException("The ID was not valid.");
+            }
         }
-        throw new SQLException("The ID was not valid.");
     }
 
     /**
@@ -98,16 +116,18 @@ public class LocationDB {
      * @throws BridgeDoesNotExistException Exception thrown when bridge does not exist
      */
     public static List<Integer> getBridgesByInstance(int iid) throws SQLException, BridgeDoesNotExistException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT bridgeID, name FROM Bridge WHERE instanceID=?;");
-        statement.setObject(1, iid);
-        ResultSet rs = DatabaseConnection.getInstance().readStatement(statement);
-
-        List<Integer> bridges = new ArrayList<>();
-        while (rs.next()) {
-            bridges.add(rs.getInt("bridgeID"));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT bridgeID, name FROM Bridge WHERE instanceID=?;")) {
+            statement.setObject(1, iid);
+            try (ResultSet rs = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<Integer> bridges = new ArrayList<>();
+                while (rs.next()) {
+                    bridges.add(rs.getInt("bridgeID"));
+                }
+                return bridges;
+            }
         }
-        return bridges;
     }
 
     /**
@@ -119,13 +139,16 @@ public class LocationDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static boolean removeBridgeByInstance(int iid, int bridgeID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Bridge WHERE instanceID=? AND bridgeID=?;");
-        statement.setObject(1, iid);
-        statement.setObject(2, bridgeID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM Bridge WHERE instanceID=? AND bridgeID=?;")) {
+            statement.setObject(1, iid);
+            statement.setObject(2, bridgeID);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
-        return true;
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().invalidate(iid);
+            return true;
+        }
     }
 
     /**
@@ -136,30 +159,48 @@ public class LocationDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static List<Integer> getLocationsFromInstanceID(int iid) throws SQLException {
-        // FIXME: Remove the Location creation with location IDs. Need to create Locations later, but how to differ
-        //  between Bridge and House?
-        List<Integer> locations = new ArrayList<>();
-
-        // BEGIN retrieve bridges
-        PreparedStatement bridgeStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT bridgeID FROM Bridge WHERE instanceID=?;");
-        bridgeStatement.setInt(1, iid);
-
-        ResultSet bridgeResultSet = DatabaseConnection.getInstance().readStatement(bridgeStatement);
-        while (bridgeResultSet.next()) {
-            locations.add(bridgeResultSet.getInt("BridgeID"));
-        }
-
-        // BEGIN retrieve houses
-        PreparedStatement houseStatement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT houseID FROM Players WHERE instanceID=?;");
-        houseStatement.setInt(1, iid);
+        return getLocations(iid).getLocationIDs();
+    }
 
-        ResultSet houseResultSet = DatabaseConnection.getInstance().readStatement(houseStatement);
-        while (houseResultSet.next()) {
-            locations.add(houseResultSet.getInt("houseID"));
-        }
-        return locations;
+    /**
+     * Getting the bridges, houses and player locations of an instance. The locations of instances are kept in memory,
+     * such that they can be read without going to the database.
+     *
+     * @param iid ID of the instance to get the locations of
+     * @return the locations of the instance
+     * @throws SQLException Exception thrown if reading from the database fails
+     */
+    static LocationCache.Locations getLocations(int iid) throws SQLException {
+        return LocationCache.getInstance().get(iid, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement bridgeStatement = connection.prepareStatement(
+                         "SELECT bridgeID FROM Bridge WHERE instanceID=?;");
+                 PreparedStatement playerStatement = connection.prepareStatement(
+                         "SELECT userID, houseID, houseState, houseStateDay, currentLocation FROM Players " +
+                                 "WHERE instanceID=?;")) {
+                bridgeStatement.setInt(1, iid);
+                List<Integer> bridges = new ArrayList<>();
+                try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(bridgeStatement)) {
+                    while (resultSet.next()) {
+                        bridges.add(resultSet.getInt("bridgeID"));
+                    }
+                }
+
+                LocationCache.Locations locations = new LocationCache.Locations(iid, bridges);
+                playerStatement.setInt(1, iid);
+                try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(playerStatement)) {
+                    while (resultSet.next()) {
+                        String state = resultSet.getString("houseState");
+                        locations.addPlayer(new PlayerIdentifier(iid, resultSet.getInt("userID")),
+                                resultSet.getObject("houseID", Integer.class),
+                                state == null ? null : HouseDB.readHouseState(state),
+                                resultSet.getInt("houseStateDay"),
+                                resultSet.getObject("currentLocation", Integer.class));
+                    }
+                }
+                return locations;
+            }
+        });
     }
 
     /**
@@ -172,18 +213,20 @@ public class LocationDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static int createNewLocation(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO Location(instanceID) VALUES (?);", Statement.RETURN_GENERATED_KEYS
-                        //generated location-id
-                );
-        statement.setInt(1, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Location(instanceID) VALUES (?);",
+                     Statement.RETURN_GENERATED_KEYS)) { //generated location-id
+            statement.setInt(1, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
 
-        ResultSet resultSet = statement.getGeneratedKeys();
-        if (resultSet.next()) {
-            return resultSet.getInt(1);
+            try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+                throw new SQLException("No Location ID was generated. That should not occur...");
+            }
         }
-        throw new SQLException("No Location ID was generated. That should not occur...");
     }
 }
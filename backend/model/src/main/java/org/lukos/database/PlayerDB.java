@@ -4,13 +4,20 @@ import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.location.House;
 import org.lukos.model.location.states.Repaired;
 import org.lukos.model.notes.Deathnote;
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.util.PurposeRegistry;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Class for handling database-operations related to players.
@@ -31,16 +38,20 @@ public class PlayerDB {
      */
     public static Deathnote getDeathNotePlayerByID(PlayerIdentifier playerIdentifier)
             throws SQLException, NoSuchPlayerException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT deathNote, deathnoteIsChangeable FROM Players WHERE instanceID=? AND userID=?;");
-        statement.setInt(1, playerIdentifier.instanceID());
-        statement.setInt(2, playerIdentifier.userID());
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            return new Deathnote(resultSet.getString("deathNote"), resultSet.getBoolean("deathnoteIsChangeable"));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT deathNote, deathnoteIsChangeable FROM Players WHERE instanceID=? AND userID=?;")) {
+            statement.setInt(1, playerIdentifier.instanceID());
+            statement.setInt(2, playerIdentifier.userID());
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return new Deathnote(resultSet.getString("deathNote"),
+                            resultSet.getBoolean("deathnoteIsChangeable"));
+                }
+                throw new NoSuchPlayerException("The player does not exist");
+            }
         }
-        throw new NoSuchPlayerException("The player does not exist");
     }
 
     /**
@@ -54,14 +65,16 @@ public class PlayerDB {
         String content = deathNote.getContent();
         boolean isChangeable = deathNote.getChangeable();
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "UPDATE Players SET deathNote=?, deathnoteIsChangeable=? WHERE userID=? AND instanceID=?;");
-        statement.setString(1, content);
-        statement.setBoolean(2, isChangeable);
-        statement.setInt(3, playerIdentifier.userID());
-        statement.setInt(4, playerIdentifier.instanceID());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET deathNote=?, deathnoteIsChangeable=? WHERE userID=? AND instanceID=?;")) {
+            statement.setString(1, content);
+            statement.setBoolean(2, isChangeable);
+            statement.setInt(3, playerIdentifier.userID());
+            statement.setInt(4, playerIdentifier.instanceID());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -76,19 +89,24 @@ public class PlayerDB {
         int instanceID = player.instanceID();
         boolean alive = true;
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO Players(instanceID, userID, alive)" + "VALUES (?, ?, ?);");
-        statement.setObject(1, instanceID);
-        statement.setObject(2, userID);
-        statement.setBoolean(3, alive);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Players(instanceID, userID, alive)" + "VALUES (?, ?, ?);")) {
+            statement.setObject(1, instanceID);
+            statement.setObject(2, userID);
+            statement.setBoolean(3, alive);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
-        // FIXME: Find a way to do this without creating the House due to cyclic dependency
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(instanceID);
+            LocationCache.getInstance().invalidate(instanceID);
+            IdentityCache.getInstance().invalidatePlayer(userID);
+            // FIXME: Find a way to do this without creating the House due to cyclic dependency
 
-        // Initialize the house as well
+            // Initialize the house as well
 
-        // Initialize the Player's CurrentLocation to their newly created House
-        visitLocation(new House(player, Repaired.getInstance()).getId(), player);
+            // Initialize the Player's CurrentLocation to their newly created House
+            visitLocation(new House(player, Repaired.getInstance()).getId(), player);
+        }
     }
 
     /**
@@ -99,16 +117,21 @@ public class PlayerDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static void deletePlayerByID(int uid, int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Players WHERE userID=? AND instanceID=?;");
-        statement.setInt(1, uid);
-        statement.setInt(2, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM Players WHERE userID=? AND instanceID=?;")) {
+            statement.setInt(1, uid);
+            statement.setInt(2, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            GameStateCache.getInstance().invalidate(iid);
+            LocationCache.getInstance().invalidate(iid);
+            IdentityCache.getInstance().invalidatePlayer(uid);
+        }
     }
 
     /**
-     * Getting a player from a given userID.
+     * Getting a player from a given userID. The players of recently active users are kept in memory.
      *
      * @param uid ID of the user to get player of.
      * @return A player associated with the user with the given ID.
@@ -116,16 +139,27 @@ public class PlayerDB {
      * @throws NoSuchPlayerException Exception thrown when no player is associated with the given ID
      */
     public static PlayerIdentifier getPlayerFromUserByID(int uid) throws SQLException, NoSuchPlayerException {
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT * FROM Players WHERE userID=?;");
-        statement.setInt(1, uid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            int iid = resultSet.getInt("instanceID");
-            return new PlayerIdentifier(iid, uid);
-        }
-        throw new NoSuchPlayerException("No player found in database based on the user ID");
+        Optional<PlayerIdentifier> player = IdentityCache.getInstance().getPlayer(uid, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT instanceID FROM Players WHERE userID=?;")) {
+                statement.setInt(1, uid);
+
+                try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                    return resultSet.next() ? Optional.of(new PlayerIdentifier(resultSet.getInt("instanceID"), uid)) :
+                           Optional.empty();
+                }
+            }
+        });
+        return player.orElseThrow(() -> new NoSuchPlayerException("No player found in database based on the user ID"));
+    }
+
+    /**
+     * Drops the players of users that are kept in memory, such that they are read from the database again. Used when
+     * users joined or left a game on another server sharing the same database.
+     */
+    public static void refreshPlayers() {
+        IdentityCache.getInstance().evictPlayers();
     }
 
     /**
@@ -139,36 +173,69 @@ public class PlayerDB {
         int userID = player.userID();
         int instanceID = player.instanceID();
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET currentLocation=? WHERE userID=? AND instanceID=?;");
-        statement.setInt(1, locID);
-        statement.setInt(2, userID);
-        statement.setInt(3, instanceID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET currentLocation=? WHERE userID=? AND instanceID=?;")) {
+            statement.setInt(1, locID);
+            statement.setInt(2, userID);
+            statement.setInt(3, instanceID);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            LocationCache.getInstance().visited(player, locID);
+        }
+    }
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Method to change the locations of multiple players in the database, using a single batch of updates.
+     *
+     * @param locations map of players to the ID of the location to move them to
+     * @throws SQLException Exception thrown when writing to database fails.
+     */
+    public static void visitLocations(Map<PlayerIdentifier, Integer> locations) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET currentLocation=? WHERE userID=? AND instanceID=?;")) {
+            for (Map.Entry<PlayerIdentifier, Integer> entry : locations.entrySet()) {
+                statement.setInt(1, entry.getValue());
+                statement.setInt(2, entry.getKey().userID());
+                statement.setInt(3, entry.getKey().instanceID());
+                statement.addBatch();
+            }
+
+            DatabaseConnection.getInstance().writeBatch(statement);
+            locations.forEach(LocationCache.getInstance()::visited);
+        }
     }
 
     /**
-     * Method to get a list of all players at a specified location.
+     * Method to get a list of all players at a specified location. The players at the houses and bridges of instances
+     * of which the locations are kept in memory are read from memory.
      *
      * @param locID ID of the location to check for players at.
      * @return The list of players at the specified location
      * @throws SQLException Exception thrown when reading from the database fails
      */
     public static List<PlayerIdentifier> getPlayersAtLocation(int locID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID, instanceID FROM Players WHERE currentLocation=?;");
-        statement.setInt(1, locID);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        List<PlayerIdentifier> players = new ArrayList<>();
-        while (resultSet.next()) {
-            int uid = resultSet.getInt("userID");
-            int iid = resultSet.getInt("instanceID");
-            PlayerIdentifier player = new PlayerIdentifier(iid, uid);
-            players.add(player);
+        LocationCache.Locations locations = LocationCache.getInstance().find(locID);
+        if (locations != null) {
+            return locations.getPlayersAt(locID);
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID, instanceID FROM Players WHERE currentLocation=?;")) {
+            statement.setInt(1, locID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<PlayerIdentifier> players = new ArrayList<>();
+                while (resultSet.next()) {
+                    int uid = resultSet.getInt("userID");
+                    int iid = resultSet.getInt("instanceID");
+                    PlayerIdentifier player = new PlayerIdentifier(iid, uid);
+                    players.add(player);
+                }
+                return players;
+            }
         }
-        return players;
     }
 
     /**
@@ -179,14 +246,20 @@ public class PlayerDB {
      * @throws SQLException
      */
     public static int getOwnerByHouseID(int houseId) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT userID FROM Players WHERE houseID=?");
-        statement.setInt(1, houseId);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
+        LocationCache.Locations locations = LocationCache.getInstance().find(houseId);
+        if (locations != null && locations.hasHouse(houseId)) {
+            return locations.getOwner(houseId).userID();
+        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT userID FROM Players WHERE houseID=?")) {
+            statement.setInt(1, houseId);
 
-        resultSet.next();
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                resultSet.next();
 
-        return resultSet.getInt("userID");
+                return resultSet.getInt("userID");
+            }
+        }
     }
 
     /**
@@ -198,17 +271,20 @@ public class PlayerDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static List<PlayerIdentifier> getProtectedPlayers(int instanceId) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM Players WHERE instanceID=? AND isProtected=1;");
-        statement.setInt(1, instanceId);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        List<PlayerIdentifier> resultList = new ArrayList<>();
-        while (resultSet.next()) {
-            resultList.add(new PlayerIdentifier(instanceId, resultSet.getInt("userID")));
-        }
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID FROM Players WHERE instanceID=? AND isProtected=1;")) {
+            statement.setInt(1, instanceId);
 
-        return resultList;
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<PlayerIdentifier> resultList = new ArrayList<>();
+                while (resultSet.next()) {
+                    resultList.add(new PlayerIdentifier(instanceId, resultSet.getInt("userID")));
+                }
+
+                return resultList;
+            }
+        }
     }
 
     /**
@@ -219,12 +295,100 @@ public class PlayerDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static void updateProtected(PlayerIdentifier playerIdentifier, boolean newValue) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Players SET isProtected=? WHERE instanceID=? AND userID=?;");
-        statement.setBoolean(1, newValue);
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setInt(3, playerIdentifier.userID());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET isProtected=? WHERE instanceID=? AND userID=?;")) {
+            statement.setBoolean(1, newValue);
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setInt(3, playerIdentifier.userID());
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /**
+     * Updates {@code isProtected} for multiple players, using a single batch of updates.
+     *
+     * @param playerIdentifiers the players
+     * @param newValue          the new value for {@code isProtected} for the given players
+     * @throws SQLException Exception thrown when writing to the database fails
+     */
+    public static void updateProtected(List<PlayerIdentifier> playerIdentifiers, boolean newValue)
+            throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Players SET isProtected=? WHERE instanceID=? AND userID=?;")) {
+            for (PlayerIdentifier playerIdentifier : playerIdentifiers) {
+                statement.setBoolean(1, newValue);
+                statement.setInt(2, playerIdentifier.instanceID());
+                statement.setInt(3, playerIdentifier.userID());
+                statement.addBatch();
+            }
+
+            DatabaseConnection.getInstance().writeBatch(statement);
+        }
+    }
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+    /**
+     * Getting a snapshot of all players of an instance, consisting of their username, whether they are alive, their
+     * roles and the state of their house. All of this is read using a single query.
+     *
+     * @param instanceID ID of the instance to get the players of
+     * @return the snapshots of the players of the instance, ordered by userID
+     * @throws SQLException Exception thrown if reading from the database fails
+     */
+    public static List<PlayerSnapshot> getPlayerSnapshots(int instanceID) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT p.userID, u.username, p.alive, p.houseState, r.purposeType, r.purpose " +
+                             "FROM Players p JOIN Users u ON u.userID=p.userID " +
+                             "LEFT JOIN Roles r ON r.instanceID=p.instanceID AND r.userID=p.userID " +
+                             "WHERE p.instanceID=? ORDER BY p.userID, r.purpose;")) {
+            statement.setInt(1, instanceID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                List<PlayerSnapshot> snapshots = new ArrayList<>();
+                // The rows of a player are consecutive, one for each of their roles
+                int userID = -1;
+                String username = null;
+                boolean alive = false;
+                String houseState = null;
+                MainRole mainRole = null;
+                List<DoubleRole> doubleRoles = new ArrayList<>();
+                List<Job> jobs = new ArrayList<>();
+                while (resultSet.next()) {
+                    if (resultSet.getInt("userID") != userID) {
+                        if (username != null) {
+                            snapshots.add(new PlayerSnapshot(new PlayerIdentifier(instanceID, userID), username, alive,
+                                    mainRole, doubleRoles, jobs,
+                                    houseState == null ? null : HouseDB.readHouseState(houseState)));
+                        }
+                        userID = resultSet.getInt("userID");
+                        username = resultSet.getString("username");
+                        alive = "ALIVE".equals(resultSet.getString("alive"));
+                        houseState = resultSet.getString("houseState");
+                        mainRole = null;
+                        doubleRoles = new ArrayList<>();
+                        jobs = new ArrayList<>();
+                    }
+                    String purpose = resultSet.getString("purpose");
+                    if (purpose == null) {
+                        continue;
+                    }
+                    switch (resultSet.getString("purposeType")) {
+                        case "mainRole" -> mainRole = PurposeRegistry.createMainRole(purpose);
+                        case "doubleRole" -> doubleRoles.add(PurposeRegistry.createDoubleRole(purpose));
+                        case "job" -> jobs.add(PurposeRegistry.createJob(purpose));
+                        default -> throw new SQLException("Invalid ENUM value returned.");
+                    }
+                }
+                if (username != null) {
+                    snapshots.add(new PlayerSnapshot(new PlayerIdentifier(instanceID, userID), username, alive,
+                            mainRole, doubleRoles, jobs,
+                            houseState == null ? null : HouseDB.readHouseState(houseState)));
+                }
+                return snapshots;
+            }
+        }
     }
 }
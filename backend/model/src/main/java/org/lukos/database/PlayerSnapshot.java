@@ -0,0 +1,56 @@
+package org.lukos.database;
+
+import org.lukos.model.exceptions.user.NoSuchRoleException;
+import org.lukos.model.location.HouseState;
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Group;
+import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.util.List;
+
+/**
+ * Everything that is shown about a player in the overviews of a game, read at once for all players of an instance by
+ * {@link PlayerDB#getPlayerSnapshots(int)}.
+ *
+ * @param playerIdentifier the identifier of the player
+ * @param username         the username of the user playing as the player
+ * @param alive            whether the player is alive
+ * @param mainRole         the main role of the player, {@code null} if no main role has been assigned yet
+ * @param doubleRoles      the double roles of the player
+ * @param jobs             the jobs of the player
+ * @param houseState       the state of the house of the player, {@code null} if the player has no house
+ * @author agent
+ * @since 18-10-2026
+ */
+public record PlayerSnapshot(PlayerIdentifier playerIdentifier, String username, boolean alive, MainRole mainRole,
+                             List<DoubleRole> doubleRoles, List<Job> jobs, HouseState houseState) {
+
+    /**
+     * Returns the main role of the player.
+     *
+     * @return the main role of the player
+     * @throws NoSuchRoleException when the player does not have a main role
+     */
+    public MainRole getMainRole() throws NoSuchRoleException {
+        if (mainRole == null) {
+            throw new NoSuchRoleException("The player does not have a mainrole.");
+        }
+        return mainRole;
+    }
+
+    /**
+     * Returns the group the player plays for: the group of their first double role if they have one, otherwise the
+     * group of their main role.
+     *
+     * @return the group of the player
+     * @throws NoSuchRoleException when the player has neither a double role nor a main role
+     */
+    public Group getGroup() throws NoSuchRoleException {
+        if (!doubleRoles.isEmpty()) {
+            return doubleRoles.get(0).getGroup();
+        }
+        return getMainRole().getGroup();
+    }
+}
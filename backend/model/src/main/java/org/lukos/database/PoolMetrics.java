@@ -0,0 +1,27 @@
+package org.lukos.database;
+
+/**
+ * Snapshot of the state of the database connection pool.
+ *
+ * @param active          number of connections that are currently borrowed
+ * @param idle            number of open connections that are waiting to be borrowed
+ * @param maxSize         maximum number of connections the pool hands out at the same time
+ * @param waiting         (estimated) number of threads waiting for a connection
+ * @param borrows         total number of connections borrowed since startup
+ * @param totalWaitMillis total time spent waiting for a connection since startup
+ * @param maxWaitMillis   longest time a single borrower had to wait for a connection
+ * @author agent
+ * @since 18-10-2026
+ */
+public record PoolMetrics(int active, int idle, int maxSize, int waiting, long borrows, long totalWaitMillis,
+                          long maxWaitMillis) {
+
+    /**
+     * Returns the average time a borrower had to wait for a connection.
+     *
+     * @return the average wait time in milliseconds
+     */
+    public double averageWaitMillis() {
+        return borrows == 0 ? 0 : (double) totalWaitMillis / borrows;
+    }
+}
@@ -5,13 +5,17 @@ import org.lukos.model.rolesystem.DoubleRole;
 import org.lukos.model.rolesystem.Job;
 import org.lukos.model.rolesystem.MainRole;
 import org.lukos.model.rolesystem.Purpose;
+import org.lukos.model.rolesystem.util.PurposeRegistry;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class for handling database-operations related to roles
@@ -26,11 +30,10 @@ public class RoleDB {
      *
      * @param playerIdentifier Identifier of the player
      * @param mainRole         Main role of the player
-     * @throws SQLException                 Exception thrown when writing to the database fails
-     * @throws ReflectiveOperationException Catch-all exception
+     * @throws SQLException Exception thrown when writing to the database fails
      */
     public static void setMainRolePlayerByID(PlayerIdentifier playerIdentifier, MainRole mainRole)
-            throws SQLException, ReflectiveOperationException {
+            throws SQLException {
         boolean exist = true;
         try {
             getMainRolePlayerByID(playerIdentifier);
@@ -38,24 +41,85 @@ public class RoleDB {
             exist = false;
         }
 
-        PreparedStatement statement;
-        if (exist) {
-            statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "UPDATE Roles SET purpose=? WHERE instanceID=? AND userID=? AND purposeType='mainRole';"); //
-            // FIXME: in which table should this be inserted?
+        // Both queries take the purpose, instanceID and userID in that order
+        String query = exist ?
+                "UPDATE Roles SET purpose=? WHERE instanceID=? AND userID=? AND purposeType='mainRole';" :
+                "INSERT INTO Roles(purpose, instanceid, userid, purposeType) VALUES(?, ?, ?, 'mainRole');";
+        // FIXME: in which table should this be inserted?
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setString(1, mainRole.getClass().getSimpleName());
             statement.setInt(2, playerIdentifier.instanceID());
             statement.setInt(3, playerIdentifier.userID());
-        } else {
-            statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "INSERT INTO Roles(userid, instanceid, purposeType, purpose) VALUES(?, ?, ?, ?);");
-            statement.setInt(1, playerIdentifier.userID());
-            statement.setInt(2, playerIdentifier.instanceID());
-            statement.setString(3, "mainRole");
-            statement.setString(4, mainRole.getClass().getSimpleName());
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /**
+     * Setting the main roles of a number of players at once, replacing the main roles they have. The old main roles
+     * are removed with a single statement, and the new ones are inserted with another.
+     *
+     * @param mainRoles The main role of every player
+     * @throws SQLException Exception thrown when writing to the database fails
+     */
+    public static void setMainRolesPlayers(Map<PlayerIdentifier, MainRole> mainRoles) throws SQLException {
+        if (mainRoles.isEmpty()) {
+            return;
         }
+        String players = "(?, ?), ".repeat(mainRoles.size());
+        players = players.substring(0, players.length() - 2);
+        String values = "(?, ?, ?, 'mainRole'), ".repeat(mainRoles.size());
+        values = values.substring(0, values.length() - 2);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement delete = connection.prepareStatement(
+                     "DELETE FROM Roles WHERE purposeType='mainRole' AND (instanceID, userID) IN (" + players + ");");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO Roles(purpose, instanceID, userID, purposeType) VALUES " + values + ";")) {
+            int deleteIndex = 1;
+            int insertIndex = 1;
+            for (Map.Entry<PlayerIdentifier, MainRole> entry : mainRoles.entrySet()) {
+                delete.setInt(deleteIndex++, entry.getKey().instanceID());
+                delete.setInt(deleteIndex++, entry.getKey().userID());
+                insert.setString(insertIndex++, entry.getValue().getClass().getSimpleName());
+                insert.setInt(insertIndex++, entry.getKey().instanceID());
+                insert.setInt(insertIndex++, entry.getKey().userID());
+            }
+
+            DatabaseConnection.getInstance().writeStatement(delete);
+            DatabaseConnection.getInstance().writeStatement(insert);
+        }
+    }
+
+    /**
+     * Getting the main role and the jobs of every player of an instance with a single query. Double roles are not
+     * included.
+     *
+     * @param instanceID ID of the instance
+     * @return The main role followed by the jobs of every player that has any, in order of their ID
+     * @throws SQLException Exception thrown when reading from the database fails
+     */
+    public static Map<PlayerIdentifier, List<Purpose>> getMainRolesAndJobsByInstance(int instanceID)
+            throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID, purposeType, purpose FROM Roles " +
+                             "WHERE instanceID=? AND purposeType IN ('mainRole', 'job') ORDER BY userID, purposeType='mainRole' DESC;")) {
+            statement.setInt(1, instanceID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                Map<PlayerIdentifier, List<Purpose>> purposes = new LinkedHashMap<>();
+                while (resultSet.next()) {
+                    String name = resultSet.getString("purpose");
+                    Purpose purpose = resultSet.getString("purposeType").equals("mainRole") ?
+                            PurposeRegistry.createMainRole(name) : PurposeRegistry.createJob(name);
+                    purposes.computeIfAbsent(new PlayerIdentifier(instanceID, resultSet.getInt("userID")),
+                            key -> new ArrayList<>()).add(purpose);
+                }
+                return purposes;
+            }
+        }
     }
 
     /**
@@ -63,26 +127,25 @@ public class RoleDB {
      *
      * @param playerIdentifier Identifier of the player to get the main role for
      * @return The main role of the player
-     * @throws SQLException                 Exception thrown when reading from the database fails
-     * @throws ReflectiveOperationException Catch-all exception
-     * @throws NoSuchRoleException          When the {@code Player} does not have a {@code MainRole}
+     * @throws SQLException        Exception thrown when reading from the database fails
+     * @throws NoSuchRoleException When the {@code Player} does not have a {@code MainRole}
      */
     public static MainRole getMainRolePlayerByID(PlayerIdentifier playerIdentifier)
-            throws SQLException, ReflectiveOperationException, NoSuchRoleException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType=?;");
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setString(3, "mainRole");
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            String purpose = resultSet.getString("purpose");
-            // Based on https://makeinjava.com/create-object-instance-class-name-using-class-forname-java-examples/
-            Class<?> mainRoleClass = Class.forName("org.lukos.model.rolesystem.roles.mainroles." + purpose);
-            return (MainRole) mainRoleClass.getDeclaredConstructor().newInstance();
+            throws SQLException, NoSuchRoleException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType=?;")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setString(3, "mainRole");
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return PurposeRegistry.createMainRole(resultSet.getString("purpose"));
+                }
+                throw new NoSuchRoleException("The player does not have a mainrole.");
+            }
         }
-        throw new NoSuchRoleException("The player does not have a mainrole.");
     }
 
     /**
@@ -90,25 +153,25 @@ public class RoleDB {
      *
      * @param playerIdentifier Identifier of the player to get the double roles of.
      * @return A list of all double roles of the player.
-     * @throws SQLException                 Exception thrown if reading from the database fails
-     * @throws ReflectiveOperationException Catch-all exception
+     * @throws SQLException Exception thrown if reading from the database fails
      */
     public static ArrayList<DoubleRole> getDoubleRolesPlayerByID(PlayerIdentifier playerIdentifier)
-            throws SQLException, ReflectiveOperationException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType='doubleRole';");
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        ArrayList<DoubleRole> doubleRoles = new ArrayList<>();
-        while (resultSet.next()) {
-            String purpose = resultSet.getString("purpose");
-            Class<?> doubleRoleClass = Class.forName("org.lukos.model.rolesystem.roles.doubleroles." + purpose);
-            doubleRoles.add((DoubleRole) doubleRoleClass.getDeclaredConstructor().newInstance());
-        }
+            throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType='doubleRole';")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
 
-        return doubleRoles;
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                ArrayList<DoubleRole> doubleRoles = new ArrayList<>();
+                while (resultSet.next()) {
+                    doubleRoles.add(PurposeRegistry.createDoubleRole(resultSet.getString("purpose")));
+                }
+
+                return doubleRoles;
+            }
+        }
     }
 
     /**
@@ -116,25 +179,25 @@ public class RoleDB {
      *
      * @param playerIdentifier Identifier of the player
      * @return A list of all jobs of the player
-     * @throws SQLException                 Exception thrown when reading from the database fails
-     * @throws ReflectiveOperationException Catch-all exception
+     * @throws SQLException Exception thrown when reading from the database fails
      */
     public static ArrayList<Job> getJobsPlayerByID(PlayerIdentifier playerIdentifier)
-            throws SQLException, ReflectiveOperationException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType='job';");
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        ArrayList<Job> jobs = new ArrayList<>();
-        while (resultSet.next()) {
-            String purpose = resultSet.getString("purpose");
-            Class<?> jobsClass = Class.forName("org.lukos.model.rolesystem.jobs." + purpose);
-            jobs.add((Job) jobsClass.getDeclaredConstructor().newInstance());
-        }
+            throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT purpose FROM Roles WHERE userID=? AND instanceID=? AND purposeType='job';")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
 
-        return jobs;
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                ArrayList<Job> jobs = new ArrayList<>();
+                while (resultSet.next()) {
+                    jobs.add(PurposeRegistry.createJob(resultSet.getString("purpose")));
+                }
+
+                return jobs;
+            }
+        }
     }
 
     /**
@@ -146,14 +209,15 @@ public class RoleDB {
      */
     public static void addDoubleRolePlayerByID(PlayerIdentifier playerIdentifier, DoubleRole doubleRole)
             throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "INSERT INTO Roles(userID, instanceID, purposeType, purpose) VALUES (?,?,'doubleRole',?);");
-
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setString(3, doubleRole.getClass().getSimpleName());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Roles(userID, instanceID, purposeType, purpose) VALUES (?,?,'doubleRole',?);")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setString(3, doubleRole.getClass().getSimpleName());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -177,13 +241,15 @@ public class RoleDB {
      * @throws SQLException Exception thrown if reading from the database fails
      */
     public static void addJobPlayerByID(PlayerIdentifier playerIdentifier, Job job) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO Roles(userID, instanceID, purposeType, purpose) VALUES (?,?,'job',?);");
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setString(3, job.getClass().getSimpleName());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Roles(userID, instanceID, purposeType, purpose) VALUES (?,?,'job',?);")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setString(3, job.getClass().getSimpleName());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -212,13 +278,15 @@ public class RoleDB {
             throw new SQLException("Only double roles and jobs can be removed.");
         }
 
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Roles WHERE userID=? AND instanceID=? AND purpose=?;");
-        statement.setInt(1, playerIdentifier.userID());
-        statement.setInt(2, playerIdentifier.instanceID());
-        statement.setString(3, purpose.getClass().getSimpleName());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM Roles WHERE userID=? AND instanceID=? AND purpose=?;")) {
+            statement.setInt(1, playerIdentifier.userID());
+            statement.setInt(2, playerIdentifier.instanceID());
+            statement.setString(3, purpose.getClass().getSimpleName());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
-        return true;
+            DatabaseConnection.getInstance().writeStatement(statement);
+            return true;
+        }
     }
 }
@@ -4,6 +4,7 @@ import org.lukos.model.actionsystem.SuccessorType;
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.user.PlayerIdentifier;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -34,13 +35,16 @@ public class SuccessorDB {
      * @throws SQLException when reading from the database fails
      */
     public static boolean existSuccessor(int instanceID, SuccessorType successorType) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM Successor WHERE instanceID=? AND successorType=?;");
-        statement.setInt(1, instanceID);
-        statement.setString(2, successorType.toString());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID FROM Successor WHERE instanceID=? AND successorType=?;")) {
+            statement.setInt(1, instanceID);
+            statement.setString(2, successorType.toString());
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        return resultSet.next(); // if this is false there are no rows corresponding to the query
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return resultSet.next(); // if this is false there are no rows corresponding to the query
+            }
+        }
     }
 
     /**
@@ -53,23 +57,20 @@ public class SuccessorDB {
      */
     public static void modifyOrCreateSuccessor(int instanceID, SuccessorType successorType,
                                                PlayerIdentifier playerIdentifier) throws SQLException {
-        PreparedStatement statement;
-        if (existSuccessor(instanceID, successorType)) {
-            // modify successor
-            statement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("UPDATE Successor SET userID=? WHERE instanceID=? AND successorType=?;");
+        // Both queries take the userID, instanceID and successorType in that order
+        String query = existSuccessor(instanceID, successorType) ?
+                // modify successor
+                "UPDATE Successor SET userID=? WHERE instanceID=? AND successorType=?;" :
+                // create successor
+                "INSERT INTO Successor(userID, instanceID, successorType) VALUES (?, ?, ?);";
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setInt(1, playerIdentifier.userID());
             statement.setInt(2, instanceID);
             statement.setString(3, successorType.toString());
-        } else {
-            // create successor
-            statement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("INSERT INTO Successor(instanceID, successorType, userID) VALUES (?, ?, ?);");
-            statement.setInt(1, instanceID);
-            statement.setString(2, successorType.toString());
-            statement.setInt(3, playerIdentifier.userID());
+
+            DatabaseConnection.getInstance().writeStatement(statement);
         }
-        DatabaseConnection.getInstance().writeStatement(statement);
     }
 
     /**
@@ -81,17 +82,20 @@ public class SuccessorDB {
      */
     public static Map<SuccessorType, PlayerIdentifier> getSuccessors(int instanceID) throws SQLException {
         // get all successors of all types in the instance
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT successorType, userID FROM Successor WHERE instanceID=?;");
-        statement.setInt(1, instanceID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT successorType, userID FROM Successor WHERE instanceID=?;")) {
+            statement.setInt(1, instanceID);
 
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        Map<SuccessorType, PlayerIdentifier> successors = new HashMap<>();
-        while (resultSet.next()) {
-            PlayerIdentifier pi = new PlayerIdentifier(instanceID, resultSet.getInt("userID"));
-            successors.put(SuccessorType.valueOf(resultSet.getString("successorType")), pi);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                Map<SuccessorType, PlayerIdentifier> successors = new HashMap<>();
+                while (resultSet.next()) {
+                    PlayerIdentifier pi = new PlayerIdentifier(instanceID, resultSet.getInt("userID"));
+                    successors.put(SuccessorType.valueOf(resultSet.getString("successorType")), pi);
+                }
+                return successors;
+            }
         }
-        return successors;
     }
 
     /**
@@ -106,19 +110,22 @@ public class SuccessorDB {
     public static PlayerIdentifier getSuccessor(int instanceID, SuccessorType successorType)
             throws SQLException, NoSuchPlayerException {
         // gets a successor of an instance of a specific type
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT userID FROM Successor WHERE instanceID=? AND successorType=?;");
-        statement.setInt(1, instanceID);
-        statement.setString(2, successorType.toString());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT userID FROM Successor WHERE instanceID=? AND successorType=?;")) {
+            statement.setInt(1, instanceID);
+            statement.setString(2, successorType.toString());
 
-        // if the ResultSet is not empty, the id of the successor is fetched from the ResultSet and added to
-        // the PlayerIdentifier to be returned
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (resultSet.next()) {
-            int successorID = resultSet.getInt("userID");
-            return new PlayerIdentifier(instanceID, successorID);
+            // if the ResultSet is not empty, the id of the successor is fetched from the ResultSet and added to
+            // the PlayerIdentifier to be returned
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    int successorID = resultSet.getInt("userID");
+                    return new PlayerIdentifier(instanceID, successorID);
+                }
+                throw new NoSuchPlayerException("No successor was found of this type in this instance.");
+            }
         }
-        throw new NoSuchPlayerException("No successor was found of this type in this instance.");
     }
 
     /**
@@ -130,11 +137,13 @@ public class SuccessorDB {
      */
     public static void removeSuccessor(int instanceID, SuccessorType successorType) throws SQLException {
         // remove successor from database
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Successor WHERE instanceID=? and successorType=?;");
-        statement.setInt(1, instanceID);
-        statement.setString(2, successorType.toString());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM Successor WHERE instanceID=? and successorType=?;")) {
+            statement.setInt(1, instanceID);
+            statement.setString(2, successorType.toString());
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 }
@@ -0,0 +1,92 @@
+package org.lukos.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A unit of work on the database. All database-operations that are performed by the thread that started the {@code
+ * Transaction} share its connection, and are committed or rolled back together. Work that is not committed before
+ * the {@code Transaction} is closed will be rolled back.
+ * <p>
+ * When a {@code Transaction} is started while the thread already has one, it joins the outer {@code Transaction}:
+ * committing it does nothing, and the outer {@code Transaction} decides whether the work is committed.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+ *     // database-operations
+ *     transaction.commit();
+ * }
+ * }</pre>
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class Transaction implements AutoCloseable {
+
+    /** The lease on the connection of this thread, kept open for the duration of the transaction. */
+    private final Connection connection;
+    /** Whether this is the outermost transaction, which is responsible for committing or rolling back. */
+    private final boolean outermost;
+    /** Whether the work of this transaction has been committed. */
+    private boolean committed;
+
+    /**
+     * Starts a new transaction on the given connection, or joins the ongoing one.
+     *
+     * @param connection the lease on the connection of the current thread
+     * @throws SQLException when the transaction could not be started
+     */
+    Transaction(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.outermost = connection.getAutoCommit();
+        if (outermost) {
+            connection.setAutoCommit(false);
+            DatabaseConnection.getInstance().startTransaction();
+        }
+    }
+
+    /**
+     * Commits all work performed since the start of the transaction. If this transaction joined an outer transaction,
+     * this does nothing.
+     *
+     * @throws SQLException when one of the statements in the transaction failed, in which case all work is rolled back,
+     *                      or when committing fails
+     */
+    public void commit() throws SQLException {
+        if (!outermost || committed) {
+            return;
+        }
+        if (DatabaseConnection.getInstance().isRollbackOnly()) {
+            throw new SQLException("A statement of this transaction failed, the transaction has been rolled back.");
+        }
+        connection.commit();
+        committed = true;
+    }
+
+    /**
+     * Ends the transaction, rolling back any work that has not been committed, and hands the connection back.
+     *
+     * @throws SQLException when rolling back fails
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (outermost) {
+                try {
+                    if (!committed) {
+                        connection.rollback();
+                    }
+                } finally {
+                    try {
+                        connection.setAutoCommit(true);
+                    } finally {
+                        DatabaseConnection.getInstance().endTransaction(committed);
+                    }
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -5,14 +5,17 @@ import org.apache.commons.csv.CSVPrinter;
 import org.lukos.model.exceptions.user.NoSuchUserException;
 import org.lukos.model.user.IssuerSub;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.lukos.database.util.ReadingHelper.detach;
+
 /**
  * Class for handling database-operations related to users.
  *
@@ -21,6 +24,25 @@ import java.util.List;
  */
 public class UserDB {
 
+    /** Maximum number of rows of a table read from the database at once by the GDPR-export. */
+    static final int EXPORT_PAGE_SIZE = 500;
+
+    /** The tables of the GDPR-export, in the order in which they are exported. */
+    private static final List<ExportTable> EXPORT_TABLES = List.of(
+            new ExportTable("SELECT userID, sub, issuer, username, wins, losses, last_login, last_logout, playtime " +
+                    "FROM Users WHERE userID=?", List.of("userID")),
+            new ExportTable("SELECT * FROM UserStats WHERE userID=?", List.of("purpose")),
+            new ExportTable("SELECT * FROM Players WHERE userID=?", List.of("instanceID")),
+            new ExportTable("SELECT * FROM Roles WHERE userID=?", List.of("instanceID", "purpose")),
+            new ExportTable("SELECT * FROM Ballots WHERE userID=?", List.of("instanceID", "voteID")),
+            new ExportTable("SELECT * FROM PlayerItems WHERE userID=?", List.of("instanceID", "item")),
+            new ExportTable("SELECT * FROM Actions WHERE userID=?", List.of("actionID")),
+            new ExportTable("SELECT ActionLogs.* FROM ActionLogs INNER JOIN Actions " +
+                    "ON ActionLogs.actionID = Actions.actionID WHERE Actions.userID=?",
+                    List.of("ActionLogs.messageID")),
+            new ExportTable("SELECT * FROM ChatMembers WHERE userID=?", List.of("chatID")),
+            new ExportTable("SELECT * FROM ChatMessages WHERE userID=?", List.of("messageID")));
+
     /**
      * Adds a new user to the `users`-table of the database with the values given as parameters.
      *
@@ -32,26 +54,29 @@ public class UserDB {
      * @throws NoSuchUserException Exception thrown when there is no such user in the database
      */
     public static int createUser(String issuer, String sub, String username) throws SQLException, NoSuchUserException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "INSERT INTO Users(sub, issuer, username, wins, losses, last_login, last_logout, playtime, toBeDeleted) values (?," +
-                        " ?, ?, ?, ?, ?, ?, ?, ?);");
-        statement.setString(1, sub);
-        statement.setString(2, issuer);
-        statement.setString(3, username);
-        statement.setInt(4, 0);
-        statement.setInt(5, 0);
-        statement.setDate(6, new java.sql.Date(new java.util.Date().getTime()));
-        statement.setDate(7, new java.sql.Date(new java.util.Date().getTime()));
-        statement.setInt(8, 0);
-        statement.setBoolean(9, false);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-        // Retrieve user with this issuer & sub
-        return getIfExistUser(new IssuerSub(issuer, sub));
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Users(sub, issuer, username, wins, losses, last_login, last_logout, playtime, " +
+                             "toBeDeleted) values (?, ?, ?, ?, ?, ?, ?, ?, ?);")) {
+            statement.setString(1, sub);
+            statement.setString(2, issuer);
+            statement.setString(3, username);
+            statement.setInt(4, 0);
+            statement.setInt(5, 0);
+            statement.setDate(6, new java.sql.Date(new java.util.Date().getTime()));
+            statement.setDate(7, new java.sql.Date(new java.util.Date().getTime()));
+            statement.setInt(8, 0);
+            statement.setBoolean(9, false);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+            // Retrieve user with this issuer & sub
+            return getIfExistUser(new IssuerSub(issuer, sub));
+        }
     }
 
     /**
-     * Getting the ID of a user from their issuerSub if they exist.
+     * Getting the ID of a user from their issuerSub if they exist. The IDs of recently active users are kept in
+     * memory.
      *
      * @param issuerSub IssuerSub of the player
      * @return the ID of the user
@@ -59,18 +84,23 @@ public class UserDB {
      * @throws NoSuchUserException Exception thrown when there is no such user in the database
      */
     public static int getIfExistUser(IssuerSub issuerSub) throws SQLException, NoSuchUserException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM Users WHERE issuer=? and sub=?;");
-        statement.setString(1, issuerSub.issuer());
-        statement.setString(2, issuerSub.sub());
-
-        ResultSet rs = DatabaseConnection.getInstance().readStatement(statement);
-        if (rs.next()) {
-            return rs.getInt("userID");
+        Integer userID = IdentityCache.getInstance().getUserID(issuerSub, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT userID FROM Users WHERE issuer=? and sub=?;")) {
+                statement.setString(1, issuerSub.issuer());
+                statement.setString(2, issuerSub.sub());
+
+                try (ResultSet rs = DatabaseConnection.getInstance().readStatement(statement)) {
+                    return rs.next() ? rs.getInt("userID") : null;
+                }
+            }
+        });
+        if (userID == null) {
+            // throws an Exception if the user does not exist.
+            throw new NoSuchUserException("User does not exist.");
         }
-
-        // throws an Exception if the user does not exist.
-        throw new NoSuchUserException("User does not exist.");
+        return userID;
     }
 
     /**
@@ -81,12 +111,41 @@ public class UserDB {
      * @throws SQLException Exception thrown when reading from the database fails
      */
     public static boolean existUser(int uid) throws SQLException {
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT * FROM Users WHERE userID=?;");
-        statement.setInt(1, uid);
+        return getUserRecord(uid) != null;
+    }
 
-        ResultSet rs = DatabaseConnection.getInstance().readStatement(statement);
-        return rs.next();
+    /**
+     * Getting the identity of a user, as stored in the `Users`-table. The identities of recently active users are kept
+     * in memory.
+     *
+     * @param uid ID of the user
+     * @return the identity of the user, or {@code null} if there is no user with the given ID
+     * @throws SQLException Exception thrown when reading from the database fails
+     */
+    public static UserRecord getUserRecord(int uid) throws SQLException {
+        return IdentityCache.getInstance().getUser(uid, () -> {
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT issuer, sub, username FROM Users WHERE userID=?;")) {
+                statement.setInt(1, uid);
+
+                try (ResultSet rs = DatabaseConnection.getInstance().readStatement(statement)) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return new UserRecord(uid, rs.getString("issuer"), rs.getString("sub"), rs.getString("username"));
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns how often the identities of users were read from memory instead of the database.
+     *
+     * @return the usage of the identities kept in memory
+     */
+    public static CacheMetrics getIdentityCacheMetrics() {
+        return IdentityCache.getInstance().getMetrics();
     }
 
     /**
@@ -96,11 +155,16 @@ public class UserDB {
      * @throws SQLException Exception thrown when deleting from database fails
      */
     public static void deleteUserByUID(int uid) throws SQLException {
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("DELETE FROM Users WHERE userID=?;");
-        statement.setInt(1, uid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM Users WHERE userID=?;")) {
+            statement.setInt(1, uid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            // Deleting a user removes their players from all instances
+            GameStateCache.getInstance().invalidateAll();
+            LocationCache.getInstance().invalidateAll();
+            IdentityCache.getInstance().invalidateUser(uid);
+        }
     }
 
     /**
@@ -111,15 +175,18 @@ public class UserDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static ResultSet findUserByID(int uid) throws SQLException {
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT * FROM Users WHERE userID=?;");
-        statement.setInt(1, uid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("The ID is invalid!");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM Users WHERE userID=?;")) {
+            statement.setInt(1, uid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                ResultSet detached = detach(resultSet);
+                if (!detached.next()) {
+                    throw new SQLException("The ID is invalid!");
+                }
+                return detached;
+            }
         }
-        return resultSet;
     }
 
     /**
@@ -132,16 +199,16 @@ public class UserDB {
      * @throws SQLException Exception thrown when writing expected query fails
      */
     public static void addUserRole(int uid, int gamesPlayed, int wins, String mainRole) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement(
-                        "INSERT INTO UserStats(userID, gamesPlayed, wins, purpose) VALUES (?, ?, ?, ?);"
-                );
-        statement.setInt(1, uid);
-        statement.setInt(2, gamesPlayed);
-        statement.setInt(3, wins);
-        statement.setString(4, mainRole);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO UserStats(userID, gamesPlayed, wins, purpose) VALUES (?, ?, ?, ?);")) {
+            statement.setInt(1, uid);
+            statement.setInt(2, gamesPlayed);
+            statement.setInt(3, wins);
+            statement.setString(4, mainRole);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -152,79 +219,123 @@ public class UserDB {
      * @throws SQLException Exception thrown if writing to the database fails
      */
     public static void setUsernameByID(int uid, String username) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE Users SET username=? WHERE userID=?;");
-        statement.setString(1, username);
-        statement.setInt(2, uid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("UPDATE Users SET username=? WHERE userID=?;")) {
+            statement.setString(1, username);
+            statement.setInt(2, uid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            IdentityCache.getInstance().invalidateUser(uid);
+        }
     }
 
     /**
-     * GDPR-method to extract all data associated with a userID from the database
+     * GDPR-method to write all data associated with a userID in the database to {@code out}, as CSV. The data is
+     * written per table, each preceded by a row with its column names.
+     * <p>
+     * Every table is read with a separate query, such that the number of rows written is the number of rows of the
+     * user, rather than their product. The rows of a table are read in pages of at most {@value EXPORT_PAGE_SIZE} rows
+     * in the order of their key, and every page is written to {@code out} after the connection to the database has
+     * been handed back. The memory used therefore does not grow with the history of the user, and no connection is
+     * held while writing to {@code out}, which may be a slow client.
      *
      * @param uid UserID of the user requesting data
-     * @return a file (csv) containing the data requested by the user
+     * @param out where to write the data to, it is flushed after every page but not closed
      * @throws SQLException Exception thrown when reading from the database fails
-     * @throws IOException  Exception thrown when i/o fails in filewriting
+     * @throws IOException  Exception thrown when writing to {@code out} fails
      */
-    public static File getAllUserInfo(int uid) throws SQLException, IOException {
+    public static void writeAllUserInfo(int uid, Appendable out) throws SQLException, IOException {
         //from https://idineshkrishnan.com/convert-resultset-to-csv-in-java/
         // creating the csv format
         CSVFormat format = CSVFormat.DEFAULT.withRecordSeparator("\n");
+        // the printer is not closed, as that would close `out`
+        CSVPrinter printer = new CSVPrinter(out, format);
+
+        for (ExportTable table : EXPORT_TABLES) {
+            List<Object> after = null;
+            ExportPage page;
+            do {
+                page = readExportPage(table, uid, after);
+                if (after == null) {
+                    printer.printRecord(page.columns());
+                }
+                printer.printRecords(page.rows());
+                printer.flush();
+                after = page.last();
+            } while (page.rows().size() == EXPORT_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Reads a page of the rows of a single table of the GDPR-export.
+     *
+     * @param table the table to read from
+     * @param uid   UserID of the user requesting data
+     * @param after the key of the last row of the previous page, or {@code null} to read the first page
+     * @return the page of rows, in the order of their key
+     * @throws SQLException Exception thrown when reading from the database fails
+     */
+    private static ExportPage readExportPage(ExportTable table, int uid, List<Object> after) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(table.query(after != null))) {
+            int index = 1;
+            statement.setInt(index++, uid);
+            if (after != null) {
+                for (Object key : after) {
+                    statement.setObject(index++, key);
+                }
+            }
+            statement.setInt(index, EXPORT_PAGE_SIZE);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                List<Object> columns = new ArrayList<>(columnCount);
+                for (int column = 1; column <= columnCount; column++) {
+                    columns.add(metaData.getColumnLabel(column));
+                }
+                List<List<Object>> rows = new ArrayList<>();
+                List<Object> last = after;
+                while (resultSet.next()) {
+                    List<Object> row = new ArrayList<>(columnCount);
+                    for (int column = 1; column <= columnCount; column++) {
+                        row.add(resultSet.getObject(column));
+                    }
+                    rows.add(row);
+                    last = new ArrayList<>(table.keys().size());
+                    for (String key : table.keys()) {
+                        last.add(resultSet.getObject(key.substring(key.indexOf('.') + 1)));
+                    }
+                }
+                return new ExportPage(columns, rows, last);
+            }
+        }
+    }
 
-        // setting the file-name to user_{userID}_data_gdpr.csv
-        final String FILE_NAME = "user_" + uid + "_data_gdpr.csv";
-
-        // creating the file object
-        File file = new File(FILE_NAME);
-
-        // creating file writer object
-        FileWriter fw = new FileWriter(file);
-
-        // creating the csv printer object
-        //https://commons.apache.org/proper/commons-csv/apidocs/org/apache/commons/csv/CSVPrinter.html
-        CSVPrinter printer = new CSVPrinter(fw, format);
-
-        PreparedStatement userStatement;
-        userStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT `Users`.*, `UserStats`.* FROM `Users` LEFT JOIN `UserStats` ON `Users`.`userID` = `UserStats`" +
-                        ".`userID` WHERE Users.userID=?;");
-        userStatement.setInt(1, uid);
-
-        PreparedStatement playerStatement;
-        playerStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT `Players`.*, `Roles`.*, `Ballots`.*, `PlayerItems`.* FROM `Players` LEFT JOIN `Ballots` ON " +
-                        "`Players`.`userID` = `Ballots`.`userID` LEFT JOIN `PlayerItems` ON `Players`.`userID` = " +
-                        "`PlayerItems`.`userID` LEFT JOIN `Roles` ON `Players`.`userID` = `Roles`.`userID` WHERE " +
-                        "Players.userID=?;");
-        playerStatement.setInt(1, uid);
-
-        PreparedStatement actionStatement;
-        actionStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT `Actions`.*, `ActionLogs`.* FROM `Actions` LEFT JOIN `ActionLogs` ON `Actions`.`actionID` = " +
-                        "`ActionLogs`.`actionID` WHERE Actions.userID = ?;");
-        actionStatement.setInt(1, uid);
-
-        PreparedStatement chatStatement;
-        chatStatement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT `ChatMembers`.*, `ChatMessages`.* FROM `ChatMembers` LEFT JOIN `ChatMessages` ON " +
-                        "`ChatMembers`.`userID` = `ChatMessages`.`userID` WHERE ChatMembers.userID=?;");
-        chatStatement.setInt(1, uid);
-
-        // printing the result in 'CSV' file
-        printer.printRecord("userID", "sub", "issuer", "username", "wins", "losses", "last_login", "last_logout", "playtime", "userID", "purpose", "gamesPlayed", "wins");
-        printer.printRecords(DatabaseConnection.getInstance().readStatement(userStatement));
-        printer.printRecord("instanceID","userID", "houseID", "houseState", "houseStateDay", "alive", "currentLocation", "coupleUID", "coupleIID", "toBeExecuted", "muted", "deathNote", "deathnoteIsChangeable", "isProtected", "userID", "instanceID", "purposeType", "purpose", "userID", "instanceID", "voteID", "targetID", "itemID", "userID", "instanceID", "item");
-        printer.printRecords(DatabaseConnection.getInstance().readStatement(playerStatement));
-        printer.printRecord("actionID", "instanceID", "userID", "time", "name", "status", "targetType", "messageID", "actionID", "receiverID", "status", "messageType");
-        printer.printRecords(DatabaseConnection.getInstance().readStatement(actionStatement));
-        printer.printRecord("userID", "chatID", "writeAccess", "messageID", "chatID", "timeSent", "userID", "message");
-        printer.printRecords(DatabaseConnection.getInstance().readStatement(chatStatement));
-
-        fw.close(); // closing the file-writer
-        printer.close(); // closing the csv-printer
-        return file; // returning the created file
+    /**
+     * A table of the GDPR-export, which is read in pages ordered by the columns that identify a row of the user.
+     *
+     * @param select query selecting the rows of the user, with the userID as its only parameter
+     * @param keys   the columns identifying a row among the rows of the user
+     */
+    private record ExportTable(String select, List<String> keys) {
+
+        /** Returns the query reading a page, with the key of the previous page as parameters if {@code next}. */
+        String query(boolean next) {
+            String key = String.join(", ", keys);
+            return select + (next ? " AND (" + key + ") > (" + "?, ".repeat(keys.size() - 1) + "?)" : "") +
+                    " ORDER BY " + key + " LIMIT ?;";
+        }
+    }
+
+    /**
+     * A page of the rows of a table of the GDPR-export.
+     *
+     * @param columns the names of the columns
+     * @param rows    the rows, in the order of their key
+     * @param last    the key of the last row, to read the next page from
+     */
+    private record ExportPage(List<Object> columns, List<List<Object>> rows, List<Object> last) {
     }
 
     // TODO: add javadoc
@@ -242,11 +353,17 @@ public class UserDB {
     private static void deleteUsersAfterInstanceEnd(int userID) throws SQLException {
         // this might cause issues if there are multiple active instances, as
         // all users that request deletion will be deleted once any instance is over.
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM Users WHERE toBeDeleted='1' AND userID=?;");
-        statement.setInt(1, userID);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "DELETE FROM Users WHERE toBeDeleted='1' AND userID=?;")) {
+            statement.setInt(1, userID);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+            // Deleting a user removes their players from all instances
+            GameStateCache.getInstance().invalidateAll();
+            LocationCache.getInstance().invalidateAll();
+            IdentityCache.getInstance().invalidateUser(userID);
+        }
     }
 
     /**
@@ -255,19 +372,23 @@ public class UserDB {
      * @throws SQLException exception thrown when writing to the database fails
      */
     public static void setUserDeletion(int uid, boolean toBeDeleted) throws SQLException {
-        PreparedStatement statement1 = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT instanceID FROM Players WHERE userID=?;");
-        statement1.setInt(1, uid);
-        ResultSet rs = DatabaseConnection.getInstance().readStatement(statement1);
-        if (rs.next()) { // the user is currently in a game
-            PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                    .prepareStatement("UPDATE Users SET toBeDeleted=? WHERE userID=?;");
-            statement.setBoolean(1, toBeDeleted);
-            statement.setInt(2, uid);
-
-            DatabaseConnection.getInstance().writeStatement(statement);
-        } else if (toBeDeleted){ // the user is not in a game
-            deleteUserByUID(uid); //
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement1 = connection.prepareStatement(
+                     "SELECT instanceID FROM Players WHERE userID=?;")) {
+            statement1.setInt(1, uid);
+            try (ResultSet rs = DatabaseConnection.getInstance().readStatement(statement1)) {
+                if (rs.next()) { // the user is currently in a game
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "UPDATE Users SET toBeDeleted=? WHERE userID=?;")) {
+                        statement.setBoolean(1, toBeDeleted);
+                        statement.setInt(2, uid);
+
+                        DatabaseConnection.getInstance().writeStatement(statement);
+                    }
+                } else if (toBeDeleted){ // the user is not in a game
+                    deleteUserByUID(uid); //
+                }
+            }
         }
     }
 
@@ -281,13 +402,14 @@ public class UserDB {
      */
     public static void incrementGamesPlayedByUserID(int uid, String mainRole, boolean hasWon) throws SQLException {
         int win = hasWon ? 1 : 0;
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "UPDATE UserStats SET gamesPlayed=gamesPlayed+1, wins=wins+? WHERE userID=? AND purpose=?;"
-        );
-        statement.setInt(1, win);
-        statement.setInt(2, uid);
-        statement.setString(3, mainRole);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE UserStats SET gamesPlayed=gamesPlayed+1, wins=wins+? WHERE userID=? AND purpose=?;")) {
+            statement.setInt(1, win);
+            statement.setInt(2, uid);
+            statement.setString(3, mainRole);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 }
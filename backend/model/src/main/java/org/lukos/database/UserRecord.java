@@ -0,0 +1,14 @@
+package org.lukos.database;
+
+/**
+ * The identity of a user as stored in the `Users`-table of the database.
+ *
+ * @param userID   ID of the user
+ * @param issuer   issuer of the account of the user
+ * @param sub      sub of the account of the user
+ * @param username username of the user
+ * @author agent
+ * @since 18-10-2026
+ */
+public record UserRecord(int userID, String issuer, String sub, String username) {
+}
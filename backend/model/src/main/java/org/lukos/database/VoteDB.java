@@ -1,10 +1,9 @@
 package org.lukos.database;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.lukos.model.user.PlayerIdentifier;
 import org.lukos.model.voting.VoteType;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -13,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import static org.lukos.database.util.ReadingHelper.detach;
 import static org.lukos.database.util.ReadingHelper.readPlayerIdentifiers;
 
 /**
@@ -23,6 +23,9 @@ import static org.lukos.database.util.ReadingHelper.readPlayerIdentifiers;
  */
 public class VoteDB {
 
+    /** Error code of the database for an insert that violates a unique key. */
+    private static final int DUPLICATE_ENTRY = 1062;
+
     /**
      * Adds a new vote to the `instancevotes`-table of the database with the values given as parameters.
      *
@@ -32,21 +35,24 @@ public class VoteDB {
      * @throws SQLException Exception thrown when inserting into database fails
      */
     public static int addNewVote(int instanceID, VoteType voteType) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "INSERT INTO InstanceVotes(instanceID, voteType, started, ended) VALUES (?, ?, ?, ?);",
-                Statement.RETURN_GENERATED_KEYS);
-        statement.setInt(1, instanceID);
-        statement.setString(2, voteType.toString());
-        statement.setBoolean(3, false);
-        statement.setBoolean(4, false);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
-
-        ResultSet generatedKeys = statement.getGeneratedKeys();
-        if (!generatedKeys.next()) {
-            throw new SQLException("Creating vote failed; no ID was obtained after creating a vote.");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO InstanceVotes(instanceID, voteType, started, ended) VALUES (?, ?, ?, ?);",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setInt(1, instanceID);
+            statement.setString(2, voteType.toString());
+            statement.setBoolean(3, false);
+            statement.setBoolean(4, false);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+
+            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                if (!generatedKeys.next()) {
+                    throw new SQLException("Creating vote failed; no ID was obtained after creating a vote.");
+                }
+                return generatedKeys.getInt(1);
+            }
         }
-        return generatedKeys.getInt(1);
     }
 
     /**
@@ -59,11 +65,15 @@ public class VoteDB {
      * @throws SQLException when database-related issues occur
      */
     public static ResultSet retrieveOngoingVotesByInstance(int instanceID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM InstanceVotes WHERE instanceID=? AND started=1 AND ended!=1;");
-        statement.setInt(1, instanceID);
-
-        return DatabaseConnection.getInstance().readStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM InstanceVotes WHERE instanceID=? AND started=1 AND ended!=1;")) {
+            statement.setInt(1, instanceID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return detach(resultSet);
+            }
+        }
     }
 
     /**
@@ -73,11 +83,12 @@ public class VoteDB {
      * @throws SQLException Exception thrown when deleting from database fails
      */
     public static void deleteVoteByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM InstanceVotes WHERE voteID=?;")) {
+            statement.setInt(1, vid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -88,11 +99,14 @@ public class VoteDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static ResultSet findVoteByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("SELECT * FROM InstanceVotes WHERE voteID=?;")) {
+            statement.setInt(1, vid);
 
-        return DatabaseConnection.getInstance().readStatement(statement);
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return detach(resultSet);
+            }
+        }
     }
 
     /**
@@ -105,12 +119,16 @@ public class VoteDB {
      * @throws SQLException when database-related o
      */
     public static ResultSet findVoteByIdIfInInstance(int voteId, int instanceId) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT * FROM InstanceVotes WHERE voteID=? AND instanceID=?;");
-        statement.setInt(1, voteId);
-        statement.setInt(2, instanceId);
-
-        return DatabaseConnection.getInstance().readStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM InstanceVotes WHERE voteID=? AND instanceID=?;")) {
+            statement.setInt(1, voteId);
+            statement.setInt(2, instanceId);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return detach(resultSet);
+            }
+        }
     }
 
     /**
@@ -121,12 +139,14 @@ public class VoteDB {
      * @throws SQLException when database-related operation fails
      */
     public static void modifyEnded(int vid, boolean state) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE InstanceVotes SET ended=? WHERE voteID=?;");
-        statement.setBoolean(1, state);
-        statement.setInt(2, vid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE InstanceVotes SET ended=? WHERE voteID=?;")) {
+            statement.setBoolean(1, state);
+            statement.setInt(2, vid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -137,12 +157,14 @@ public class VoteDB {
      * @throws SQLException Exception thrown database query fails
      */
     public static void modifyStarted(int vid, boolean state) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE InstanceVotes SET started=? WHERE voteID=?;");
-        statement.setBoolean(1, state);
-        statement.setInt(2, vid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE InstanceVotes SET started=? WHERE voteID=?;")) {
+            statement.setBoolean(1, state);
+            statement.setInt(2, vid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -153,15 +175,18 @@ public class VoteDB {
      * @throws SQLException Exception thrown database query fails
      */
     public static VoteType getVoteTypeByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT voteType FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That ID is invalid!");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT voteType FROM InstanceVotes WHERE voteID=?;")) {
+            statement.setInt(1, vid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That ID is invalid!");
+                }
+                return VoteType.valueOf(resultSet.getString("voteType"));
+            }
         }
-        return VoteType.valueOf(resultSet.getString("voteType"));
     }
 
     /**
@@ -172,15 +197,18 @@ public class VoteDB {
      * @throws SQLException Exception thrown query fails
      */
     public static boolean getBusyByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT started, ended FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That ID is invalid!");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT started, ended FROM InstanceVotes WHERE voteID=?;")) {
+            statement.setInt(1, vid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That ID is invalid!");
+                }
+                return resultSet.getBoolean("started") && !resultSet.getBoolean("ended");
+            }
         }
-        return resultSet.getBoolean("started") && !resultSet.getBoolean("ended");
     }
 
     /**
@@ -191,15 +219,18 @@ public class VoteDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean getStartedByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT started FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That ID is invalid!");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT started FROM InstanceVotes WHERE voteID=?;")) {
+            statement.setInt(1, vid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That ID is invalid!");
+                }
+                return resultSet.getBoolean("started");
+            }
         }
-        return resultSet.getBoolean("started");
     }
 
     /**
@@ -210,15 +241,18 @@ public class VoteDB {
      * @throws SQLException Exception thrown when reading expected query from database fails
      */
     public static boolean getEndedByID(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT ended FROM InstanceVotes where voteID=?;");
-        statement.setInt(1, vid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That ID is invalid!");
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT ended FROM InstanceVotes where voteID=?;")) {
+            statement.setInt(1, vid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That ID is invalid!");
+                }
+                return resultSet.getBoolean("ended");
+            }
         }
-        return resultSet.getBoolean("ended");
     }
 
     /**
@@ -231,14 +265,49 @@ public class VoteDB {
      * @throws SQLException Exception thrown when writing to the database fails
      */
     public static void addBallot(int userID, int instanceID, int voteID, int targetID) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("INSERT INTO Ballots(userID, instanceID, voteID, targetID) VALUES (?,?,?,?);");
-        statement.setInt(1, userID);
-        statement.setInt(2, instanceID);
-        statement.setInt(3, voteID);
-        statement.setInt(4, targetID);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Ballots(userID, instanceID, voteID, targetID) VALUES (?,?,?,?);")) {
+            statement.setInt(1, userID);
+            statement.setInt(2, instanceID);
+            statement.setInt(3, voteID);
+            statement.setInt(4, targetID);
+
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /**
+     * Adds a ballot to a vote, only if the vote has started, has not ended yet, and the player has not cast a ballot in
+     * it yet. The checks and the insert are a single statement, so they also hold for ballots cast through other
+     * nodes. Unlike {@link #addBallot(int, int, int, int)}, failures are not swallowed.
+     *
+     * @param userID     UserID of the player casting the ballot
+     * @param instanceID InstanceID of the player casting the ballot
+     * @param voteID     VoteID of the vote
+     * @param targetID   UserID of the player that is voted on
+     * @return whether the ballot has been stored
+     * @throws SQLException Exception thrown when writing to the database fails
+     */
+    public static boolean addBallotIfOpen(int userID, int instanceID, int voteID, int targetID) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO Ballots(userID, instanceID, voteID, targetID) SELECT ?,?,?,? FROM InstanceVotes " +
+                             "WHERE voteID=? AND started=TRUE AND COALESCE(ended, FALSE)=FALSE;")) {
+            statement.setInt(1, userID);
+            statement.setInt(2, instanceID);
+            statement.setInt(3, voteID);
+            statement.setInt(4, targetID);
+            statement.setInt(5, voteID);
+
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            // The player has already cast a ballot in this vote
+            if (e.getErrorCode() == DUPLICATE_ENTRY) {
+                return false;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -249,81 +318,100 @@ public class VoteDB {
      * @throws SQLException Exception thrown when reading from database fails
      */
     public static ResultSet getAllBallotsOfVote(int voteID) throws SQLException {
-        PreparedStatement statement =
-                DatabaseConnection.getInstance().getConnect().prepareStatement("SELECT * FROM Ballots WHERE voteID=?;");
-        statement.setInt(1, voteID);
+        return getAllBallotsOfVote(voteID, false);
+    }
 
-        return DatabaseConnection.getInstance().readStatement(statement);
+    /**
+     * Provided a voteID, get all ballots of this vote. With {@code lock}, the ballots are read as they have been
+     * committed, even within a transaction that has read before, and no ballots can be added to the vote until the
+     * transaction ends.
+     *
+     * @param voteID VoteID of vote
+     * @param lock   whether to lock the ballots of the vote
+     * @return A ResultSet with all ballots of the vote
+     * @throws SQLException Exception thrown when reading from database fails
+     */
+    public static ResultSet getAllBallotsOfVote(int voteID, boolean lock) throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM Ballots WHERE voteID=?" + (lock ? " LOCK IN SHARE MODE;" : ";"))) {
+            statement.setInt(1, voteID);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return detach(resultSet);
+            }
+        }
     }
 
     /**
-     * Given a list of players who are allowed to vote, this method generates a json-string of their userIDs and
-     * instanceIDs, and inserts it into the database.
+     * Saves the players that are allowed to take part in a vote, replacing those that were saved before. The players
+     * are inserted in a single batch.
      *
      * @param vid            The ID of the {@code Vote} to save allowed players for
      * @param allowedPlayers List of players allowed to vote
      * @throws SQLException exception thrown when writing to the database fails
      */
     public static void saveAllowedPlayers(int vid, Set<PlayerIdentifier> allowedPlayers) throws SQLException {
-        JSONArray allowedPlayersJson = new JSONArray();
-
-        for (PlayerIdentifier pid : allowedPlayers) {
-            JSONObject json = new JSONObject();
-            json.put("userID", pid.userID());
-            json.put("instanceID", pid.instanceID());
-            allowedPlayersJson.put(json);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM VoteEligibility WHERE voteID=?;");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO VoteEligibility(voteID, userID, instanceID) VALUES (?, ?, ?);")) {
+            delete.setInt(1, vid);
+            DatabaseConnection.getInstance().writeStatement(delete);
+
+            if (allowedPlayers.isEmpty()) {
+                return;
+            }
+            for (PlayerIdentifier pid : allowedPlayers) {
+                insert.setInt(1, vid);
+                insert.setInt(2, pid.userID());
+                insert.setInt(3, pid.instanceID());
+                insert.addBatch();
+            }
+            DatabaseConnection.getInstance().writeBatch(insert);
         }
-
-        String allowed = allowedPlayersJson.toString();
-
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("UPDATE InstanceVotes SET allowed=? WHERE voteID=?;");
-        statement.setString(1, allowed);
-        statement.setInt(2, vid);
-
-        DatabaseConnection.getInstance().writeStatement(statement);
     }
 
     /**
-     * Given a json string of the players that are eligible to vote, this method returns a list of all {@code
-     * PlayerIdentifier} objects associated with the players that are eligible to vote.
+     * Returns the {@code PlayerIdentifier}s of the players that are allowed to take part in a vote.
      *
      * @param vid The voteID of the vote that we are checking eligibility
      * @return A list of all {@code PlayerIdentifier} objects associated with the players able to vote
-     * @throws SQLException Exception thrown when reading from the database fails
+     * @throws SQLException Exception thrown when reading from the database fails, or when there is no such vote
      */
     public static List<PlayerIdentifier> getAllowedPlayers(int vid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT allowed FROM InstanceVotes WHERE voteID=?;");
-        statement.setInt(1, vid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-        if (!resultSet.next()) {
-            throw new SQLException("That ID is invalid!");
-        }
-
-        String jsonStr = resultSet.getString("allowed");
-        // this could need to change, not sure if this takes all objects in properly
-        JSONArray json = new JSONArray(jsonStr);
-        List<PlayerIdentifier> list = new ArrayList<>();
-
-        for (int i = 0; i < json.length(); i++) {
-            int uid = json.getJSONObject(i).getInt("userID");
-            int iid = json.getJSONObject(i).getInt("instanceID");
-            PlayerIdentifier player = new PlayerIdentifier(iid, uid);
-            list.add(player);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT VoteEligibility.userID, VoteEligibility.instanceID FROM InstanceVotes LEFT JOIN " +
+                             "VoteEligibility ON InstanceVotes.voteID = VoteEligibility.voteID " +
+                             "WHERE InstanceVotes.voteID=?;")) {
+            statement.setInt(1, vid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("That ID is invalid!");
+                }
+
+                List<PlayerIdentifier> list = new ArrayList<>();
+                // a vote without allowed players results in a single row without player
+                if (resultSet.getObject("userID") == null) {
+                    return list;
+                }
+                do {
+                    list.add(new PlayerIdentifier(resultSet.getInt("instanceID"), resultSet.getInt("userID")));
+                } while (resultSet.next());
+                return list;
+            }
         }
-
-        return list;
     }
 
     public static void deleteTiedPlayers(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("DELETE FROM TiedPlayers WHERE instanceID=?;");
-
-        statement.setInt(1, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM TiedPlayers WHERE instanceID=?;")) {
+            statement.setInt(1, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     /**
@@ -335,27 +423,27 @@ public class VoteDB {
     public static void setTiedPlayers(List<PlayerIdentifier> tiedPlayers) throws SQLException {
         // Add a TiedPlayers entry for each tied player.
         for (PlayerIdentifier player : tiedPlayers) {
-            PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "INSERT INTO TiedPlayers(instanceID, userID) VALUES (?, ?);"
-            );
-
-            statement.setInt(1, player.instanceID());
-            statement.setInt(2, player.userID());
-
-            DatabaseConnection.getInstance().writeStatement(statement);
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "INSERT INTO TiedPlayers(instanceID, userID) VALUES (?, ?);")) {
+                statement.setInt(1, player.instanceID());
+                statement.setInt(2, player.userID());
+
+                DatabaseConnection.getInstance().writeStatement(statement);
+            }
         }
     }
 
     public static List<PlayerIdentifier> getTiedPlayers(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                "SELECT * FROM TiedPlayers where InstanceID=?"
-        );
-
-        statement.setInt(1, iid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        return readPlayerIdentifiers(resultSet, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT * FROM TiedPlayers where InstanceID=?")) {
+            statement.setInt(1, iid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                return readPlayerIdentifiers(resultSet, iid);
+            }
+        }
     }
 
     /**
@@ -366,28 +454,28 @@ public class VoteDB {
      * @throws SQLException
      */
     public static void setUndecidedLynchesByInstanceID(int iid, int undecidedLynches) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement(
-                        "UPDATE Instance SET undecidedLynches=? WHERE instanceID=? ;"
-                );
-
-        statement.setInt(1, undecidedLynches);
-        statement.setInt(2, iid);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET undecidedLynches=? WHERE instanceID=? ;")) {
+            statement.setInt(1, undecidedLynches);
+            statement.setInt(2, iid);
 
-        DatabaseConnection.getInstance().writeStatement(statement);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
     }
 
     public static int getUndecidedLynches(int iid) throws SQLException {
-        PreparedStatement statement = DatabaseConnection.getInstance().getConnect()
-                .prepareStatement("SELECT undecidedLynches FROM Instance WHERE instanceID=?;");
-
-        statement.setObject(1, iid);
-
-        ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement);
-
-        if (resultSet.next()) {
-            return resultSet.getInt(1);
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT undecidedLynches FROM Instance WHERE instanceID=?;")) {
+            statement.setObject(1, iid);
+
+            try (ResultSet resultSet = DatabaseConnection.getInstance().readStatement(statement)) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+                return 0;
+            }
         }
-        return 0;
     }
 }
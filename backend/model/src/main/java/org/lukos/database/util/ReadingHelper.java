@@ -2,6 +2,8 @@ package org.lukos.database.util;
 
 import org.lukos.model.user.PlayerIdentifier;
 
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -21,4 +23,18 @@ public class ReadingHelper {
 
         return players;
     }
+
+    /**
+     * Copies a {@code ResultSet} into memory, such that the statement and connection it came from can be closed while
+     * the rows are still being read.
+     *
+     * @param resultSet the {@code ResultSet} to copy
+     * @return a disconnected copy of the {@code ResultSet}, positioned before the first row
+     * @throws SQLException when reading the {@code ResultSet} fails
+     */
+    public static ResultSet detach(ResultSet resultSet) throws SQLException {
+        CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+        rowSet.populate(resultSet);
+        return rowSet;
+    }
 }
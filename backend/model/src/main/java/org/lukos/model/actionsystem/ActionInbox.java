@@ -0,0 +1,70 @@
+package org.lukos.model.actionsystem;
+
+import org.lukos.database.ActionMessageRecord;
+import org.lukos.database.ActionMessagesDB;
+import org.lukos.model.actionsystem.actions.ActionMessageDT;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The inbox of action results of the players.
+ * <p>
+ * Results are added while the actions are performed and stay locked until the phase in which they are revealed. At that
+ * point all locked results of an instance are unlocked at once, and pushed to their receivers. Receivers that missed
+ * the push fetch their results from the inbox, after which the results are marked as 'SENT'.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ActionInbox {
+
+    /**
+     * Unlocks all locked results of an instance, and pushes the unlocked results to their receivers once the current
+     * transaction has been committed.
+     *
+     * @param instanceID the instance to unlock the results for
+     * @return the IDs of the users that received at least one of the unlocked results
+     * @throws SQLException when a database operation fails
+     */
+    public static Set<Integer> deliverUnlocked(int instanceID) throws SQLException {
+        Map<Integer, List<ActionMessageDT>> perReceiver = new LinkedHashMap<>();
+        for (ActionMessageRecord message : ActionMessagesDB.unlockAndGetMessages(instanceID)) {
+            perReceiver.computeIfAbsent(message.receiverID(), receiver -> new ArrayList<>()).add(message.message());
+        }
+        for (Map.Entry<Integer, List<ActionMessageDT>> entry : perReceiver.entrySet()) {
+            GameStateEvent.getGameStateEvent()
+                    .notify(GameStateDelta.actionResults(instanceID, entry.getKey(), entry.getValue()),
+                            List.of(entry.getKey()));
+        }
+        return perReceiver.keySet();
+    }
+
+    /**
+     * Returns all results that have been unlocked for a player, and marks the ones that had not been fetched yet as
+     * 'SENT'.
+     *
+     * @param playerIdentifier the player to get the results for
+     * @return the results, in the order in which they were added
+     * @throws SQLException when a database operation fails
+     */
+    public static List<ActionMessageDT> fetch(PlayerIdentifier playerIdentifier) throws SQLException {
+        List<ActionMessageDT> results = new ArrayList<>();
+        List<Integer> notSent = new ArrayList<>();
+        for (ActionMessageRecord message : ActionMessagesDB.getMessagesForUser(playerIdentifier, true)) {
+            results.add(message.message());
+            if (!message.sent()) {
+                notSent.add(message.messageID());
+            }
+        }
+        ActionMessagesDB.markAsSent(notSent);
+        return results;
+    }
+}
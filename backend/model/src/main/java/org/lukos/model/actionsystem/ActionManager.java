@@ -1,8 +1,13 @@
 package org.lukos.model.actionsystem;
 
+import org.lukos.database.ActionRecord;
 import org.lukos.database.ActionsDB;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.InstanceRecord;
+import org.lukos.database.LocationDB;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.actionsystem.InvalidActionException;
+import org.lukos.model.instances.DayPhase;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -11,6 +16,10 @@ import java.util.*;
  * Class implementing the action manager
  * <p>
  * An ActionManager has a list of actions and the option to clear, add, and perform actions.
+ * <p>
+ * The action buffer of an instance is read with all targets in a single query, performed in the order in which the
+ * actions were submitted, and marked as executed using a single update. The number of actions performed and the time
+ * it took are kept per phase, see {@link #getMetrics()}.
  *
  * @author Lucas Gether-Rønning
  * @author Valentijn van den Berg (1457446)
@@ -19,6 +28,9 @@ import java.util.*;
  */
 public class ActionManager {
 
+    /** Statistics of the performed action buffers per phase, guarded by the map itself. */
+    private static final Map<DayPhase, long[]> METRICS = new EnumMap<>(DayPhase.class);
+
     /**
      * Adding an action to its list of actions
      *
@@ -40,14 +52,7 @@ public class ActionManager {
      * @param instanceId the id of the instance to complete all actions for
      */
     public static void clear(int instanceId) throws SQLException {
-        // Get all not completed actions
-        List<Integer> actionIds = ActionsDB.getNotExecutedActions(instanceId);
-        actionIds.addAll(ActionsDB.getActions(instanceId, "EXECUTED"));
-
-        // Set all actions to complete
-        for (int actionId: actionIds) {
-            ActionsDB.completeAction(actionId);
-        }
+        ActionsDB.completeActions(instanceId);
     }
 
     /**
@@ -56,29 +61,69 @@ public class ActionManager {
      * @param instanceId the instance for which to perform all actions.
      */
     public static void performActions(int instanceId) throws SQLException, ReflectiveOperationException, GameException {
-        // Get the ids of not yet executed actions for this instance
-        List<Integer> actionIds = ActionsDB.getNotExecutedActions(instanceId);
+        InstanceRecord instance = InstanceDB.getInstanceRecord(instanceId);
+        performActions(instanceId, instance == null ? null : instance.dayPhase());
+    }
 
-        // Get the actions from the database
-        Map<ActionDT, Integer> actionMap = new HashMap<>();
-        for (int actionId: actionIds) {
-            actionMap.put(ActionsDB.getActionFromID(actionId), actionId);
+    /**
+     * Performs all actions that the {@code ActionManager} holds, and counts them towards the metrics of
+     * {@code phase}.
+     *
+     * @param instanceId the instance for which to perform all actions.
+     * @param phase      the phase the instance is in, {@code null} to not count the actions
+     */
+    public static void performActions(int instanceId, DayPhase phase)
+            throws SQLException, ReflectiveOperationException, GameException {
+        long start = System.nanoTime();
+        // Get the not yet executed actions with their targets, sorted on the time they arrived
+        List<ActionRecord> actions = ActionsDB.getActionRecords(instanceId, "NOT_EXECUTED");
+        // Read the locations of the instance into memory at once, such that the actions targeting locations can look
+        // up who is at them without going to the database
+        if (actions.stream().anyMatch(action -> !action.action().preAction().data().locations().isEmpty())) {
+            LocationDB.getLocationsFromInstanceID(instanceId);
         }
 
-        // Sort the list of action based on the time they arrived
-        List<ActionDT> actions = actionMap.keySet().stream().toList();
-
-        // If actions is empty we do not have to perform any actions, so we skip
-        if (actions != null && !actions.isEmpty()) {
-            actions = actions.stream().sorted(new ActionDTComparator()).toList();
-
+        List<Integer> executed = new ArrayList<>(actions.size());
+        try {
             // Execute all actions
-            for (ActionDT action: actions) {
-                // Execute the action
-                action.action().execute(action.preAction(), action.time(), actionMap.get(action));
-                // Get the id that corresponds to the actionDT amd update the database
-                ActionsDB.executeAction(actionMap.get(action));
+            for (ActionRecord action : actions) {
+                action.action().action().execute(action.action().preAction(), action.action().time(),
+                        action.actionID());
+                executed.add(action.actionID());
             }
+        } finally {
+            // Update the database for the actions that have been executed
+            ActionsDB.executeActions(executed);
+            if (phase != null) {
+                record(phase, executed.size(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the performed action buffers for every phase in which actions have been performed.
+     *
+     * @return the metrics per phase
+     */
+    public static List<ActionMetrics> getMetrics() {
+        List<ActionMetrics> metrics = new ArrayList<>();
+        synchronized (METRICS) {
+            for (Map.Entry<DayPhase, long[]> entry : METRICS.entrySet()) {
+                long[] values = entry.getValue();
+                metrics.add(new ActionMetrics(entry.getKey(), values[0], values[1], values[2] / 1_000_000,
+                        values[3] / 1_000_000));
+            }
+        }
+        return metrics;
+    }
+
+    private static void record(DayPhase phase, int actions, long nanos) {
+        synchronized (METRICS) {
+            long[] values = METRICS.computeIfAbsent(phase, key -> new long[4]);
+            values[0]++;
+            values[1] += actions;
+            values[2] += nanos;
+            values[3] = Math.max(values[3], nanos);
         }
     }
 
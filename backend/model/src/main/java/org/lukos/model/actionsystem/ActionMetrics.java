@@ -0,0 +1,26 @@
+package org.lukos.model.actionsystem;
+
+import org.lukos.model.instances.DayPhase;
+
+/**
+ * Snapshot of the actions performed by the {@link ActionManager} in a phase, over all instances.
+ *
+ * @param phase       the phase in which the actions were performed
+ * @param runs        number of times the action buffer of an instance was performed in this phase
+ * @param actions     total number of actions performed in this phase
+ * @param totalMillis total time spent performing the action buffers in this phase
+ * @param maxMillis   longest time spent performing a single action buffer in this phase
+ * @author agent
+ * @since 18-10-2026
+ */
+public record ActionMetrics(DayPhase phase, long runs, long actions, long totalMillis, long maxMillis) {
+
+    /**
+     * Returns the average time spent performing an action buffer.
+     *
+     * @return the average time in milliseconds
+     */
+    public double averageMillis() {
+        return runs == 0 ? 0 : (double) totalMillis / runs;
+    }
+}
@@ -0,0 +1,63 @@
+package org.lukos.model.actionsystem;
+
+import org.lukos.model.actionsystem.actions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of all {@code Action}s that can be stored in the database, keyed by the simple name of their class. It is
+ * used to turn the stored name of an {@code Action} back into an object without reflection.
+ * <p>
+ * {@code CompAction}s are not part of the registry, as they cannot be restored from their name alone.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ActionRegistry {
+
+    private static final Map<String, Supplier<Action>> ACTIONS = index(List.of(
+            AssignAction::new, CancelAction::new, CancelGoodbye::new, ChangeRole::new, CleanHouse::new, Convert::new,
+            Couple::new, DrenchedBuildings::new, HealPlayer::new, KillMarkedPlayersLynch::new,
+            KillMarkedPlayersNight::new, KillPlayers::new, MayorDecide::new, MoveToLocation::new, NewMayor::new,
+            PeopleLocation::new, ProtectPlayers::new, RandomAction::new, RevivePlayers::new, SeeCharacter::new,
+            SeeRole::new, SoakHouse::new, ValidDay::new));
+
+    /**
+     * Returns whether there is an {@code Action} with the given name.
+     *
+     * @param name the simple name of the class of the {@code Action}
+     * @return whether {@link #createAction(String)} can create an {@code Action} with that name
+     */
+    public static boolean contains(String name) {
+        return ACTIONS.containsKey(name);
+    }
+
+    /**
+     * Creates the {@code Action} with the given name.
+     *
+     * @param name the simple name of the class of the {@code Action}
+     * @return a new {@code Action} of that class
+     * @throws IllegalArgumentException if there is no {@code Action} with the given name
+     */
+    public static Action createAction(String name) {
+        Supplier<Action> factory = ACTIONS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("There is no action called " + name + ".");
+        }
+        return factory.get();
+    }
+
+    /**
+     * Indexes the given factories by the simple name of the class of the {@code Action} they create.
+     */
+    private static Map<String, Supplier<Action>> index(List<Supplier<Action>> factories) {
+        Map<String, Supplier<Action>> registry = new HashMap<>();
+        for (Supplier<Action> factory : factories) {
+            registry.put(factory.get().getClass().getSimpleName(), factory);
+        }
+        return Map.copyOf(registry);
+    }
+}
@@ -84,6 +84,7 @@ public class Chat {
      */
     public static void submitChat(int uid, int cid, String message, Instant time) throws SQLException {
         ChatDB.submitChat(uid, cid, message, time);
+        ChatPipeline.getInstance().refreshHistory(cid);
     }
 
     /**
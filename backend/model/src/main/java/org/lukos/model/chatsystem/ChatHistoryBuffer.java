@@ -0,0 +1,232 @@
+package org.lukos.model.chatsystem;
+
+import org.lukos.database.ChatDB;
+import org.lukos.database.ChatRecord;
+import org.lukos.database.DatabaseConnection;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent stored messages of every chat that has been read, such that most history requests are
+ * answered without going to the database.
+ * <p>
+ * The buffer of a chat is filled with its last messages from the database when the chat is first read, and messages
+ * stored by the {@link ChatPipeline} afterwards are appended to it. A buffer therefore holds every message of the chat
+ * from its oldest message on, and requests reaching further back go to the database. Messages stored by another
+ * server sharing the database are not appended, so the buffer is disabled while the database is
+ * {@linkplain DatabaseConnection#isShared() shared}, as well as when {@code CHAT_BUFFER_SIZE} is 0.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+class ChatHistoryBuffer {
+
+    /** Maximum number of messages kept per chat, 0 if the buffer is disabled. */
+    private final int capacity;
+    private final Map<Integer, Ring> rings = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param capacity maximum number of messages kept per chat, 0 to disable the buffer
+     */
+    ChatHistoryBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the messages of a chat stored after the given message.
+     *
+     * @param cid     ID of the chat
+     * @param afterID ID of the message after which to search, exclusive
+     * @param amount  maximum number of messages, starting with the oldest
+     * @return the messages, oldest first
+     * @throws SQLException when reading the messages from the database fails
+     */
+    List<ChatMessage> after(int cid, int afterID, int amount) throws SQLException {
+        Ring ring = getRing(cid);
+        if (ring != null) {
+            synchronized (ring) {
+                if (ring.loaded && (ring.complete ||
+                        (!ring.messages.isEmpty() && ring.messages.getFirst().messageId <= afterID))) {
+                    hits.incrementAndGet();
+                    List<ChatMessage> page = new ArrayList<>(Math.min(amount, ring.messages.size()));
+                    for (ChatMessage message : ring.messages) {
+                        if (page.size() == amount) {
+                            break;
+                        }
+                        if (message.messageId > afterID) {
+                            page.add(message);
+                        }
+                    }
+                    return page;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return ChatDB.getMessagesAfter(cid, afterID, amount);
+    }
+
+    /**
+     * Returns the messages of a chat stored before the given message.
+     *
+     * @param cid      ID of the chat
+     * @param beforeID ID of the message before which to search, exclusive
+     * @param amount   maximum number of messages, starting with the most recent
+     * @return the messages, oldest first
+     * @throws SQLException when reading the messages from the database fails
+     */
+    List<ChatMessage> before(int cid, int beforeID, int amount) throws SQLException {
+        Ring ring = getRing(cid);
+        if (ring != null) {
+            synchronized (ring) {
+                List<ChatMessage> page = new ArrayList<>(Math.min(amount, ring.messages.size()));
+                Iterator<ChatMessage> newestFirst = ring.messages.descendingIterator();
+                while (newestFirst.hasNext() && page.size() < amount) {
+                    ChatMessage message = newestFirst.next();
+                    if (message.messageId < beforeID) {
+                        page.add(message);
+                    }
+                }
+                if (ring.loaded && (ring.complete || page.size() == amount)) {
+                    hits.incrementAndGet();
+                    Collections.reverse(page);
+                    return page;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return ChatDB.getMessagesBefore(cid, beforeID, amount);
+    }
+
+    /**
+     * Appends newly stored messages to the buffer of a chat, if the chat has one.
+     *
+     * @param cid      ID of the chat
+     * @param messages the stored messages, oldest first
+     */
+    void append(int cid, List<ChatMessage> messages) {
+        Ring ring = rings.get(cid);
+        if (ring == null) {
+            return;
+        }
+        synchronized (ring) {
+            // Messages stored before the buffer is filled are read from the database
+            if (!ring.loaded) {
+                return;
+            }
+            for (ChatMessage message : messages) {
+                // The message may already have been read from the database while the buffer was filled
+                if (!ring.messages.isEmpty() && ring.messages.getLast().messageId >= message.messageId) {
+                    continue;
+                }
+                ring.messages.addLast(message);
+                if (ring.messages.size() > capacity) {
+                    ring.messages.removeFirst();
+                    ring.complete = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the buffer of a chat, for when its messages have been stored without being appended.
+     *
+     * @param cid ID of the chat
+     */
+    void evict(int cid) {
+        rings.remove(cid);
+    }
+
+    /**
+     * Drops the buffers of all chats of an instance, for when its game has ended.
+     *
+     * @param iid ID of the instance
+     */
+    void evictInstance(int iid) {
+        rings.values().removeIf(ring -> ring.instanceID == iid);
+    }
+
+    /**
+     * Returns the number of history requests that were answered from memory.
+     *
+     * @return the number of buffer hits
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of history requests that had to go to the database.
+     *
+     * @return the number of buffer misses
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the buffer of a chat, filling it from the database if the chat has none yet.
+     *
+     * @return the buffer, or {@code null} if the buffer is disabled or the chat does not exist
+     */
+    private Ring getRing(int cid) throws SQLException {
+        if (capacity == 0 || DatabaseConnection.getInstance().isShared()) {
+            return null;
+        }
+        Ring ring = rings.get(cid);
+        if (ring != null) {
+            return ring;
+        }
+        ChatRecord chat = ChatDB.getChatRecord(cid);
+        if (chat == null) {
+            return null;
+        }
+        Ring created = new Ring(chat.instanceID());
+        ring = rings.putIfAbsent(cid, created);
+        if (ring != null) {
+            return ring;
+        }
+        // Messages that are appended while filling wait for the lock, and skip the messages that have been read
+        synchronized (created) {
+            try {
+                List<ChatMessage> last = ChatDB.getMessagesBefore(cid, Integer.MAX_VALUE, capacity);
+                created.messages.addAll(last);
+                created.complete = last.size() < capacity;
+                created.loaded = true;
+            } catch (SQLException e) {
+                rings.remove(cid, created);
+                throw e;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * The last messages of a chat, oldest first.
+     */
+    private static final class Ring {
+        private final int instanceID;
+        private final Deque<ChatMessage> messages = new ArrayDeque<>();
+        /** Whether the buffer has been filled from the database. */
+        private boolean loaded;
+        /** Whether the buffer holds all messages of the chat. */
+        private boolean complete;
+
+        private Ring(int instanceID) {
+            this.instanceID = instanceID;
+        }
+    }
+}
@@ -8,10 +8,17 @@ package org.lukos.model.chatsystem;
  */
 public class ChatMessage {
     public int chatId;
+    /** ID of the message in the database, used as cursor for the history; 0 if the message is not stored yet. */
+    public int messageId;
     public MessageEntry message;
 
     public ChatMessage(int chatId, MessageEntry message) {
+        this(chatId, 0, message);
+    }
+
+    public ChatMessage(int chatId, int messageId, MessageEntry message) {
         this.chatId = chatId;
+        this.messageId = messageId;
         this.message = message;
     }
 }
@@ -0,0 +1,402 @@
+package org.lukos.model.chatsystem;
+
+import org.lukos.database.ChatDB;
+import org.lukos.database.ChatRecord;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.InstanceRecord;
+import org.lukos.model.events.WinEvent;
+import org.lukos.model.exceptions.GameException;
+import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.exceptions.chatsystem.ChatBusyException;
+import org.lukos.model.listeners.WinEventListener;
+import org.lukos.model.rolesystem.Group;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.lukos.database.DatabaseConnection.readIntEnv;
+
+/**
+ * Handles the chat messages that players submit, such that they can be broadcast without waiting for the database.
+ * <p>
+ * Permissions are checked against the chat permissions kept in memory by the database layer. Accepted messages are
+ * put on a bounded queue, which is emptied by a single writer thread that stores the messages in batches, using one
+ * statement per chat. When the queue is full, submitting blocks for a limited time before the message is refused, so
+ * that a burst of messages slows down the senders instead of exhausting the memory. Messages that are still queued
+ * when the server shuts down are stored before it exits. Storing the messages of a chat is retried a few times when
+ * it fails, after which they are given up and counted as lost, see {@link #getLost()}.
+ * <p>
+ * Reading the messages of a chat waits until the messages that have been submitted to that chat are stored, but only
+ * for a limited time, so a slow database delays the readers of a busy chat but not the readers of all chats.
+ * <p>
+ * The history of a chat is paged using message IDs as cursors. Stored messages are kept in a {@link
+ * ChatHistoryBuffer}, so that most pages are read from memory.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ChatPipeline implements WinEventListener {
+
+    /** Maximum number of messages waiting to be stored. */
+    private static final int CAPACITY = readIntEnv("CHAT_QUEUE_CAPACITY", 10000);
+    /** Maximum number of messages stored at once. */
+    private static final int BATCH_SIZE = readIntEnv("CHAT_BATCH_SIZE", 200);
+    /** Time in milliseconds to wait for room in the queue before a message is refused. */
+    private static final long OFFER_TIMEOUT = readIntEnv("CHAT_QUEUE_TIMEOUT", 2000);
+    /** Maximum number of the most recent messages kept in memory per chat, unused while the database is shared. */
+    private static final int BUFFER_SIZE = readIntEnv("CHAT_BUFFER_SIZE", 100);
+    /** Maximum number of messages in a page of the history of a chat. */
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Time in milliseconds the writer waits for messages before checking whether it has to stop. */
+    private static final long POLL_INTERVAL = 100;
+    /** Time in milliseconds a read waits for the submitted messages of its chat to be stored. */
+    private static final long FLUSH_TIMEOUT = readIntEnv("CHAT_FLUSH_TIMEOUT", 2000);
+    /** Number of times storing the messages of a chat is attempted before they are given up. */
+    private static final int STORE_ATTEMPTS = readIntEnv("CHAT_STORE_ATTEMPTS", 3);
+    /** Time in milliseconds to wait before the first retry, doubled for every next retry. */
+    private static final long RETRY_DELAY = 100;
+
+    private final BlockingQueue<ChatMessage> queue;
+    private final ChatHistoryBuffer history;
+    private final int batchSize;
+    private final long offerTimeout;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * The number of messages submitted to every chat that has messages waiting to be stored, and the number of those
+     * that have been handled by the writer. Guarded by {@code this}.
+     */
+    private final Map<Integer, long[]> pending = new HashMap<>();
+    /** Number of messages that could not be stored. */
+    private final AtomicLong lost = new AtomicLong();
+
+    // Private constructor to ensure Singleton design.
+    private ChatPipeline() {
+        this(CAPACITY, BATCH_SIZE, OFFER_TIMEOUT, BUFFER_SIZE);
+        WinEvent.getWinEvent().subscribe(this);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "chat-writer-shutdown"));
+    }
+
+    /**
+     * Creates a pipeline and starts its writer thread.
+     *
+     * @param capacity     maximum number of messages waiting to be stored
+     * @param batchSize    maximum number of messages stored at once
+     * @param offerTimeout time in milliseconds to wait for room in the queue
+     * @param bufferSize   maximum number of messages kept in memory per chat, 0 to always read from the database
+     */
+    ChatPipeline(int capacity, int batchSize, long offerTimeout, int bufferSize) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.history = new ChatHistoryBuffer(bufferSize);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.writer = new Thread(this::write, "chat-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Get the instance of {@code ChatPipeline}, as there exist only 1.
+     *
+     * @return The instance of {@code ChatPipeline}
+     */
+    public static ChatPipeline getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Submits a chat message after checking that the user may write to the chat. The message is stored in the
+     * background, the returned message can be broadcast right away.
+     *
+     * @param iid     ID of the game the chat belongs to
+     * @param cid     ID of the chat the message is submitted to
+     * @param uid     ID of the user that sent the message
+     * @param message the message that was sent
+     * @param time    the time at which the message arrived in the backend
+     * @return the accepted message
+     * @throws NoPermissionException when the game has not started, or the user may not write to the chat
+     * @throws ChatBusyException     when too many messages are waiting to be stored
+     * @throws SQLException          when the permissions could not be read from the database
+     */
+    public ChatMessage submit(int iid, int cid, int uid, String message, Instant time)
+            throws GameException, SQLException {
+        InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
+        if (instance == null || !instance.isStarted()) {
+            throw new NoPermissionException("Chats aren't accessible when the game hasn't started yet");
+        }
+        ChatRecord chat = ChatDB.getChatRecord(cid);
+        if (chat == null || chat.instanceID() != iid || !chat.canWrite(uid)) {
+            throw new NoPermissionException("The player is not allowed to write messages to this chat");
+        }
+
+        ChatMessage chatMessage = new ChatMessage(cid, new MessageEntry(uid, time, message));
+        enqueue(chatMessage);
+        return chatMessage;
+    }
+
+    /**
+     * Get the most recent messages of a chat up to a certain time and amount, including the messages that have been
+     * submitted but are not stored yet, unless storing them takes longer than {@link #flush(int)} waits.
+     *
+     * @param cid      ID of the chat we want to obtain the messages from
+     * @param fromTime The time limit up to which we search for messages
+     * @param amount   The amount of messages we load
+     * @return the messages of the chat
+     * @throws SQLException if SQL query fails.
+     */
+    public List<ChatMessage> getMessages(int cid, Instant fromTime, int amount) throws SQLException {
+        flush(cid);
+        return ChatDB.getMessages(cid, fromTime, amount);
+    }
+
+    /**
+     * Get a page of the history of a chat, including the messages that have been submitted but are not stored yet,
+     * unless storing them takes longer than {@link #flush(int)} waits. Without cursor, the most recent messages are
+     * returned.
+     *
+     * @param cid      ID of the chat we want to obtain the messages from
+     * @param beforeID if not {@code null}, only messages with a lower ID are returned, starting with the most recent
+     * @param afterID  if not {@code null}, only messages with a higher ID are returned, starting with the oldest; takes
+     *                 precedence over {@code beforeID}
+     * @param amount   the maximum number of messages, capped at {@link #MAX_PAGE_SIZE}
+     * @return the messages of the page, oldest first
+     * @throws SQLException if SQL query fails.
+     */
+    public List<ChatMessage> getPage(int cid, Integer beforeID, Integer afterID, int amount) throws SQLException {
+        int limit = Math.max(1, Math.min(amount, MAX_PAGE_SIZE));
+        flush(cid);
+        if (afterID != null) {
+            return history.after(cid, afterID, limit);
+        }
+        return history.before(cid, beforeID == null ? Integer.MAX_VALUE : beforeID, limit);
+    }
+
+    /**
+     * Drops the messages that are kept in memory for a chat, after messages have been stored without going through
+     * this pipeline.
+     *
+     * @param cid ID of the chat
+     */
+    public void refreshHistory(int cid) {
+        history.evict(cid);
+    }
+
+    /**
+     * Drops the messages that are kept in memory for the chats of a game that has ended.
+     *
+     * @param gid      the game which has ended
+     * @param winGroup the group that won the game
+     * @param winners  the users that won the game
+     */
+    @Override
+    public void win(int gid, Group winGroup, List<Integer> winners) {
+        history.evictInstance(gid);
+    }
+
+    /**
+     * Waits until the messages that have been submitted to a chat so far have been stored, or given up, for at most
+     * {@link #FLUSH_TIMEOUT} milliseconds. Messages of other chats are not waited for.
+     *
+     * @param cid ID of the chat
+     * @return whether the messages have been handled in time
+     */
+    public boolean flush(int cid) {
+        synchronized (this) {
+            long[] counts = pending.get(cid);
+            if (counts == null) {
+                return true;
+            }
+            long target = counts[0];
+            long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT;
+            while (counts[1] < target && writer.isAlive()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    wait(Math.min(remaining, POLL_INTERVAL));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return counts[1] >= target;
+        }
+    }
+
+    /**
+     * Stops accepting messages, and waits until the messages that are still queued have been stored.
+     */
+    public void shutdown() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of messages waiting to be stored.
+     *
+     * @return the length of the queue
+     */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of messages that have been accepted, but could not be stored.
+     *
+     * @return the number of lost messages
+     */
+    public long getLost() {
+        return lost.get();
+    }
+
+    /**
+     * Puts a message on the queue, waiting a limited time for room if it is full.
+     *
+     * @param message the message to store
+     * @throws ChatBusyException when there is no room in time, or the pipeline has been shut down
+     */
+    void enqueue(ChatMessage message) throws ChatBusyException {
+        if (closed) {
+            throw new ChatBusyException("The server is shutting down, the message could not be sent");
+        }
+        // Counted before it is queued, as the writer may store it before the offer returns
+        long[] counts;
+        synchronized (this) {
+            counts = pending.computeIfAbsent(message.chatId, cid -> new long[2]);
+            counts[0]++;
+        }
+        boolean queued = false;
+        try {
+            queued = queue.offer(message, offerTimeout, TimeUnit.MILLISECONDS);
+            if (!queued) {
+                throw new ChatBusyException("Too many messages are being sent, please try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChatBusyException("Interrupted while sending the message");
+        } finally {
+            if (!queued) {
+                synchronized (this) {
+                    counts[0]--;
+                    if (counts[1] >= counts[0]) {
+                        pending.remove(message.chatId, counts);
+                    }
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores the queued messages in batches, until the pipeline has been shut down and the queue is empty.
+     */
+    private void write() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                ChatMessage first = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Only stop once everything has been stored
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            store(batch);
+            synchronized (this) {
+                for (ChatMessage message : batch) {
+                    long[] counts = pending.get(message.chatId);
+                    if (counts != null && ++counts[1] >= counts[0]) {
+                        pending.remove(message.chatId);
+                    }
+                }
+                notifyAll();
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stores a batch of messages, grouped per chat in the order in which they were submitted, and adds them to the
+     * history kept in memory. Messages that could not be stored are counted as lost.
+     */
+    private void store(List<ChatMessage> batch) {
+        Map<Integer, List<MessageEntry>> perChat = new LinkedHashMap<>();
+        for (ChatMessage message : batch) {
+            perChat.computeIfAbsent(message.chatId, cid -> new ArrayList<>()).add(message.message);
+        }
+        for (Map.Entry<Integer, List<MessageEntry>> entry : perChat.entrySet()) {
+            int cid = entry.getKey();
+            List<MessageEntry> entries = entry.getValue();
+            List<Integer> ids = storeChat(cid, entries);
+            if (ids == null) {
+                lost.addAndGet(entries.size());
+                System.err.println("Could not store " + entries.size() + " messages of chat " + cid + ", gave up");
+                history.evict(cid);
+                continue;
+            }
+            List<ChatMessage> stored = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                stored.add(new ChatMessage(cid, ids.get(i), entries.get(i)));
+            }
+            history.append(cid, stored);
+        }
+    }
+
+    /**
+     * Stores the messages of a single chat, retrying up to {@link #STORE_ATTEMPTS} times in total when it fails.
+     *
+     * @return the IDs of the stored messages, or {@code null} if they could not be stored
+     */
+    private List<Integer> storeChat(int cid, List<MessageEntry> entries) {
+        for (int attempt = 1; attempt <= STORE_ATTEMPTS; attempt++) {
+            try {
+                // The messages are inserted with a single statement, so either all or none of them are stored
+                List<Integer> ids = ChatDB.submitChats(cid, entries);
+                if (ids.size() == entries.size()) {
+                    return ids;
+                }
+            } catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+            }
+            if (attempt < STORE_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_DELAY << (attempt - 1));
+                } catch (InterruptedException e) {
+                    // Only stop once everything has been handled
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the history kept in memory.
+     *
+     * @return the history buffer
+     */
+    ChatHistoryBuffer getHistory() {
+        return history;
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final ChatPipeline uniqueInstance = new ChatPipeline();
+    }
+}
@@ -0,0 +1,91 @@
+package org.lukos.model.events;
+
+import org.lukos.model.actionsystem.actions.ActionMessageDT;
+
+import java.util.List;
+
+/**
+ * A single change to the state of a game, as pushed to the players of the game. Deltas only describe what has
+ * changed, clients that miss one can fetch the full state again.
+ *
+ * @param instanceID the ID of the {@code Instance} that has changed
+ * @param type       the kind of change
+ * @param userID     the ID of the player the change is about, or {@code null} if not applicable
+ * @param voteID     the ID of the vote the change is about, or {@code null} if not applicable
+ * @param targetID   the ID of the player that has been voted on, or {@code null} if not applicable
+ * @param results    the results of actions that have been unlocked for the player, or {@code null} if not applicable
+ * @author agent
+ * @since 18-10-2026
+ */
+public record GameStateDelta(int instanceID, Type type, Integer userID, Integer voteID, Integer targetID,
+                             List<ActionMessageDT> results) {
+
+    /**
+     * Creates a delta for a player that has been killed.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @param userID     the ID of the player that has been killed
+     * @return the delta
+     */
+    public static GameStateDelta playerKilled(int instanceID, int userID) {
+        return new GameStateDelta(instanceID, Type.PLAYER_KILLED, userID, null, null, null);
+    }
+
+    /**
+     * Creates a delta for a player that has been revived.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @param userID     the ID of the player that has been revived
+     * @return the delta
+     */
+    public static GameStateDelta playerRevived(int instanceID, int userID) {
+        return new GameStateDelta(instanceID, Type.PLAYER_REVIVED, userID, null, null, null);
+    }
+
+    /**
+     * Creates a delta for a vote that has been started.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @param voteID     the ID of the vote
+     * @return the delta
+     */
+    public static GameStateDelta voteStarted(int instanceID, int voteID) {
+        return new GameStateDelta(instanceID, Type.VOTE_STARTED, null, voteID, null, null);
+    }
+
+    /**
+     * Creates a delta for a ballot that has been cast.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @param userID     the ID of the player that has voted
+     * @param voteID     the ID of the vote
+     * @param targetID   the ID of the player that has been voted on
+     * @return the delta
+     */
+    public static GameStateDelta ballotCast(int instanceID, int userID, int voteID, int targetID) {
+        return new GameStateDelta(instanceID, Type.BALLOT_CAST, userID, voteID, targetID, null);
+    }
+
+    /**
+     * Creates a delta for new results of actions that have been unlocked for the player.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @param userID     the ID of the player that received the results
+     * @param results    the results that have been unlocked
+     * @return the delta
+     */
+    public static GameStateDelta actionResults(int instanceID, int userID, List<ActionMessageDT> results) {
+        return new GameStateDelta(instanceID, Type.ACTION_RESULTS, userID, null, null, List.copyOf(results));
+    }
+
+    /**
+     * The kinds of changes to the state of a game.
+     */
+    public enum Type {
+        PLAYER_KILLED,
+        PLAYER_REVIVED,
+        VOTE_STARTED,
+        BALLOT_CAST,
+        ACTION_RESULTS
+    }
+}
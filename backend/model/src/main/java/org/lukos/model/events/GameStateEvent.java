@@ -0,0 +1,87 @@
+package org.lukos.model.events;
+
+import org.lukos.database.DatabaseConnection;
+import org.lukos.model.listeners.GameStateListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Event that gets triggered when the state of a game changes, such as a player dying or a ballot being cast. This
+ * allows the changes to be pushed to the players, instead of the players polling for them.
+ * <p>
+ * Listeners are notified only after the change has been committed, such that they never publish a change that is
+ * rolled back later. Changes made in a transaction that is rolled back are not published at all.
+ * <p>
+ * This is a singleton class to prevent listeners hooking up to the wrong event.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class GameStateEvent {
+    /** List with the listeners that are listening to this event, changes are published from many threads */
+    private final List<GameStateListener> listeners;
+
+    /** Private constructor since it is a singleton */
+    private GameStateEvent() {
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Returns the instance of this event.
+     *
+     * @return this event
+     */
+    public static GameStateEvent getGameStateEvent() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Method to subscribe to this event, so that a listener gets notified when this event occurs.
+     *
+     * @param listener the subscriber
+     */
+    public void subscribe(GameStateListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Method to unsubscribe from this event, so that the listener will not get any more notifications when this event
+     * occurs.
+     *
+     * @param listener the subscriber
+     */
+    public void unsubscribe(GameStateListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Method to notify all subscribers that the state of a game has changed. If the current thread is performing a
+     * transaction, the subscribers are notified once it has been committed.
+     * <p>
+     * A subscriber failing to process the change does not affect the game, nor the other subscribers.
+     *
+     * @param delta      the change to the state of the game
+     * @param recipients the IDs of the users that are allowed to see the change
+     */
+    public void notify(GameStateDelta delta, List<Integer> recipients) {
+        List<Integer> copy = List.copyOf(recipients);
+        DatabaseConnection.getInstance().afterCommit(() -> {
+            for (GameStateListener listener : listeners) {
+                try {
+                    listener.gameStateChanged(delta, copy);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final GameStateEvent uniqueInstance = new GameStateEvent();
+    }
+}
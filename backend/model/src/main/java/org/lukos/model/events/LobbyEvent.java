@@ -0,0 +1,81 @@
+package org.lukos.model.events;
+
+import org.lukos.model.instances.LobbyEntry;
+import org.lukos.model.listeners.LobbyListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Event that gets triggered when the lobby information of a game changes, such as a game being created, a player
+ * joining or leaving, or a game being started or ended. This allows the list of lobbies to be pushed to the users that
+ * are browsing it, instead of them polling for it.
+ * <p>
+ * This is a singleton class to prevent listeners hooking up to the wrong event.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class LobbyEvent {
+    /** List with the listeners that are listening to this event, changes are published from many threads */
+    private final List<LobbyListener> listeners;
+
+    /** Private constructor since it is a singleton */
+    private LobbyEvent() {
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Returns the instance of this event.
+     *
+     * @return this event
+     */
+    public static LobbyEvent getLobbyEvent() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Method to subscribe to this event, so that a listener gets notified when this event occurs.
+     *
+     * @param listener the subscriber
+     */
+    public void subscribe(LobbyListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Method to unsubscribe from this event, so that the listener will not get any more notifications when this event
+     * occurs.
+     *
+     * @param listener the subscriber
+     */
+    public void unsubscribe(LobbyListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Method to notify all subscribers that the lobby information of a game has changed.
+     * <p>
+     * A subscriber failing to process the change does not affect the game, nor the other subscribers.
+     *
+     * @param gid   the ID of the game
+     * @param lobby the new lobby information of the game, or {@code null} if the game no longer exists
+     */
+    public void notify(int gid, LobbyEntry lobby) {
+        for (LobbyListener listener : listeners) {
+            try {
+                listener.lobbyChanged(gid, lobby);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final LobbyEvent uniqueInstance = new LobbyEvent();
+    }
+}
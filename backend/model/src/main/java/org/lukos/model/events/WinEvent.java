@@ -1,10 +1,9 @@
 package org.lukos.model.events;
 
-import org.lukos.model.exceptions.GameException;
+import org.lukos.database.DatabaseConnection;
 import org.lukos.model.listeners.WinEventListener;
 import org.lukos.model.rolesystem.Group;
 
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,16 +53,25 @@ public class WinEvent {
     }
 
     /**
-     * Method to notify all subscribers that a win event occurred in {@code Instance} with the ID {@code gid}.
+     * Method to notify all subscribers that a win event occurred in {@code Instance} with the ID {@code gid}. When
+     * called during a transaction, the subscribers are notified once the transaction has been committed, and not at
+     * all if it is rolled back.
      *
-     * @param gid the ID of the {@code Instance}
-     * @throws SQLException  when an SQL exception occurs
-     * @throws GameException when an exception in the game logic occurs
+     * @param gid      the ID of the {@code Instance}
+     * @param winGroup the group that won the game
+     * @param winners  the IDs of the users that won the game
      */
-    public void notify(int gid, Group winGroup) throws SQLException, GameException, ReflectiveOperationException {
-        for (WinEventListener listener : listeners) {
-            listener.win(gid, winGroup);
-        }
+    public void notify(int gid, Group winGroup, List<Integer> winners) {
+        List<Integer> copy = List.copyOf(winners);
+        DatabaseConnection.getInstance().afterCommit(() -> {
+            for (WinEventListener listener : listeners) {
+                try {
+                    listener.win(gid, winGroup, copy);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        });
     }
 
     /**
@@ -0,0 +1,26 @@
+package org.lukos.model.exceptions.chatsystem;
+
+/**
+ * This exception is thrown when a chat message is submitted while too many messages are waiting to be stored, such
+ * that the client has to try again later.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ChatBusyException extends ChatException {
+
+    /**
+     * Constructs a {@code ChatBusyException}.
+     */
+    public ChatBusyException() {
+    }
+
+    /**
+     * Constructs a {@code ChatBusyException} with a {@code message}.
+     *
+     * @param message the message
+     */
+    public ChatBusyException(String message) {
+        super(message);
+    }
+}
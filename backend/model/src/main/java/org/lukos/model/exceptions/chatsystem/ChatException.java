@@ -0,0 +1,27 @@
+package org.lukos.model.exceptions.chatsystem;
+
+import org.lukos.model.exceptions.GameException;
+
+/**
+ * General chat exception that gets thrown when an error occurs regarding a {@code Chat}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public abstract class ChatException extends GameException {
+
+    /**
+     * Constructs a {@code ChatException}.
+     */
+    public ChatException() {
+    }
+
+    /**
+     * Constructs a {@code ChatException} with a {@code message}.
+     *
+     * @param message the message
+     */
+    public ChatException(String message) {
+        super(message);
+    }
+}
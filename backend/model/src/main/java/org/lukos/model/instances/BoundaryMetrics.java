@@ -0,0 +1,29 @@
+package org.lukos.model.instances;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of the phase transitions that the {@link InstanceRunner} performed for a single phase boundary.
+ *
+ * @param boundary       the time at which the instances were due to move to the next phase
+ * @param games          number of instances that were due at the boundary
+ * @param failed         number of instances of which the transition failed, and will be retried
+ * @param makespanMillis time between the moment the timer of the boundary fired and the moment the last transition
+ *                       finished, so excluding the delay of the timer itself (which the lags do include)
+ * @param maxLagMillis   longest time between the boundary and the moment the transition of an instance finished
+ * @param totalLagMillis sum of the lags of all instances that were due at the boundary
+ * @author agent
+ * @since 18-10-2026
+ */
+public record BoundaryMetrics(LocalDateTime boundary, int games, int failed, long makespanMillis, long maxLagMillis,
+                              long totalLagMillis) {
+
+    /**
+     * Returns the average time between the boundary and the moment the transition of an instance finished.
+     *
+     * @return the average lag in milliseconds
+     */
+    public double averageLagMillis() {
+        return games == 0 ? 0 : (double) totalLagMillis / games;
+    }
+}
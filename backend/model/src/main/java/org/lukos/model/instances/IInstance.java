@@ -52,6 +52,10 @@ public interface IInstance {
 
     InstanceState getInstanceState() throws SQLException;
 
+    RoleDivisionConfig getRoleDivision() throws SQLException;
+
+    void setRoleDivision(int caller, RoleDivisionConfig config) throws GameException, SQLException;
+
     void startGame(int caller) throws GameException, SQLException, ReflectiveOperationException;
 
     void stopGame() throws SQLException, GameAlreadyStartedException;
@@ -62,6 +66,8 @@ public interface IInstance {
 
     void nextPhase() throws GameException, SQLException, ReflectiveOperationException;
 
+    boolean nextPhase(DayPhase expected) throws GameException, SQLException, ReflectiveOperationException;
+
     boolean isStarted() throws SQLException;
 
     List<Vote> getOngoingVotes() throws SQLException, NoSuchVoteException;
@@ -3,6 +3,7 @@ package org.lukos.model.instances;
 import lombok.Getter;
 import org.lukos.database.*;
 import org.lukos.model.actionsystem.ActionDT;
+import org.lukos.model.actionsystem.ActionInbox;
 import org.lukos.model.actionsystem.ActionDTComparator;
 import org.lukos.model.actionsystem.ActionManager;
 import org.lukos.model.actionsystem.SuccessorType;
@@ -11,6 +12,8 @@ import org.lukos.model.chatsystem.Chat;
 import org.lukos.model.chatsystem.ChatIdentifier;
 import org.lukos.model.chatsystem.ChatManager;
 import org.lukos.model.chatsystem.ChatType;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
 import org.lukos.model.events.NextPhaseEvent;
 import org.lukos.model.events.WinEvent;
 import org.lukos.model.exceptions.GameException;
@@ -32,12 +35,13 @@ import org.lukos.model.notes.Deathnote;
 import org.lukos.model.rolesystem.Group;
 import org.lukos.model.user.PlayerIdentifier;
 import org.lukos.model.user.player.Player;
+import org.lukos.model.user.player.PreloadedPlayer;
 import org.lukos.model.voting.*;
 import org.lukos.model.winhandler.WinHandler;
 import org.lukos.model.winhandler.WinTownspeople;
+import org.lukos.model.winhandler.WinTracker;
 import org.lukos.model.winhandler.WinWolves;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -122,6 +126,7 @@ class Instance implements IInstance {
      */
     public void removeOngoingVote(int voteID) throws SQLException {
         VoteDB.deleteVoteByID(voteID);
+        VoteTracker.getInstance().evict(voteID);
     }
 
     /**
@@ -134,6 +139,7 @@ class Instance implements IInstance {
         // set default values for day, dayphase
 
         InstanceDB.initializeInstanceState(this.iid);
+        WinTracker.getInstance().evict(this.iid);
     }
 
     public String getGameName() throws SQLException {
@@ -261,6 +267,10 @@ class Instance implements IInstance {
      * @throws NoSuchPlayerException if the targeted player does not exist, or is already dead
      */
     public void killPlayer(Player player) throws GameException, SQLException, ReflectiveOperationException {
+        InstanceExecutor.getInstanceExecutor().run(this.iid, () -> performKillPlayer(player));
+    }
+
+    private void performKillPlayer(Player player) throws GameException, SQLException, ReflectiveOperationException {
         this.getInstanceState().killPlayer(player);
 
         Deathnote note = player.getDeathnote();
@@ -289,6 +299,10 @@ class Instance implements IInstance {
      * @throws NoSuchPlayerException if the targeted player does not exist, or is already alive
      */
     public void revivePlayer(Player player) throws GameException, SQLException, ReflectiveOperationException {
+        InstanceExecutor.getInstanceExecutor().run(this.iid, () -> performRevivePlayer(player));
+    }
+
+    private void performRevivePlayer(Player player) throws GameException, SQLException, ReflectiveOperationException {
         if (getPlayerList().stream().noneMatch(p -> p.getPlayerIdentifier().equals(player.getPlayerIdentifier()))) {
             throw new NoSuchPlayerException("Player does not exist");
         } else if (alivePlayers().stream().anyMatch(p -> p.getPlayerIdentifier().equals(player.getPlayerIdentifier()))) {
@@ -309,6 +323,7 @@ class Instance implements IInstance {
     public boolean removePlayer(Player player) throws SQLException {
         PlayerIdentifier pi = player.getPlayerIdentifier();
         PlayerDB.deletePlayerByID(pi.userID(), pi.instanceID());
+        LobbyDirectory.getInstance().changed(pi.instanceID());
         return true;
     }
 
@@ -358,14 +373,12 @@ class Instance implements IInstance {
      * @throws NullPointerException if instanceState == null
      */
     public InstanceState getInstanceState() throws SQLException {
-        ResultSet resultSet = InstanceDB.findInstanceByID(this.iid);
+        InstanceRecord instance = InstanceDB.getInstanceRecord(this.iid);
 
-        // go to the first entry of the resultSet
-        if (!resultSet.next()) {
+        if (instance == null) {
             throw new SQLException("That ID is invalid!");
         }
-        String phase = resultSet.getString("dayPhase");
-        return phase == null ? null : new InstanceState(this.iid);
+        return instance.isStarted() ? new InstanceState(this.iid) : null;
     }
 
     /**
@@ -395,8 +408,9 @@ class Instance implements IInstance {
         // FIXME: replace use of setInstanceState
         initializeInstanceState(
                 new InstanceState(this.iid, getPlayerList().stream().map(Player::getPlayerIdentifier).toList()));
+        LobbyDirectory.getInstance().changed(this.iid);
         /* Assign roles */
-        assignRoles(SEED, new ArrayList<>(getPlayerList()));
+        assignRoles(SEED, new ArrayList<>(getPlayerList()), getRoleDivision());
 
         /* Create chats. */
         List<ChatIdentifier> chatIdentifiers = new ArrayList<>();
@@ -447,6 +461,9 @@ class Instance implements IInstance {
      */
     public void endGame() throws SQLException {
         InstanceDB.deleteInstanceByIID(this.iid);
+        WinTracker.getInstance().evict(this.iid);
+        VoteTracker.getInstance().evictInstance(this.iid);
+        LobbyDirectory.getInstance().changed(this.iid);
     }
 
     /**
@@ -477,20 +494,59 @@ class Instance implements IInstance {
     }
 
     /**
-     * Switches to the next phase, and performs actions accordingly
+     * Switches to the next phase, and performs actions accordingly. The phase change is performed as a single
+     * transaction, so if anything goes wrong, none of its changes are stored. The phase change runs in the {@link
+     * InstanceExecutor} of this instance, so it does not overlap with other commands modifying this instance.
      *
      * @throws VotingException if something vote-related went wrong
      */
     public void nextPhase() throws GameException, SQLException, ReflectiveOperationException {
-        InstanceState instanceState = getInstanceState();
+        nextPhase(null);
+    }
+
+    /**
+     * Switches to the next phase, if the instance is still in the given phase, and performs actions accordingly. The
+     * phase is checked and changed in the same transaction as the actions, so if several nodes try to move the
+     * instance away from the same phase, only one of them performs the phase change.
+     *
+     * @param expected the phase the instance is expected to be in, or {@code null} for the phase it is in now
+     * @return whether the instance was in the expected phase, and thus has been moved to the next phase
+     * @throws VotingException if something vote-related went wrong
+     */
+    public boolean nextPhase(DayPhase expected) throws GameException, SQLException, ReflectiveOperationException {
+        return InstanceExecutor.getInstanceExecutor().call(this.iid, () -> {
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                DayPhase current = expected == null ? getInstanceState().getPhase() : expected;
+                if (!getInstanceState().nextPhase(current)) {
+                    /* Someone else moved the instance already, leave the phase to them. */
+                    return false;
+                }
+                boolean started = performNextPhase();
+                transaction.commit();
 
-        /* Move to next phase. */
-        instanceState.nextPhase();
+                if (!started) {
+                    return true;
+                }
+            }
+
+            /* Notify listeners that a phase change occurred. */
+            NextPhaseEvent.getNextPhaseEvent().notify(this.iid);
+            return true;
+        });
+    }
+
+    /**
+     * Performs the actions of the phase the instance has just been moved to.
+     *
+     * @return whether the game has started, and thus the phase actions have been performed
+     */
+    private boolean performNextPhase() throws GameException, SQLException, ReflectiveOperationException {
+        InstanceState instanceState = getInstanceState();
         DayPhase phase = instanceState.getPhase();
 
         /* Only perform phase actions when the game has actually started (day >= 1). */
         if (instanceState.getDay() < 1) {
-            return;
+            return false;
         }
 
         switch (phase) {
@@ -498,7 +554,7 @@ class Instance implements IInstance {
             }
             case DAY -> {
                 /* Perform all actions. */
-                ActionManager.performActions(this.iid);
+                ActionManager.performActions(this.iid, phase);
 
                 /* Execute players in toBeExecuted list. */
                 // find the latest killPlayers action
@@ -509,23 +565,18 @@ class Instance implements IInstance {
                     PlayerIdentifier killer = killActions.get(killActions.size() - 1).preAction().playerIdentifier();
 
                     killMarkedPlayers(killer, new ArrayList<>(getToBeExecuted()), KillMarkedPlayers.NIGHT);
-                    ActionManager.performActions(this.iid);
+                    ActionManager.performActions(this.iid, phase);
                 }
 
                 /* Reset protected stats. */
-                for (PlayerIdentifier player : PlayerDB.getProtectedPlayers(this.iid)) {
-                    PlayerDB.updateProtected(player, false);
-                }
+                PlayerDB.updateProtected(PlayerDB.getProtectedPlayers(this.iid), false);
 
-                ActionManager.performActions(this.iid);
-                /* Unlock all actionMessages */
-                ActionMessagesDB.unlockMessages(this.iid);
+                ActionManager.performActions(this.iid, phase);
+                /* Unlock all actionMessages, and push them to their receivers */
+                ActionInbox.deliverUnlocked(this.iid);
 
-                /* Put players back at their house. */
-                resetPlayerLocation();
-
-                /* Update building progress of houses. */
-                updateHouses();
+                /* Put players back at their house, and update building progress of houses. */
+                HouseDB.sendPlayersHome(this.iid);
 
                 boolean existMayor = existMayor(new ArrayList<>(getPlayerList()));
                 boolean existAlphaWolf = existAlphaWolf(new ArrayList<>(getPlayerList()));
@@ -558,7 +609,7 @@ class Instance implements IInstance {
                 /* End MAYOR vote if it is ongoing. */
                 endVote(VoteType.MAYOR);
 
-                ActionManager.performActions(this.iid);
+                ActionManager.performActions(this.iid, phase);
             }
             case EXECUTION -> {
                 /* End daily LYNCH vote. */
@@ -570,14 +621,14 @@ class Instance implements IInstance {
                                 .filter(chatIdentifier -> chatIdentifier.type() == ChatType.GENERAL).toList().get(0).id(),
                         false);
 
-                ActionManager.performActions(this.iid);
+                ActionManager.performActions(this.iid, phase);
                 /* Execute players in toBeExecuted list. */
                 List<ActionDT> killActions = getKillActions();
                 if (killActions.size() != 0 || getToBeExecuted().size() > 0) {
                     killMarkedPlayers(new PlayerIdentifier(this.iid, getGameMaster()),
                             new ArrayList<>(getToBeExecuted()), KillMarkedPlayers.LYNCH);
                 }
-                ActionManager.performActions(this.iid);
+                ActionManager.performActions(this.iid, phase);
                 /* Reset role actions. */
                 replenishActions(new ArrayList<>(alivePlayers()), getInstanceState().getGameSpeed());
 
@@ -586,21 +637,29 @@ class Instance implements IInstance {
             }
             case NIGHT -> {
                 // Perform all actions in the buffer
-                ActionManager.performActions(this.iid);
+                ActionManager.performActions(this.iid, phase);
             }
         }
 
-        /* See if there is a winning group already. */
-        Group winner = getWinHandler().checkWin(alivePlayers());
+        /* See if there is a winning group already, using the groups of the alive players kept in memory. */
+        Group winner = WinTracker.getInstance().checkWin(this.iid, getWinHandler());
         if (winner != null) {
-            List<Integer> userIDs =
-                    getPlayerList().stream().map(player -> player.getPlayerIdentifier().userID()).toList();
+            /* Read the roles of all players at once. */
+            List<PreloadedPlayer> players =
+                    PlayerDB.getPlayerSnapshots(this.iid).stream().map(PreloadedPlayer::new).toList();
+            List<Integer> userIDs = players.stream().map(player -> player.getPlayerIdentifier().userID()).toList();
 
             /* Add win/loss to UserStats. */
-            addWinOrLossPerRole(new ArrayList<>(getPlayerList()), winner);
+            addWinOrLossPerRole(new ArrayList<>(players), winner);
 
-            /* Notify winEvent. */
-            WinEvent.getWinEvent().notify(iid, winner);
+            /* Notify winEvent, once the game has been ended and the transaction committed. */
+            List<Integer> winners = new ArrayList<>();
+            for (PreloadedPlayer player : players) {
+                if (player.getMainRole().getGroup() == winner) {
+                    winners.add(player.getPlayerIdentifier().userID());
+                }
+            }
+            WinEvent.getWinEvent().notify(iid, winner, winners);
 
             /* Destroy Instance. */
             endGame();
@@ -608,24 +667,52 @@ class Instance implements IInstance {
             /* Delete GDPR entries. */
             UserDB.deleteUsersAfterInstanceEnd(userIDs);
         }
-
-        /* Notify listeners that a phase change occurred. */
-        NextPhaseEvent.getNextPhaseEvent().notify(this.iid);
+        return true;
     }
 
     private List<ActionDT> getKillActions() throws SQLException, ReflectiveOperationException {
-        List<Integer> actions = ActionsDB.getActions(this.iid, "EXECUTED");
         List<ActionDT> killActions = new ArrayList<>();
-        for (int actionId : actions) {
-            ActionDT action = ActionsDB.getActionFromID(actionId);
-            if (action.action() instanceof KillPlayers) {
-                killActions.add(action);
-                ActionsDB.completeAction(actionId);
+        List<Integer> completed = new ArrayList<>();
+        for (ActionRecord action : ActionsDB.getActionRecords(this.iid, "EXECUTED")) {
+            if (action.action().action() instanceof KillPlayers) {
+                killActions.add(action.action());
+                completed.add(action.actionID());
             }
         }
+        ActionsDB.completeActions(completed);
         return killActions;
     }
 
+    /**
+     * Returns the role division the game is started with.
+     *
+     * @return the role division of this instance
+     * @throws SQLException if something went wrong in the database.
+     */
+    public RoleDivisionConfig getRoleDivision() throws SQLException {
+        return InstanceDB.getInstanceRecord(this.iid).roleDivision();
+    }
+
+    /**
+     * Changes the role division the game is started with. caller must be game master and the game must not have been
+     * started.
+     *
+     * @param caller the user changing the role division. Must be the gamemaster.
+     * @param config the role division to start the game with
+     * @throws NoPermissionException       if anyone but the game master calls this method.
+     * @throws GameAlreadyStartedException if the game has already started
+     * @throws SQLException                if something went wrong in the database.
+     */
+    public void setRoleDivision(int caller, RoleDivisionConfig config) throws GameException, SQLException {
+        if (caller != getGameMaster()) {
+            throw new NoPermissionException("setRoleDivision called by someone other than gamemaster");
+        }
+        if (isStarted()) {
+            throw new GameAlreadyStartedException("Cannot change the role division of a game that has started.");
+        }
+        InstanceDB.modifyRoleDivision(this.iid, config);
+    }
+
     /**
      * Checks if the game has started already.
      */
@@ -662,7 +749,7 @@ class Instance implements IInstance {
             case ALPHA_WOLF -> alivePlayers().stream().filter(player -> {
                 try {
                     return player.getMainRole().getGroup() == Group.WEREWOLVES;
-                } catch (SQLException | ReflectiveOperationException | GameException e) {
+                } catch (SQLException | GameException e) {
                     e.printStackTrace();
                 }
                 return false;
@@ -679,6 +766,8 @@ class Instance implements IInstance {
 //        VoteDB.saveAllowedPlayers(vid, new HashSet<>(playerListToPlayerIdentifierList(playerList)));
 //        VoteDB.modifyStarted(vid, true);
         vote.start();
+        GameStateEvent.getGameStateEvent().notify(GameStateDelta.voteStarted(this.iid, vote.getVid()),
+                playerList.stream().map(player -> player.getPlayerIdentifier().userID()).toList());
         return vote;
     }
 
@@ -891,9 +980,12 @@ class Instance implements IInstance {
      * Puts each player back at their own house.
      */
     public void resetPlayerLocation() throws SQLException, GameException {
-        for (Player player : alivePlayers()) {
-            movePlayer(player, new House(player.getHouse()));
+        Map<PlayerIdentifier, Integer> houses = HouseDB.getHousesOfAlivePlayers(this.iid);
+        // Check the houses, throw exception if one is not found
+        if (!getLocations().containsAll(houses.values())) {
+            throw new NoSuchLocationException("Player cannot be moved since the new location cannot be found.");
         }
+        PlayerDB.visitLocations(houses);
     }
 
     public ActionManager getActionManager() {
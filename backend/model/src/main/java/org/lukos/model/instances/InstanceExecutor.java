@@ -0,0 +1,224 @@
+package org.lukos.model.instances;
+
+import org.lukos.database.DatabaseConnection;
+import org.lukos.model.exceptions.GameException;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.lukos.database.DatabaseConnection.readIntEnv;
+
+/**
+ * Runs the commands that modify the state of an instance one at a time, in the order in which they were submitted.
+ * Every instance has its own queue of commands, which is processed by one of a fixed number of worker threads, such
+ * that the commands of different instances run in parallel without a global lock. This covers phase changes, votes,
+ * actions, and killing or reviving players (which changes the chat permissions). Reading the state of an instance
+ * does not go through this class.
+ * <p>
+ * A command that is submitted from within a command of the same instance runs right away, as it is already
+ * serialized. Waiting for a command of another instance is not allowed from within a command, as the worker would be
+ * blocked while it waits, and a few such workers waiting for each other would block all instances. Neither is it
+ * allowed from a thread that performs a database transaction, as the command would not become part of that
+ * transaction and could wait for the locks the transaction holds. Submitting without waiting is always allowed.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class InstanceExecutor {
+
+    /** Number of threads running the commands of all instances. */
+    static final int WORKERS = readIntEnv("GAME_WORKERS", 4);
+    /** Number of commands of an instance that run before the worker moves on to other instances. */
+    private static final int BATCH_SIZE = 16;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKERS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "instance-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    /** The pending commands of every instance that has any, the queue is removed once it is empty. */
+    private final Map<Integer, Queue<Runnable>> mailboxes = new ConcurrentHashMap<>();
+    /** The instance whose commands are being run by the current thread. */
+    private final ThreadLocal<Integer> current = new ThreadLocal<>();
+
+    // Private constructor to ensure Singleton design.
+    private InstanceExecutor() {
+    }
+
+    /**
+     * Get the instance of {@code InstanceExecutor}, as there exist only 1.
+     *
+     * @return The instance of {@code InstanceExecutor}
+     */
+    public static InstanceExecutor getInstanceExecutor() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Submits a command for the given instance, without waiting for it to run.
+     *
+     * @param iid     the ID of the instance the command modifies
+     * @param command the command
+     * @param <T>     the type of the result of the command
+     * @return a future that completes with the result of the command
+     */
+    public <T> CompletableFuture<T> submit(int iid, Command<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailboxes.compute(iid, (key, mailbox) -> {
+            boolean idle = mailbox == null;
+            Queue<Runnable> queue = idle ? new ArrayDeque<>() : mailbox;
+            queue.add(() -> {
+                try {
+                    result.complete(command.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            if (idle) {
+                workers.execute(() -> drain(iid));
+            }
+            return queue;
+        });
+        return result;
+    }
+
+    /**
+     * Runs a command for the given instance after the commands submitted before it, and waits for its result.
+     *
+     * @param iid     the ID of the instance the command modifies
+     * @param command the command
+     * @param <T>     the type of the result of the command
+     * @return the result of the command
+     * @throws GameException                when the command throws a game-logic exception
+     * @throws SQLException                 when the command throws a database exception
+     * @throws ReflectiveOperationException when the command throws a reflective exception
+     * @throws IllegalStateException        when called from a command of another instance, or during a transaction
+     */
+    public <T> T call(int iid, Command<T> command) throws GameException, SQLException, ReflectiveOperationException {
+        Integer running = current.get();
+        if (running != null && running == iid) {
+            return command.call();
+        }
+        if (running != null) {
+            throw new IllegalStateException(
+                    "A command of instance " + running + " cannot wait for a command of instance " + iid);
+        }
+        if (DatabaseConnection.getInstance().isInTransaction()) {
+            throw new IllegalStateException(
+                    "A command of instance " + iid + " cannot be run as part of a transaction of another thread");
+        }
+        try {
+            return submit(iid, command).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a command of instance " + iid, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GameException gameException) {
+                throw gameException;
+            } else if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            } else if (cause instanceof ReflectiveOperationException reflectiveException) {
+                throw reflectiveException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Runs a command without result for the given instance after the commands submitted before it, and waits for it
+     * to finish.
+     *
+     * @param iid  the ID of the instance the command modifies
+     * @param task the command
+     * @throws GameException                when the command throws a game-logic exception
+     * @throws SQLException                 when the command throws a database exception
+     * @throws ReflectiveOperationException when the command throws a reflective exception
+     */
+    public void run(int iid, Task task) throws GameException, SQLException, ReflectiveOperationException {
+        call(iid, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the number of instances that have commands waiting or running.
+     *
+     * @return the number of busy instances
+     */
+    int getBusyInstances() {
+        return mailboxes.size();
+    }
+
+    /**
+     * Runs the commands of an instance, until its queue is empty or another batch of commands has been run.
+     */
+    private void drain(int iid) {
+        current.set(iid);
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable next = poll(iid);
+                if (next == null) {
+                    return;
+                }
+                next.run();
+            }
+            // Give other instances a turn, the queue of this instance is kept so no other worker picks it up
+            workers.execute(() -> drain(iid));
+        } finally {
+            current.remove();
+        }
+    }
+
+    /**
+     * Takes the next command of an instance, removing its queue if it is empty.
+     */
+    private Runnable poll(int iid) {
+        Runnable[] next = new Runnable[1];
+        mailboxes.computeIfPresent(iid, (key, queue) -> {
+            next[0] = queue.poll();
+            return next[0] == null ? null : queue;
+        });
+        return next[0];
+    }
+
+    /**
+     * A command modifying the state of an instance.
+     *
+     * @param <T> the type of the result of the command
+     */
+    @FunctionalInterface
+    public interface Command<T> {
+        T call() throws GameException, SQLException, ReflectiveOperationException;
+    }
+
+    /**
+     * A command modifying the state of an instance, without a result.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws GameException, SQLException, ReflectiveOperationException;
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final InstanceExecutor uniqueInstance = new InstanceExecutor();
+    }
+}
@@ -1,11 +1,13 @@
 package org.lukos.model.instances;
 
 import org.lukos.database.InstanceDB;
+import org.lukos.database.InstanceRecord;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.NoPermissionException;
 import org.lukos.model.exceptions.instances.NoSuchInstanceException;
+import org.lukos.model.voting.VoteTracker;
+import org.lukos.model.winhandler.WinTracker;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,13 +37,13 @@ public class InstanceManager {
      * @throws NoSuchInstanceException if no instance with given id is found.
      */
     public IInstance getInstance(int iid) throws NoSuchInstanceException, SQLException {
-        ResultSet result = InstanceDB.findInstanceByID(iid);
+        InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
 
-        if (!result.next()) {
+        if (instance == null) {
             throw new NoSuchInstanceException("The instance with the given ID does not exist.");
         }
 
-        return new Instance(iid, result.getInt("seed"));
+        return new Instance(iid, instance.seed());
     }
 
     /**
@@ -66,7 +68,9 @@ public class InstanceManager {
      * @return iid  UUID of newly created instance
      */
     public int createInstance(int uid, String name, int SEED) throws SQLException {
-        return InstanceDB.addNewInstance(uid, name, SEED);
+        int iid = InstanceDB.addNewInstance(uid, name, SEED);
+        LobbyDirectory.getInstance().changed(iid);
+        return iid;
     }
 
     /**
@@ -86,6 +90,9 @@ public class InstanceManager {
         if (!InstanceDB.deleteInstanceByIID(iid)) {
             throw new NoSuchInstanceException("No instance found.");
         }
+        WinTracker.getInstance().evict(iid);
+        VoteTracker.getInstance().evictInstance(iid);
+        LobbyDirectory.getInstance().changed(iid);
         return instance;
     }
 
@@ -1,36 +1,80 @@
 package org.lukos.model.instances;
 
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.InstanceRecord;
+import org.lukos.model.events.NextPhaseEvent;
+import org.lukos.model.events.WinEvent;
 import org.lukos.model.exceptions.GameException;
-import org.lukos.model.exceptions.voting.VotingException;
+import org.lukos.model.listeners.NextPhaseListener;
+import org.lukos.model.listeners.WinEventListener;
+import org.lukos.model.rolesystem.Group;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.lukos.database.DatabaseConnection.readIntEnv;
 
 /**
  * This class is used to update all instances to the next phase, based on real time progression.
+ * <p>
+ * As the phases follow the same real time schedule for every instance (see
+ * {@link InstanceState#getNextPhaseStart(DayPhase, LocalDateTime)}), the started instances are grouped per phase
+ * boundary, and a single timer fires for every boundary. The groups only hold the ID of every instance and its
+ * expected phase, so thousands of instances can be scheduled without polling each of them. Once a boundary is reached,
+ * the transitions of its instances are handed to a small work-stealing pool, of which only a limited number run at
+ * the same time (half of the database connections by default, and never more than the workers of the
+ * {@link InstanceExecutor}), such that the connections that remain are available for the requests of the players.
+ * The transitions can be spread over a jitter window after the boundary, and they run in the {@link InstanceExecutor},
+ * one at a time per instance. The time the transitions of the last boundaries took are kept, see
+ * {@link #getBoundaryMetrics()}. Groups are derived from the phase stored in the database, so they are restored by
+ * {@link #start()} after a restart.
  *
  * @author Rick van der Heijden (1461923)
  * @author Martijn van Andel (1251104)
  * @since 07-04-2022
  */
-public class InstanceRunner {
+public class InstanceRunner implements NextPhaseListener, WinEventListener {
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    /** Time in seconds to wait before retrying a phase transition that failed. */
+    private static final long RETRY_DELAY = 60;
     /**
-     * Scheduler objects for automatic time progression
+     * Number of phase transitions that run at the same time, by default half of the database connections. As the
+     * transitions run in the {@link InstanceExecutor}, at most {@link InstanceExecutor#WORKERS} of them can run at the
+     * same time, so a higher value is capped to that number.
      */
-    Runnable gameRunnable = () -> {
-        try {
-            updateGamePhase();
-        } catch (SQLException | GameException | ReflectiveOperationException e) {
-            e.printStackTrace();
-        }
-    };
-    private final ScheduledFuture<?> gameHandle = scheduler.scheduleAtFixedRate(gameRunnable, 1, 1, TimeUnit.MINUTES);
+    private static final int CONCURRENCY = Math.min(InstanceExecutor.WORKERS, readIntEnv("PHASE_CONCURRENCY",
+            Math.max(1, DatabaseConnection.getInstance().getPoolMetrics().maxSize() / 2)));
+    /** Time in seconds after a boundary over which the transitions are spread, 0 to start them all at once. */
+    private static final int JITTER_SECONDS = readIntEnv("PHASE_JITTER_SECONDS", 0);
+    /** Number of boundaries of which the metrics are kept. */
+    private static final int HISTORY = 32;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("phase-timer"));
+    private final ExecutorService transitions = Executors.newWorkStealingPool(CONCURRENCY);
+    /** Bounds the number of running transitions, as threads of the pool that wait for a command may be replaced. */
+    private final Semaphore permits = new Semaphore(CONCURRENCY);
+    /** The instances that are due at every upcoming boundary, with the phase they are expected to be in. */
+    private final Map<LocalDateTime, Map<Integer, DayPhase>> boundaries = new HashMap<>();
+    /** The pending timer of every upcoming boundary, guarded by {@code boundaries}. */
+    private final Map<LocalDateTime, ScheduledFuture<?>> timers = new HashMap<>();
+    /** The boundary every scheduled instance waits for, guarded by {@code boundaries}. */
+    private final Map<Integer, LocalDateTime> scheduled = new HashMap<>();
+    /** The time in milliseconds the last transition of every instance finished after its boundary. */
+    private final Map<Integer, Long> lags = new ConcurrentHashMap<>();
+    /** Metrics of the last boundaries, guarded by the deque itself. */
+    private final Deque<BoundaryMetrics> history = new ArrayDeque<>();
+    private volatile boolean started;
+
+    // Private constructor to ensure Singleton design.
+    private InstanceRunner() {
+    }
 
     /**
      * Returns the singleton of uniqueInstance.
@@ -42,24 +86,283 @@ public class InstanceRunner {
     }
 
     /**
-     * Checks if the games need to move to the next phase, based on the current time.
+     * Starts moving the instances to the next phase based on real time. Schedules all instances that have been
+     * started, and keeps the schedule up to date with the phase changes that follow.
+     *
+     * @throws SQLException when the instances could not be read from the database
+     */
+    public synchronized void start() throws SQLException {
+        if (started) {
+            return;
+        }
+        started = true;
+        NextPhaseEvent.getNextPhaseEvent().subscribe(this);
+        WinEvent.getWinEvent().subscribe(this);
+        for (int iid : InstanceDB.generateInstanceIDList()) {
+            schedule(iid);
+        }
+    }
+
+    /**
+     * Moves the given instance to the next phase in the background, after the commands of the instance that have
+     * already been submitted.
+     *
+     * @param iid the ID of the instance
+     * @return a future that completes once the instance has moved to the next phase
+     */
+    public CompletableFuture<Void> advance(int iid) {
+        return InstanceExecutor.getInstanceExecutor().submit(iid, () -> {
+            InstanceManager.getInstanceManager().getInstance(iid).nextPhase();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the metrics of the last phase boundaries, the oldest first.
+     *
+     * @return the metrics per boundary
+     */
+    public List<BoundaryMetrics> getBoundaryMetrics() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    /**
+     * Returns the time between the last phase boundary of the given instance and the moment its transition finished.
+     *
+     * @param iid the ID of the instance
+     * @return the lag in milliseconds, or {@code null} if the instance has not been moved by a boundary
+     */
+    public Long getLag(int iid) {
+        return lags.get(iid);
+    }
+
+    /**
+     * Schedules the next phase transition of the given instance, replacing any pending transition. Instances that do
+     * not exist or have not been started are not scheduled.
+     *
+     * @param iid the ID of the instance
+     * @throws SQLException when the instance could not be read from the database
+     */
+    void schedule(int iid) throws SQLException {
+        InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
+        if (instance == null || !instance.isStarted()) {
+            cancel(iid);
+            return;
+        }
+        DayPhase expected = instance.dayPhase();
+        // Instances that are overdue in the same second share a boundary
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        enqueue(iid, expected, InstanceState.getNextPhaseStart(expected.next(), now));
+    }
+
+    /**
+     * Cancels the pending phase transition of the given instance.
+     *
+     * @param iid the ID of the instance
+     */
+    void cancel(int iid) {
+        synchronized (boundaries) {
+            dequeue(iid);
+        }
+        lags.remove(iid);
+    }
+
+    /**
+     * Returns whether the given instance has a pending phase transition.
+     *
+     * @param iid the ID of the instance
+     * @return whether a transition is scheduled
+     */
+    boolean isScheduled(int iid) {
+        synchronized (boundaries) {
+            return scheduled.containsKey(iid);
+        }
+    }
+
+    /**
+     * Returns the boundary at which the given instance is due to move to the next phase.
      *
-     * @throws GameException                when a game-logic operation fails
-     * @throws SQLException                 when a database operation fails
-     * @throws ReflectiveOperationException when a reflective operation fails
+     * @param iid the ID of the instance
+     * @return the boundary, or {@code null} if the instance is not scheduled
      */
-    void updateGamePhase() throws GameException, SQLException, ReflectiveOperationException {
-        LocalDateTime now = LocalDateTime.now();
-        int currentMinute = now.getHour() * 60 + now.getMinute();
+    LocalDateTime getBoundary(int iid) {
+        synchronized (boundaries) {
+            return scheduled.get(iid);
+        }
+    }
 
-        for (IInstance i : InstanceManager.getInstanceManager().getInstances()) {
-            if (i.getInstanceState().getPhase() == InstanceState.getPhaseFromTime(currentMinute).previous()) {
+    /**
+     * Moves the instance to the next phase if it is still in the phase it was scheduled for. Otherwise the instance
+     * has already been moved by someone else, and only the schedule is renewed. The phase is checked again in the
+     * transaction of the phase change, so when every node runs the schedule, an instance is moved by only one of them.
+     *
+     * @param iid      the ID of the instance
+     * @param expected the phase the instance was in when the transition was scheduled
+     * @return whether the transition succeeded, if not it is retried later
+     */
+    boolean advanceIfDue(int iid, DayPhase expected) {
+        try {
+            InstanceExecutor.getInstanceExecutor().run(iid, () -> {
+                InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
+                // Reschedules the instance through nextPhaseUpdate if it is moved
+                if (instance == null || instance.dayPhase() != expected
+                        || !InstanceManager.getInstanceManager().getInstance(iid).nextPhase(expected)) {
+                    schedule(iid);
+                }
+            });
+            return true;
+        } catch (SQLException | GameException | ReflectiveOperationException e) {
+            e.printStackTrace();
+            retry(iid, expected);
+            return false;
+        }
+    }
 
-                i.nextPhase();
+    @Override
+    public void nextPhaseUpdate(int gid) throws SQLException {
+        schedule(gid);
+    }
+
+    @Override
+    public void win(int gid, Group winGroup, List<Integer> winners) {
+        cancel(gid);
+    }
+
+    /**
+     * Adds the instance to the instances that are due at the given boundary, starting a timer for the boundary if it
+     * has none yet.
+     */
+    private void enqueue(int iid, DayPhase expected, LocalDateTime boundary) {
+        synchronized (boundaries) {
+            dequeue(iid);
+            scheduled.put(iid, boundary);
+            boundaries.computeIfAbsent(boundary, key -> {
+                long delay = Math.max(0, Duration.between(LocalDateTime.now(), boundary).toMillis());
+                timers.put(boundary, timer.schedule(() -> runBoundary(boundary), delay, TimeUnit.MILLISECONDS));
+                return new HashMap<>();
+            }).put(iid, expected);
+        }
+    }
+
+    /**
+     * Removes the instance from the boundary it waits for, cancelling the timer of that boundary once no instances are
+     * left. Has to be called while holding the lock on {@code boundaries}.
+     */
+    private void dequeue(int iid) {
+        LocalDateTime boundary = scheduled.remove(iid);
+        Map<Integer, DayPhase> due = boundary == null ? null : boundaries.get(boundary);
+        if (due == null) {
+            return;
+        }
+        due.remove(iid);
+        if (due.isEmpty()) {
+            boundaries.remove(boundary);
+            ScheduledFuture<?> pending = timers.remove(boundary);
+            if (pending != null) {
+                pending.cancel(false);
             }
         }
     }
 
+    /**
+     * Moves all instances that are due at the given boundary to the next phase, spread over the jitter window in order
+     * of their ID, and records the metrics of the boundary once all of them are done. The transitions run in the
+     * background.
+     *
+     * @param boundary the boundary that has been reached
+     */
+    void runBoundary(LocalDateTime boundary) {
+        Map<Integer, DayPhase> due;
+        synchronized (boundaries) {
+            ScheduledFuture<?> pending = timers.remove(boundary);
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            due = boundaries.remove(boundary);
+            if (due == null) {
+                return;
+            }
+            scheduled.keySet().removeAll(due.keySet());
+        }
+
+        long start = System.currentTimeMillis();
+        long boundaryMillis = boundary.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<Integer> games = new ArrayList<>(due.keySet());
+        Collections.sort(games);
+        long[] gameLags = new long[games.size()];
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] done = new CompletableFuture<?>[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            int index = i;
+            int iid = games.get(i);
+            CompletableFuture<Void> finished = new CompletableFuture<>();
+            done[i] = finished;
+            Runnable transition = () -> {
+                try {
+                    if (!advanceWithPermit(iid, due.get(iid))) {
+                        failed.incrementAndGet();
+                    }
+                } finally {
+                    gameLags[index] = Math.max(0, System.currentTimeMillis() - boundaryMillis);
+                    lags.put(iid, gameLags[index]);
+                    finished.complete(null);
+                }
+            };
+
+            long offset = JITTER_SECONDS * 1000L * i / games.size();
+            if (offset == 0) {
+                transitions.execute(transition);
+            } else {
+                timer.schedule(() -> transitions.execute(transition), offset, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        CompletableFuture.allOf(done).thenRun(() -> {
+            long maxLag = Arrays.stream(gameLags).max().orElse(0);
+            record(new BoundaryMetrics(boundary, games.size(), failed.get(), System.currentTimeMillis() - start,
+                    maxLag, Arrays.stream(gameLags).sum()));
+        });
+    }
+
+    private boolean advanceWithPermit(int iid, DayPhase expected) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            retry(iid, expected);
+            return false;
+        }
+        try {
+            return advanceIfDue(iid, expected);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retry(int iid, DayPhase expected) {
+        enqueue(iid, expected, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(RETRY_DELAY));
+    }
+
+    private void record(BoundaryMetrics metrics) {
+        synchronized (history) {
+            history.addLast(metrics);
+            if (history.size() > HISTORY) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     /**
      * Helper class to ensure that there will only be 1 single instance at all times, taking into account
      * thread-safety.
@@ -1,13 +1,16 @@
 package org.lukos.model.instances;
 
 import org.lukos.database.InstanceDB;
+import org.lukos.database.InstanceRecord;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.instances.NoSuchInstanceException;
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.user.player.Player;
 import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.winhandler.WinTracker;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -40,11 +43,11 @@ public class InstanceState {
     }
 
     public int getDay() throws SQLException {
-        ResultSet result = InstanceDB.findInstanceByID(this.iid);
-        if (!result.next()) {
+        InstanceRecord instance = InstanceDB.getInstanceRecord(this.iid);
+        if (instance == null) {
             throw new SQLException("That ID is invalid!");
         }
-        return result.getInt("day");
+        return instance.day();
     }
 
     public void setDay(int day) throws SQLException {
@@ -52,15 +55,11 @@ public class InstanceState {
     }
 
     public DayPhase getPhase() throws SQLException, NoSuchInstanceException {
-        ResultSet result = InstanceDB.findInstanceByID(this.iid);
-
-        // retrieve the first (and only) entry
-        if (result.next()) {
-            String phase = result.getString("dayPhase");
-            return DayPhase.valueOf(phase);
-        } else {
+        InstanceRecord instance = InstanceDB.getInstanceRecord(this.iid);
+        if (instance == null) {
             throw new NoSuchInstanceException("Instance does not exist.");
         }
+        return instance.dayPhase();
     }
 
     // TODO: determine whether to get the day phase from time, or to use db for it
@@ -74,6 +73,7 @@ public class InstanceState {
 
     public void setAliveIdentifiers(List<PlayerIdentifier> players) throws SQLException, NoSuchPlayerException {
         InstanceDB.setAlivePlayer(this.iid, players);
+        WinTracker.getInstance().revived(players);
     }
 
     /**
@@ -101,10 +101,13 @@ public class InstanceState {
         }
         PlayerIdentifier playerID = player.getPlayerIdentifier();
         InstanceDB.killPlayer(playerID);
+        WinTracker.getInstance().killed(playerID);
         int userID = player.getPlayerIdentifier().userID();
 
         toggleWriteAccessAliveChats(userID, false);
         addPlayerToDeceasedChat(playerID);
+
+        GameStateEvent.getGameStateEvent().notify(GameStateDelta.playerKilled(this.iid, userID), getPlayerUserIDs());
     }
 
     /**
@@ -122,6 +125,17 @@ public class InstanceState {
         toggleWriteAccessAliveChats(userID, true);
 
         removePlayerFromDeceasedChat(player);
+
+        GameStateEvent.getGameStateEvent().notify(GameStateDelta.playerRevived(this.iid, userID), getPlayerUserIDs());
+    }
+
+    /**
+     * Returns the IDs of the users that are playing in this instance, dead or alive.
+     *
+     * @return the IDs of the users in this instance
+     */
+    private List<Integer> getPlayerUserIDs() throws SQLException {
+        return InstanceDB.getPlayers(this.iid).stream().map(PlayerIdentifier::userID).toList();
     }
 
     /**
@@ -142,6 +156,23 @@ public class InstanceState {
             currentMinute = now.getHour() * 60 + now.getMinute();
         }
 
+        // Determine day phase, the last phase that has started before the current minute
+        DayPhase phase = DayPhase.NIGHT;
+        for (DayPhase candidate : DayPhase.values()) {
+            if (currentMinute >= getPhaseStart(candidate)) {
+                phase = candidate;
+            }
+        }
+        return phase;
+    }
+
+    /**
+     * Returns the minute of the day at which the given phase starts in real time.
+     *
+     * @param phase the phase
+     * @return the minute of the day at which {@code phase} starts
+     */
+    public static int getPhaseStart(DayPhase phase) {
         // Representation of end of day phases, converted to minutes
         int END_OF_NIGHT = 8 * 60 + 25;
         int END_OF_MORNING = 8 * 60 + 30;
@@ -149,24 +180,29 @@ public class InstanceState {
         int END_OF_VOTE = 20 * 60;
         int END_OF_EXECUTION = 20 * 60 + 5;
 
-        // Determine day phase
-        if (currentMinute < END_OF_NIGHT) {
-            return DayPhase.NIGHT;
-        }
-        if (currentMinute < END_OF_MORNING) {
-            return DayPhase.MORNING;
-        }
-        if (currentMinute < END_OF_DAY) {
-            return DayPhase.DAY;
-        }
-        if (currentMinute < END_OF_VOTE) {
-            return DayPhase.VOTE;
-        }
-        if (currentMinute < END_OF_EXECUTION) {
-            return DayPhase.EXECUTION;
-        }
+        return switch (phase) {
+            case NIGHT -> 0;
+            case MORNING -> END_OF_NIGHT;
+            case DAY -> END_OF_MORNING;
+            case VOTE -> END_OF_DAY;
+            case EXECUTION -> END_OF_VOTE;
+            case EVENING -> END_OF_EXECUTION;
+        };
+    }
 
-        return DayPhase.EVENING;
+    /**
+     * Returns the first moment, from {@code now} on, at which it is {@code phase} in real time.
+     *
+     * @param phase the phase
+     * @param now   the current time
+     * @return {@code now} if it is {@code phase}, otherwise the next moment at which {@code phase} starts
+     */
+    public static LocalDateTime getNextPhaseStart(DayPhase phase, LocalDateTime now) {
+        if (getPhaseFromTime(now.getHour() * 60 + now.getMinute()) == phase) {
+            return now;
+        }
+        LocalDateTime start = now.toLocalDate().atStartOfDay().plusMinutes(getPhaseStart(phase));
+        return start.isAfter(now) ? start : start.plusDays(1);
     }
 
     /**
@@ -179,13 +215,19 @@ public class InstanceState {
     }
 
     /**
-     * Moves state to next phase. Updates day if necessary.
+     * Moves state to next phase, if it is still in the given phase. Updates day if necessary.
+     *
+     * @param expected the phase the state is expected to be in
+     * @return whether the state was in the expected phase, and thus has been moved
      */
-    void nextPhase() throws SQLException, NoSuchInstanceException {
-        setPhase(getPhase().next());
-        if (getPhase() == DayPhase.MORNING) {
+    boolean nextPhase(DayPhase expected) throws SQLException {
+        if (!InstanceDB.modifyPhaseIfCurrent(this.iid, expected, expected.next())) {
+            return false;
+        }
+        if (expected.next() == DayPhase.MORNING) {
             // TODO: make increment function??
             setDay(getDay() + 1);
         }
+        return true;
     }
 }
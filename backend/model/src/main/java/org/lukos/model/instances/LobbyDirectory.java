@@ -0,0 +1,142 @@
+package org.lukos.model.instances;
+
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.model.events.LobbyEvent;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps the lobby information of all instances in memory, such that the list of lobbies can be browsed without
+ * going to the database.
+ * <p>
+ * The lobby information is read from the database at once when it is first needed. After that, the entry of an
+ * instance is read again once a change to it has been committed, such as a game being created, a player joining or
+ * leaving, or a game being started or ended, after which the change is published through the {@link LobbyEvent}.
+ * Changes that are rolled back are never read.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class LobbyDirectory {
+
+    /** Maximum number of lobbies on a page of the list of lobbies. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final Map<Integer, LobbyEntry> lobbies = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded;
+
+    // Private constructor to ensure Singleton design.
+    private LobbyDirectory() {
+    }
+
+    /**
+     * Get the instance of {@code LobbyDirectory}, as there exist only 1.
+     *
+     * @return The instance of {@code LobbyDirectory}
+     */
+    public static LobbyDirectory getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns a page of the lobbies that match the filter, ordered by instanceID.
+     *
+     * @param name    only lobbies of which the name contains this text, ignoring case, or {@code null} for all
+     * @param started only lobbies of games that have or have not been started, or {@code null} for both
+     * @param page    the index of the page, starting at 0
+     * @param size    the maximum number of lobbies on the page, at most {@link #MAX_PAGE_SIZE}
+     * @return the page of lobbies
+     * @throws SQLException when reading the lobbies fails
+     */
+    public LobbyPage getLobbies(String name, Boolean started, int page, int size) throws SQLException {
+        load();
+        String filter = name == null || name.isBlank() ? null : name.toLowerCase(Locale.ROOT);
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long offset = (long) Math.max(0, page) * limit;
+
+        List<LobbyEntry> result = new ArrayList<>();
+        int total = 0;
+        for (LobbyEntry lobby : lobbies.values()) {
+            if (started != null && lobby.started() != started) {
+                continue;
+            }
+            if (filter != null && !lobby.name().toLowerCase(Locale.ROOT).contains(filter)) {
+                continue;
+            }
+            if (total >= offset && result.size() < limit) {
+                result.add(lobby);
+            }
+            total++;
+        }
+        return new LobbyPage(result, total);
+    }
+
+    /**
+     * Marks the lobby information of an instance as changed. Once the ongoing transaction has been committed, the
+     * information is read again and the change is published through the {@link LobbyEvent}.
+     *
+     * @param iid the ID of the instance
+     */
+    public void changed(int iid) {
+        DatabaseConnection.getInstance().afterCommit(() -> {
+            try {
+                LobbyEvent.getLobbyEvent().notify(iid, refresh(iid));
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Reads the lobby information of an instance again, such as when it has been modified by another server sharing
+     * the same database. If reading fails, all lobby information is read again when it is next needed.
+     *
+     * @param iid the ID of the instance
+     * @return the lobby information of the instance, or {@code null} if it no longer exists
+     * @throws SQLException when reading the lobby information fails
+     */
+    public synchronized LobbyEntry refresh(int iid) throws SQLException {
+        try {
+            LobbyEntry lobby = InstanceDB.getLobbyEntry(iid);
+            if (lobby == null) {
+                lobbies.remove(iid);
+            } else if (loaded) {
+                lobbies.put(iid, lobby);
+            }
+            return lobby;
+        } catch (SQLException e) {
+            loaded = false;
+            lobbies.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the lobby information of all instances if it has not been read yet.
+     *
+     * @throws SQLException when reading the lobby information fails
+     */
+    private void load() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (LobbyEntry lobby : InstanceDB.getLobbyEntries()) {
+                    lobbies.put(lobby.instanceID(), lobby);
+                }
+                loaded = true;
+            }
+        }
+    }
+
+    private static class SingletonHelper {
+        private static final LobbyDirectory uniqueInstance = new LobbyDirectory();
+    }
+}
@@ -0,0 +1,15 @@
+package org.lukos.model.instances;
+
+/**
+ * The information about an instance that is shown in the list of lobbies.
+ *
+ * @param instanceID   the ID of the instance
+ * @param name         the name of the game
+ * @param gameMasterID the ID of the user that is the gamemaster of the game
+ * @param players      the number of players that have joined the game
+ * @param started      whether the game has been started
+ * @author agent
+ * @since 18-10-2026
+ */
+public record LobbyEntry(int instanceID, String name, int gameMasterID, int players, boolean started) {
+}
@@ -0,0 +1,14 @@
+package org.lukos.model.instances;
+
+import java.util.List;
+
+/**
+ * A page of the list of lobbies.
+ *
+ * @param lobbies the lobbies on the page, ordered by instanceID
+ * @param total   the number of lobbies that match the filter, over all pages
+ * @author agent
+ * @since 18-10-2026
+ */
+public record LobbyPage(List<LobbyEntry> lobbies, int total) {
+}
@@ -0,0 +1,22 @@
+package org.lukos.model.instances;
+
+/**
+ * Enumeration of the role division configurations a game can be started with. Every configuration is a CSV-file on
+ * the classpath that defines, for every number of players, how many roles of each category are distributed.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public enum RoleDivisionConfig {
+    /** The configured role division, used unless the gamemaster picks another one. */
+    CONFIGURED("Role_assignment_config.csv"),
+    /** The default role division of the game, defined for 12 players and up. */
+    DEFAULT("Role_assignment_config_default.csv");
+
+    /** Name of the CSV-file containing the role division. */
+    public final String fileName;
+
+    RoleDivisionConfig(String fileName) {
+        this.fileName = fileName;
+    }
+}
@@ -1,8 +1,10 @@
 package org.lukos.model.instances.util;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.SuccessorType;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.Purpose;
 import org.lukos.model.rolesystem.jobs.AlphaWolf;
 import org.lukos.model.rolesystem.jobs.Mayor;
 import org.lukos.model.rolesystem.util.RoleActions;
@@ -13,6 +15,8 @@ import org.lukos.model.voting.VoteType;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This is a helper class for general things that the {@code Instance} has to do.
@@ -180,7 +184,9 @@ public class GeneralInstanceHelper extends GeneralUtilInstanceHelper {
     }
 
     /**
-     * Resets the actions parameters of roles that can be performed every night.
+     * Resets the actions parameters of roles that can be performed every night. The roles of all players are read at
+     * once and their items are written at once, only purposes that do not replenish their actions using items are
+     * replenished one by one.
      *
      * @param alivePlayers all the alive {@code Player}s
      * @param gameSpeed    the current game speed
@@ -190,11 +196,25 @@ public class GeneralInstanceHelper extends GeneralUtilInstanceHelper {
      */
     public static void replenishActions(ArrayList<Player> alivePlayers, int gameSpeed)
             throws ReflectiveOperationException, SQLException, GameException {
+        if (alivePlayers.isEmpty()) {
+            return;
+        }
+        int instanceID = alivePlayers.get(0).getPlayerIdentifier().instanceID();
+        int players = getPlayers(instanceID).size();
+        int day = getDayByInstanceID(instanceID);
+        // The roles of all players are read at once, double roles are not replenished
+        Map<PlayerIdentifier, List<Purpose>> purposes = getMainRolesAndJobs(instanceID);
+        List<ItemStock> stocks = new ArrayList<>();
         for (Player p : alivePlayers) {
-            p.getMainRole().replenishAction(gameSpeed, p.getPlayerIdentifier());
-            for (Job job : p.getJobs()) {
-                job.replenishAction(gameSpeed, p.getPlayerIdentifier());
+            for (Purpose purpose : purposes.getOrDefault(p.getPlayerIdentifier(), List.of())) {
+                List<ItemStock> items = purpose.getReplenishment(gameSpeed, p.getPlayerIdentifier(), players, day);
+                if (items == null) {
+                    purpose.replenishAction(gameSpeed, p.getPlayerIdentifier());
+                } else {
+                    stocks.addAll(items);
+                }
             }
         }
+        updateItems(stocks);
     }
 }
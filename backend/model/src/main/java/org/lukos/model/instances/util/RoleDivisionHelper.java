@@ -1,15 +1,21 @@
 package org.lukos.model.instances.util;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.instances.NotEnoughRolesException;
+import org.lukos.model.instances.RoleDivisionConfig;
 import org.lukos.model.rolesystem.MainRole;
 import org.lukos.model.rolesystem.roles.MainRoleCategories;
 import org.lukos.model.rolesystem.roles.MainRoleList;
+import org.lukos.model.user.PlayerIdentifier;
 import org.lukos.model.user.player.Player;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.stream.IntStream;
 
@@ -38,6 +44,22 @@ abstract class RoleDivisionHelper extends RoleDivisionReader {
      */
     public static void assignRoles(long SEED, ArrayList<Player> players)
             throws GameException, SQLException, ReflectiveOperationException {
+        assignRoles(SEED, players, RoleDivisionConfig.CONFIGURED);
+    }
+
+    /**
+     * After starting a game, this method assigns roles based on the given role division.
+     *
+     * @param SEED    the seed of the game
+     * @param players a list of {@code Player}s of the game
+     * @param config  the role division of the game
+     * @throws GameException                when an exception occurs in the game-logic
+     * @throws SQLException                 when a database operation fails
+     * @throws ReflectiveOperationException when a reflective operation fails
+     * @see #assignRoles(long, ArrayList)
+     */
+    public static void assignRoles(long SEED, ArrayList<Player> players, RoleDivisionConfig config)
+            throws GameException, SQLException, ReflectiveOperationException {
         // TODO: cleanup
         Random random = new Random(SEED);
         int NROF_PLAYERS = players.size();
@@ -45,7 +67,7 @@ abstract class RoleDivisionHelper extends RoleDivisionReader {
         ArrayList<MainRole> roles = new ArrayList<>();          // List of roles that will be distributed
 
         /* Find the correct role division based on the NROF_PLAYERS */
-        int[] roleDivision = readDivision(NROF_PLAYERS);
+        int[] roleDivision = readDivision(config, NROF_PLAYERS);
 
         boolean subgroupsChilisaus = false;
         int jesters = 0;
@@ -99,22 +121,31 @@ abstract class RoleDivisionHelper extends RoleDivisionReader {
             throw new NotEnoughRolesException("Not enough roles to be distributed. Perhaps check the config file.");
         }
 
-        /* Create ArrayList of roles to be distributed and randomly assign players to it. */
+        /* Randomly assign the roles to be distributed to the players, and store all of them at once. */
+        Map<PlayerIdentifier, MainRole> assignment = new LinkedHashMap<>();
         for (Player p : players) {
             int REMAINING_ROLES = roles.size();
-            MainRole mainRole;
             int randomIndex;
             if (REMAINING_ROLES != 1) {
                 randomIndex = random.nextInt(REMAINING_ROLES);
             } else {
                 randomIndex = 0;
             }
-            mainRole = roles.remove(randomIndex);
+            assignment.put(p.getPlayerIdentifier(), roles.remove(randomIndex));
+        }
+        setMainRoles(assignment);
 
-            p.setMainRole(mainRole);
-            /* Initialize action items. */
-            p.getMainRole().initializeActions(p.getPlayerIdentifier());
+        /* Initialize action items, the items of all players are stored at once. */
+        List<ItemStock> items = new ArrayList<>();
+        for (Map.Entry<PlayerIdentifier, MainRole> entry : assignment.entrySet()) {
+            List<ItemStock> initial = entry.getValue().getInitialItems(entry.getKey());
+            if (initial == null) {
+                entry.getValue().initializeActions(entry.getKey());
+            } else {
+                items.addAll(initial);
+            }
         }
+        updateItems(items);
     }
 
     /**
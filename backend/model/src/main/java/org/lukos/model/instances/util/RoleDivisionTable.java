@@ -0,0 +1,153 @@
+package org.lukos.model.instances.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable role division table, parsed and validated from a role assignment CSV-file.
+ * <p>
+ * The first line of the file contains the headers, every following line the division for one more player than the
+ * line above it. Every division holds the number of roles per column following {@code PLAYERS}, in the order of
+ * {@link #HEADER}. Rows of which the number of distributed roles does not match the number of players are kept out of
+ * the table, such that starting a game with that number of players fails without distributing any roles.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public final class RoleDivisionTable {
+
+    /** The expected headers of a role assignment CSV-file. */
+    static final List<String> HEADER =
+            List.of("PLAYERS", "WEREWOLF", "FRAMER", "CLEANER", "ELDER", "FRIETSAUS", "KETCHUP", "BBQSAUS",
+                    "PICALILLYSAUS", "SCEPTIC", "CHILI_TOT", "CHILI_A", "CHILI_B", "JESTER");
+    /** Number of role columns of a division. */
+    static final int COLUMNS = HEADER.size() - 1;
+
+    /** The divisions, indexed by number of players; {@code null} where no valid division is defined. */
+    private final int[][] divisions;
+    /** The numbers of players of which the division does not add up to the number of players. */
+    private final List<Integer> invalidPlayerCounts;
+
+    private RoleDivisionTable(int[][] divisions, List<Integer> invalidPlayerCounts) {
+        this.divisions = divisions;
+        this.invalidPlayerCounts = Collections.unmodifiableList(invalidPlayerCounts);
+    }
+
+    /**
+     * Parses and validates a role division table.
+     *
+     * @param source name of the file that is parsed, used in error messages
+     * @param reader reader of the contents of the file
+     * @return the parsed table
+     * @throws IOException              when reading the file fails
+     * @throws IllegalArgumentException when the file is not a well-formed role division table
+     */
+    public static RoleDivisionTable parse(String source, Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null || !Arrays.asList(header.trim().split(",")).equals(HEADER)) {
+            throw new IllegalArgumentException(source + ": expected header " + String.join(",", HEADER));
+        }
+
+        List<int[]> rows = new ArrayList<>();
+        int lowest = -1;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.trim().split(",");
+            if (fields.length != HEADER.size()) {
+                throw new IllegalArgumentException(source + ": expected " + HEADER.size() + " columns in '" + line + "'");
+            }
+            int[] row = new int[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                try {
+                    row[i] = Integer.parseInt(fields[i].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException(source + ": not a number in '" + line + "'", e);
+                }
+                if (row[i] < 0) {
+                    throw new IllegalArgumentException(source + ": negative number in '" + line + "'");
+                }
+            }
+            // Assumption: line n+1 contains the division of (line n) + 1 players.
+            if (lowest == -1) {
+                lowest = row[0];
+            } else if (row[0] != lowest + rows.size()) {
+                throw new IllegalArgumentException(
+                        source + ": expected a division for " + (lowest + rows.size()) + " players, got '" + line +
+                                "'");
+            }
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException(source + ": no role divisions defined");
+        }
+
+        int[][] divisions = new int[lowest + rows.size()][];
+        List<Integer> invalid = new ArrayList<>();
+        for (int[] row : rows) {
+            int[] division = Arrays.copyOfRange(row, 1, row.length);
+            if (countRoles(division) == row[0]) {
+                divisions[row[0]] = division;
+            } else {
+                invalid.add(row[0]);
+            }
+        }
+        return new RoleDivisionTable(divisions, invalid);
+    }
+
+    /**
+     * Counts the number of roles that are distributed for a division, the same way as
+     * {@link RoleDivisionHelper#assignRoles} does: jesters are not distributed, and the second chilisaus subgroup is
+     * only used when no chilisaus roles are distributed as a whole.
+     *
+     * @param division number of roles per column
+     * @return the number of roles that are distributed
+     */
+    static int countRoles(int[] division) {
+        int roles = 0;
+        for (int column = 0; column < COLUMNS; column++) {
+            switch (column) {
+                case 11 -> {
+                    if (division[9] == 0) {
+                        roles += division[column];
+                    }
+                }
+                case 12 -> {
+                }
+                default -> roles += division[column];
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Returns the division for the given number of players.
+     *
+     * @param players number of players to give roles to
+     * @return a copy of the number of roles per column, or {@code null} if no valid division is defined
+     */
+    public int[] getDivision(int players) {
+        if (players < 0 || players >= divisions.length || divisions[players] == null) {
+            return null;
+        }
+        return divisions[players].clone();
+    }
+
+    /**
+     * Returns the numbers of players of which the division in the file does not add up to the number of players, and
+     * that are therefore left out of the table.
+     *
+     * @return the numbers of players without a valid division
+     */
+    public List<Integer> getInvalidPlayerCounts() {
+        return invalidPlayerCounts;
+    }
+}
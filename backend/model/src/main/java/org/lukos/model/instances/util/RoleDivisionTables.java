@@ -0,0 +1,169 @@
+package org.lukos.model.instances.util;
+
+import org.lukos.model.instances.RoleDivisionConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Singleton-class keeping the role division tables of all {@link RoleDivisionConfig}s in memory, such that starting a
+ * game does not read from disk.
+ * <p>
+ * All tables are loaded and validated from the classpath when the class is first used, so a broken configuration is
+ * reported when the server starts instead of when the first game starts. When the environment variable {@code
+ * ROLE_DIVISION_DIR} points to a directory, the files in that directory take precedence over the ones on the
+ * classpath, and the tables are reloaded whenever such a file changes. A changed file that does not validate is
+ * reported, and the previous table is kept.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class RoleDivisionTables {
+
+    /** Directory containing role division files that override the ones on the classpath, if any. */
+    private static final String DIRECTORY = System.getenv("ROLE_DIVISION_DIR");
+
+    /** The directory that is watched for changes, {@code null} if the files on the classpath are used. */
+    private final Path directory;
+    /** The tables per configuration, replaced as a whole when a file is reloaded. */
+    private volatile Map<RoleDivisionConfig, RoleDivisionTable> tables;
+
+    // Private constructor to ensure Singleton design.
+    private RoleDivisionTables() {
+        this(DIRECTORY == null || DIRECTORY.isBlank() ? null : Path.of(DIRECTORY));
+    }
+
+    /**
+     * Loads all tables, preferring the files in {@code directory} over the ones on the classpath.
+     *
+     * @param directory directory to load and watch the files in, {@code null} to only use the classpath
+     * @throws IllegalStateException when one of the tables cannot be loaded
+     */
+    RoleDivisionTables(Path directory) {
+        this.directory = directory;
+        Map<RoleDivisionConfig, RoleDivisionTable> loaded = new EnumMap<>(RoleDivisionConfig.class);
+        for (RoleDivisionConfig config : RoleDivisionConfig.values()) {
+            try {
+                loaded.put(config, load(config));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Could not load role division " + config.fileName, e);
+            }
+        }
+        tables = loaded;
+        if (directory != null) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Get the instance of {@code RoleDivisionTables}, as there exist only 1.
+     *
+     * @return The instance of {@code RoleDivisionTables}
+     */
+    public static RoleDivisionTables getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the role division table of a configuration.
+     *
+     * @param config the configuration
+     * @return the table of the configuration
+     */
+    public RoleDivisionTable getTable(RoleDivisionConfig config) {
+        return tables.get(config);
+    }
+
+    /**
+     * Loads the file of a configuration again, and replaces its table if the file is valid.
+     *
+     * @param config the configuration to reload
+     * @return whether the table has been replaced
+     */
+    boolean reload(RoleDivisionConfig config) {
+        RoleDivisionTable table;
+        try {
+            table = load(config);
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return false;
+        }
+        Map<RoleDivisionConfig, RoleDivisionTable> updated = new EnumMap<>(tables);
+        updated.put(config, table);
+        tables = updated;
+        return true;
+    }
+
+    private RoleDivisionTable load(RoleDivisionConfig config) throws IOException {
+        RoleDivisionTable table;
+        Path file = directory == null ? null : directory.resolve(config.fileName);
+        if (file != null && Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                table = RoleDivisionTable.parse(file.toString(), reader);
+            }
+        } else {
+            InputStream stream = RoleDivisionTables.class.getClassLoader().getResourceAsStream(config.fileName);
+            if (stream == null) {
+                throw new IOException(config.fileName + " is not on the classpath");
+            }
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                table = RoleDivisionTable.parse(config.fileName, reader);
+            }
+        }
+        if (!table.getInvalidPlayerCounts().isEmpty()) {
+            System.err.println(config.fileName + ": the division does not add up for " +
+                    table.getInvalidPlayerCounts() + " players, games of that size cannot be started");
+        }
+        return table;
+    }
+
+    private void startWatching() {
+        WatchService watcher;
+        try {
+            watcher = directory.getFileSystem().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        Thread thread = new Thread(() -> watch(watcher), "role-division-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService watcher) {
+        try (watcher) {
+            while (true) {
+                WatchKey key = watcher.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    for (RoleDivisionConfig config : RoleDivisionConfig.values()) {
+                        if (event.context() instanceof Path changed && changed.toString().equals(config.fileName)) {
+                            reload(config);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Helper class to ensure that there will only be 1 single instance at all times, taking into account
+     * thread-safety.
+     */
+    private static class SingletonHelper {
+        private static final RoleDivisionTables uniqueInstance = new RoleDivisionTables();
+    }
+}
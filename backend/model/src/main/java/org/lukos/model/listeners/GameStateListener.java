@@ -0,0 +1,23 @@
+package org.lukos.model.listeners;
+
+import org.lukos.model.events.GameStateDelta;
+
+import java.util.List;
+
+/**
+ * Listener for when a {@link org.lukos.model.events.GameStateEvent} gets triggered.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public interface GameStateListener {
+    /**
+     * Listener function that will be triggered by a {@link org.lukos.model.events.GameStateEvent}, once the change
+     * has been committed to the database.
+     *
+     * @param delta      the change to the state of the game
+     * @param recipients the IDs of the users that are allowed to see the change
+     * @throws Exception when the change could not be delivered
+     */
+    void gameStateChanged(GameStateDelta delta, List<Integer> recipients) throws Exception;
+}
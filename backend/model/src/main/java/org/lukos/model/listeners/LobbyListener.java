@@ -0,0 +1,21 @@
+package org.lukos.model.listeners;
+
+import org.lukos.model.instances.LobbyEntry;
+
+/**
+ * Listener for when a {@link org.lukos.model.events.LobbyEvent} gets triggered.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public interface LobbyListener {
+    /**
+     * Listener function that will be triggered by a {@link org.lukos.model.events.LobbyEvent}, once the change has
+     * been committed to the database.
+     *
+     * @param gid   the game of which the lobby information changed
+     * @param lobby the new lobby information of the game, or {@code null} if the game no longer exists
+     * @throws Exception when the change could not be delivered
+     */
+    void lobbyChanged(int gid, LobbyEntry lobby) throws Exception;
+}
@@ -5,6 +5,7 @@ import org.lukos.model.exceptions.GameException;
 import org.lukos.model.rolesystem.Group;
 
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Listener for when an {@link org.lukos.model.events.WinEvent} gets triggered.
@@ -14,11 +15,15 @@ import java.sql.SQLException;
  */
 public interface WinEventListener {
     /**
-     * Listener function that will be triggered by a {@link org.lukos.model.events.WinEvent}.
+     * Listener function that will be triggered by a {@link org.lukos.model.events.WinEvent}. It is triggered once the
+     * game has ended, so the players of the game can no longer be read.
      *
-     * @param gid The game which changed phase
+     * @param gid      The game which changed phase
+     * @param winGroup The group that won the game
+     * @param winners  The IDs of the users that won the game
      * @throws SQLException when an SQL exception occurs
      * @throws GameException when an exception in the game logic occurs
      */
-    void win(int gid, Group winGroup) throws SQLException, GameException, ReflectiveOperationException;
+    void win(int gid, Group winGroup, List<Integer> winners)
+            throws SQLException, GameException, ReflectiveOperationException;
 }
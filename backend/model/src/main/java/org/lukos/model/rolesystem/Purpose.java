@@ -1,6 +1,7 @@
 package org.lukos.model.rolesystem;
 
 import lombok.Getter;
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.instances.IInstance;
@@ -39,6 +40,18 @@ public abstract class Purpose {
      */
     public abstract void initializeActions(PlayerIdentifier player) throws SQLException, GameException;
 
+    /**
+     * Returns the items a player gets when the actions of the purpose are initialized, such that the items of all
+     * players of an instance can be initialized at once. Purposes that do not initialize their actions using items
+     * return {@code null}, in which case {@link #initializeActions(PlayerIdentifier)} is called instead.
+     *
+     * @param player The player for whom the actions are initialized.
+     * @return the items the player gets, or {@code null}
+     */
+    public List<ItemStock> getInitialItems(PlayerIdentifier player) {
+        return null;
+    }
+
     /**
      * Method to perform an action
      * <p>
@@ -83,4 +96,20 @@ public abstract class Purpose {
      */
     public abstract void replenishAction(int gameSpeed, PlayerIdentifier playerIdentifier)
             throws GameException, SQLException;
+
+    /**
+     * Returns the items a player has after the actions of the purpose have been replenished, such that the items of
+     * all players of an instance can be replenished at once. Purposes that do not replenish their actions using items
+     * return {@code null}, in which case {@link #replenishAction(int, PlayerIdentifier)} is called instead.
+     *
+     * @param gameSpeed        The gameSpeed, which could affect the amounts of the items.
+     * @param playerIdentifier the {@code PlayerIdentifier} of the {@code Player} of which the actions are replenished
+     * @param players          the number of {@code Player}s in the instance of the {@code Player}
+     * @param day              the current day of the instance of the {@code Player}
+     * @return the items of the {@code Player} after replenishing, or {@code null}
+     */
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier playerIdentifier, int players,
+                                            int day) {
+        return null;
+    }
 }
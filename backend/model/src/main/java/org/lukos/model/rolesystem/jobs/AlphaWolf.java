@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.jobs;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.actionsystem.SuccessorType;
 import org.lukos.model.config.CharacterConfig;
@@ -55,7 +56,12 @@ public class AlphaWolf extends Job {
 
     @Override
     public void initializeActions(PlayerIdentifier player) throws SQLException, GameException {
-        addPlayerItem(player, "kill");
+        updateItems(getInitialItems(player));
+    }
+
+    @Override
+    public List<ItemStock> getInitialItems(PlayerIdentifier player) {
+        return List.of(new ItemStock(player, "kill", 1, ItemStock.Update.ADD));
     }
 
     @Override
@@ -103,11 +109,12 @@ public class AlphaWolf extends Job {
 
     @Override
     public void replenishAction(int gameSpeed, PlayerIdentifier player) throws SQLException, GameException {
-        int amount = gameSpeed - amountOfItems(player, "kill") + 1;
-        /* Add kill items until there are 'gamespeed' number of kill items. */
-        while (amount > 0) {
-            addPlayerItem(player, "kill");
-            amount--;
-        }
+        updateItems(getReplenishment(gameSpeed, player, 0, 0));
+    }
+
+    @Override
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier player, int players, int day) {
+        /* Add kill items until there are 'gamespeed' + 1 number of kill items, without taking any away. */
+        return List.of(new ItemStock(player, "kill", gameSpeed + 1, ItemStock.Update.AT_LEAST));
     }
 }
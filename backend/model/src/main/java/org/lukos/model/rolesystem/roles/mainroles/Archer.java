@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -90,16 +91,13 @@ public class Archer extends MainRole {
 
     @Override
     public void replenishAction(int gameSpeed, PlayerIdentifier player) throws SQLException, GameException {
-        int currDay = getDayByInstanceID(player.instanceID());
-        /* Clear items. */
-        int tooManyItems = amountOfItems(player, "arrow");
-        while (tooManyItems > 0) {
-            deletePlayerItem(player, "arrow");
-            tooManyItems--;
-        }
-        /* Add item only when gameSpeed updates. */
-        if (currDay % 4 == 0 && currDay > 0 && amountOfItems(player, "arrow") <= 0) {
-            addPlayerItem(player, "arrow");
-        }
+        updateItems(getReplenishment(gameSpeed, player, 0, getDayByInstanceID(player.instanceID())));
+    }
+
+    @Override
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier player, int players, int day) {
+        /* Clear items, and add an item only when gameSpeed updates. */
+        int arrows = day % 4 == 0 && day > 0 ? 1 : 0;
+        return List.of(new ItemStock(player, "arrow", arrows, ItemStock.Update.SET));
     }
 }
@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.ActionEnc;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
@@ -88,14 +89,13 @@ public class Clairvoyant extends MainRole {
 
     @Override
     public void replenishAction(int gameSpeed, PlayerIdentifier player) throws SQLException, GameException {
-        /* Clear items. */
-        int tooManyItems = amountOfItems(player, "seen");
-        while (tooManyItems > 0) {
-            deletePlayerItem(player, "seen");
-            tooManyItems--;
-        }
-        /* Add fresh "seen" item. */
-        addPlayerItem(player, "seen");
+        updateItems(getReplenishment(gameSpeed, player, 0, 0));
+    }
+
+    @Override
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier player, int players, int day) {
+        /* A single fresh "seen" item. */
+        return List.of(new ItemStock(player, "seen", 1, ItemStock.Update.SET));
     }
 
     @Override
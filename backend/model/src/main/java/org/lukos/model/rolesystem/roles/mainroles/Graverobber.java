@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -43,7 +44,12 @@ public class Graverobber extends MainRole {
 
     @Override
     public void initializeActions(PlayerIdentifier player) throws SQLException, GameException {
-        addPlayerItem(player, "grave");
+        updateItems(getInitialItems(player));
+    }
+
+    @Override
+    public List<ItemStock> getInitialItems(PlayerIdentifier player) {
+        return List.of(new ItemStock(player, "grave", 1, ItemStock.Update.ADD));
     }
 
     @Override
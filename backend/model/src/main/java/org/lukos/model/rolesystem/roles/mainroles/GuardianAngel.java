@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -92,13 +93,12 @@ public class GuardianAngel extends MainRole {
 
     @Override
     public void replenishAction(int gameSpeed, PlayerIdentifier player) throws SQLException, GameException {
-        /* Clear items. */
-        int tooManyItems = amountOfItems(player, "guard");
-        while (tooManyItems > 0) {
-            deletePlayerItem(player, "guard");
-            tooManyItems--;
-        }
-        /* Add fresh "guard" item. */
-        addPlayerItem(player, "guard");
+        updateItems(getReplenishment(gameSpeed, player, 0, 0));
+    }
+
+    @Override
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier player, int players, int day) {
+        /* A single fresh "guard" item. */
+        return List.of(new ItemStock(player, "guard", 1, ItemStock.Update.SET));
     }
 }
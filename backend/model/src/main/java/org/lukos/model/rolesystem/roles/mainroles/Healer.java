@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -54,7 +55,12 @@ public class Healer extends MainRole {
 
     @Override
     public void initializeActions(PlayerIdentifier player) throws SQLException, GameException {
-        addPlayerItem(player, "medkit");
+        updateItems(getInitialItems(player));
+    }
+
+    @Override
+    public List<ItemStock> getInitialItems(PlayerIdentifier player) {
+        return List.of(new ItemStock(player, "medkit", 1, ItemStock.Update.ADD));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -52,7 +53,12 @@ public class Medium extends MainRole {
 
     @Override
     public void initializeActions(PlayerIdentifier player) throws SQLException, GameException {
-        addPlayerItem(player, "revive");
+        updateItems(getInitialItems(player));
+    }
+
+    @Override
+    public List<ItemStock> getInitialItems(PlayerIdentifier player) {
+        return List.of(new ItemStock(player, "revive", 1, ItemStock.Update.ADD));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.lukos.model.rolesystem.roles.mainroles;
 
+import org.lukos.database.ItemStock;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.config.CharacterConfig;
 import org.lukos.model.config.GroupConfig;
@@ -82,27 +83,21 @@ public class PrivateInvestigator extends MainRole {
 
     @Override
     public void replenishAction(int gameSpeed, PlayerIdentifier player) throws GameException, SQLException {
-        /* Clear items. */
-        int tooManyItems = amountOfItems(player, "investigation");
-        while (tooManyItems > 0) {
-            deletePlayerItem(player, "investigation");
-            tooManyItems--;
-        }
-        /* Add fresh "investigation" items.
+        updateItems(getReplenishment(gameSpeed, player, getPlayers(player.instanceID()).size(), 0));
+    }
+
+    @Override
+    public List<ItemStock> getReplenishment(int gameSpeed, PlayerIdentifier player, int players, int day) {
+        /* Fresh "investigation" items.
          * if players < 20          -> 1 investigation
          * if 20 <= players < 30    -> 2 investigations
          * if 30 <= players < 40    -> 3 investigations
          * etc.
          */
-        int players = getPlayers(player.instanceID()).size();
         int investigations = players / 10;
         if (investigations == 0) {
             investigations++;
         }
-
-        while (investigations > 0) {
-            addPlayerItem(player, "investigation");
-            investigations--;
-        }
+        return List.of(new ItemStock(player, "investigation", investigations, ItemStock.Update.SET));
     }
 }
@@ -5,10 +5,14 @@ import org.lukos.model.actionsystem.ActionDT;
 import org.lukos.model.actionsystem.SuccessorType;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.Purpose;
 import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.winhandler.WinTracker;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This class is a facade used for the database classes.
@@ -131,6 +135,16 @@ abstract class DatabaseHelper {
         return ItemDB.amountOfItems(playerID, item);
     }
 
+    /**
+     * Changes the amounts of the items of the {@code Player}s as given by the {@code ItemStock}s.
+     *
+     * @param stocks the changes of the amounts of the items per {@code Player}
+     * @throws SQLException when a database operation fails
+     */
+    public static void updateItems(List<ItemStock> stocks) throws SQLException {
+        ItemDB.updateItems(stocks);
+    }
+
     /**
      * Adds a new {@code ActionDT} to the database.
      *
@@ -204,6 +218,30 @@ abstract class DatabaseHelper {
         return VoteDB.getUndecidedLynches(instanceID);
     }
 
+    /**
+     * Sets the {@code MainRole}s of the given {@code Player}s, replacing the ones they have, and updates the groups
+     * kept by the {@link WinTracker}.
+     *
+     * @param mainRoles the {@code MainRole} of every {@code Player}
+     * @throws SQLException when a database operation fails
+     */
+    public static void setMainRoles(Map<PlayerIdentifier, MainRole> mainRoles) throws SQLException {
+        RoleDB.setMainRolesPlayers(mainRoles);
+        mainRoles.forEach(WinTracker.getInstance()::mainRoleChanged);
+    }
+
+    /**
+     * Returns the {@code MainRole} followed by the {@code Job}s of every {@code Player} in the {@code Instance} with ID
+     * {@code instanceID}.
+     *
+     * @param instanceID the ID of the {@code Instance}
+     * @return the {@code MainRole} and {@code Job}s per {@code Player}
+     * @throws SQLException when a database operation fails
+     */
+    public static Map<PlayerIdentifier, List<Purpose>> getMainRolesAndJobs(int instanceID) throws SQLException {
+        return RoleDB.getMainRolesAndJobsByInstance(instanceID);
+    }
+
     /**
      * Adds a {@code Job} to a {@code Player} with the given {@code PlayerIdentifier}.
      *
@@ -0,0 +1,98 @@
+package org.lukos.model.rolesystem.util;
+
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.Purpose;
+import org.lukos.model.rolesystem.jobs.AlphaWolf;
+import org.lukos.model.rolesystem.jobs.Blacksmith;
+import org.lukos.model.rolesystem.jobs.Gatekeeper;
+import org.lukos.model.rolesystem.jobs.Mayor;
+import org.lukos.model.rolesystem.roles.doubleroles.Follower;
+import org.lukos.model.rolesystem.roles.doubleroles.Jester;
+import org.lukos.model.rolesystem.roles.doubleroles.WolfCub;
+import org.lukos.model.rolesystem.roles.mainroles.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of all {@code Purpose}s that can be stored in the database, keyed by their name (the simple name of their
+ * class). It is used to turn the stored name of a {@code Purpose} back into an object without reflection.
+ * <p>
+ * Some roles keep track of the abilities they have used, so the registry hands out a new object on every lookup
+ * instead of sharing one.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class PurposeRegistry {
+
+    private static final Map<String, Supplier<MainRole>> MAIN_ROLES = index(List.of(
+            Archer::new, Arsonist::new, Clairvoyant::new, CultLeader::new, Executioner::new, Graverobber::new,
+            GuardianAngel::new, Healer::new, Hitman::new, Judge::new, Matchmaker::new, Medium::new, Muter::new,
+            Poisoner::new, PrivateInvestigator::new, Sceptic::new, Scout::new, Scrutinizer::new, Sommelier::new,
+            Stalker::new, Townsperson::new, Werewolf::new, WerewolfCleaner::new, WerewolfElder::new,
+            WerewolfFramer::new));
+
+    // Lover cannot be restored, as it needs the players of the couple
+    private static final Map<String, Supplier<DoubleRole>> DOUBLE_ROLES =
+            index(List.of(Follower::new, Jester::new, WolfCub::new));
+
+    private static final Map<String, Supplier<Job>> JOBS =
+            index(List.of(AlphaWolf::new, Blacksmith::new, Gatekeeper::new, Mayor::new));
+
+    /**
+     * Creates the {@code MainRole} with the given name.
+     *
+     * @param name the simple name of the class of the {@code MainRole}
+     * @return a new {@code MainRole} of that class
+     * @throws IllegalArgumentException if there is no {@code MainRole} with the given name
+     */
+    public static MainRole createMainRole(String name) {
+        return create(MAIN_ROLES, name, "main role");
+    }
+
+    /**
+     * Creates the {@code DoubleRole} with the given name.
+     *
+     * @param name the simple name of the class of the {@code DoubleRole}
+     * @return a new {@code DoubleRole} of that class
+     * @throws IllegalArgumentException if there is no {@code DoubleRole} with the given name
+     */
+    public static DoubleRole createDoubleRole(String name) {
+        return create(DOUBLE_ROLES, name, "double role");
+    }
+
+    /**
+     * Creates the {@code Job} with the given name.
+     *
+     * @param name the simple name of the class of the {@code Job}
+     * @return a new {@code Job} of that class
+     * @throws IllegalArgumentException if there is no {@code Job} with the given name
+     */
+    public static Job createJob(String name) {
+        return create(JOBS, name, "job");
+    }
+
+    private static <T extends Purpose> T create(Map<String, Supplier<T>> registry, String name, String kind) {
+        Supplier<T> factory = registry.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("There is no " + kind + " called " + name + ".");
+        }
+        return factory.get();
+    }
+
+    /**
+     * Indexes the given factories by the simple name of the class of the {@code Purpose} they create.
+     */
+    private static <T extends Purpose> Map<String, Supplier<T>> index(List<Supplier<T>> factories) {
+        Map<String, Supplier<T>> registry = new HashMap<>();
+        for (Supplier<T> factory : factories) {
+            registry.put(factory.get().getClass().getSimpleName(), factory);
+        }
+        return Map.copyOf(registry);
+    }
+}
@@ -3,6 +3,7 @@ package org.lukos.model.user;
 import lombok.Getter;
 import org.lukos.database.PlayerDB;
 import org.lukos.database.UserDB;
+import org.lukos.database.UserRecord;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.instances.GameAlreadyStartedException;
 import org.lukos.model.exceptions.instances.NoSuchInstanceException;
@@ -10,6 +11,7 @@ import org.lukos.model.exceptions.user.AlreadyInGameException;
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
 import org.lukos.model.instances.IInstance;
 import org.lukos.model.instances.InstanceManager;
+import org.lukos.model.instances.LobbyDirectory;
 import org.lukos.model.user.player.Player;
 
 import java.sql.SQLException;
@@ -94,15 +96,23 @@ public class User {
     }
 
     public String getSub() throws SQLException {
-        return UserDB.findUserByID(this.uid).getString("sub");
+        return getRecord().sub();
     }
 
     public String getIssuer() throws SQLException {
-        return UserDB.findUserByID(this.uid).getString("issuer");
+        return getRecord().issuer();
     }
 
     public String getUsername() throws SQLException {
-        return UserDB.findUserByID(this.uid).getString("username");
+        return getRecord().username();
+    }
+
+    private UserRecord getRecord() throws SQLException {
+        UserRecord record = UserDB.getUserRecord(this.uid);
+        if (record == null) {
+            throw new SQLException("The ID is invalid!");
+        }
+        return record;
     }
 
     public void setUsername(String username) throws SQLException {
@@ -116,6 +126,7 @@ public class User {
     private void setPlayer(Player player) throws SQLException {
         //UserDB.setPlayerByID(this.uid, player);
         PlayerDB.addNewPlayer(player.getPlayerIdentifier());
+        LobbyDirectory.getInstance().changed(player.getPlayerIdentifier().instanceID());
     }
 
     /**
@@ -33,15 +33,15 @@ public class Player {
         this(new PlayerIdentifier(gameId, userId));
     }
 
-    public MainRole getMainRole() throws SQLException, ReflectiveOperationException, GameException {
+    public MainRole getMainRole() throws SQLException, GameException {
         return getMainRolePlayerByID(this.playerIdentifier);
     }
 
-    public void setMainRole(MainRole mainRole) throws SQLException, ReflectiveOperationException {
+    public void setMainRole(MainRole mainRole) throws SQLException {
         setMainRolePlayerByID(this.playerIdentifier, mainRole);
     }
 
-    public ArrayList<DoubleRole> getDoubleRoles() throws SQLException, ReflectiveOperationException {
+    public ArrayList<DoubleRole> getDoubleRoles() throws SQLException {
         return getDoubleRolesPlayerByID(this.playerIdentifier);
     }
 
@@ -57,11 +57,11 @@ public class Player {
         return removeJobPlayerByID(this.playerIdentifier, job);
     }
 
-    public ArrayList<Job> getJobs() throws SQLException, ReflectiveOperationException {
+    public ArrayList<Job> getJobs() throws SQLException {
         return getJobsPlayerByID(this.getPlayerIdentifier());
     }
 
-    public ArrayList<Purpose> getPurposes() throws ReflectiveOperationException, SQLException, GameException {
+    public ArrayList<Purpose> getPurposes() throws SQLException, GameException {
         ArrayList<Purpose> purposes = new ArrayList<>();
         purposes.add(getMainRole());
         purposes.addAll(getDoubleRoles());
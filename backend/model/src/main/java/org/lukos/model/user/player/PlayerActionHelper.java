@@ -4,6 +4,7 @@ import org.lukos.model.actionsystem.ActionEnc;
 import org.lukos.model.actionsystem.PreActionDT;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.instances.InstanceExecutor;
 import org.lukos.model.rolesystem.Action;
 import org.lukos.model.rolesystem.Purpose;
 import org.lukos.model.user.PlayerIdentifier;
@@ -24,7 +25,8 @@ class PlayerActionHelper {
     }
 
     /**
-     * Method used by the {@code Player} to perform its {@code Action}.
+     * Method used by the {@code Player} to perform its {@code Action}. The action is performed in the {@link
+     * InstanceExecutor} of the instance of the {@code Player}.
      *
      * @param playerID the {@code PlayerIdentifier} of the {@code Player}
      * @param data     the {@code ActionEnc} of the {@code Action}
@@ -36,6 +38,13 @@ class PlayerActionHelper {
      */
     static void performAction(PlayerIdentifier playerID, ActionEnc data, Action action, List<Purpose> purposes)
             throws GameException, SQLException, ReflectiveOperationException {
+        InstanceExecutor.getInstanceExecutor()
+                .run(playerID.instanceID(), () -> performActionOfPurpose(playerID, data, action, purposes));
+    }
+
+    private static void performActionOfPurpose(PlayerIdentifier playerID, ActionEnc data, Action action,
+                                               List<Purpose> purposes)
+            throws GameException, SQLException, ReflectiveOperationException {
         boolean performedAction = false;
         for (Purpose purpose : purposes) {
             if (purpose.getActions().contains(action)) {
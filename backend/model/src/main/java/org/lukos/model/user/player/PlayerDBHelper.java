@@ -12,6 +12,7 @@ import org.lukos.model.rolesystem.DoubleRole;
 import org.lukos.model.rolesystem.Job;
 import org.lukos.model.rolesystem.MainRole;
 import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.winhandler.WinTracker;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -36,12 +37,10 @@ class PlayerDBHelper {
      *
      * @param playerID the ID of the {@code Player}
      * @return the {@code MainRole} of the {@code Player}
-     * @throws NoSuchRoleException          when the {@code MainRole} does not exist
-     * @throws ReflectiveOperationException when a reflective operation fails
-     * @throws SQLException                 when a database operation fails
+     * @throws NoSuchRoleException when the {@code MainRole} does not exist
+     * @throws SQLException        when a database operation fails
      */
-    static MainRole getMainRolePlayerByID(PlayerIdentifier playerID)
-            throws NoSuchRoleException, ReflectiveOperationException, SQLException {
+    static MainRole getMainRolePlayerByID(PlayerIdentifier playerID) throws NoSuchRoleException, SQLException {
         return RoleDB.getMainRolePlayerByID(playerID);
     }
 
@@ -50,12 +49,11 @@ class PlayerDBHelper {
      *
      * @param playerID the ID of the {@code Player}
      * @param mainRole the new {@code MainRole} of the {@code Player}
-     * @throws ReflectiveOperationException when a reflective operation fails
-     * @throws SQLException                 when a database operation fails
+     * @throws SQLException when a database operation fails
      */
-    static void setMainRolePlayerByID(PlayerIdentifier playerID, MainRole mainRole)
-            throws ReflectiveOperationException, SQLException {
+    static void setMainRolePlayerByID(PlayerIdentifier playerID, MainRole mainRole) throws SQLException {
         RoleDB.setMainRolePlayerByID(playerID, mainRole);
+        WinTracker.getInstance().mainRoleChanged(playerID, mainRole);
     }
 
     /**
@@ -63,11 +61,9 @@ class PlayerDBHelper {
      *
      * @param playerID the ID of the {@code Player}
      * @return the {@code DoubleRole}s of the {@code Player}
-     * @throws ReflectiveOperationException when a reflective operation fails
-     * @throws SQLException                 when a database operation fails
+     * @throws SQLException when a database operation fails
      */
-    static ArrayList<DoubleRole> getDoubleRolesPlayerByID(PlayerIdentifier playerID)
-            throws ReflectiveOperationException, SQLException {
+    static ArrayList<DoubleRole> getDoubleRolesPlayerByID(PlayerIdentifier playerID) throws SQLException {
         return RoleDB.getDoubleRolesPlayerByID(playerID);
     }
 
@@ -80,6 +76,7 @@ class PlayerDBHelper {
      */
     static void addDoubleRolePlayerByID(PlayerIdentifier playerID, DoubleRole doubleRole) throws SQLException {
         RoleDB.addDoubleRolePlayerByID(playerID, doubleRole);
+        WinTracker.getInstance().doubleRoleAdded(playerID, doubleRole);
     }
 
     /**
@@ -110,11 +107,9 @@ class PlayerDBHelper {
      *
      * @param playerID the ID of the {@code Player}
      * @return the {@code Job}s of the {@code Player}
-     * @throws ReflectiveOperationException when a reflective operation fails
-     * @throws SQLException                 when a database operation fails
+     * @throws SQLException when a database operation fails
      */
-    static ArrayList<Job> getJobsPlayerByID(PlayerIdentifier playerID)
-            throws ReflectiveOperationException, SQLException {
+    static ArrayList<Job> getJobsPlayerByID(PlayerIdentifier playerID) throws SQLException {
         return RoleDB.getJobsPlayerByID(playerID);
     }
 
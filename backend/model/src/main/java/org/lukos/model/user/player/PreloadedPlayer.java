@@ -0,0 +1,54 @@
+package org.lukos.model.user.player;
+
+import org.lukos.database.PlayerSnapshot;
+import org.lukos.model.exceptions.user.NoSuchRoleException;
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+
+import java.util.ArrayList;
+
+/**
+ * A {@code Player} of which the roles and status have been read beforehand, using a {@link PlayerSnapshot}. This
+ * allows checks over all players of an instance, such as the win conditions, without a query per player.
+ * <p>
+ * The preloaded values are not updated when the player changes, so a {@code PreloadedPlayer} should only be used for
+ * reading.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class PreloadedPlayer extends Player {
+
+    private final PlayerSnapshot snapshot;
+
+    /**
+     * Constructs a {@code PreloadedPlayer} from the snapshot of a player.
+     *
+     * @param snapshot the snapshot of the player
+     */
+    public PreloadedPlayer(PlayerSnapshot snapshot) {
+        super(snapshot.playerIdentifier());
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public MainRole getMainRole() throws NoSuchRoleException {
+        return snapshot.getMainRole();
+    }
+
+    @Override
+    public ArrayList<DoubleRole> getDoubleRoles() {
+        return new ArrayList<>(snapshot.doubleRoles());
+    }
+
+    @Override
+    public ArrayList<Job> getJobs() {
+        return new ArrayList<>(snapshot.jobs());
+    }
+
+    @Override
+    public boolean alive() {
+        return snapshot.alive();
+    }
+}
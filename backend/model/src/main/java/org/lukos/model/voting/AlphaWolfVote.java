@@ -3,6 +3,7 @@ package org.lukos.model.voting;
 import org.lukos.database.VoteDB;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.voting.NotAllowedToJoinVoteException;
+import org.lukos.model.instances.InstanceExecutor;
 import org.lukos.model.rolesystem.Group;
 import org.lukos.model.user.PlayerIdentifier;
 import org.lukos.model.user.player.Player;
@@ -63,8 +64,11 @@ public class AlphaWolfVote extends Vote {
     @Override
     public void submitVote(PlayerIdentifier playerIdentifier, Ballot ballot)
             throws SQLException, GameException, ReflectiveOperationException {
-        super.submitVote(playerIdentifier, ballot);
+        // Checking the ballots is part of the same command, such that no ballot is submitted in between
+        InstanceExecutor.getInstanceExecutor().run(playerIdentifier.instanceID(), () -> {
+            super.submitVote(playerIdentifier, ballot);
 
-        BallotCheckerHelper.ballotChecker(getVid());
+            BallotCheckerHelper.ballotChecker(getVid());
+        });
     }
 }
@@ -1,13 +1,9 @@
 package org.lukos.model.voting;
 
-import org.lukos.database.VoteDB;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.instances.InstanceManager;
-import org.lukos.model.user.PlayerIdentifier;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * This class helps the {@code AlphaWolfVote} to check for a unanimous vote.
@@ -33,14 +29,10 @@ public class BallotCheckerHelper {
      * @throws ReflectiveOperationException when a reflective operation fails
      */
     public static void ballotChecker(int vid) throws SQLException, GameException, ReflectiveOperationException {
-        ResultSet submittedVotes = VoteDB.getAllBallotsOfVote(vid);
-        int votes = 0;
-        while (submittedVotes.next()) {
-            votes++;
-        }
-        List<PlayerIdentifier> allowedPlayers = VoteDB.getAllowedPlayers(vid);
-        if (votes == allowedPlayers.size()) {
-            InstanceManager.getInstanceManager().getInstance(allowedPlayers.get(0).instanceID())
+        // Read the ballots from the database, as they may have been cast through other nodes
+        VoteTracker.Tally tally = VoteTracker.getInstance().refresh(vid);
+        if (tally.isComplete()) {
+            InstanceManager.getInstanceManager().getInstance(tally.getAllowed().get(0).instanceID())
                     .endVote(VoteType.ALPHA_WOLF);
         }
     }
@@ -1,13 +1,14 @@
 package org.lukos.model.voting;
 
 import org.lukos.database.VoteDB;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
 import org.lukos.model.exceptions.GameException;
+import org.lukos.model.exceptions.voting.AlreadyVotedException;
+import org.lukos.model.instances.InstanceExecutor;
 import org.lukos.model.user.PlayerIdentifier;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -58,7 +59,18 @@ public abstract class Vote {
      * @throws SQLException when an exception occurs in a database operation
      */
     public List<PlayerIdentifier> getAllowed() throws SQLException {
-        return VoteDB.getAllowedPlayers(this.getVid());
+        return VoteTracker.getInstance().getTally(this.vid).getAllowed();
+    }
+
+    /**
+     * Returns whether a {@code Player} is allowed to take part in this vote.
+     *
+     * @param player the {@code Player} to check
+     * @return whether the {@code Player} is allowed to vote
+     * @throws SQLException when an exception occurs in a database operation
+     */
+    public boolean isAllowed(PlayerIdentifier player) throws SQLException {
+        return VoteTracker.getInstance().getTally(this.vid).isAllowed(player);
     }
 
     /**
@@ -68,18 +80,17 @@ public abstract class Vote {
      * @throws SQLException when an exception occurs in a database operation
      */
     public List<Ballot> getBallots() throws SQLException {
-        ResultSet result = VoteDB.getAllBallotsOfVote(this.vid);
-        List<Ballot> ballots = new ArrayList<>();
-        while (result.next()) {
-            int instanceID = result.getInt("instanceID");
-            int userID = result.getInt("userID");
-            int targetID = result.getInt("targetID");
-
-            PlayerIdentifier player = new PlayerIdentifier(instanceID, userID);
-            PlayerIdentifier target = new PlayerIdentifier(instanceID, targetID);
-            ballots.add(new Ballot(player, target));
-        }
-        return ballots;
+        return VoteTracker.getInstance().getTally(this.vid).getBallots();
+    }
+
+    /**
+     * Returns the number of {@code Ballot}s that have been cast on every player that has been voted on so far.
+     *
+     * @return A {@code Map} with the number of votes per player
+     * @throws SQLException when an exception occurs in a database operation
+     */
+    public Map<PlayerIdentifier, Integer> getTally() throws SQLException {
+        return VoteTracker.getInstance().getTally(this.vid).getCounts();
     }
 
     /**
@@ -89,23 +100,32 @@ public abstract class Vote {
      */
     public void start() throws SQLException {
         VoteDB.modifyStarted(this.getVid(), true);
+        VoteTracker.getInstance().started(this.vid);
     }
 
     /**
-     * This method will end the vote and release its result in an array that will be given.
+     * This method will end the vote and release its result in an array that will be given. This is only done as part
+     * of a phase change, which runs in the {@link InstanceExecutor} of the instance, so it cannot overlap with a
+     * ballot being submitted through this node. The result is read from the database, such that it includes the
+     * ballots that have been cast through other nodes.
      *
      * @return A {@code Map} with the result of the vote
      * @throws SQLException when an exception occurs in a database operation
      */
-    public synchronized Map<PlayerIdentifier, Integer> end() throws SQLException {
+    public Map<PlayerIdentifier, Integer> end() throws SQLException {
+        // Ending the vote first locks it, such that no more ballots can be added once they have been read
         VoteDB.modifyEnded(this.vid, true);
-        Map<PlayerIdentifier, Integer> votes = new HashMap<>();
-        this.getBallots().forEach(ballot -> votes.put(ballot.target(), votes.getOrDefault(ballot.target(), 0) + 1));
+        VoteTracker.Tally tally = VoteTracker.getInstance().refresh(this.vid);
+        VoteTracker.getInstance().evict(this.vid);
+
+        Map<PlayerIdentifier, Integer> votes = tally.getCounts();
         return votes.size() > 0 ? votes : null;
     }
 
     /**
-     * This function will be used for a {@code Player} to submit its vote. The player should be allowed to vote.
+     * This function will be used for a {@code Player} to submit its vote. The player should be allowed to vote. The
+     * ballot is submitted in the {@link InstanceExecutor} of the instance, such that ballots of the same instance are
+     * checked and stored one at a time.
      *
      * @param playerIdentifier The player who has submitted the vote.
      * @param ballot           The voting ballot of the player.
@@ -113,23 +133,39 @@ public abstract class Vote {
      * @throws SQLException                 when an exception occurs in a database operation
      * @throws ReflectiveOperationException when a reflective operation fails
      */
-    public synchronized void submitVote(PlayerIdentifier playerIdentifier, Ballot ballot)
+    public void submitVote(PlayerIdentifier playerIdentifier, Ballot ballot)
             throws GameException, SQLException, ReflectiveOperationException {
-        ResultSet result = VoteDB.findVoteByID(this.vid);
-        boolean started;
-        boolean ended;
-
-        if (result.next()) {
-            started = result.getBoolean("started");
-            ended = result.getBoolean("ended");
-        } else {
-            throw new SQLException("That ID is invalid!");
+        InstanceExecutor.getInstanceExecutor().run(playerIdentifier.instanceID(),
+                () -> performSubmitVote(playerIdentifier, ballot));
+    }
+
+    private void performSubmitVote(PlayerIdentifier playerIdentifier, Ballot ballot)
+            throws GameException, SQLException {
+        VoteTracker.Tally tally = VoteTracker.getInstance().getTally(this.vid);
+        if (!tally.isStarted()) {
+            // The vote may have been started through another node
+            tally = VoteTracker.getInstance().refresh(this.vid);
+        }
+        checkPermission(tally, playerIdentifier, ballot);
+
+        if (!VoteDB.addBallotIfOpen(playerIdentifier.userID(), playerIdentifier.instanceID(), this.vid,
+                ballot.target().userID())) {
+            // The vote has been ended, or the player has voted, through another node
+            checkPermission(VoteTracker.getInstance().refresh(this.vid), playerIdentifier, ballot);
+            throw new AlreadyVotedException("Player has already voted.");
         }
+        VoteTracker.getInstance().cast(tally, ballot);
 
-        VotePermissionChecker.submitVotePermission(getAllowed(), getBallots(), playerIdentifier, ballot, started,
-                ended);
+        // Ballots can only be seen by the players that are allowed to vote
+        GameStateEvent.getGameStateEvent().notify(
+                GameStateDelta.ballotCast(playerIdentifier.instanceID(), playerIdentifier.userID(), this.vid,
+                        ballot.target().userID()), tally.getAllowed().stream().map(PlayerIdentifier::userID).toList());
+    }
 
-        VoteDB.addBallot(playerIdentifier.userID(), playerIdentifier.instanceID(), this.vid, ballot.target().userID());
+    private static void checkPermission(VoteTracker.Tally tally, PlayerIdentifier playerIdentifier, Ballot ballot)
+            throws GameException {
+        VotePermissionChecker.submitVotePermission(tally.isAllowed(playerIdentifier), tally.isAllowed(ballot.target()),
+                tally.hasVoted(playerIdentifier), playerIdentifier, ballot, tally.isStarted(), tally.isEnded());
     }
 
     /**
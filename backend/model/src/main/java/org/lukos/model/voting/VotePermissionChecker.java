@@ -33,10 +33,30 @@ public class VotePermissionChecker {
     public static void submitVotePermission(List<PlayerIdentifier> allowed, List<Ballot> ballots,
                                             PlayerIdentifier playerIdentifier, Ballot ballot, boolean started,
                                             boolean ended) throws VotingException {
-        if (!allowed.contains(playerIdentifier)) {
+        submitVotePermission(allowed.contains(playerIdentifier), allowed.contains(ballot.target()),
+                alreadyVoted(ballots, playerIdentifier), playerIdentifier, ballot, started, ended);
+    }
+
+    /**
+     * Returns whether the submitting of the vote is done with the right permission, for when it is already known who
+     * are allowed to vote and who have voted.
+     *
+     * @param voterAllowed     whether the player submitting the ballot is allowed to vote
+     * @param targetAllowed    whether the target of the ballot can be voted on
+     * @param alreadyVoted     whether the player submitting the ballot has already voted
+     * @param playerIdentifier the {@link PlayerIdentifier} of the player submitting the ballot
+     * @param ballot           the {@link Ballot} that is submitted to the vote
+     * @param started          boolean whether the vote has started
+     * @param ended            boolean whether the vote has ended
+     * @throws VotingException when the ballot is not allowed to be submitted
+     */
+    public static void submitVotePermission(boolean voterAllowed, boolean targetAllowed, boolean alreadyVoted,
+                                            PlayerIdentifier playerIdentifier, Ballot ballot, boolean started,
+                                            boolean ended) throws VotingException {
+        if (!voterAllowed) {
             throw new NotAllowedToVoteException("Player is not allowed to vote.");
         }
-        if (!allowed.contains(ballot.target())) {
+        if (!targetAllowed) {
             throw new NotAllowedTargetException("Target can not be voted on.");
         }
         if (!started) {
@@ -48,7 +68,7 @@ public class VotePermissionChecker {
         if (!ballot.player().equals(playerIdentifier)) {
             throw new VoterFraudException("Ballot is not from player submitting the vote");
         }
-        if (alreadyVoted(ballots, playerIdentifier)) {
+        if (alreadyVoted) {
             throw new AlreadyVotedException("Player has already voted.");
         }
     }
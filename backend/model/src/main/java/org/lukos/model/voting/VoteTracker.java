@@ -0,0 +1,245 @@
+package org.lukos.model.voting;
+
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.VoteDB;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the players that are allowed to take part in every {@link Vote}, of the ballots that have been cast
+ * and of the number of ballots per target, such that submitting a ballot and tallying a vote do not require reading
+ * the vote from the database.
+ * <p>
+ * The state of a vote is read from the database at once when it is first needed, after which it is updated as the vote
+ * is started, ballots are cast and the vote is ended. Ballots are still stored in the database as they are cast. As the
+ * updates are made along with the work of the ongoing transaction, the state of a vote is discarded when that
+ * transaction is rolled back, and read again when it is next needed. The same happens once the vote has ended.
+ * <p>
+ * Nodes sharing a database each keep their own state, which does not include the ballots cast through other nodes.
+ * The database therefore stays the source of truth: a ballot is only stored if the vote is open and the player has
+ * not voted yet (see {@link VoteDB#addBallotIfOpen(int, int, int, int)}), a ballot that seems not allowed is checked
+ * again against a {@link #refresh(int) refreshed} state before it is refused, and the result of a vote is taken from
+ * the ballots in the database.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class VoteTracker {
+
+    private final Map<Integer, Tally> tallies = new ConcurrentHashMap<>();
+
+    // Private constructor to ensure Singleton design.
+    private VoteTracker() {
+    }
+
+    /**
+     * Get the instance of {@code VoteTracker}, as there exist only 1.
+     *
+     * @return The instance of {@code VoteTracker}
+     */
+    public static VoteTracker getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the state of a vote, reading it from the database if it is not known.
+     *
+     * @param voteID the ID of the vote
+     * @return the state of the vote
+     * @throws SQLException when reading the vote fails
+     */
+    Tally getTally(int voteID) throws SQLException {
+        Tally tally = tallies.get(voteID);
+        if (tally != null) {
+            return tally;
+        }
+
+        tally = load(voteID, false);
+        Tally existing = tallies.putIfAbsent(voteID, tally);
+        DatabaseConnection.getInstance().afterRollback(() -> evict(voteID));
+        return existing != null ? existing : tally;
+    }
+
+    /**
+     * Returns the state of a vote as it is stored in the database, replacing the state that is known. The ballots are
+     * read with a lock, so within a transaction they include the ballots that have been committed through other
+     * nodes since the transaction started.
+     *
+     * @param voteID the ID of the vote
+     * @return the state of the vote
+     * @throws SQLException when reading the vote fails
+     */
+    Tally refresh(int voteID) throws SQLException {
+        Tally tally = load(voteID, true);
+        tallies.put(voteID, tally);
+        DatabaseConnection.getInstance().afterRollback(() -> evict(voteID));
+        return tally;
+    }
+
+    /**
+     * Marks a vote as started, if its state is known.
+     *
+     * @param voteID the ID of the vote
+     */
+    void started(int voteID) {
+        Tally tally = tallies.get(voteID);
+        if (tally != null) {
+            tally.start();
+            DatabaseConnection.getInstance().afterRollback(() -> evict(voteID));
+        }
+    }
+
+    /**
+     * Adds a ballot to a vote, after it has been stored in the database.
+     *
+     * @param tally  the state of the vote
+     * @param ballot the ballot that has been cast
+     */
+    void cast(Tally tally, Ballot ballot) {
+        tally.cast(ballot.player(), ballot.target());
+        DatabaseConnection.getInstance().afterRollback(() -> evict(tally.voteID));
+    }
+
+    /**
+     * Discards the state of a vote, such as when it has ended or has been removed.
+     *
+     * @param voteID the ID of the vote
+     */
+    public void evict(int voteID) {
+        tallies.remove(voteID);
+    }
+
+    /**
+     * Discards the state of all votes of an instance, such as when the game has ended.
+     *
+     * @param instanceID the ID of the instance
+     */
+    public void evictInstance(int instanceID) {
+        tallies.values().removeIf(tally -> tally.instanceID == instanceID);
+    }
+
+    private static Tally load(int voteID, boolean lock) throws SQLException {
+        ResultSet vote = VoteDB.findVoteByID(voteID);
+        if (!vote.next()) {
+            throw new SQLException("That ID is invalid!");
+        }
+        int instanceID = vote.getInt("instanceID");
+        Tally tally = new Tally(voteID, instanceID, VoteDB.getAllowedPlayers(voteID), vote.getBoolean("started"),
+                vote.getBoolean("ended"));
+
+        ResultSet ballots = VoteDB.getAllBallotsOfVote(voteID, lock);
+        while (ballots.next()) {
+            int ballotInstanceID = ballots.getInt("instanceID");
+            tally.cast(new PlayerIdentifier(ballotInstanceID, ballots.getInt("userID")),
+                    new PlayerIdentifier(ballotInstanceID, ballots.getInt("targetID")));
+        }
+        return tally;
+    }
+
+    /**
+     * Packs a player into a single {@code long}, such that players can be kept in primitive arrays and compared
+     * without creating objects.
+     */
+    private static long key(PlayerIdentifier player) {
+        return ((long) player.instanceID() << Integer.SIZE) | Integer.toUnsignedLong(player.userID());
+    }
+
+    private static PlayerIdentifier player(long key) {
+        return new PlayerIdentifier((int) (key >>> Integer.SIZE), (int) key);
+    }
+
+    /**
+     * The state of a single vote: the players that are allowed to take part, the ballots that have been cast, and the
+     * number of ballots per target. Players are kept as packed keys.
+     */
+    static final class Tally {
+        private final int voteID;
+        private final int instanceID;
+        /** The sorted keys of the players that are allowed to vote and to be voted on. */
+        private final long[] allowed;
+        /** The target of every voter, in the order in which the ballots have been cast. */
+        private final Map<Long, Long> ballots = new LinkedHashMap<>();
+        private final Map<Long, Integer> counts = new HashMap<>();
+        private boolean started;
+        private boolean ended;
+
+        private Tally(int voteID, int instanceID, List<PlayerIdentifier> allowed, boolean started, boolean ended) {
+            this.voteID = voteID;
+            this.instanceID = instanceID;
+            this.allowed = allowed.stream().mapToLong(VoteTracker::key).sorted().distinct().toArray();
+            this.started = started;
+            this.ended = ended;
+        }
+
+        synchronized boolean isAllowed(PlayerIdentifier player) {
+            return Arrays.binarySearch(allowed, key(player)) >= 0;
+        }
+
+        synchronized boolean hasVoted(PlayerIdentifier player) {
+            return ballots.containsKey(key(player));
+        }
+
+        synchronized boolean isStarted() {
+            return started;
+        }
+
+        synchronized boolean isEnded() {
+            return ended;
+        }
+
+        /**
+         * Returns whether every player that is allowed to vote has cast a ballot.
+         */
+        synchronized boolean isComplete() {
+            return ballots.size() >= allowed.length;
+        }
+
+        synchronized List<PlayerIdentifier> getAllowed() {
+            List<PlayerIdentifier> players = new ArrayList<>(allowed.length);
+            for (long player : allowed) {
+                players.add(player(player));
+            }
+            return players;
+        }
+
+        synchronized List<Ballot> getBallots() {
+            List<Ballot> cast = new ArrayList<>(ballots.size());
+            ballots.forEach((voter, target) -> cast.add(new Ballot(player(voter), player(target))));
+            return cast;
+        }
+
+        /**
+         * Returns the number of ballots per target that has been voted on.
+         */
+        synchronized Map<PlayerIdentifier, Integer> getCounts() {
+            Map<PlayerIdentifier, Integer> result = new HashMap<>();
+            counts.forEach((target, count) -> result.put(player(target), count));
+            return result;
+        }
+
+        private synchronized void start() {
+            started = true;
+        }
+
+        private synchronized void cast(PlayerIdentifier voter, PlayerIdentifier target) {
+            Long previous = ballots.put(key(voter), key(target));
+            if (previous != null) {
+                counts.computeIfPresent(previous, (key, count) -> count == 1 ? null : count - 1);
+            }
+            counts.merge(key(target), 1, Integer::sum);
+        }
+    }
+
+    private static class SingletonHelper {
+        private static final VoteTracker uniqueInstance = new VoteTracker();
+    }
+}
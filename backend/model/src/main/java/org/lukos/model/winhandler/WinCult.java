@@ -6,6 +6,7 @@ import org.lukos.model.user.player.Player;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of {@link WinHandler} which checks whether the {@link Group} {@code CULT} won.
@@ -33,4 +34,9 @@ public class WinCult extends WinHandler {
     public Group checkWin(List<Player> alivePlayers) throws ReflectiveOperationException, SQLException, GameException {
         return super.checkWin(alivePlayers); // added to avoid errors!
     }
+
+    @Override
+    public Group checkWin(Set<Group> groups) {
+        return super.checkWin(groups);
+    }
 }
@@ -73,6 +73,19 @@ public abstract class WinHandler {
         return this.next == null ? null : next.checkWin(alivePlayers);
     }
 
+    /**
+     * Returns a {@link Group} if there is a group that has won given the {@code Group}s of the players that are still
+     * alive, or {@code null} if no group won. If the current {@code WinHandler} would result in {@code null} but there
+     * is a next {@code WinHandler} then the request will be passed along the chain. This is the counterpart of {@link
+     * #checkWin(List)} for when the {@code Group}s are already known, such as those kept by the {@link WinTracker}.
+     *
+     * @param groups The {@code Group}s of the players that are still alive, without {@code NONWINNING}.
+     * @return The {@code Group} that won, or else {@code null}.
+     */
+    public Group checkWin(Set<Group> groups) {
+        return this.next == null ? null : next.checkWin(groups);
+    }
+
     /**
      * Returns a {@code Set} of {@code Group}s that the {@code alivePlayers} have.
      *
@@ -36,4 +36,9 @@ public class WinTownspeople extends WinHandler {
         return groups.stream().allMatch(group -> group == Group.TOWNSPEOPLE) ? Group.TOWNSPEOPLE :
                super.checkWin(alivePlayers);
     }
+
+    @Override
+    public Group checkWin(Set<Group> groups) {
+        return groups.stream().allMatch(group -> group == Group.TOWNSPEOPLE) ? Group.TOWNSPEOPLE : super.checkWin(groups);
+    }
 }
@@ -0,0 +1,235 @@
+package org.lukos.model.winhandler;
+
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.PlayerSnapshot;
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Group;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link Group}s of the players of every instance, and of how many of the players that are still
+ * alive belong to each {@code Group}, such that checking whether a group has won does not require reading the roles
+ * of all players from the database.
+ * <p>
+ * The groups of an instance are read from the database at once when they are first needed, after which they are
+ * updated as players are killed or revived, and as their main role changes or double roles are added. As the updates are made
+ * along with the work of the ongoing transaction, the groups of an instance are discarded when that transaction is
+ * rolled back, and read again on the next check. The same happens when an update concerns a player that is not known,
+ * and when the game ends.
+ * <p>
+ * When other servers use the same database, players are killed and revived through other servers without notifying
+ * this server. The groups of an instance are then only kept for the duration of the transaction that read them.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class WinTracker {
+
+    private final Map<Integer, Tally> tallies = new ConcurrentHashMap<>();
+
+    // Private constructor to ensure Singleton design.
+    private WinTracker() {
+    }
+
+    /**
+     * Get the instance of {@code WinTracker}, as there exist only 1.
+     *
+     * @return The instance of {@code WinTracker}
+     */
+    public static WinTracker getInstance() {
+        return SingletonHelper.uniqueInstance;
+    }
+
+    /**
+     * Returns the {@link Group} that has won in an instance according to the {@code handler}, or {@code null} if no
+     * group won.
+     *
+     * @param instanceID the ID of the instance
+     * @param handler    the chain of {@code WinHandler}s to check the groups with
+     * @return The {@code Group} that won, or else {@code null}.
+     * @throws SQLException when reading the groups of the instance fails
+     */
+    public Group checkWin(int instanceID, WinHandler handler) throws SQLException {
+        return handler.checkWin(getAliveGroups(instanceID));
+    }
+
+    /**
+     * Returns the {@link Group}s of the players of an instance that are still alive, without {@code NONWINNING}.
+     *
+     * @param instanceID the ID of the instance
+     * @return the {@code Group}s of the players that are alive
+     * @throws SQLException when reading the groups of the instance fails
+     */
+    public Set<Group> getAliveGroups(int instanceID) throws SQLException {
+        Tally tally = tallies.get(instanceID);
+        if (tally == null) {
+            tally = new Tally(PlayerDB.getPlayerSnapshots(instanceID));
+            DatabaseConnection connection = DatabaseConnection.getInstance();
+            if (connection.isShared()) {
+                if (!connection.isInTransaction()) {
+                    return tally.aliveGroups();
+                }
+                connection.afterCommit(() -> evict(instanceID));
+            }
+            tallies.put(instanceID, tally);
+            connection.afterRollback(() -> evict(instanceID));
+        }
+        return tally.aliveGroups();
+    }
+
+    /**
+     * Marks a player as killed.
+     *
+     * @param player the player that has been killed
+     */
+    public void killed(PlayerIdentifier player) {
+        update(player, member -> member.alive = false);
+    }
+
+    /**
+     * Marks players as alive, such as when they are revived.
+     *
+     * @param players the players that are alive
+     */
+    public void revived(Collection<PlayerIdentifier> players) {
+        for (PlayerIdentifier player : players) {
+            update(player, member -> member.alive = true);
+        }
+    }
+
+    /**
+     * Changes the main role of a player.
+     *
+     * @param player   the player
+     * @param mainRole the new main role of the player
+     */
+    public void mainRoleChanged(PlayerIdentifier player, MainRole mainRole) {
+        update(player, member -> member.mainGroup = mainRole.getGroup());
+    }
+
+    /**
+     * Adds a double role to a player.
+     *
+     * @param player     the player
+     * @param doubleRole the double role that has been added
+     */
+    public void doubleRoleAdded(PlayerIdentifier player, DoubleRole doubleRole) {
+        update(player, member -> member.doubleGroups.merge(doubleRole.getGroup(), 1, Integer::sum));
+    }
+
+    /**
+     * Discards the groups of an instance, such as when the game has ended.
+     *
+     * @param instanceID the ID of the instance
+     */
+    public void evict(int instanceID) {
+        tallies.remove(instanceID);
+    }
+
+    /**
+     * Applies a change to a player of an instance of which the groups are known. The groups of the instance are
+     * discarded when the player is not known, or when the ongoing transaction is rolled back.
+     *
+     * @param player the player to change
+     * @param change the change to apply
+     */
+    private void update(PlayerIdentifier player, Change change) {
+        int instanceID = player.instanceID();
+        Tally tally = tallies.get(instanceID);
+        if (tally == null) {
+            return;
+        }
+        if (!tally.update(player.userID(), change)) {
+            evict(instanceID);
+            return;
+        }
+        DatabaseConnection.getInstance().afterRollback(() -> evict(instanceID));
+    }
+
+    /** A change to the state of a {@link Member}. */
+    private interface Change {
+        void apply(Member member);
+    }
+
+    /** The state of a player that determines to which {@link Group}s they belong. */
+    private static final class Member {
+        private boolean alive;
+        private Group mainGroup;
+        /** The number of double roles of the player per {@code Group}. */
+        private final Map<Group, Integer> doubleGroups = new EnumMap<>(Group.class);
+
+        private Set<Group> groups() {
+            Set<Group> groups = EnumSet.noneOf(Group.class);
+            groups.addAll(doubleGroups.keySet());
+            if (mainGroup != null) {
+                groups.add(mainGroup);
+            }
+            groups.remove(Group.NONWINNING);
+            return groups;
+        }
+    }
+
+    /** The players of an instance, and the number of players that are alive per {@link Group}. */
+    private static final class Tally {
+        private final Map<Integer, Member> members = new HashMap<>();
+        private final Map<Group, Integer> alive = new EnumMap<>(Group.class);
+
+        private Tally(Collection<PlayerSnapshot> players) {
+            for (PlayerSnapshot player : players) {
+                Member member = new Member();
+                member.alive = player.alive();
+                member.mainGroup = player.mainRole() == null ? null : player.mainRole().getGroup();
+                for (DoubleRole doubleRole : player.doubleRoles()) {
+                    member.doubleGroups.merge(doubleRole.getGroup(), 1, Integer::sum);
+                }
+                members.put(player.playerIdentifier().userID(), member);
+                count(member, 1);
+            }
+        }
+
+        private synchronized Set<Group> aliveGroups() {
+            return alive.isEmpty() ? EnumSet.noneOf(Group.class) : EnumSet.copyOf(alive.keySet());
+        }
+
+        /**
+         * Applies a change to a player, returning whether the player is known.
+         */
+        private synchronized boolean update(int userID, Change change) {
+            Member member = members.get(userID);
+            if (member == null) {
+                return false;
+            }
+            count(member, -1);
+            change.apply(member);
+            count(member, 1);
+            return true;
+        }
+
+        private void count(Member member, int delta) {
+            if (!member.alive) {
+                return;
+            }
+            for (Group group : member.groups()) {
+                alive.compute(group, (key, count) -> {
+                    int updated = (count == null ? 0 : count) + delta;
+                    return updated == 0 ? null : updated;
+                });
+            }
+        }
+    }
+
+    private static class SingletonHelper {
+        private static final WinTracker uniqueInstance = new WinTracker();
+    }
+}
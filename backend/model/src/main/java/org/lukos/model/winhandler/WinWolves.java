@@ -36,4 +36,9 @@ public class WinWolves extends WinHandler {
         return groups.stream().allMatch(group -> group == Group.WEREWOLVES) ? Group.WEREWOLVES :
                super.checkWin(alivePlayers);
     }
+
+    @Override
+    public Group checkWin(Set<Group> groups) {
+        return groups.stream().allMatch(group -> group == Group.WEREWOLVES) ? Group.WEREWOLVES : super.checkWin(groups);
+    }
 }
@@ -518,4 +518,98 @@ public class ActionMessagesDBTest extends GameTest {
             fail("Test failed");
         }
     }
+
+    /**
+     * @utp.description Tests whether {@code ActionMessagesDB.unlockAndGetMessages()} unlocks all locked messages of an
+     * instance at once, and returns them with their data in order.
+     */
+    @Test
+    public void unlockAndGetMessagesTest() {
+        try {
+            int userID1 = UserDB.createUser(this.getClass().getName(), "unlockAndGet1", "testUser");
+            int userID2 = UserDB.createUser(this.getClass().getName(), "unlockAndGet2", "testUser");
+            int iid = InstanceDB.addNewInstance(userID1, "Unlock And Get", 2);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, userID1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, userID2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            InstanceDB.initializeInstanceState(iid);
+
+            ActionDT actionDT = new ActionDT(Instant.now(), new KillPlayers(),
+                    new PreActionDT(player1, new ActionEnc(new ArrayList<Integer>(), List.of(player2))));
+            int actionID = ActionsDB.addNewAction(actionDT);
+
+            List<Integer> messageIDs = ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("first", "second", "third")),
+                    actionID, List.of(player1, player2));
+            int withoutData = ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.NIGHT_KILL_BROADCAST_MESSAGE, List.of()), actionID, player1);
+
+            List<ActionMessageRecord> unlocked = ActionMessagesDB.unlockAndGetMessages(iid);
+            assertEquals(List.of(messageIDs.get(0), messageIDs.get(1), withoutData),
+                    unlocked.stream().map(ActionMessageRecord::messageID).toList());
+            assertEquals(List.of(userID1, userID2, userID1),
+                    unlocked.stream().map(ActionMessageRecord::receiverID).toList());
+            assertEquals(List.of("first", "second", "third"), unlocked.get(1).message().data());
+            assertEquals(ActionMessages.NIGHT_KILL_BROADCAST_MESSAGE, unlocked.get(2).message().messageType());
+            assertTrue(unlocked.get(2).message().data().isEmpty());
+
+            // Every message is unlocked once
+            assertTrue(ActionMessagesDB.unlockAndGetMessages(iid).isEmpty());
+            assertEquals(List.of(messageIDs.get(0), withoutData),
+                    ActionMessagesDB.getAllNotSendMessagesForUser(player1));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether {@code ActionMessagesDB.getMessagesForUser()} only returns the unlocked messages
+     * of the player, and whether {@code ActionMessagesDB.markAsSent()} marks multiple messages at once.
+     */
+    @Test
+    public void getMessagesForUserTest() {
+        try {
+            int userID1 = UserDB.createUser(this.getClass().getName(), "messagesForUser1", "testUser");
+            int userID2 = UserDB.createUser(this.getClass().getName(), "messagesForUser2", "testUser");
+            int iid = InstanceDB.addNewInstance(userID1, "Messages For User", 2);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, userID1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, userID2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            InstanceDB.initializeInstanceState(iid);
+
+            ActionDT actionDT = new ActionDT(Instant.now(), new KillPlayers(),
+                    new PreActionDT(player1, new ActionEnc(new ArrayList<Integer>(), List.of(player2))));
+            int actionID = ActionsDB.addNewAction(actionDT);
+
+            int message1 = ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("a", "b")), actionID, player1);
+            int message2 = ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("c")), actionID, player1);
+            ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("d")), actionID, player2);
+            int locked = ActionMessagesDB.addNewMessage(
+                    new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("e")), actionID, player1);
+            ActionMessagesDB.unlockMessage(message1);
+            ActionMessagesDB.unlockMessage(message2);
+
+            List<ActionMessageRecord> messages = ActionMessagesDB.getMessagesForUser(player1, false);
+            assertEquals(List.of(message1, message2), messages.stream().map(ActionMessageRecord::messageID).toList());
+            assertEquals(List.of("a", "b"), messages.get(0).message().data());
+            assertFalse(messages.get(0).sent());
+
+            ActionMessagesDB.markAsSent(List.of(message1, message2));
+            assertTrue(ActionMessagesDB.getMessagesForUser(player1, false).isEmpty());
+            messages = ActionMessagesDB.getMessagesForUser(player1, true);
+            assertEquals(List.of(message1, message2), messages.stream().map(ActionMessageRecord::messageID).toList());
+            assertTrue(messages.get(1).sent());
+            assertFalse(messages.stream().anyMatch(message -> message.messageID() == locked));
+
+            // Marking no messages does nothing
+            ActionMessagesDB.markAsSent(List.of());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
 }
@@ -491,4 +491,51 @@ public class ActionsDBTest extends GameTest {
             fail("Unexpected exception thrown: " + e);
         }
     }
+
+    /**
+     * @utp.description Tests whether ActionsDB.getActionRecords() reads the same actions as ActionsDB.getActionFromID()
+     * in a single query, ordered by time, and whether ActionsDB.executeActions() only updates the given actions.
+     */
+    @Test
+    public void getActionRecordsTest() {
+        try {
+            int userID1 = UserDB.createUser(this.getClass().getName(), "actionRecords1", "testUser");
+            int userID2 = UserDB.createUser(this.getClass().getName(), "actionRecords2", "testUser");
+            int userID3 = UserDB.createUser(this.getClass().getName(), "actionRecords3", "testUser");
+            int iid = InstanceDB.addNewInstance(userID1, "Action Records", 2);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, userID1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, userID2);
+            PlayerIdentifier player3 = new PlayerIdentifier(iid, userID3);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            PlayerDB.addNewPlayer(player3);
+            InstanceDB.initializeInstanceState(iid);
+
+            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            int late = ActionsDB.addNewAction(new ActionDT(now, new KillPlayers(),
+                    new PreActionDT(player1, new ActionEnc(new ArrayList<>(), List.of(player2, player3)))));
+            int early = ActionsDB.addNewAction(new ActionDT(now.minusSeconds(5), new KillPlayers(),
+                    new PreActionDT(player2, new ActionEnc(List.of(userID1), List.of(player1, player3)))));
+            int executed = ActionsDB.addNewAction(new ActionDT(now.minusSeconds(10), new KillPlayers(),
+                    new PreActionDT(player3, new ActionEnc(List.of(userID2), new ArrayList<>()))));
+            ActionsDB.executeActions(List.of(executed));
+
+            List<ActionRecord> records = ActionsDB.getActionRecords(iid, "NOT_EXECUTED");
+            assertEquals(List.of(early, late), records.stream().map(ActionRecord::actionID).toList());
+            for (ActionRecord record : records) {
+                ActionDT expected = ActionsDB.getActionFromID(record.actionID());
+                assertEquals(expected.time(), record.action().time());
+                assertEquals(expected.preAction(), record.action().preAction());
+                assertEquals(KillPlayers.class, record.action().action().getClass());
+            }
+            assertEquals(List.of(executed),
+                    ActionsDB.getActionRecords(iid, "EXECUTED").stream().map(ActionRecord::actionID).toList());
+
+            ActionsDB.completeActions(iid);
+            assertTrue(ActionsDB.getActionRecords(iid, "NOT_EXECUTED").isEmpty());
+            assertEquals(3, ActionsDB.getActionRecords(iid, "COMPLETED").size());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
 }
@@ -2,12 +2,12 @@ package org.lukos.database;
 
 import org.junit.jupiter.api.Test;
 import org.lukos.model.GameTest;
-import org.lukos.model.exceptions.user.NoSuchUserException;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.SQLTimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,18 +19,6 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DatabaseConnectionTest extends GameTest {
 
-    /** @utp.description Makeshift test for what happens when thread is interrupted when making db connection. */
-    @Test
-    public void constructorExceptionTest() {
-        Class expected = InterruptedException.class;
-        try{
-            Thread.currentThread().interrupt();
-            DatabaseConnection.getInstance();
-        } catch (Exception e) {
-            assertTrue(expected.isInstance(e));
-        }
-    }
-    
     /** @utp.description Testing if getting the instance of DatabaseConnection works. */
     @Test
     public void getInstanceTest() {
@@ -42,9 +30,9 @@ public class DatabaseConnectionTest extends GameTest {
     /** @utp.description Testing if getting the connection of DatabaseConnection works. */
     @Test
     public void getConnectTest() {
-        try {
-            // without being initialized, getConnect() should retrieve null
-            assertNotNull(DatabaseConnection.getInstance().getConnect());
+        try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+            assertNotNull(connection);
+            assertFalse(connection.isClosed());
         } catch (Exception e) {
             fail("Unexpected exception thrown: "+ e);
         }
@@ -55,71 +43,211 @@ public class DatabaseConnectionTest extends GameTest {
     @Test
     public void getConnectClosedTest() {
         try {
-            DatabaseConnection.getInstance().getConnect().close(); //closing the connection
-            assertNotNull(DatabaseConnection.getInstance().getConnect()); // checking that the connection is re-established
+            Connection connection = DatabaseConnection.getInstance().getConnect();
+            connection.close(); // handing the connection back to the pool
+            assertTrue(connection.isClosed());
+            connection.close(); // closing twice should not do anything
+            try (Connection reopened = DatabaseConnection.getInstance().getConnect()) {
+                assertFalse(reopened.isClosed()); // checking that a new connection is handed out
+            }
         } catch (Exception e) {
             fail("Unexpected exception thrown: "+ e);
         }
     }
 
     
-    /** @utp.description Testing if getting the connection of DatabaseConnection works after the connection is closed and the thread is interrupted. */
+    /** @utp.description Testing that a connection that has been handed back to the pool can no longer be used. */
     @Test
     public void getConnectClosedExceptionTest() {
-        Class expected = InterruptedException.class;
         try {
-            DatabaseConnection.getInstance().getConnect().close(); //closing the connection
-            Thread.currentThread().interrupt();
-            DatabaseConnection.getInstance().getConnect(); // checking if the connection is re-established
-            // after interruption, should not get this far in the test
-        } catch (Exception e) {
-            assertTrue(expected.isInstance(e));
+            Connection connection = DatabaseConnection.getInstance().getConnect();
+            connection.close();
+            assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT * FROM Users;"));
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        }
+    }
+
+    
+    /** @utp.description Testing that nested connections on the same thread share one pooled connection. */
+    @Test
+    public void getConnectNestedTest() {
+        try (Connection outer = DatabaseConnection.getInstance().getConnect()) {
+            int active = DatabaseConnection.getInstance().getPoolMetrics().active();
+            try (Connection inner = DatabaseConnection.getInstance().getConnect()) {
+                assertEquals(active, DatabaseConnection.getInstance().getPoolMetrics().active());
+                assertEquals(outer.unwrap(Connection.class), inner.unwrap(Connection.class));
+            }
+            // the outer connection should still be usable after the inner one is closed
+            assertFalse(outer.isClosed());
+            try (PreparedStatement query = outer.prepareStatement("SELECT * FROM Users;")) {
+                assertNotNull(DatabaseConnection.getInstance().readStatement(query));
+            }
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
         }
     }
 
     
-    /** @utp.description Testing if setting the connection works. */
+    /** @utp.description Testing that the pool metrics keep track of the borrowed connections. */
     @Test
-    public void connectTest() {
+    public void getPoolMetricsTest() {
+        ConnectionPool pool = DatabaseConnection.createPool(2, 1000);
         try {
-            DatabaseConnection.getInstance().connect();
-            assertNotNull(DatabaseConnection.getInstance().getConnect());
-        } catch (Exception e) {
+            Connection first = pool.borrow();
+            Connection second = pool.borrow();
+            PoolMetrics metrics = pool.getMetrics();
+            assertEquals(2, metrics.active());
+            assertEquals(0, metrics.idle());
+            assertEquals(2, metrics.maxSize());
+            assertEquals(2, metrics.borrows());
+
+            pool.release(first);
+            pool.release(second);
+            metrics = pool.getMetrics();
+            assertEquals(0, metrics.active());
+            assertEquals(2, metrics.idle());
+
+            // idle connections should be reused
+            pool.release(pool.borrow());
+            assertEquals(2, pool.getMetrics().idle());
+            assertEquals(3, pool.getMetrics().borrows());
+            assertTrue(pool.getMetrics().averageWaitMillis() >= 0);
+        } catch (SQLException e) {
             fail("Unexpected exception thrown: "+ e);
         }
     }
 
     
-    /** @utp.description Testing that the exception for connect in the case of interruption works. */
+    /** @utp.description Testing that borrowing from an exhausted pool times out. */
     @Test
-    public void connectExceptionTest() {
-        Class expected = InterruptedException.class;
+    public void borrowTimeoutTest() {
+        ConnectionPool pool = DatabaseConnection.createPool(1, 50);
         try {
+            Connection connection = pool.borrow();
+            assertThrows(SQLTimeoutException.class, pool::borrow);
+            pool.release(connection);
+            pool.release(pool.borrow()); // after releasing, the connection can be borrowed again
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        }
+    }
+
+    
+    /** @utp.description Testing that waiting for a connection of an exhausted pool can be interrupted. */
+    @Test
+    public void borrowInterruptedTest() {
+        ConnectionPool pool = DatabaseConnection.createPool(1, 10000);
+        try {
+            Connection connection = pool.borrow();
             Thread.currentThread().interrupt();
-            DatabaseConnection.getInstance().connect();
-        } catch (Exception e) {
-            assertTrue(expected.isInstance(e));
+            SQLException e = assertThrows(SQLException.class, pool::borrow);
+            assertTrue(e.getCause() instanceof InterruptedException);
+            assertTrue(Thread.interrupted()); // the interrupt flag should be restored (and is cleared here)
+            pool.release(connection);
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    
+    /** @utp.description Testing that a pool needs at least one connection. */
+    @Test
+    public void createPoolExceptionTest() {
+        assertThrows(IllegalArgumentException.class, () -> DatabaseConnection.createPool(0, 1000));
+    }
+
+    /** @utp.description Testing that the work of a committed transaction is stored. */
+    @Test
+    public void transactionCommitTest() {
+        try {
+            int iid;
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                iid = InstanceDB.addNewInstance(1, "transaction", 1);
+                InstanceDB.modifyDay(iid, 3);
+                transaction.commit();
+            }
+            ResultSet resultSet = InstanceDB.findInstanceByID(iid);
+            assertTrue(resultSet.next());
+            assertEquals(3, resultSet.getInt("day"));
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        }
+    }
+
+    
+    /** @utp.description Testing that the work of a transaction that is not committed is rolled back. */
+    @Test
+    public void transactionRollbackTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "transaction", 1);
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                InstanceDB.modifyDay(iid, 3);
+            }
+            ResultSet resultSet = InstanceDB.findInstanceByID(iid);
+            assertTrue(resultSet.next());
+            assertEquals(-1, resultSet.getInt("day"));
+            // the connection should be back in autocommit mode
+            try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+                assertTrue(connection.getAutoCommit());
+            }
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        }
+    }
+
+    
+    /** @utp.description Testing that a nested transaction is only committed by the outer transaction. */
+    @Test
+    public void transactionNestedTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "transaction", 1);
+            try (Transaction outer = DatabaseConnection.getInstance().beginTransaction()) {
+                try (Transaction inner = DatabaseConnection.getInstance().beginTransaction()) {
+                    InstanceDB.modifyDay(iid, 3);
+                    inner.commit();
+                }
+                // the outer transaction does not commit, so the work of the inner transaction is rolled back
+            }
+            ResultSet resultSet = InstanceDB.findInstanceByID(iid);
+            assertTrue(resultSet.next());
+            assertEquals(-1, resultSet.getInt("day"));
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
+        }
+    }
+
+    
+    /** @utp.description Testing that a transaction in which a statement failed cannot be committed. */
+    @Test
+    public void transactionFailedStatementTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "transaction", 1);
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                InstanceDB.modifyDay(iid, 3);
+                try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                     PreparedStatement query = connection.prepareStatement("INSERT INTO NotATable VALUES (?);")) {
+                    query.setInt(1, 1);
+                    DatabaseConnection.getInstance().writeStatement(query);
+                }
+                assertThrows(SQLException.class, transaction::commit);
+            }
+            ResultSet resultSet = InstanceDB.findInstanceByID(iid);
+            assertTrue(resultSet.next());
+            assertEquals(-1, resultSet.getInt("day"));
+        } catch (SQLException e) {
+            fail("Unexpected exception thrown: "+ e);
         }
     }
-//
-//    
-//    /** @utp.description Testing that the exception is thrown when connection empty at finally-block */
-//    public void connectNullTest() {
-//        Class expected = InterruptedException.class;
-//        try {
-//            Thread.currentThread().interrupt();
-//            DatabaseConnection.getInstance().connect();
-//        } catch (Exception e) {
-//            assertTrue(expected.isInstance(e));
-//        }
-//    }
 
     
     /** @utp.description Test to see if the method can take in a preparedstatement and generate a resultset. */
     @Test
     public void readStatementTest() {
-        try {
-            PreparedStatement query = DatabaseConnection.getInstance().getConnect().prepareStatement(
+        try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+            PreparedStatement query = connection.prepareStatement(
                     "SELECT * FROM Users;");
             ResultSet resultSet = DatabaseConnection.getInstance().readStatement(query);
             assertNotNull(resultSet);
@@ -133,8 +261,8 @@ public class DatabaseConnectionTest extends GameTest {
     @Test
     public void readStatementExceptionTest() {
         Class expected = SQLException.class;
-        try {
-            PreparedStatement query = DatabaseConnection.getInstance().getConnect().prepareStatement(
+        try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+            PreparedStatement query = connection.prepareStatement(
                     "SELECT * FROM NotATable;");
             DatabaseConnection.getInstance().readStatement(query);
             fail("Should have thrown an error.");
@@ -148,8 +276,8 @@ public class DatabaseConnectionTest extends GameTest {
     /** @utp.description Test to see if the method can take in a preparedstatement and execute a query. */
     @Test
     public void writeStatementTest() {
-        try {
-            PreparedStatement queryWrite = DatabaseConnection.getInstance().getConnect().prepareStatement(
+        try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+            PreparedStatement queryWrite = connection.prepareStatement(
                     "INSERT INTO Users(sub, issuer, username, wins, losses, last_login, last_logout, playtime, toBeDeleted) " +
                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);");
             queryWrite.setString(1, "sub");
@@ -162,7 +290,7 @@ public class DatabaseConnectionTest extends GameTest {
             queryWrite.setInt(8, 0);
             queryWrite.setInt(9, 0);
             DatabaseConnection.getInstance().writeStatement(queryWrite);
-            PreparedStatement queryRead = DatabaseConnection.getInstance().getConnect().prepareStatement(
+            PreparedStatement queryRead = connection.prepareStatement(
                     "SELECT * FROM Users;");
             ResultSet rs = DatabaseConnection.getInstance().readStatement(queryRead);
             assertTrue(rs.next()); // test passes if resultset is not empty
@@ -177,8 +305,8 @@ public class DatabaseConnectionTest extends GameTest {
     @Test
     public void writeStatementExceptionTest() {
         Class expected = SQLException.class;
-        try {
-            PreparedStatement queryWrite = DatabaseConnection.getInstance().getConnect().prepareStatement(
+        try (Connection connection = DatabaseConnection.getInstance().getConnect()) {
+            PreparedStatement queryWrite = connection.prepareStatement(
                     "INSERT INTO Users(sub, issuer, username, wins, losses, huh) " +
                             "VALUES (?, ?, ?, ?, ?, ?, ?);");
             queryWrite.setString(1, "sub");
@@ -188,7 +316,7 @@ public class DatabaseConnectionTest extends GameTest {
             queryWrite.setInt(5, 100);
             queryWrite.setDate(6, new java.sql.Date(new java.util.Date().getTime()));
             DatabaseConnection.getInstance().writeStatement(queryWrite);
-            PreparedStatement queryRead = DatabaseConnection.getInstance().getConnect().prepareStatement(
+            PreparedStatement queryRead = connection.prepareStatement(
                     "SELECT * FROM Users;");
             ResultSet rs = DatabaseConnection.getInstance().readStatement(queryRead);
             assertTrue(rs.next()); // test passes if resultset is not empty
@@ -0,0 +1,187 @@
+package org.lukos.database;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.model.GameTest;
+import org.lukos.model.chatsystem.ChatType;
+import org.lukos.model.instances.DayPhase;
+import org.lukos.model.instances.RoleDivisionConfig;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test the in-memory state of instances kept by GameStateCache
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class GameStateCacheTest extends GameTest {
+
+    /** Changes the day of an instance without going through InstanceDB, such that the cache is not evicted. */
+    private static void setDayDirectly(int iid, int day) throws Exception {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Instance SET day=? WHERE instanceID=?;")) {
+            statement.setInt(1, day);
+            statement.setInt(2, iid);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /** @utp.description Testing that the state of an instance is read from memory after it has been loaded once */
+    @Test
+    public void getInstanceRecordCachedTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "cachedGame", 4321);
+            InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
+            assertEquals(new InstanceRecord(iid, "cachedGame", -1, null, 7, 4321, RoleDivisionConfig.CONFIGURED),
+                    instance);
+            assertFalse(instance.isStarted());
+
+            long hits = GameStateCache.getInstance().getHits();
+            setDayDirectly(iid, 5);
+            assertEquals(-1, InstanceDB.getInstanceRecord(iid).day(), "Day should be served from memory.");
+            assertEquals(hits + 1, GameStateCache.getInstance().getHits());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that getting the state of an unknown instance returns null */
+    @Test
+    public void getInstanceRecordUnknownTest() {
+        try {
+            assertNull(InstanceDB.getInstanceRecord(-5));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that modifying an instance through InstanceDB evicts its cached state */
+    @Test
+    public void modifyInvalidatesTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "modifiedGame", 4321);
+            InstanceDB.getInstanceRecord(iid);
+            InstanceDB.modifyDay(iid, 3);
+            InstanceDB.modifyPhase(iid, DayPhase.VOTE);
+            InstanceDB.setGameMasterByInstance(iid, 8);
+
+            InstanceRecord instance = InstanceDB.getInstanceRecord(iid);
+            assertEquals(3, instance.day());
+            assertEquals(DayPhase.VOTE, instance.dayPhase());
+            assertEquals(8, instance.gameMasterID());
+            assertTrue(instance.isStarted());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the cached players of an instance follow joining, killing and reviving */
+    @Test
+    public void rosterTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "rosterGame", 4321);
+            assertTrue(InstanceDB.getPlayers(iid).isEmpty());
+
+            PlayerIdentifier first = new PlayerIdentifier(iid, UserDB.createUser("is1", "sub1", "rosterFirst"));
+            PlayerIdentifier second = new PlayerIdentifier(iid, UserDB.createUser("is1", "sub2", "rosterSecond"));
+            PlayerDB.addNewPlayer(first);
+            PlayerDB.addNewPlayer(second);
+            InstanceDB.initializeInstanceState(iid);
+            assertEquals(Set.of(first, second), new HashSet<>(InstanceDB.getPlayers(iid)));
+            assertEquals(Set.of(first, second), new HashSet<>(InstanceDB.getAlivePlayers(iid)));
+
+            InstanceDB.killPlayer(first);
+            assertEquals(List.of(second), InstanceDB.getAlivePlayers(iid));
+            assertEquals(List.of(first), InstanceDB.getDeadPlayers(iid));
+            assertFalse(InstanceDB.isAlivePlayer(first));
+
+            InstanceDB.revivePlayer(first);
+            assertTrue(InstanceDB.isAlivePlayer(first));
+            assertTrue(InstanceDB.getDeadPlayers(iid).isEmpty());
+
+            PlayerDB.deletePlayerByID(second.userID(), iid);
+            assertEquals(List.of(first), InstanceDB.getPlayers(iid));
+
+            UserDB.deleteUserByUID(first.userID());
+            assertTrue(InstanceDB.getPlayers(iid).isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the lists returned for the players of an instance can be modified by the caller */
+    @Test
+    public void rosterCopyTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "copyGame", 4321);
+            InstanceDB.getAlivePlayers(iid).add(new PlayerIdentifier(iid, 1));
+            assertTrue(InstanceDB.getAlivePlayers(iid).isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that uncommitted changes are only visible to the transaction that made them */
+    @Test
+    public void transactionRollbackTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "rollbackGame", 4321);
+            InstanceDB.getInstanceRecord(iid);
+            try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+                InstanceDB.modifyDay(iid, 4);
+                assertEquals(4, InstanceDB.getInstanceRecord(iid).day());
+            }
+            assertEquals(-1, InstanceDB.getInstanceRecord(iid).day());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the state read inside a transaction is not stored, and committed changes are visible */
+    @Test
+    public void transactionCommitTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "commitGame", 4321);
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                InstanceDB.modifyDay(iid, 4);
+                InstanceDB.getInstanceRecord(iid);
+                setDayDirectly(iid, 6);
+                transaction.commit();
+            }
+            assertEquals(6, InstanceDB.getInstanceRecord(iid).day());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the permissions of a chat are read from the database when it is shared with other servers */
+    @Test
+    public void sharedChatTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(7, "sharedGame", 4321);
+            int cid = ChatDB.createChat(iid, ChatType.GENERAL);
+            DatabaseConnection.getInstance().setShared(true);
+            assertTrue(ChatDB.getChatRecord(cid).open());
+
+            try (Connection connection = DatabaseConnection.getInstance().getConnect();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "UPDATE ChatInstance SET isOpen=FALSE WHERE chatID=?;")) {
+                statement.setInt(1, cid);
+                DatabaseConnection.getInstance().writeStatement(statement);
+            }
+            assertFalse(ChatDB.getChatRecord(cid).open(), "Permissions changed by another server should be visible.");
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        } finally {
+            DatabaseConnection.getInstance().setShared(false);
+        }
+    }
+}
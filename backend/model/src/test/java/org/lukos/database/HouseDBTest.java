@@ -9,6 +9,7 @@ import org.lukos.model.instances.IInstance;
 import org.lukos.model.instances.InstanceManager;
 import org.lukos.model.location.House;
 import org.lukos.model.location.HouseState;
+import org.lukos.model.location.states.Burned;
 import org.lukos.model.location.states.Cleaned;
 import org.lukos.model.location.states.Repaired;
 import org.lukos.model.user.IssuerSub;
@@ -21,6 +22,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.lukos.database.HouseDB.*;
@@ -99,6 +101,24 @@ public class HouseDBTest extends GameTest {
         }
     }
 
+    /** @utp.description Tests whether the {@code getHousesOfAlivePlayers()} function returns the house of every alive player. */
+    @Test
+    public void getHousesOfAlivePlayersTest() {
+        try {
+            Map<PlayerIdentifier, Integer> houses = getHousesOfAlivePlayers(this.instance.getIid());
+            assertEquals(2, houses.size(), "Size should be 2.");
+            assertEquals(player1.getHouse(), houses.get(player1.getPlayerIdentifier()));
+            assertEquals(player2.getHouse(), houses.get(player2.getPlayerIdentifier()));
+
+            InstanceDB.killPlayer(player2.getPlayerIdentifier());
+            houses = getHousesOfAlivePlayers(this.instance.getIid());
+            assertEquals(1, houses.size(), "Size should be 1.");
+            assertTrue(houses.containsKey(player1.getPlayerIdentifier()), "Player 1 should still be alive.");
+        } catch (Exception e) {
+            fail("Unexpected exception thrown : " + e);
+        }
+    }
+
     /**
      * @utp.description Tests whether the {@code setHousePlayerByID()} function sets a house for player with the
      *         given ID.
@@ -300,4 +320,59 @@ public class HouseDBTest extends GameTest {
             fail("Unexpected exception thrown : " + e);
         }
     }
+
+    /**
+     * @utp.description Tests whether the {@code sendPlayersHome()} function puts every alive player back at their
+     *         house and repairs a burned house on the third day, both in memory and in the database.
+     */
+    @Test
+    public void sendPlayersHomeTest() {
+        try {
+            int iid = this.instance.getIid();
+            int house1 = player1.getHouse();
+            int house2 = player2.getHouse();
+            modifyHouseState(house1, Burned.getInstance());
+            PlayerDB.visitLocation(house2, player1.getPlayerIdentifier());
+            PlayerDB.visitLocation(house1, player2.getPlayerIdentifier());
+
+            for (int day = 1; day <= 3; day++) {
+                sendPlayersHome(iid);
+                for (boolean fromMemory : new boolean[]{true, false}) {
+                    if (!fromMemory) {
+                        LocationCache.getInstance().invalidate(iid);
+                    }
+                    HouseState expected = day < 3 ? Burned.getInstance() : Repaired.getInstance();
+                    assertEquals(expected, getHouseState(house1), "Wrong state on day " + day);
+                    assertEquals(day < 3 ? day : 0, getHouseStateDay(house1), "Wrong state day on day " + day);
+                    assertEquals(0, getHouseStateDay(house2), "Intact house should not be rebuilt.");
+                    assertEquals(List.of(player1.getPlayerIdentifier()), PlayerDB.getPlayersAtLocation(house1));
+                    assertEquals(List.of(player2.getPlayerIdentifier()), PlayerDB.getPlayersAtLocation(house2));
+                }
+            }
+        } catch (Exception e) {
+            fail("Unexpected exception thrown : " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether the {@code sendPlayersHome()} function does not move dead players or rebuild
+     *         their house.
+     */
+    @Test
+    public void sendPlayersHomeDeadTest() {
+        try {
+            int house2 = player2.getHouse();
+            modifyHouseState(house2, Burned.getInstance());
+            PlayerDB.visitLocation(player1.getHouse(), player2.getPlayerIdentifier());
+            InstanceDB.killPlayer(player2.getPlayerIdentifier());
+
+            sendPlayersHome(this.instance.getIid());
+            assertEquals(0, getHouseStateDay(house2), "House of a dead player should not be rebuilt.");
+            assertTrue(PlayerDB.getPlayersAtLocation(player1.getHouse()).contains(player2.getPlayerIdentifier()),
+                    "Dead player should not be moved.");
+            assertTrue(getHomelessPlayers(this.instance.getIid()).isEmpty(), "Dead players are not homeless.");
+        } catch (Exception e) {
+            fail("Unexpected exception thrown : " + e);
+        }
+    }
 }
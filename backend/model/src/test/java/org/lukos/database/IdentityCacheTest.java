@@ -0,0 +1,199 @@
+package org.lukos.database;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.model.GameTest;
+import org.lukos.model.exceptions.user.NoSuchPlayerException;
+import org.lukos.model.exceptions.user.NoSuchUserException;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.user.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Class to test the in-memory identities of users kept by IdentityCache
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class IdentityCacheTest extends GameTest {
+
+    /** Changes the username of a user without going through UserDB, such that the cache is not evicted. */
+    private static void setUsernameDirectly(int uid, String username) throws Exception {
+        try (Connection connection = DatabaseConnection.getInstance().getConnect();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE Users SET username=? WHERE userID=?;")) {
+            statement.setString(1, username);
+            statement.setInt(2, uid);
+            DatabaseConnection.getInstance().writeStatement(statement);
+        }
+    }
+
+    /** @utp.description Testing that the identity of a user is read from memory after it has been loaded once */
+    @Test
+    public void getUserCachedTest() {
+        try {
+            int uid = UserDB.createUser("identityIssuer", "cachedSub", "cachedName");
+            assertEquals(uid, UserDB.getIfExistUser(new IssuerSub("identityIssuer", "cachedSub")));
+            assertEquals(new UserRecord(uid, "identityIssuer", "cachedSub", "cachedName"), UserDB.getUserRecord(uid));
+
+            long hits = UserDB.getIdentityCacheMetrics().hits();
+            setUsernameDirectly(uid, "otherName");
+            assertEquals(uid, UserDB.getIfExistUser(new IssuerSub("identityIssuer", "cachedSub")));
+            assertEquals("cachedName", new User(uid).getUsername(), "Username should be served from memory.");
+            assertEquals(hits + 2, UserDB.getIdentityCacheMetrics().hits());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that unknown users are not remembered, such that they can be created afterwards */
+    @Test
+    public void getUserUnknownTest() {
+        IssuerSub issuerSub = new IssuerSub("identityIssuer", "unknownSub");
+        assertThrows(NoSuchUserException.class, () -> UserDB.getIfExistUser(issuerSub));
+        try {
+            assertNull(UserDB.getUserRecord(-5));
+            assertFalse(UserDB.existUser(-5));
+
+            int uid = UserDB.createUser("identityIssuer", "unknownSub", "unknownName");
+            assertEquals(uid, UserDB.getIfExistUser(issuerSub));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that changing the username of a user evicts their cached identity */
+    @Test
+    public void setUsernameInvalidatesTest() {
+        try {
+            int uid = UserDB.createUser("identityIssuer", "renamedSub", "oldName");
+            User user = new User(uid);
+            assertEquals("oldName", user.getUsername());
+
+            user.setUsername("newName");
+            assertEquals("newName", user.getUsername());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that deleting a user evicts their cached identity */
+    @Test
+    public void deleteUserInvalidatesTest() {
+        try {
+            IssuerSub issuerSub = new IssuerSub("identityIssuer", "deletedSub");
+            int uid = UserDB.createUser(issuerSub.issuer(), issuerSub.sub(), "deletedName");
+            assertEquals(uid, UserDB.getIfExistUser(issuerSub));
+            assertTrue(UserDB.existUser(uid));
+
+            UserDB.deleteUserByUID(uid);
+            assertThrows(NoSuchUserException.class, () -> UserDB.getIfExistUser(issuerSub));
+            assertFalse(UserDB.existUser(uid));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that joining and leaving a game evicts the cached player of a user */
+    @Test
+    public void joinLeaveInvalidatesTest() {
+        try {
+            int uid = UserDB.createUser("identityIssuer", "playerSub", "playerName");
+            int iid = InstanceDB.addNewInstance(uid, "identityGame", 4321);
+            assertThrows(NoSuchPlayerException.class, () -> PlayerDB.getPlayerFromUserByID(uid));
+
+            PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
+            assertEquals(new PlayerIdentifier(iid, uid), PlayerDB.getPlayerFromUserByID(uid));
+            long hits = UserDB.getIdentityCacheMetrics().hits();
+            assertEquals(new PlayerIdentifier(iid, uid), PlayerDB.getPlayerFromUserByID(uid));
+            assertEquals(hits + 1, UserDB.getIdentityCacheMetrics().hits());
+
+            PlayerDB.deletePlayerByID(uid, iid);
+            assertThrows(NoSuchPlayerException.class, () -> PlayerDB.getPlayerFromUserByID(uid));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that deleting an instance evicts the cached players of the users in it */
+    @Test
+    public void deleteInstanceInvalidatesTest() {
+        try {
+            int uid = UserDB.createUser("identityIssuer", "endedSub", "endedName");
+            int iid = InstanceDB.addNewInstance(uid, "endedGame", 4321);
+            PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
+            assertEquals(new PlayerIdentifier(iid, uid), PlayerDB.getPlayerFromUserByID(uid));
+
+            InstanceDB.deleteInstanceByIID(iid);
+            assertThrows(NoSuchPlayerException.class, () -> PlayerDB.getPlayerFromUserByID(uid));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that reads within a transaction bypass the cache */
+    @Test
+    public void transactionBypassTest() {
+        try {
+            int uid = UserDB.createUser("identityIssuer", "transactionSub", "transactionName");
+            UserDB.getUserRecord(uid);
+            setUsernameDirectly(uid, "changedName");
+
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                assertEquals("changedName", UserDB.getUserRecord(uid).username());
+                transaction.commit();
+            }
+            assertEquals("transactionName", UserDB.getUserRecord(uid).username());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the least recently used entries are dropped once the cache is full */
+    @Test
+    public void leastRecentlyUsedTest() {
+        IdentityCache cache = new IdentityCache(2, 60000);
+        AtomicInteger loads = new AtomicInteger();
+        GameStateCache.Loader<UserRecord> loader = () -> {
+            loads.incrementAndGet();
+            return new UserRecord(loads.get(), "issuer", "sub", "name");
+        };
+        try {
+            cache.getUser(1, loader);
+            cache.getUser(2, loader);
+            cache.getUser(1, loader);
+            cache.getUser(3, loader);
+            assertEquals(3, loads.get());
+
+            cache.getUser(1, loader);
+            assertEquals(3, loads.get(), "Recently used entry should be kept.");
+            cache.getUser(2, loader);
+            assertEquals(4, loads.get(), "Least recently used entry should be dropped.");
+
+            CacheMetrics metrics = cache.getMetrics();
+            assertEquals(new CacheMetrics(2, 4, 2), metrics);
+            assertEquals(2 / 6.0, metrics.hitRate(), 1e-9);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that entries are read again once they have expired */
+    @Test
+    public void expiryTest() {
+        IdentityCache cache = new IdentityCache(2, 0);
+        AtomicInteger loads = new AtomicInteger();
+        try {
+            cache.getUserID(new IssuerSub("issuer", "sub"), loads::incrementAndGet);
+            cache.getUserID(new IssuerSub("issuer", "sub"), loads::incrementAndGet);
+            assertEquals(2, loads.get());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
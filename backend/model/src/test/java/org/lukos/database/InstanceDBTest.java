@@ -153,6 +153,25 @@ public class InstanceDBTest extends GameTest {
     }
 
     
+    /** @utp.description Testing that the dayphase of an instance is only changed when it is in the expected dayphase */
+    @Test
+    public void modifyPhaseIfCurrentTest() {
+        try {
+            int instanceID = InstanceDB.addNewInstance(1, "modifyPhaseGame", 23456);
+            InstanceDB.modifyPhase(instanceID, DayPhase.NIGHT);
+            assertTrue(InstanceDB.modifyPhaseIfCurrent(instanceID, DayPhase.NIGHT, DayPhase.MORNING));
+            assertEquals(DayPhase.MORNING, InstanceDB.getInstanceRecord(instanceID).dayPhase());
+            // Moving away from the night again does nothing, as the instance has moved on already
+            assertFalse(InstanceDB.modifyPhaseIfCurrent(instanceID, DayPhase.NIGHT, DayPhase.MORNING));
+            InstanceDB.modifyPhase(instanceID, DayPhase.DAY);
+            assertFalse(InstanceDB.modifyPhaseIfCurrent(instanceID, DayPhase.MORNING, DayPhase.DAY));
+            assertEquals(DayPhase.DAY, InstanceDB.getInstanceRecord(instanceID).dayPhase());
+        } catch (Exception e) {
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
     /** @utp.description Testing that all alive players of an instance are fetched in getAlivePlayers */
     @Test
     public void getAlivePlayersTest() {
@@ -9,6 +9,7 @@ import org.lukos.model.voting.VoteType;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,7 +30,7 @@ public class ItemDBTest extends GameTest {
             int uid = UserDB.createUser("iss", "sub", "username");
             int iid = InstanceDB.addNewInstance(1, "newItem", 12345678);
             PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
-            int item_id = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
             PreparedStatement queryRead = DatabaseConnection.getInstance().getConnect().prepareStatement(
                     "SELECT item FROM PlayerItems WHERE userID=?;");
             queryRead.setInt(1, uid);
@@ -50,7 +51,7 @@ public class ItemDBTest extends GameTest {
             int uid = UserDB.createUser("iss", "sub", "username");
             int iid = InstanceDB.addNewInstance(1, "newItem", 12345678);
             PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
-            int item_id = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid),
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid),
                     "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
         } catch (Exception e) {
             assertTrue(expected.isInstance(e));
@@ -65,10 +66,10 @@ public class ItemDBTest extends GameTest {
             int uid = UserDB.createUser("iss2", "sub2", "username2");
             int iid = InstanceDB.addNewInstance(1, "newItem2", 12345678);
             PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
-            int item_id = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem2");
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem2");
             ItemDB.deletePlayerItem(new PlayerIdentifier(iid, uid), "TestItem2");
             PreparedStatement queryRead = DatabaseConnection.getInstance().getConnect().prepareStatement(
-                    "SELECT userID FROM PlayerItems WHERE item=?;");
+                    "SELECT userID FROM PlayerItems WHERE item=? AND amount > 0;");
             queryRead.setString(1, "TestItem2");
             ResultSet rs = DatabaseConnection.getInstance().readStatement(queryRead);
             assertFalse(rs.next());
@@ -85,12 +86,69 @@ public class ItemDBTest extends GameTest {
             int uid = UserDB.createUser("iss", "sub", "username");
             int iid = InstanceDB.addNewInstance(1, "newItem", 12345678);
             PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
-            int item1 = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
-            int item2 = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
-            int item3 = ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
+            ItemDB.addPlayerItem(new PlayerIdentifier(iid, uid), "TestItem");
             assertEquals(ItemDB.amountOfItems(new PlayerIdentifier(iid, uid), "TestItem"), 3);
         } catch (Exception e) {
             fail("Exception thrown: " + e);
         }
     }
+
+    /** @utp.description Testing that using an item a player does not have leaves the amount at zero */
+    @Test
+    public void deletePlayerItemEmptyTest() {
+        try {
+            int uid = UserDB.createUser("itemIss3", "itemSub3", "username3");
+            int iid = InstanceDB.addNewInstance(1, "newItem3", 12345678);
+            PlayerIdentifier player = new PlayerIdentifier(iid, uid);
+            PlayerDB.addNewPlayer(player);
+            ItemDB.deletePlayerItem(player, "TestItem3");
+            assertEquals(0, ItemDB.amountOfItems(player, "TestItem3"));
+
+            ItemDB.addPlayerItems(player, "TestItem3", 2);
+            ItemDB.deletePlayerItem(player, "TestItem3");
+            ItemDB.deletePlayerItem(player, "TestItem3");
+            ItemDB.deletePlayerItem(player, "TestItem3");
+            assertEquals(0, ItemDB.amountOfItems(player, "TestItem3"));
+        } catch (Exception e) {
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that updating items adds, sets, or only raises the amounts as requested */
+    @Test
+    public void updateItemsTest() {
+        try {
+            int uid = UserDB.createUser("itemIss4", "itemSub4", "username4");
+            int other = UserDB.createUser("itemIss5", "itemSub5", "username5");
+            int iid = InstanceDB.addNewInstance(1, "newItem4", 12345678);
+            PlayerIdentifier player = new PlayerIdentifier(iid, uid);
+            PlayerIdentifier otherPlayer = new PlayerIdentifier(iid, other);
+            PlayerDB.addNewPlayer(player);
+            PlayerDB.addNewPlayer(otherPlayer);
+            ItemDB.addPlayerItems(player, "reset", 3);
+            ItemDB.addPlayerItems(player, "minimum", 5);
+            ItemDB.addPlayerItems(player, "added", 2);
+            ItemDB.addPlayerItems(otherPlayer, "minimum", 1);
+
+            ItemDB.updateItems(List.of(new ItemStock(player, "reset", 1, ItemStock.Update.SET),
+                    new ItemStock(player, "minimum", 2, ItemStock.Update.AT_LEAST),
+                    new ItemStock(otherPlayer, "minimum", 2, ItemStock.Update.AT_LEAST),
+                    new ItemStock(otherPlayer, "reset", 1, ItemStock.Update.SET),
+                    new ItemStock(player, "added", 1, ItemStock.Update.ADD),
+                    new ItemStock(otherPlayer, "added", 1, ItemStock.Update.ADD)));
+            assertEquals(1, ItemDB.amountOfItems(player, "reset"));
+            assertEquals(5, ItemDB.amountOfItems(player, "minimum"));
+            assertEquals(3, ItemDB.amountOfItems(player, "added"));
+            assertEquals(2, ItemDB.amountOfItems(otherPlayer, "minimum"));
+            assertEquals(1, ItemDB.amountOfItems(otherPlayer, "reset"));
+            assertEquals(1, ItemDB.amountOfItems(otherPlayer, "added"));
+
+            // Nothing to update
+            ItemDB.updateItems(List.of());
+        } catch (Exception e) {
+            fail("Exception thrown: " + e);
+        }
+    }
 }
@@ -3,13 +3,20 @@ package org.lukos.database;
 import org.junit.jupiter.api.Test;
 import org.lukos.model.GameTest;
 import org.lukos.model.exceptions.user.NoSuchPlayerException;
+import org.lukos.model.exceptions.user.NoSuchRoleException;
+import org.lukos.model.location.states.Repaired;
 import org.lukos.model.notes.Deathnote;
+import org.lukos.model.rolesystem.Group;
+import org.lukos.model.rolesystem.jobs.Mayor;
+import org.lukos.model.rolesystem.roles.doubleroles.Jester;
+import org.lukos.model.rolesystem.roles.mainroles.Werewolf;
 import org.lukos.model.user.PlayerIdentifier;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -184,6 +191,43 @@ public class PlayerDBTest extends GameTest {
     }
 
     
+    /** @utp.description Testing that the players at houses are kept in memory as players move between them */
+    @Test
+    public void getPlayersAtLocationInMemory() {
+        try {
+            int uid1 = UserDB.createUser("iss1", "memory1", "memoryPlayer1");
+            int uid2 = UserDB.createUser("iss2", "memory2", "memoryPlayer2");
+            int iid = InstanceDB.addNewInstance(uid1, "memoryPlayers", 222);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            int house1 = HouseDB.getHousePlayerByID(player1);
+            int house2 = HouseDB.getHousePlayerByID(player2);
+
+            // Reads the locations of the instance into memory
+            LocationDB.getLocationsFromInstanceID(iid);
+            PlayerDB.visitLocation(house1, player2);
+            assertEquals(List.of(player1, player2), PlayerDB.getPlayersAtLocation(house1));
+            assertTrue(PlayerDB.getPlayersAtLocation(house2).isEmpty());
+            assertEquals(uid2, PlayerDB.getOwnerByHouseID(house2));
+            assertTrue(HouseDB.existHouseByID(house2));
+            assertFalse(LocationDB.bridgeExists(house2));
+
+            PlayerDB.visitLocations(Map.of(player1, house2, player2, house2));
+            assertTrue(PlayerDB.getPlayersAtLocation(house1).isEmpty());
+            assertEquals(List.of(player1, player2), PlayerDB.getPlayersAtLocation(house2));
+
+            // The players read from the database are the same as the ones kept in memory
+            LocationCache.getInstance().invalidate(iid);
+            assertTrue(PlayerDB.getPlayersAtLocation(house1).isEmpty());
+            assertEquals(List.of(player1, player2), PlayerDB.getPlayersAtLocation(house2));
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
     /** @utp.description Testing if getting the id of the player owning a house gives the right player */
     @Test
     public void getOwnerByHouseID() {
@@ -234,4 +278,98 @@ public class PlayerDBTest extends GameTest {
             fail("Exception thrown: " + e);
         }
     }
+
+    
+    /** @utp.description Testing if it works to set the protected-status of multiple players at once */
+    @Test
+    public void updateProtectedList() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "newPlayer", 222);
+            int uid1 = UserDB.createUser("iss1", "suuub1", "newPlayer1");
+            int uid2 = UserDB.createUser("iss2", "suuub2", "newPlayer2");
+            int uid3 = UserDB.createUser("iss3", "suuub3", "newPlayer3");
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid3));
+
+            PlayerDB.updateProtected(List.of(player1, player2), true);
+            List<PlayerIdentifier> protectedPlayers = PlayerDB.getProtectedPlayers(iid);
+            assertEquals(2, protectedPlayers.size());
+            assertTrue(protectedPlayers.containsAll(List.of(player1, player2)));
+
+            PlayerDB.updateProtected(protectedPlayers, false);
+            assertEquals(0, PlayerDB.getProtectedPlayers(iid).size());
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
+    /** @utp.description Testing that moving multiple players at once moves every player to their own location */
+    @Test
+    public void visitLocations() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "getPlayer", 222);
+            int uid1 = UserDB.createUser("iss1", "suuub1", "getPlayer1");
+            int uid2 = UserDB.createUser("iss2", "suuub2", "getPlayer2");
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            int lid1 = LocationDB.createNewLocation(iid);
+            int lid2 = LocationDB.createNewLocation(iid);
+
+            PlayerDB.visitLocations(Map.of(player1, lid1, player2, lid2));
+            assertEquals(List.of(player1), PlayerDB.getPlayersAtLocation(lid1));
+            assertEquals(List.of(player2), PlayerDB.getPlayersAtLocation(lid2));
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
+    /** @utp.description Testing that the snapshots of the players of an instance contain their name, status, roles and house */
+    @Test
+    public void getPlayerSnapshotsTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "snapshot", 222);
+            int uid1 = UserDB.createUser("iss1", "snap1", "snapshotPlayer1");
+            int uid2 = UserDB.createUser("iss2", "snap2", "snapshotPlayer2");
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            InstanceDB.initializeInstanceState(iid);
+            InstanceDB.killPlayer(player2);
+            RoleDB.setMainRolePlayerByID(player1, new Werewolf());
+            RoleDB.addDoubleRolePlayerByID(player1, new Jester());
+            RoleDB.addJobPlayerByID(player1, new Mayor());
+
+            List<PlayerSnapshot> snapshots = PlayerDB.getPlayerSnapshots(iid);
+            assertEquals(2, snapshots.size());
+
+            PlayerSnapshot snapshot1 = snapshots.get(0);
+            assertEquals(player1, snapshot1.playerIdentifier());
+            assertEquals("snapshotPlayer1", snapshot1.username());
+            assertTrue(snapshot1.alive());
+            assertTrue(snapshot1.getMainRole() instanceof Werewolf);
+            assertEquals(1, snapshot1.doubleRoles().size());
+            assertTrue(snapshot1.doubleRoles().get(0) instanceof Jester);
+            assertEquals(1, snapshot1.jobs().size());
+            assertTrue(snapshot1.jobs().get(0) instanceof Mayor);
+            assertEquals(Group.JESTER, snapshot1.getGroup());
+            assertEquals(Repaired.getInstance(), snapshot1.houseState());
+
+            PlayerSnapshot snapshot2 = snapshots.get(1);
+            assertEquals(player2, snapshot2.playerIdentifier());
+            assertFalse(snapshot2.alive());
+            assertNull(snapshot2.mainRole());
+            assertTrue(snapshot2.doubleRoles().isEmpty());
+            assertThrows(NoSuchRoleException.class, snapshot2::getGroup);
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
 }
@@ -4,15 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.lukos.model.rolesystem.DoubleRole;
 import org.lukos.model.rolesystem.Job;
 import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.Purpose;
 import org.lukos.model.rolesystem.jobs.Mayor;
 import org.lukos.model.rolesystem.roles.doubleroles.Jester;
 import org.lukos.model.rolesystem.roles.mainroles.GuardianAngel;
+import org.lukos.model.rolesystem.roles.mainroles.Werewolf;
 import org.lukos.model.user.PlayerIdentifier;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -208,4 +212,53 @@ public class RoleDBTest {
             assertTrue(expected.isInstance(e));
         }
     }
+
+    /** @utp.description Testing that the main roles of several players are set at once, replacing their old ones */
+    @Test
+    public void setMainRolesPlayersTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "bulkRoles", 222);
+            PlayerIdentifier first = new PlayerIdentifier(iid, UserDB.createUser("iss", "bulkFirst", "bulkFirst"));
+            PlayerIdentifier second = new PlayerIdentifier(iid, UserDB.createUser("iss", "bulkSecond", "bulkSecond"));
+            PlayerDB.addNewPlayer(first);
+            PlayerDB.addNewPlayer(second);
+            RoleDB.setMainRolePlayerByID(first, new Werewolf());
+
+            Map<PlayerIdentifier, MainRole> mainRoles = new LinkedHashMap<>();
+            mainRoles.put(first, new GuardianAngel());
+            mainRoles.put(second, new Werewolf());
+            RoleDB.setMainRolesPlayers(mainRoles);
+            assertEquals(GuardianAngel.class, RoleDB.getMainRolePlayerByID(first).getClass());
+            assertEquals(Werewolf.class, RoleDB.getMainRolePlayerByID(second).getClass());
+
+            // Nothing to set
+            RoleDB.setMainRolesPlayers(Map.of());
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Testing that the main roles and jobs of all players of an instance are read at once */
+    @Test
+    public void getMainRolesAndJobsByInstanceTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "bulkPurposes", 222);
+            PlayerIdentifier first = new PlayerIdentifier(iid, UserDB.createUser("iss", "purposeFirst", "first"));
+            PlayerIdentifier second = new PlayerIdentifier(iid, UserDB.createUser("iss", "purposeSecond", "second"));
+            PlayerDB.addNewPlayer(first);
+            PlayerDB.addNewPlayer(second);
+            RoleDB.addJobPlayerByID(first, new Mayor());
+            RoleDB.setMainRolePlayerByID(first, new GuardianAngel());
+            RoleDB.addDoubleRolePlayerByID(first, new Jester());
+            RoleDB.setMainRolePlayerByID(second, new Werewolf());
+
+            Map<PlayerIdentifier, List<Purpose>> purposes = RoleDB.getMainRolesAndJobsByInstance(iid);
+            assertEquals(List.of(first, second), List.copyOf(purposes.keySet()));
+            assertEquals(List.of(GuardianAngel.class, Mayor.class),
+                    purposes.get(first).stream().map(Object::getClass).toList());
+            assertEquals(List.of(Werewolf.class), purposes.get(second).stream().map(Object::getClass).toList());
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
 }
@@ -1,15 +1,18 @@
 package org.lukos.database;
 
 import org.junit.jupiter.api.Test;
+import org.lukos.model.chatsystem.ChatType;
+import org.lukos.model.chatsystem.MessageEntry;
 import org.lukos.model.exceptions.user.NoSuchUserException;
 import org.lukos.model.user.IssuerSub;
 import org.lukos.model.user.PlayerIdentifier;
 import org.lukos.model.user.User;
 
-import java.io.File;
+import java.io.StringWriter;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -191,13 +194,74 @@ public class UserDBTest {
     }
 
     
-    /** @utp.description Testing that a file is in fact created from getAllUserInfo (should probably be tested further) */
+    /** @utp.description Testing that the data of a user without a game is written to a writer */
     @Test
-    public void getAllUserInfoTest() {
+    public void writeAllUserInfoWriterTest() {
         try {
             int userID = UserDB.createUser("iss6", "sub6", "infoUsername");
-            File file = UserDB.getAllUserInfo(userID);
-            assertNotNull(file);
+            StringWriter writer = new StringWriter();
+            UserDB.writeAllUserInfo(userID, writer);
+            String[] rows = writer.toString().split("\n");
+
+            // 10 header rows and the user
+            assertEquals(11, rows.length);
+            assertTrue(rows[1].contains("infoUsername"));
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
+    /** @utp.description Testing that every table is written once, without multiplying the rows of the tables */
+    @Test
+    public void writeAllUserInfoTest() {
+        try {
+            int userID = UserDB.createUser("iss7", "sub7", "streamUsername");
+            int instanceID = InstanceDB.addNewInstance(userID, "streamGame", 7);
+            PlayerIdentifier player = new PlayerIdentifier(instanceID, userID);
+            PlayerDB.addNewPlayer(player);
+            ItemDB.addPlayerItem(player, "firstItem");
+            ItemDB.addPlayerItem(player, "secondItem");
+            ItemDB.addPlayerItem(player, "thirdItem");
+
+            StringBuilder out = new StringBuilder();
+            UserDB.writeAllUserInfo(userID, out);
+            String[] rows = out.toString().split("\n");
+
+            // 10 header rows, the user, the player and the 3 items
+            assertEquals(15, rows.length);
+            assertTrue(rows[0].startsWith("userID,sub,issuer,username"));
+            assertTrue(rows[1].contains("streamUsername"));
+            assertEquals(3, out.toString().split("Item,1\n", -1).length - 1);
+        } catch (Exception e){
+            fail("Exception thrown: " + e);
+        }
+    }
+
+    
+    /** @utp.description Testing that a table with more rows than fit in a page is written completely, once */
+    @Test
+    public void writeAllUserInfoPagesTest() {
+        try {
+            int userID = UserDB.createUser("iss8", "sub8", "pagedUsername");
+            int instanceID = InstanceDB.addNewInstance(userID, "pagedGame", 7);
+            int chatID = ChatDB.createChat(instanceID, ChatType.GENERAL);
+            List<MessageEntry> messages = new ArrayList<>();
+            for (int i = 0; i <= UserDB.EXPORT_PAGE_SIZE; i++) {
+                messages.add(new MessageEntry(userID, Instant.now(), "pagedMessage" + i));
+            }
+            ChatDB.submitChats(chatID, messages);
+
+            StringWriter writer = new StringWriter();
+            UserDB.writeAllUserInfo(userID, writer);
+            String out = writer.toString();
+
+            // 10 header rows, the user and the messages
+            assertEquals(12 + UserDB.EXPORT_PAGE_SIZE, out.split("\n").length);
+            for (int i = 0; i <= UserDB.EXPORT_PAGE_SIZE; i++) {
+                assertEquals(2, out.split("pagedMessage" + i + "\n", -1).length, "Message " + i + " once");
+            }
+            InstanceDB.deleteInstanceByIID(instanceID);
         } catch (Exception e){
             fail("Exception thrown: " + e);
         }
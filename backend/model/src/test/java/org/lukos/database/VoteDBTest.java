@@ -8,7 +8,9 @@ import org.lukos.model.voting.VoteType;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -280,6 +282,54 @@ public class VoteDBTest {
         }
     }
     
+    /** @utp.description Testing that a ballot is only added when the vote is open and the player has not voted yet */
+    @Test
+    public void addBallotIfOpenTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "open", 12345);
+            int uid = UserDB.createUser("open", "voter", "voter");
+            PlayerDB.addNewPlayer(new PlayerIdentifier(iid, uid));
+            int vid = VoteDB.addNewVote(iid, VoteType.LYNCH);
+            assertFalse(VoteDB.addBallotIfOpen(uid, iid, vid, 1));
+
+            VoteDB.modifyStarted(vid, true);
+            assertTrue(VoteDB.addBallotIfOpen(uid, iid, vid, 1));
+            assertFalse(VoteDB.addBallotIfOpen(uid, iid, vid, 1));
+
+            VoteDB.modifyEnded(vid, true);
+            int ended = VoteDB.addNewVote(iid, VoteType.MAYOR);
+            VoteDB.modifyStarted(ended, true);
+            VoteDB.modifyEnded(ended, true);
+            assertFalse(VoteDB.addBallotIfOpen(uid, iid, ended, 1));
+
+            ResultSet rs = VoteDB.getAllBallotsOfVote(vid, true);
+            assertTrue(rs.next());
+            assertFalse(rs.next());
+        } catch (Exception e) {
+            fail("Exception thrown: " + e);
+        }
+    }
+    
+    /** @utp.description Testing if the players allowed to vote are saved and replaced as expected  */
+    @Test
+    public void saveAllowedPlayersTest() {
+        try {
+            int iid = InstanceDB.addNewInstance(1, "allowed", 123);
+            PlayerIdentifier first = new PlayerIdentifier(iid, UserDB.createUser("allowed", "first", "first"));
+            PlayerIdentifier second = new PlayerIdentifier(iid, UserDB.createUser("allowed", "second", "second"));
+            int vid = VoteDB.addNewVote(iid, VoteType.LYNCH);
+            assertTrue(VoteDB.getAllowedPlayers(vid).isEmpty());
+
+            VoteDB.saveAllowedPlayers(vid, Set.of(first, second));
+            assertEquals(Set.of(first, second), new HashSet<>(VoteDB.getAllowedPlayers(vid)));
+
+            VoteDB.saveAllowedPlayers(vid, Set.of(second));
+            assertEquals(List.of(second), VoteDB.getAllowedPlayers(vid));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
     /** @utp.description Testing if getting the players allowed to vote throws exceptions with unknown vid  */
     @Test
     public void getAllowedPlayersExceptionTest() {
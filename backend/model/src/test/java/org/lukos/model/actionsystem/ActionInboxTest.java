@@ -0,0 +1,114 @@
+package org.lukos.model.actionsystem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.ActionMessagesDB;
+import org.lukos.database.ActionsDB;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.UserDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.actionsystem.actions.ActionMessageDT;
+import org.lukos.model.actionsystem.actions.KillPlayers;
+import org.lukos.model.events.GameStateDelta;
+import org.lukos.model.events.GameStateEvent;
+import org.lukos.model.listeners.GameStateListener;
+import org.lukos.model.user.PlayerIdentifier;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ActionInbox}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ActionInboxTest extends GameTest {
+
+    private final List<GameStateDelta> deltas = new ArrayList<>();
+    private final GameStateListener listener = (delta, recipients) -> {
+        assertEquals(List.of(delta.userID()), recipients);
+        deltas.add(delta);
+    };
+
+    private PlayerIdentifier player1;
+    private PlayerIdentifier player2;
+    private int actionID;
+
+    @BeforeEach
+    public void setUp() {
+        GameStateEvent.getGameStateEvent().subscribe(listener);
+        try {
+            int userID1 = UserDB.createUser(this.getClass().getName(), "inbox1", "testUser");
+            int userID2 = UserDB.createUser(this.getClass().getName(), "inbox2", "testUser");
+            int iid = InstanceDB.addNewInstance(userID1, "Inbox", 2);
+            this.player1 = new PlayerIdentifier(iid, userID1);
+            this.player2 = new PlayerIdentifier(iid, userID2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            InstanceDB.initializeInstanceState(iid);
+
+            ActionDT actionDT = new ActionDT(Instant.now(), new KillPlayers(),
+                    new PreActionDT(player1, new ActionEnc(new ArrayList<>(), List.of(player2))));
+            this.actionID = ActionsDB.addNewAction(actionDT);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        GameStateEvent.getGameStateEvent().unsubscribe(listener);
+    }
+
+    /** @utp.description Tests whether unlocked results are pushed to their receivers, one delta per receiver. */
+    @Test
+    public void deliverUnlockedTest() {
+        try {
+            ActionMessageDT seen = new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("a"));
+            ActionMessageDT killed = new ActionMessageDT(ActionMessages.NIGHT_KILL_BROADCAST_MESSAGE, List.of("b"));
+            ActionMessagesDB.addNewMessage(seen, actionID, player1);
+            ActionMessagesDB.addNewMessage(killed, actionID, List.of(player1, player2));
+
+            Set<Integer> receivers = ActionInbox.deliverUnlocked(player1.instanceID());
+            assertEquals(Set.of(player1.userID(), player2.userID()), receivers);
+            assertEquals(List.of(GameStateDelta.actionResults(player1.instanceID(), player1.userID(),
+                            List.of(seen, killed)),
+                    GameStateDelta.actionResults(player1.instanceID(), player2.userID(), List.of(killed))), deltas);
+
+            // Nothing is pushed twice
+            deltas.clear();
+            assertTrue(ActionInbox.deliverUnlocked(player1.instanceID()).isEmpty());
+            assertTrue(deltas.isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether fetching returns all unlocked results, and marks the new ones as sent. */
+    @Test
+    public void fetchTest() {
+        try {
+            ActionMessageDT first = new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("a", "b"));
+            ActionMessageDT second = new ActionMessageDT(ActionMessages.SEE_ROLE_MESSAGE, List.of("c"));
+            ActionMessagesDB.addNewMessage(first, actionID, player1);
+            ActionInbox.deliverUnlocked(player1.instanceID());
+            ActionMessagesDB.addNewMessage(second, actionID, player1);
+
+            assertEquals(List.of(first), ActionInbox.fetch(player1));
+            assertTrue(ActionMessagesDB.getAllNotSendMessagesForUser(player1).isEmpty());
+
+            ActionInbox.deliverUnlocked(player1.instanceID());
+            assertEquals(List.of(first, second), ActionInbox.fetch(player1));
+            assertTrue(ActionInbox.fetch(player2).isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
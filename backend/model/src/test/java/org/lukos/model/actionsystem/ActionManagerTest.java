@@ -657,4 +657,45 @@ public class ActionManagerTest extends GameTest {
             fail("An exception was thrown! " + e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * performActions(int, DayPhase) test, two actions.
+     *
+     * @utp.description Test whether performing the buffer is counted towards the metrics of the given phase.
+     */
+    @Test
+    public void performActionsMetricsTest() {
+        try {
+            ActionEnc actionEnc = new ActionEnc(new ArrayList<>(Collections.singleton(secondPlayer.getHouse())), new ArrayList<>());
+            ActionManager.addAction(createActionDT(new MoveToLocation(), actionEnc));
+            ActionManager.addAction(createActionDT(new ChangeRole()));
+
+            ActionMetrics before = metricsOf(DayPhase.EVENING);
+            ActionManager.performActions(instanceId, DayPhase.EVENING);
+            ActionMetrics after = metricsOf(DayPhase.EVENING);
+
+            assertEquals(0, ActionManager.actionsInBuffer(instanceId), "The buffer should be empty after performing the actions!");
+            assertEquals(before.runs() + 1, after.runs(), "The buffer should have been counted once!");
+            assertEquals(before.actions() + 2, after.actions(), "Both actions should have been counted!");
+            assertTrue(after.maxMillis() <= after.totalMillis(), "No run can take longer than all runs together!");
+
+            // Performing an empty buffer is counted as well
+            ActionManager.performActions(instanceId, DayPhase.EVENING);
+            assertEquals(before.runs() + 2, metricsOf(DayPhase.EVENING).runs(), "The empty buffer should have been counted!");
+            assertEquals(before.actions() + 2, metricsOf(DayPhase.EVENING).actions(), "No actions should have been added!");
+        } catch (Exception e) {
+            fail("An exception was thrown! " + e);
+        }
+    }
+
+    /**
+     * Returns the metrics of a phase, or empty metrics if no actions have been performed in that phase yet.
+     *
+     * @param phase the phase
+     * @return the metrics of the phase
+     */
+    private static ActionMetrics metricsOf(DayPhase phase) {
+        return ActionManager.getMetrics().stream().filter(metrics -> metrics.phase() == phase).findFirst()
+                .orElse(new ActionMetrics(phase, 0, 0, 0, 0));
+    }
+}
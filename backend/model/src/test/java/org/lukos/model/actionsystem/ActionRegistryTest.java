@@ -0,0 +1,30 @@
+package org.lukos.model.actionsystem;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.model.actionsystem.actions.SeeRole;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ActionRegistry}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ActionRegistryTest {
+
+    /** @utp.description Tests whether an action can be restored from the simple name of its class. */
+    @Test
+    public void createActionTest() {
+        assertTrue(ActionRegistry.contains("SeeRole"));
+        assertTrue(ActionRegistry.createAction("SeeRole") instanceof SeeRole);
+        assertNotSame(ActionRegistry.createAction("SeeRole"), ActionRegistry.createAction("SeeRole"));
+    }
+
+    /** @utp.description Tests whether composite actions are not part of the registry. */
+    @Test
+    public void createActionUnknownTest() {
+        assertFalse(ActionRegistry.contains("CompAction"));
+        assertThrows(IllegalArgumentException.class, () -> ActionRegistry.createAction("CompAction"));
+    }
+}
@@ -0,0 +1,163 @@
+package org.lukos.model.chatsystem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.ChatDB;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.model.GameTest;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.User;
+import org.lukos.model.user.UserManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ChatHistoryBuffer}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ChatHistoryBufferTest extends GameTest {
+
+    private int instanceID;
+    private int chatID;
+    private int playerUID;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            User user = UserManager.getInstance().createUser(new IssuerSub("ChatHistoryBufferTest", "Sub1"), "User1");
+            this.instanceID = user.createGame("ChatHistoryBufferTestGame", 1);
+            this.playerUID = user.getPlayer().getPlayerIdentifier().userID();
+            this.chatID = ChatManager.getInstance().createChat(this.instanceID, ChatType.GENERAL);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** Stores the messages "m{from}" up to "m{from + amount - 1}" and returns them with their IDs. */
+    private List<ChatMessage> store(int from, int amount) throws Exception {
+        List<MessageEntry> entries = new ArrayList<>();
+        for (int i = from; i < from + amount; i++) {
+            entries.add(new MessageEntry(playerUID, Instant.now(), "m" + i));
+        }
+        List<Integer> ids = ChatDB.submitChats(chatID, entries);
+        assertEquals(amount, ids.size());
+        List<ChatMessage> stored = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            stored.add(new ChatMessage(chatID, ids.get(i), entries.get(i)));
+        }
+        return stored;
+    }
+
+    private static List<String> contents(List<ChatMessage> messages) {
+        return messages.stream().map(m -> m.message.content()).toList();
+    }
+
+    /** @utp.description Tests whether pages of a chat with fewer messages than the capacity come from memory. */
+    @Test
+    public void completeTest() {
+        try {
+            List<ChatMessage> stored = store(0, 5);
+            ChatHistoryBuffer buffer = new ChatHistoryBuffer(10);
+
+            assertEquals(List.of("m3", "m4"), contents(buffer.before(chatID, Integer.MAX_VALUE, 2)));
+            assertEquals(List.of("m0", "m1", "m2"), contents(buffer.before(chatID, stored.get(3).messageId, 10)));
+            assertEquals(List.of("m2", "m3"), contents(buffer.after(chatID, stored.get(1).messageId, 2)));
+            assertEquals(List.of(), buffer.after(chatID, stored.get(4).messageId, 2));
+            assertEquals(4, buffer.getHits());
+            // Filling the buffer is not counted as a miss
+            assertEquals(0, buffer.getMisses());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether pages reaching past the oldest message in memory are read from the database. */
+    @Test
+    public void overflowTest() {
+        try {
+            List<ChatMessage> stored = store(0, 8);
+            ChatHistoryBuffer buffer = new ChatHistoryBuffer(4);
+
+            assertEquals(List.of("m5", "m6", "m7"), contents(buffer.before(chatID, Integer.MAX_VALUE, 3)));
+            assertEquals(1, buffer.getHits());
+            assertEquals(List.of("m2", "m3", "m4", "m5"),
+                    contents(buffer.before(chatID, stored.get(6).messageId, 4)));
+            assertEquals(List.of("m1", "m2"), contents(buffer.after(chatID, stored.get(0).messageId, 2)));
+            assertEquals(2, buffer.getMisses());
+            assertEquals(List.of("m5", "m6"), contents(buffer.after(chatID, stored.get(4).messageId, 2)));
+            assertEquals(2, buffer.getHits());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether appended messages are returned, and evicted chats are read again. */
+    @Test
+    public void appendTest() {
+        try {
+            store(0, 2);
+            ChatHistoryBuffer buffer = new ChatHistoryBuffer(3);
+            assertEquals(List.of("m0", "m1"), contents(buffer.before(chatID, Integer.MAX_VALUE, 10)));
+
+            List<ChatMessage> appended = store(2, 2);
+            buffer.append(chatID, appended);
+            // Appending the same messages twice keeps one copy
+            buffer.append(chatID, appended);
+            assertEquals(List.of("m1", "m2", "m3"), contents(buffer.before(chatID, Integer.MAX_VALUE, 3)));
+            assertEquals(0, buffer.getMisses());
+            // The oldest message has been pushed out, so it is read from the database
+            assertEquals(List.of("m0", "m1", "m2", "m3"), contents(buffer.before(chatID, Integer.MAX_VALUE, 10)));
+            assertEquals(1, buffer.getMisses());
+
+            // Messages stored without being appended are read after evicting the chat
+            store(4, 1);
+            assertEquals(List.of("m3"), contents(buffer.before(chatID, Integer.MAX_VALUE, 1)));
+            buffer.evictInstance(instanceID);
+            assertEquals(List.of("m4"), contents(buffer.before(chatID, Integer.MAX_VALUE, 1)));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether a disabled buffer reads every page from the database. */
+    @Test
+    public void disabledTest() {
+        try {
+            List<ChatMessage> stored = store(0, 3);
+            ChatHistoryBuffer buffer = new ChatHistoryBuffer(0);
+
+            assertEquals(List.of("m1", "m2"), contents(buffer.before(chatID, Integer.MAX_VALUE, 2)));
+            assertEquals(List.of("m1", "m2"), contents(buffer.after(chatID, stored.get(0).messageId, 5)));
+            assertEquals(0, buffer.getHits());
+            assertEquals(2, buffer.getMisses());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether messages stored by another server are read while the database is shared. */
+    @Test
+    public void sharedTest() {
+        try {
+            store(0, 2);
+            ChatHistoryBuffer buffer = new ChatHistoryBuffer(10);
+            DatabaseConnection.getInstance().setShared(true);
+
+            assertEquals(List.of("m0", "m1"), contents(buffer.before(chatID, Integer.MAX_VALUE, 10)));
+            store(2, 1);
+            assertEquals(List.of("m1", "m2"), contents(buffer.before(chatID, Integer.MAX_VALUE, 2)));
+            assertEquals(0, buffer.getHits());
+            assertEquals(2, buffer.getMisses());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        } finally {
+            DatabaseConnection.getInstance().setShared(false);
+        }
+    }
+}
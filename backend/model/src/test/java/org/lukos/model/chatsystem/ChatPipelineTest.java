@@ -0,0 +1,162 @@
+package org.lukos.model.chatsystem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.InstanceDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.exceptions.chatsystem.ChatBusyException;
+import org.lukos.model.instances.DayPhase;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.User;
+import org.lukos.model.user.UserManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link ChatPipeline}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class ChatPipelineTest extends GameTest {
+
+    private int instanceID;
+    private int chatID;
+    private int playerUID1;
+    private int playerUID2;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            User user1 = UserManager.getInstance().createUser(new IssuerSub("ChatPipelineTest", "Sub1"), "User1");
+            this.instanceID = user1.createGame("ChatPipelineTestGame", 1);
+            User user2 = UserManager.getInstance().createUser(new IssuerSub("ChatPipelineTest", "Sub2"), "User2");
+            user2.joinGame(instanceID);
+
+            this.playerUID1 = user1.getPlayer().getPlayerIdentifier().userID();
+            this.playerUID2 = user2.getPlayer().getPlayerIdentifier().userID();
+
+            chatID = ChatManager.getInstance().createChat(this.instanceID, ChatType.GENERAL);
+            Chat.addChatPlayer(playerUID1, chatID, true);
+            Chat.addChatPlayer(playerUID2, chatID, false);
+            InstanceDB.modifyPhase(instanceID, DayPhase.DAY);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether a submitted message is returned right away and stored afterwards. */
+    @Test
+    public void submitTest() {
+        try {
+            ChatMessage message =
+                    ChatPipeline.getInstance().submit(instanceID, chatID, playerUID1, "Pipeline", Instant.now());
+            assertEquals(chatID, message.chatId);
+            assertEquals(playerUID1, message.message.id());
+
+            List<ChatMessage> messages = ChatPipeline.getInstance()
+                    .getMessages(chatID, Instant.now().minus(5, ChronoUnit.MINUTES), 5);
+            assertEquals(List.of("Pipeline"), messages.stream().map(m -> m.message.content()).toList());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether messages of users without write access are refused. */
+    @Test
+    public void permissionTest() {
+        try {
+            assertThrows(NoPermissionException.class,
+                    () -> ChatPipeline.getInstance().submit(instanceID, chatID, playerUID2, "No", Instant.now()));
+            assertThrows(NoPermissionException.class,
+                    () -> ChatPipeline.getInstance().submit(instanceID + 1, chatID, playerUID1, "No", Instant.now()));
+            assertThrows(NoPermissionException.class,
+                    () -> ChatPipeline.getInstance().submit(instanceID, -1, playerUID1, "No", Instant.now()));
+
+            // Permissions that are kept in memory follow the changes made to the chat
+            Chat.toggleWriteAccessPlayer(playerUID2, chatID, true);
+            ChatPipeline.getInstance().submit(instanceID, chatID, playerUID2, "Yes", Instant.now());
+            Chat.removeChatPlayer(playerUID1, chatID);
+            assertThrows(NoPermissionException.class,
+                    () -> ChatPipeline.getInstance().submit(instanceID, chatID, playerUID1, "No", Instant.now()));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether messages are refused while the game has not started. */
+    @Test
+    public void notStartedTest() {
+        try {
+            int otherInstance = InstanceDB.addNewInstance(playerUID1, "NotStarted", 1);
+            int otherChat = ChatManager.getInstance().createChat(otherInstance, ChatType.GENERAL);
+            Chat.addChatPlayer(playerUID1, otherChat, true);
+
+            NoPermissionException e = assertThrows(NoPermissionException.class,
+                    () -> ChatPipeline.getInstance().submit(otherInstance, otherChat, playerUID1, "No", Instant.now()));
+            assertEquals("Chats aren't accessible when the game hasn't started yet", e.getMessage());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether batches spanning several chats are stored in the chat they were sent to. */
+    @Test
+    public void batchTest() {
+        try {
+            int otherChat = ChatManager.getInstance().createChat(this.instanceID, ChatType.WOLVES);
+            ChatPipeline pipeline = new ChatPipeline(100, 8, 1000, 0);
+            for (int i = 0; i < 30; i++) {
+                int cid = i % 3 == 0 ? otherChat : chatID;
+                pipeline.enqueue(new ChatMessage(cid, new MessageEntry(playerUID1, Instant.now(), "m" + i)));
+            }
+            pipeline.shutdown();
+            assertEquals(0, pipeline.getQueued());
+
+            Instant from = Instant.now().minus(5, ChronoUnit.MINUTES);
+            List<String> stored =
+                    Chat.getMessages(chatID, from, 100).stream().map(m -> m.message.content()).toList();
+            List<String> other =
+                    Chat.getMessages(otherChat, from, 100).stream().map(m -> m.message.content()).toList();
+            assertEquals(20, stored.size());
+            assertEquals(10, other.size());
+            assertTrue(stored.contains("m1") && stored.contains("m29"));
+            assertTrue(other.contains("m0") && other.contains("m27"));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether messages that cannot be stored are retried, and counted as lost. */
+    @Test
+    public void lostTest() {
+        try {
+            ChatPipeline pipeline = new ChatPipeline(100, 8, 1000, 0);
+            // The chat does not exist, so storing the message keeps failing
+            pipeline.enqueue(new ChatMessage(-1, new MessageEntry(playerUID1, Instant.now(), "Lost")));
+            pipeline.enqueue(new ChatMessage(chatID, new MessageEntry(playerUID1, Instant.now(), "Stored")));
+            assertTrue(pipeline.flush(chatID));
+            assertTrue(pipeline.flush(-1));
+            assertEquals(1, pipeline.getLost());
+            assertEquals(List.of("Stored"), pipeline.getMessages(chatID, Instant.now().minus(5, ChronoUnit.MINUTES), 5)
+                    .stream().map(m -> m.message.content()).toList());
+            pipeline.shutdown();
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether messages are refused once the pipeline has been shut down. */
+    @Test
+    public void shutdownTest() {
+        ChatPipeline pipeline = new ChatPipeline(1, 1, 10, 0);
+        pipeline.shutdown();
+        assertThrows(ChatBusyException.class,
+                () -> pipeline.enqueue(new ChatMessage(chatID, new MessageEntry(playerUID1, Instant.now(), "No"))));
+    }
+}
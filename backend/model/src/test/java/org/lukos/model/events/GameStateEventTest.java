@@ -0,0 +1,160 @@
+package org.lukos.model.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.Transaction;
+import org.lukos.database.UserDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.listeners.GameStateListener;
+import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.user.player.Player;
+import org.lukos.model.voting.Ballot;
+import org.lukos.model.voting.PlayerVote;
+import org.lukos.model.voting.Vote;
+import org.lukos.model.voting.VoteType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link GameStateEvent}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class GameStateEventTest extends GameTest {
+
+    /** The instance of {@link GameStateEvent} that can be used throughout testing */
+    private GameStateEvent gameStateEvent;
+    /** The listener subscribed during a test case */
+    private EventListener listener;
+
+    /**
+     * Method used to set up the necessary parts for testing.
+     */
+    @BeforeEach
+    public void setUp() {
+        this.gameStateEvent = GameStateEvent.getGameStateEvent();
+        this.listener = new EventListener();
+        this.gameStateEvent.subscribe(listener);
+    }
+
+    /**
+     * Method used to remove the listener, as the event is shared by all test cases.
+     */
+    @AfterEach
+    public void tearDown() {
+        this.gameStateEvent.unsubscribe(listener);
+    }
+
+    /** @utp.description Tests whether the singleton indeed only provides 1 instance of the class */
+    @Test
+    public void singletonTest() {
+        assertEquals(GameStateEvent.getGameStateEvent(), GameStateEvent.getGameStateEvent());
+    }
+
+    /** @utp.description Tests whether changes outside a transaction are delivered right away */
+    @Test
+    public void notifyTest() {
+        GameStateDelta delta = GameStateDelta.playerKilled(1, 2);
+        gameStateEvent.notify(delta, List.of(2, 3));
+        assertEquals(List.of(delta), listener.deltas);
+        assertEquals(List.of(List.of(2, 3)), listener.recipients);
+    }
+
+    /** @utp.description Tests whether an unsubscribed listener is not notified anymore */
+    @Test
+    public void unsubscribeTest() {
+        gameStateEvent.notify(GameStateDelta.playerKilled(1, 2), List.of(2));
+        gameStateEvent.unsubscribe(listener);
+        gameStateEvent.notify(GameStateDelta.playerRevived(1, 2), List.of(2));
+        assertEquals(1, listener.deltas.size());
+    }
+
+    /** @utp.description Tests whether changes made in a transaction are only delivered once it has been committed */
+    @Test
+    public void notifyAfterCommitTest() {
+        try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+            gameStateEvent.notify(GameStateDelta.voteStarted(1, 5), List.of(2));
+            assertTrue(listener.deltas.isEmpty());
+            transaction.commit();
+            assertTrue(listener.deltas.isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+        assertEquals(List.of(GameStateDelta.voteStarted(1, 5)), listener.deltas);
+    }
+
+    /** @utp.description Tests whether changes made in a transaction that is rolled back are never delivered */
+    @Test
+    public void notifyAfterRollbackTest() {
+        try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+            gameStateEvent.notify(GameStateDelta.voteStarted(1, 5), List.of(2));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+        assertTrue(listener.deltas.isEmpty());
+    }
+
+    /** @utp.description Tests whether a failing listener does not keep the other listeners from being notified */
+    @Test
+    public void failingListenerTest() {
+        GameStateListener failing = (delta, recipients) -> {
+            throw new IllegalStateException("Failing listener");
+        };
+        gameStateEvent.unsubscribe(listener);
+        gameStateEvent.subscribe(failing);
+        gameStateEvent.subscribe(listener);
+        try {
+            gameStateEvent.notify(GameStateDelta.actionResults(1, 2, List.of()), List.of(2));
+            assertEquals(1, listener.deltas.size());
+        } finally {
+            gameStateEvent.unsubscribe(failing);
+        }
+    }
+
+    /** @utp.description Tests whether casting a ballot notifies the players allowed to vote */
+    @Test
+    public void voteTest() {
+        try {
+            int uid1 = UserDB.createUser("is1", "gameState1", "gameState1");
+            int uid2 = UserDB.createUser("is1", "gameState2", "gameState2");
+            int iid = InstanceDB.addNewInstance(uid1, "gameStateGame", 1);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+
+            List<Player> allowed = new ArrayList<>(List.of(new Player(player1), new Player(player2)));
+            Vote vote = new PlayerVote(iid, VoteType.LYNCH, allowed);
+            vote.start();
+            vote.submitVote(player1, new Ballot(player1, player2));
+            assertEquals(List.of(GameStateDelta.ballotCast(iid, uid1, vote.getVid(), uid2)), listener.deltas);
+            assertEquals(List.of(uid1, uid2), listener.recipients.get(0).stream().sorted().toList());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * Implementation of {@link GameStateListener} needed to test.
+     */
+    private static class EventListener implements GameStateListener {
+        /** The deltas this listener has been notified of */
+        final List<GameStateDelta> deltas = new ArrayList<>();
+        /** The recipients of each of the deltas */
+        final List<List<Integer>> recipients = new ArrayList<>();
+
+        @Override
+        public void gameStateChanged(GameStateDelta delta, List<Integer> recipients) {
+            this.deltas.add(delta);
+            this.recipients.add(recipients);
+        }
+    }
+}
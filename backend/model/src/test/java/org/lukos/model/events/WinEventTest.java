@@ -2,9 +2,13 @@ package org.lukos.model.events;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.Transaction;
 import org.lukos.model.listeners.WinEventListener;
 import org.lukos.model.rolesystem.Group;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -38,10 +42,10 @@ public class WinEventTest {
         try {
             WinEventTest.EventListener listener = new WinEventTest.EventListener();
             winEvent.subscribe(listener);
-            winEvent.notify(1, null);
+            winEvent.notify(1, null, List.of());
             assertEquals(1, listener.timesNotified);
             for (int i = 0; i < 5; i++) {
-                winEvent.notify(i, null);
+                winEvent.notify(i, null, List.of());
             }
             assertEquals(6, listener.timesNotified);
         } catch (Exception e) {
@@ -58,9 +62,9 @@ public class WinEventTest {
         try {
             WinEventTest.EventListener listener = new WinEventTest.EventListener();
             winEvent.subscribe(listener);
-            winEvent.notify(1, null);
+            winEvent.notify(1, null, List.of());
             winEvent.unsubscribe(listener);
-            winEvent.notify(1, null);
+            winEvent.notify(1, null, List.of());
             assertEquals(1, listener.timesNotified);
         } catch (Exception e) {
             fail("Unexpected exception thrown: " + e);
@@ -73,14 +77,14 @@ public class WinEventTest {
         try {
             WinEventTest.EventListener listener = new WinEventTest.EventListener();
             winEvent.subscribe(listener);
-            winEvent.notify(1, null);
+            winEvent.notify(1, null, List.of());
             assertEquals(1, listener.timesNotified);
             assertEquals(1, listener.gid);
             assertNull(listener.group);
 
             int i = 0;
             for (Group group : Group.values()) {
-                winEvent.notify(i, group);
+                winEvent.notify(i, group, List.of());
                 assertEquals(i, listener.gid);
                 assertEquals(group, listener.group);
                 i++;
@@ -91,6 +95,34 @@ public class WinEventTest {
         }
     }
 
+    /**
+     * @utp.description Tests whether the listeners are only notified once the transaction has been committed, and not
+     * at all when it is rolled back.
+     */
+    @Test
+    public void notifyAfterCommitTest() {
+        WinEventTest.EventListener listener = new WinEventTest.EventListener();
+        winEvent.subscribe(listener);
+        try {
+            try (Transaction transaction = DatabaseConnection.getInstance().beginTransaction()) {
+                winEvent.notify(1, Group.WEREWOLVES, List.of(2, 3));
+                assertEquals(0, listener.timesNotified);
+                transaction.commit();
+            }
+            assertEquals(1, listener.timesNotified);
+            assertEquals(List.of(2, 3), listener.winners);
+
+            try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+                winEvent.notify(1, Group.WEREWOLVES, List.of());
+            }
+            assertEquals(1, listener.timesNotified);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        } finally {
+            winEvent.unsubscribe(listener);
+        }
+    }
+
     /**
      * Implementation of {@link WinEventListener} needed to test.
      */
@@ -101,12 +133,15 @@ public class WinEventTest {
         int gid = -1;
         /** The {@link Group} that is put into the win function */
         Group group = null;
+        /** The winners that are put into the win function */
+        List<Integer> winners = null;
 
         @Override
-        public void win(int gid, Group winGroup) {
+        public void win(int gid, Group winGroup, List<Integer> winners) {
             this.timesNotified++;
             this.gid = gid;
             this.group = winGroup;
+            this.winners = winners;
         }
     }
 }
@@ -0,0 +1,183 @@
+package org.lukos.model.instances;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.Transaction;
+import org.lukos.database.UserDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.exceptions.voting.AlreadyVotedException;
+import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.user.player.Player;
+import org.lukos.model.voting.Ballot;
+import org.lukos.model.voting.PlayerVote;
+import org.lukos.model.voting.Vote;
+import org.lukos.model.voting.VoteType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link InstanceExecutor}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class InstanceExecutorTest extends GameTest {
+
+    /** The executor that is being tested */
+    private final InstanceExecutor executor = InstanceExecutor.getInstanceExecutor();
+
+    /** @utp.description Tests whether the commands of one instance never run at the same time. */
+    @Test
+    public void serializeTest() {
+        try {
+            int[] counter = {0};
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(-100, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    counter[0]++;
+                    running.decrementAndGet();
+                    return null;
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+            assertEquals(200, counter[0]);
+            assertEquals(1, maxRunning.get());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether the commands of different instances run in parallel. */
+    @Test
+    public void parallelTest() {
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            // Only completes when the command of the other instance runs at the same time
+            CompletableFuture<Boolean> waiting = executor.submit(-101, () -> {
+                try {
+                    return latch.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            });
+            executor.run(-102, latch::countDown);
+            assertTrue(waiting.get(30, TimeUnit.SECONDS));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether a command can run another command of the same instance without deadlock. */
+    @Test
+    public void nestedTest() {
+        try {
+            int result = executor.submit(-103, () -> executor.call(-103, () -> 42)).get(30, TimeUnit.SECONDS);
+            assertEquals(42, result);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether a command cannot wait for a command of another instance, nor a transaction for
+     * a command, instead of running it outside of the serialization of its instance.
+     */
+    @Test
+    public void crossInstanceTest() {
+        try {
+            CompletableFuture<Integer> nested = executor.submit(-106, () -> executor.call(-107, () -> 42));
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> nested.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, thrown.getCause());
+            // Submitting without waiting is allowed
+            CompletableFuture<CompletableFuture<Integer>> submitted =
+                    executor.submit(-106, () -> executor.submit(-107, () -> 42));
+            assertEquals(42, submitted.get(30, TimeUnit.SECONDS).get(30, TimeUnit.SECONDS));
+
+            try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+                assertThrows(IllegalStateException.class, () -> executor.call(-108, () -> 42));
+            }
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether exceptions thrown by a command are passed on to the caller unchanged. */
+    @Test
+    public void exceptionTest() {
+        assertThrows(NoPermissionException.class, () -> executor.run(-104, () -> {
+            throw new NoPermissionException("Not allowed");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> executor.run(-104, () -> {
+            throw new IllegalArgumentException("Wrong argument");
+        }));
+    }
+
+    /** @utp.description Tests whether the queue of an instance is removed once all its commands have run. */
+    @Test
+    public void idleTest() {
+        try {
+            executor.submit(-105, () -> null).get(30, TimeUnit.SECONDS);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (executor.getBusyInstances() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, executor.getBusyInstances());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether only one of two ballots submitted at the same time by a player is accepted. */
+    @Test
+    public void concurrentBallotTest() {
+        try {
+            int uid1 = UserDB.createUser("is1", "executorBallot1", "executorBallot1");
+            int uid2 = UserDB.createUser("is1", "executorBallot2", "executorBallot2");
+            int iid = InstanceDB.addNewInstance(uid1, "executorGame", 1);
+            PlayerIdentifier player1 = new PlayerIdentifier(iid, uid1);
+            PlayerIdentifier player2 = new PlayerIdentifier(iid, uid2);
+            PlayerDB.addNewPlayer(player1);
+            PlayerDB.addNewPlayer(player2);
+            Vote vote = new PlayerVote(iid, VoteType.LYNCH,
+                    new ArrayList<>(List.of(new Player(player1), new Player(player2))));
+            vote.start();
+
+            ExecutorService voters = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (PlayerIdentifier target : List.of(player1, player2)) {
+                results.add(voters.submit(() -> {
+                    start.await();
+                    try {
+                        vote.submitVote(player1, new Ballot(player1, target));
+                        return true;
+                    } catch (AlreadyVotedException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            voters.shutdown();
+
+            assertEquals(1, accepted);
+            assertEquals(1, vote.getBallots().size());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.lukos.model.instances;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.UserDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.user.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link InstanceRunner}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class InstanceRunnerTest extends GameTest {
+
+    /** The runner that is being tested */
+    private InstanceRunner runner;
+    /** The ID of the instance used in the test cases */
+    private int iid;
+    /** The ID of the gamemaster of the instance */
+    private int gamemaster;
+
+    /**
+     * Creates a lobby with enough players to start the game.
+     */
+    @BeforeEach
+    public void init() {
+        try {
+            runner = InstanceRunner.getInstanceRunner();
+            gamemaster = UserDB.createUser("InstanceRunnerTest", "runnerGM", "runnerGM");
+            iid = new User(gamemaster).createGame("InstanceRunnerTest", 1);
+            for (int i = 2; i <= 12; i++) {
+                int uid = UserDB.createUser("InstanceRunnerTest", "runner" + i, "runner" + i);
+                new User(uid).joinGame(iid);
+            }
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * Removes the timer of the instance, such that it does not fire during other test cases.
+     */
+    @AfterEach
+    public void cleanUp() {
+        runner.cancel(iid);
+    }
+
+    /** @utp.description Tests whether the start of the phases follows the real time schedule. */
+    @Test
+    public void getNextPhaseStartTest() {
+        LocalDateTime morning = LocalDateTime.of(2022, 4, 7, 8, 27);
+        // It already is morning
+        assertEquals(morning, InstanceState.getNextPhaseStart(DayPhase.MORNING, morning));
+        // The day starts later today
+        assertEquals(LocalDateTime.of(2022, 4, 7, 8, 30), InstanceState.getNextPhaseStart(DayPhase.DAY, morning));
+        assertEquals(LocalDateTime.of(2022, 4, 7, 20, 5), InstanceState.getNextPhaseStart(DayPhase.EVENING, morning));
+        // The night has passed, so it starts tomorrow
+        assertEquals(LocalDateTime.of(2022, 4, 8, 0, 0), InstanceState.getNextPhaseStart(DayPhase.NIGHT, morning));
+        assertEquals(LocalDateTime.of(2022, 4, 8, 8, 25),
+                InstanceState.getNextPhaseStart(DayPhase.MORNING, LocalDateTime.of(2022, 4, 7, 8, 30)));
+    }
+
+    /** @utp.description Tests whether only started instances get a timer. */
+    @Test
+    public void scheduleTest() {
+        try {
+            runner.schedule(iid);
+            assertFalse(runner.isScheduled(iid), "A lobby should not be scheduled.");
+
+            InstanceManager.getInstanceManager().getInstance(iid).startGame(gamemaster);
+            runner.schedule(iid);
+            assertTrue(runner.isScheduled(iid));
+
+            runner.cancel(iid);
+            assertFalse(runner.isScheduled(iid));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether a timer only moves the instance if it is still in the expected phase. */
+    @Test
+    public void advanceIfDueTest() {
+        try {
+            InstanceManager.getInstanceManager().getInstance(iid).startGame(gamemaster);
+            DayPhase phase = InstanceDB.getInstanceRecord(iid).dayPhase();
+
+            // The instance has already been moved by someone else
+            runner.advanceIfDue(iid, phase.previous());
+            assertEquals(phase, InstanceDB.getInstanceRecord(iid).dayPhase());
+            assertTrue(runner.isScheduled(iid), "The timer should have been renewed.");
+
+            runner.advanceIfDue(iid, phase);
+            assertEquals(phase.next(), InstanceDB.getInstanceRecord(iid).dayPhase());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether an instance can be moved to the next phase on the worker threads. */
+    @Test
+    public void advanceTest() {
+        try {
+            InstanceManager.getInstanceManager().getInstance(iid).startGame(gamemaster);
+            DayPhase phase = InstanceDB.getInstanceRecord(iid).dayPhase();
+
+            runner.advance(iid).get(30, TimeUnit.SECONDS);
+            assertEquals(phase.next(), InstanceDB.getInstanceRecord(iid).dayPhase());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether the instances that are due at the same time share a boundary. */
+    @Test
+    public void shareBoundaryTest() {
+        int other = -1;
+        try {
+            InstanceManager.getInstanceManager().getInstance(iid).startGame(gamemaster);
+            int otherMaster = UserDB.createUser("InstanceRunnerTest", "otherGM", "otherGM");
+            other = new User(otherMaster).createGame("InstanceRunnerTest", 2);
+            for (int i = 2; i <= 12; i++) {
+                int uid = UserDB.createUser("InstanceRunnerTest", "other" + i, "other" + i);
+                new User(uid).joinGame(other);
+            }
+            InstanceManager.getInstanceManager().getInstance(other).startGame(otherMaster);
+
+            runner.schedule(iid);
+            runner.schedule(other);
+            assertNotNull(runner.getBoundary(iid));
+            assertEquals(runner.getBoundary(iid), runner.getBoundary(other));
+
+            runner.cancel(iid);
+            assertNull(runner.getBoundary(iid));
+            assertTrue(runner.isScheduled(other), "Cancelling an instance should keep the others of its boundary.");
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        } finally {
+            runner.cancel(other);
+        }
+    }
+
+    /** @utp.description Tests whether reaching a boundary moves its instances and records the metrics. */
+    @Test
+    public void runBoundaryTest() {
+        try {
+            InstanceManager.getInstanceManager().getInstance(iid).startGame(gamemaster);
+            DayPhase phase = InstanceDB.getInstanceRecord(iid).dayPhase();
+            runner.schedule(iid);
+            LocalDateTime boundary = runner.getBoundary(iid);
+
+            runner.runBoundary(boundary);
+            BoundaryMetrics metrics = null;
+            for (int i = 0; i < 300 && metrics == null; i++) {
+                Thread.sleep(100);
+                metrics = runner.getBoundaryMetrics().stream()
+                        .filter(boundaryMetrics -> boundaryMetrics.boundary().equals(boundary))
+                        .findFirst().orElse(null);
+            }
+
+            assertNotNull(metrics, "The metrics of the boundary should have been recorded.");
+            assertEquals(phase.next(), InstanceDB.getInstanceRecord(iid).dayPhase());
+            assertEquals(0, metrics.failed());
+            assertTrue(metrics.games() >= 1);
+            assertNotNull(runner.getLag(iid));
+            assertTrue(metrics.maxLagMillis() >= runner.getLag(iid));
+            assertNotEquals(boundary, runner.getBoundary(iid), "The instance should wait for the next boundary.");
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.lukos.database.util.LocationHelper;
 import org.lukos.model.GameTest;
 import org.lukos.model.exceptions.GameException;
 import org.lukos.model.exceptions.NoPermissionException;
+import org.lukos.model.exceptions.instances.GameAlreadyStartedException;
 import org.lukos.model.exceptions.instances.NotEnoughPlayersException;
 import org.lukos.model.exceptions.instances.NotEnoughRolesException;
 import org.lukos.model.exceptions.instances.TooManyPlayersException;
@@ -474,7 +475,7 @@ public class InstanceTest extends GameTest {
                     p -> {
                         try {
                             return p.getJobs().stream().anyMatch(job -> job instanceof AlphaWolf);
-                        } catch (SQLException | ReflectiveOperationException e) {
+                        } catch (SQLException e) {
                             e.printStackTrace();
                         }
                         return false;
@@ -600,6 +601,58 @@ public class InstanceTest extends GameTest {
         }
     }
 
+    /**
+     * @utp.description Tests whether the game is started with the role division chosen by the gamemaster, the default
+     * role division not being defined for less than 12 players.
+     */
+    @Test
+    public void roleDivisionTest() {
+        try {
+            assertEquals(RoleDivisionConfig.CONFIGURED, i.getRoleDivision());
+            i.setRoleDivision(gamemasterUserId, RoleDivisionConfig.DEFAULT);
+            assertEquals(RoleDivisionConfig.DEFAULT, i.getRoleDivision());
+            i.removePlayer(i.getPlayerList().get(1));
+
+            i.startGame(gamemasterUserId);
+            fail("Should have thrown an exception.");
+        } catch (NotEnoughRolesException e) {
+            assertTrue(true);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether changing the role division without permission is handled properly.
+     */
+    @Test
+    public void roleDivisionPermissionTest() {
+        try {
+            i.setRoleDivision(1234567, RoleDivisionConfig.DEFAULT);
+            fail("Should have thrown an exception.");
+        } catch (NoPermissionException e) {
+            assertTrue(true);
+        } catch (SQLException | GameException e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether changing the role division of a started game is handled properly.
+     */
+    @Test
+    public void roleDivisionStartedTest() {
+        startGame();
+        try {
+            i.setRoleDivision(gamemasterUserId, RoleDivisionConfig.DEFAULT);
+            fail("Should have thrown an exception.");
+        } catch (GameAlreadyStartedException e) {
+            assertTrue(true);
+        } catch (SQLException | GameException e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
     /**
      * @utp.description Tests whether the phase is shifted correctly.
      */
@@ -624,6 +677,26 @@ public class InstanceTest extends GameTest {
         }
     }
 
+    /**
+     * @utp.description Tests whether the phase is not shifted when the instance is no longer in the expected phase.
+     */
+    @Test
+    public void nextPhaseExpectedTest() {
+        try {
+            startGame();
+
+            i.getInstanceState().setPhase(DayPhase.VOTE);
+            i.getInstanceState().setDay(1);
+
+            assertFalse(i.nextPhase(DayPhase.DAY));
+            assertEquals(DayPhase.VOTE, i.getInstanceState().getPhase());
+            assertTrue(i.nextPhase(DayPhase.VOTE));
+            assertEquals(DayPhase.EXECUTION, i.getInstanceState().getPhase());
+        } catch (SQLException | GameException | ReflectiveOperationException e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
     /**
      * @utp.description Tests whether a vote is created and ended based on the phase change.
      */
@@ -0,0 +1,129 @@
+package org.lukos.model.instances;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.Transaction;
+import org.lukos.model.GameTest;
+import org.lukos.model.events.LobbyEvent;
+import org.lukos.model.listeners.LobbyListener;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.User;
+import org.lukos.model.user.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link LobbyDirectory}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class LobbyDirectoryTest extends GameTest {
+
+    private final List<LobbyEntry> changes = new ArrayList<>();
+    private final LobbyListener listener = (gid, lobby) -> changes.add(lobby);
+
+    private User gameMaster;
+    private User joiner;
+    private int iid;
+
+    @BeforeEach
+    public void setUp() {
+        LobbyEvent.getLobbyEvent().subscribe(listener);
+        try {
+            String issuer = this.getClass().getName();
+            this.gameMaster = UserManager.getInstance().createUser(new IssuerSub(issuer, "master"), "Master");
+            this.joiner = UserManager.getInstance().createUser(new IssuerSub(issuer, "joiner"), "Joiner");
+            this.iid = gameMaster.createGame("LobbyDirectoryTest", 1);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        LobbyEvent.getLobbyEvent().unsubscribe(listener);
+    }
+
+    /** @utp.description Tests whether joining and leaving a game updates and publishes its lobby information. */
+    @Test
+    public void joinLeaveTest() {
+        try {
+            assertEquals(new LobbyEntry(iid, "LobbyDirectoryTest", gameMaster.getUid(), 1, false), find(iid));
+
+            changes.clear();
+            joiner.joinGame(iid);
+            LobbyEntry joined = new LobbyEntry(iid, "LobbyDirectoryTest", gameMaster.getUid(), 2, false);
+            assertEquals(joined, find(iid));
+            assertEquals(List.of(joined), changes);
+
+            joiner.leaveGame(iid);
+            assertEquals(1, find(iid).players());
+
+            InstanceManager.getInstanceManager().getInstance(iid).stopGame();
+            assertNull(find(iid));
+            assertNull(changes.get(changes.size() - 1));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether changes that are rolled back are not applied, nor published. */
+    @Test
+    public void rollbackTest() {
+        try {
+            find(iid);
+            changes.clear();
+            try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+                joiner.joinGame(iid);
+            }
+            assertEquals(1, find(iid).players());
+            assertTrue(changes.isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether the list of lobbies is filtered on name and started flag, and paginated. */
+    @Test
+    public void filterPageTest() {
+        try {
+            joiner.createGame("OtherLobby", 1);
+            LobbyDirectory directory = LobbyDirectory.getInstance();
+
+            LobbyPage page = directory.getLobbies("lobbydirectory", false, 0, 100);
+            assertTrue(page.lobbies().stream().allMatch(lobby -> lobby.name().equals("LobbyDirectoryTest")));
+            assertTrue(page.total() >= 1);
+            assertTrue(directory.getLobbies("LobbyDirectoryTest", true, 0, 100).lobbies().isEmpty());
+
+            LobbyPage all = directory.getLobbies(null, null, 0, 100);
+            assertTrue(all.total() >= 2);
+            LobbyPage second = directory.getLobbies(null, null, 1, 1);
+            assertEquals(List.of(all.lobbies().get(1)), second.lobbies());
+            assertEquals(all.total(), second.total());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    private LobbyEntry find(int instanceID) throws Exception {
+        // Games of earlier test cases are removed from the database directly, so go through all pages
+        for (int page = 0; ; page++) {
+            List<LobbyEntry> lobbies =
+                    LobbyDirectory.getInstance().getLobbies(null, null, page, LobbyDirectory.MAX_PAGE_SIZE).lobbies();
+            if (lobbies.isEmpty()) {
+                return null;
+            }
+            for (LobbyEntry lobby : lobbies) {
+                if (lobby.instanceID() == instanceID) {
+                    return lobby;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.lukos.model.instances.util;
+
+import org.lukos.model.instances.IInstance;
+import org.lukos.model.instances.InstanceManager;
+import org.lukos.model.instances.RoleDivisionConfig;
+import org.lukos.model.rolesystem.Job;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.User;
+import org.lukos.model.user.UserManager;
+import org.lukos.model.user.player.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares assigning the roles at the start of a game and replenishing the actions every evening player by player,
+ * which is how this was done before, with {@link GeneralInstanceHelper#assignRoles(long, ArrayList,
+ * RoleDivisionConfig)} and {@link GeneralInstanceHelper#replenishActions(ArrayList, int)}, which read and write the
+ * roles and items of all players at once.
+ * <p>
+ * This is not a unit test, run it with the {@link #main(String[])} method after compiling the test sources. It needs
+ * the same database as the tests, and leaves a started game behind for every trial.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhaseSetupBenchmark {
+
+    private static final long SEED = 1234;
+
+    @Param({"12", "25", "50"})
+    public int players;
+
+    private ArrayList<Player> playerList;
+    /** The main role of every player, as assigned by the role division */
+    private List<MainRole> mainRoles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String issuer = "PhaseSetupBenchmark" + System.nanoTime();
+        User gameMaster = UserManager.getInstance().createUser(new IssuerSub(issuer, "gm"), "gm");
+        int iid = gameMaster.createGame("PhaseSetupBenchmark", (int) SEED);
+        for (int i = 1; i < players; i++) {
+            UserManager.getInstance().createUser(new IssuerSub(issuer, "player" + i), "player" + i).joinGame(iid);
+        }
+        IInstance instance = InstanceManager.getInstanceManager().getInstance(iid);
+        instance.startGame(gameMaster.getUid());
+
+        playerList = new ArrayList<>(instance.getPlayerList());
+        mainRoles = new ArrayList<>();
+        for (Player player : playerList) {
+            mainRoles.add(player.getMainRole());
+        }
+    }
+
+    @Benchmark
+    public void assignRolesPerPlayer() throws Exception {
+        for (int i = 0; i < playerList.size(); i++) {
+            Player player = playerList.get(i);
+            player.setMainRole(mainRoles.get(i));
+            player.getMainRole().initializeActions(player.getPlayerIdentifier());
+        }
+    }
+
+    @Benchmark
+    public void assignRolesBulk() throws Exception {
+        GeneralInstanceHelper.assignRoles(SEED, playerList, RoleDivisionConfig.CONFIGURED);
+    }
+
+    @Benchmark
+    public void replenishPerPlayer() throws Exception {
+        for (Player player : playerList) {
+            player.getMainRole().replenishAction(1, player.getPlayerIdentifier());
+            for (Job job : player.getJobs()) {
+                job.replenishAction(1, player.getPlayerIdentifier());
+            }
+        }
+    }
+
+    @Benchmark
+    public void replenishBulk() throws Exception {
+        GeneralInstanceHelper.replenishActions(playerList, 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PhaseSetupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package org.lukos.model.instances.util;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.model.instances.RoleDivisionConfig;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@code RoleDivisionTable} and {@code RoleDivisionTables}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class RoleDivisionTablesTest {
+
+    /** The headers of a role assignment file. */
+    private static final String HEADER = String.join(",", RoleDivisionTable.HEADER) + "\n";
+
+    /** @utp.description Tests whether both role divisions are loaded from the classpath. */
+    @Test
+    public void classpathTest() {
+        RoleDivisionTables tables = RoleDivisionTables.getInstance();
+        RoleDivisionTable configured = tables.getTable(RoleDivisionConfig.CONFIGURED);
+        RoleDivisionTable defaults = tables.getTable(RoleDivisionConfig.DEFAULT);
+
+        assertArrayEquals(new int[]{1, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0}, configured.getDivision(2));
+        assertNotNull(configured.getDivision(50));
+        assertNull(configured.getDivision(1));
+        assertNull(configured.getDivision(51));
+        assertTrue(configured.getInvalidPlayerCounts().isEmpty());
+
+        assertArrayEquals(new int[]{2, 1, 0, 0, 2, 5, 2, 0, 0, 0, 0, 0, 0}, defaults.getDivision(12));
+        assertNull(defaults.getDivision(11));
+        for (int players = 2; players <= 50; players++) {
+            int[] division = configured.getDivision(players);
+            assertEquals(players, RoleDivisionTable.countRoles(division), "Players: " + players);
+        }
+    }
+
+    /** @utp.description Tests whether the division read for a number of players is a copy of the table. */
+    @Test
+    public void readDivisionTest() {
+        int[] division = RoleDivisionReader.readDivision(RoleDivisionConfig.CONFIGURED, 12);
+        division[0] = 100;
+        assertNotEquals(100, RoleDivisionReader.readDivision(12)[0]);
+        assertEquals(0, RoleDivisionReader.readDivision(RoleDivisionConfig.DEFAULT, 3).length);
+    }
+
+    /** @utp.description Tests whether rows that do not add up to the number of players are left out. */
+    @Test
+    public void invalidRowTest() {
+        try {
+            RoleDivisionTable table = RoleDivisionTable.parse("test",
+                    new StringReader(HEADER + "2,1,0,0,0,1,0,0,0,0,0,0,0,0\n3,1,0,0,0,1,0,0,0,0,0,0,0,1\n"));
+            assertNotNull(table.getDivision(2));
+            assertNull(table.getDivision(3));
+            assertEquals(List.of(3), table.getInvalidPlayerCounts());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether malformed files are rejected. */
+    @Test
+    public void malformedTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RoleDivisionTable.parse("test", new StringReader("PLAYERS,WEREWOLF\n2,2\n")));
+        assertThrows(IllegalArgumentException.class, () -> RoleDivisionTable.parse("test", new StringReader(HEADER)));
+        assertThrows(IllegalArgumentException.class, () -> RoleDivisionTable.parse("test",
+                new StringReader(HEADER + "2,1,0,0,0,1,0,0,0,0,0,0,0,0\n4,1,0,0,0,1,1,1,0,0,0,0,0,0\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoleDivisionTable.parse("test", new StringReader(HEADER + "2,1,0,0,0,x,0,0,0,0,0,0,0,0\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoleDivisionTable.parse("test", new StringReader(HEADER + "2,1,0,0,0,1,0,0,0\n")));
+    }
+
+    /** @utp.description Tests whether a changed file in the configured directory replaces its table if it is valid. */
+    @Test
+    public void reloadTest() {
+        try {
+            Path directory = Files.createTempDirectory("roledivision");
+            Path file = directory.resolve(RoleDivisionConfig.DEFAULT.fileName);
+            Files.writeString(file, HEADER + "2,1,0,0,0,1,0,0,0,0,0,0,0,0\n");
+
+            RoleDivisionTables tables = new RoleDivisionTables(directory);
+            assertNotNull(tables.getTable(RoleDivisionConfig.DEFAULT).getDivision(2));
+            assertNotNull(tables.getTable(RoleDivisionConfig.CONFIGURED).getDivision(50));
+
+            Files.writeString(file, HEADER + "3,1,0,0,0,1,1,0,0,0,0,0,0,0\n");
+            assertTrue(tables.reload(RoleDivisionConfig.DEFAULT));
+            assertNull(tables.getTable(RoleDivisionConfig.DEFAULT).getDivision(2));
+            assertNotNull(tables.getTable(RoleDivisionConfig.DEFAULT).getDivision(3));
+
+            Files.writeString(file, "broken");
+            assertFalse(tables.reload(RoleDivisionConfig.DEFAULT));
+            assertNotNull(tables.getTable(RoleDivisionConfig.DEFAULT).getDivision(3));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.lukos.model.rolesystem.util;
+
+import org.lukos.model.actionsystem.Action;
+import org.lukos.model.actionsystem.ActionRegistry;
+import org.lukos.model.rolesystem.MainRole;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares restoring a {@code Purpose} or {@code Action} from its stored name using reflection, which is how this was
+ * done before, with the lookup in {@link PurposeRegistry} and {@link ActionRegistry}.
+ * <p>
+ * This is not a unit test, run it with the {@link #main(String[])} method after compiling the test sources.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PurposeRegistryBenchmark {
+
+    @Param({"Clairvoyant", "WerewolfElder"})
+    public String mainRole;
+
+    @Param({"SeeRole"})
+    public String action;
+
+    @Benchmark
+    public MainRole mainRoleReflection() throws ReflectiveOperationException {
+        Class<?> mainRoleClass = Class.forName("org.lukos.model.rolesystem.roles.mainroles." + mainRole);
+        return (MainRole) mainRoleClass.getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    public MainRole mainRoleRegistry() {
+        return PurposeRegistry.createMainRole(mainRole);
+    }
+
+    @Benchmark
+    public Action actionReflection() throws ReflectiveOperationException {
+        Class<?> actionClass = Class.forName("org.lukos.model.actionsystem.actions." + action);
+        return (Action) actionClass.getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    public Action actionRegistry() {
+        return ActionRegistry.createAction(action);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PurposeRegistryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package org.lukos.model.rolesystem.util;
+
+import org.junit.jupiter.api.Test;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.jobs.Mayor;
+import org.lukos.model.rolesystem.roles.MainRoleList;
+import org.lukos.model.rolesystem.roles.doubleroles.Jester;
+import org.lukos.model.rolesystem.roles.mainroles.Executioner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link PurposeRegistry}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class PurposeRegistryTest {
+
+    /** @utp.description Tests whether every role that can be assigned to a player can be restored from its name. */
+    @Test
+    public void createMainRoleListTest() {
+        for (MainRoleList entry : MainRoleList.values()) {
+            String name = entry.role.getClass().getSimpleName();
+            assertEquals(entry.role.getClass(), PurposeRegistry.createMainRole(name).getClass(),
+                    name + " should be restored from its name.");
+        }
+    }
+
+    /** @utp.description Tests whether a new role is created on every lookup, as roles may keep state. */
+    @Test
+    public void createMainRoleNewInstanceTest() {
+        MainRole first = PurposeRegistry.createMainRole("Executioner");
+        assertTrue(first instanceof Executioner);
+        assertNotSame(first, PurposeRegistry.createMainRole("Executioner"));
+    }
+
+    /** @utp.description Tests whether double roles and jobs can be restored from their name. */
+    @Test
+    public void createDoubleRoleAndJobTest() {
+        assertTrue(PurposeRegistry.createDoubleRole("Jester") instanceof Jester);
+        assertTrue(PurposeRegistry.createJob("Mayor") instanceof Mayor);
+    }
+
+    /** @utp.description Tests whether an exception is thrown for names that are not registered. */
+    @Test
+    public void createUnknownTest() {
+        assertThrows(IllegalArgumentException.class, () -> PurposeRegistry.createMainRole("Mayor"));
+        assertThrows(IllegalArgumentException.class, () -> PurposeRegistry.createDoubleRole("Lover"));
+        assertThrows(IllegalArgumentException.class, () -> PurposeRegistry.createJob("Werewolf"));
+    }
+}
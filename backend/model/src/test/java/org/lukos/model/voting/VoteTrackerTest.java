@@ -0,0 +1,146 @@
+package org.lukos.model.voting;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.VoteDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.exceptions.voting.AlreadyVotedException;
+import org.lukos.model.exceptions.voting.VoteClosedException;
+import org.lukos.model.user.IssuerSub;
+import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.user.User;
+import org.lukos.model.user.UserManager;
+import org.lukos.model.user.player.Player;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link VoteTracker}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class VoteTrackerTest extends GameTest {
+
+    private final List<PlayerIdentifier> players = new ArrayList<>();
+    private PlayerVote vote;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            User master = UserManager.getInstance().createUser(new IssuerSub("tracker", "master"), "Master");
+            int gameID = master.createGame("tracker", 1);
+            List<Player> allowed = new ArrayList<>();
+            allowed.add(master.getPlayer());
+            for (int i = 0; i < 3; i++) {
+                User user = UserManager.getInstance().createUser(new IssuerSub("tracker", "user" + i), "User" + i);
+                user.joinGame(gameID);
+                allowed.add(user.getPlayer());
+            }
+            allowed.forEach(player -> players.add(player.getPlayerIdentifier()));
+
+            this.vote = new PlayerVote(gameID, VoteType.MISC, allowed);
+            this.vote.start();
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether the live tally is updated with every ballot and matches the stored ballots. */
+    @Test
+    public void liveTallyTest() {
+        try {
+            PlayerIdentifier target = players.get(1);
+            vote.submitVote(players.get(0), new Ballot(players.get(0), target));
+            assertEquals(Map.of(target, 1), vote.getTally());
+
+            vote.submitVote(players.get(2), new Ballot(players.get(2), target));
+            vote.submitVote(players.get(1), new Ballot(players.get(1), players.get(3)));
+            Map<PlayerIdentifier, Integer> expected = Map.of(target, 2, players.get(3), 1);
+            assertEquals(expected, vote.getTally());
+
+            // The tally read from the database is the same as the one kept in memory
+            List<Ballot> ballots = vote.getBallots();
+            VoteTracker.getInstance().evict(vote.getVid());
+            assertEquals(expected, vote.getTally());
+            assertEquals(new HashSet<>(ballots), new HashSet<>(vote.getBallots()));
+
+            assertEquals(expected, vote.end());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether a second ballot of a player is rejected without being stored. */
+    @Test
+    public void alreadyVotedTest() {
+        try {
+            vote.submitVote(players.get(0), new Ballot(players.get(0), players.get(1)));
+            assertThrows(AlreadyVotedException.class,
+                    () -> vote.submitVote(players.get(0), new Ballot(players.get(0), players.get(2))));
+
+            int stored = 0;
+            ResultSet ballots = VoteDB.getAllBallotsOfVote(vote.getVid());
+            while (ballots.next()) {
+                stored++;
+            }
+            assertEquals(1, stored);
+            assertEquals(Map.of(players.get(1), 1), vote.getTally());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether ballots are rejected once the vote has ended. */
+    @Test
+    public void endedTest() {
+        try {
+            assertNull(vote.end());
+            assertThrows(VoteClosedException.class,
+                    () -> vote.submitVote(players.get(0), new Ballot(players.get(0), players.get(1))));
+            assertTrue(vote.getTally().isEmpty());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether ballots stored through another node are taken into account. */
+    @Test
+    public void otherNodeBallotTest() {
+        try {
+            assertTrue(vote.getTally().isEmpty());
+            // Stored through another node, so not known to the tally in memory
+            VoteDB.addBallot(players.get(0).userID(), players.get(0).instanceID(), vote.getVid(),
+                    players.get(1).userID());
+
+            assertThrows(AlreadyVotedException.class,
+                    () -> vote.submitVote(players.get(0), new Ballot(players.get(0), players.get(2))));
+            vote.submitVote(players.get(2), new Ballot(players.get(2), players.get(1)));
+            assertEquals(Map.of(players.get(1), 2), vote.end());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether ballots are rejected once the vote has ended through another node. */
+    @Test
+    public void otherNodeEndedTest() {
+        try {
+            assertTrue(vote.getTally().isEmpty());
+            // Ended through another node, so not known to the tally in memory
+            VoteDB.modifyEnded(vote.getVid(), true);
+
+            assertThrows(VoteClosedException.class,
+                    () -> vote.submitVote(players.get(0), new Ballot(players.get(0), players.get(1))));
+            assertFalse(VoteDB.getAllBallotsOfVote(vote.getVid()).next());
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
@@ -262,6 +262,26 @@ public abstract class WinHandlerTest extends GameTest {
         }
     }
 
+    /**
+     * @utp.description Tests whether {@code checkWin()} gives the same {@code Group} for the {@code Group}s of the
+     * players as for the players themselves, and passes the request along the chain.
+     */
+    @Test
+    public void checkWinGroupsTest() {
+        try {
+            List<Player> players = new ArrayList<>();
+            Player player = new PlayerImpl(1, 1);
+            player.setMainRole(new Townsperson());
+            players.add(player);
+
+            WinHandler handler = createNewInstance(new WinTownspeople());
+            assertEquals(Group.TOWNSPEOPLE, handler.checkWin(WinHandler.listGroups(players)));
+            assertEquals(handler.checkWin(players), handler.checkWin(WinHandler.listGroups(players)));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
     // Implementation of Player for testing purposes
     private static class PlayerImpl extends Player {
         private MainRole mainRole;
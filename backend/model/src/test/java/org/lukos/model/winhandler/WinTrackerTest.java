@@ -0,0 +1,147 @@
+package org.lukos.model.winhandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lukos.database.DatabaseConnection;
+import org.lukos.database.InstanceDB;
+import org.lukos.database.PlayerDB;
+import org.lukos.database.Transaction;
+import org.lukos.database.UserDB;
+import org.lukos.model.GameTest;
+import org.lukos.model.instances.util.GeneralInstanceHelper;
+import org.lukos.model.instances.InstanceState;
+import org.lukos.model.rolesystem.DoubleRole;
+import org.lukos.model.rolesystem.Group;
+import org.lukos.model.rolesystem.MainRole;
+import org.lukos.model.rolesystem.roles.doubleroles.Follower;
+import org.lukos.model.rolesystem.roles.doubleroles.Jester;
+import org.lukos.model.rolesystem.roles.doubleroles.WolfCub;
+import org.lukos.model.rolesystem.roles.mainroles.*;
+import org.lukos.model.user.PlayerIdentifier;
+import org.lukos.model.user.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for {@link WinTracker}.
+ *
+ * @author agent
+ * @since 18-10-2026
+ */
+public class WinTrackerTest extends GameTest {
+
+    private static final List<Supplier<MainRole>> MAIN_ROLES =
+            List.of(Townsperson::new, Clairvoyant::new, Werewolf::new, WerewolfElder::new, Arsonist::new,
+                    Hitman::new, CultLeader::new);
+    private static final List<Supplier<DoubleRole>> DOUBLE_ROLES = List.of(Follower::new, Jester::new, WolfCub::new);
+
+    private final List<Player> players = new ArrayList<>();
+    private int instanceID;
+    private InstanceState state;
+
+    @BeforeEach
+    public void setUp() {
+        try {
+            int gameMaster = UserDB.createUser(this.getClass().getName(), "tracker0", "testUser");
+            this.instanceID = InstanceDB.addNewInstance(gameMaster, "Tracker", 8);
+            for (int i = 0; i < 8; i++) {
+                int userID = i == 0 ? gameMaster :
+                             UserDB.createUser(this.getClass().getName(), "tracker" + i, "testUser");
+                PlayerIdentifier player = new PlayerIdentifier(instanceID, userID);
+                PlayerDB.addNewPlayer(player);
+                players.add(new Player(player));
+            }
+            InstanceDB.initializeInstanceState(instanceID);
+            this.state = new InstanceState(instanceID);
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /**
+     * @utp.description Tests whether the tracker finds the same winner as the chain of win handlers, while players are
+     * randomly killed, revived and given new roles.
+     */
+    @Test
+    public void randomizedCrossCheckTest() {
+        WinHandler handler = new WinWolves(new WinTownspeople());
+        Random random = new Random(2022);
+        try {
+            for (Player player : players) {
+                player.setMainRole(MAIN_ROLES.get(random.nextInt(MAIN_ROLES.size())).get());
+            }
+
+            for (int step = 0; step < 200; step++) {
+                Player player = players.get(random.nextInt(players.size()));
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        if (player.alive()) {
+                            state.killPlayer(player);
+                        }
+                    }
+                    case 1 -> state.setAlive(List.of(player));
+                    case 2 -> player.setMainRole(MAIN_ROLES.get(random.nextInt(MAIN_ROLES.size())).get());
+                    default -> {
+                        if (random.nextInt(4) == 0) {
+                            player.addDoubleRole(DOUBLE_ROLES.get(random.nextInt(DOUBLE_ROLES.size())).get());
+                        }
+                    }
+                }
+
+                List<Player> alive = InstanceDB.getAlivePlayers(instanceID).stream().map(Player::new).toList();
+                assertEquals(WinHandler.listGroups(alive), WinTracker.getInstance().getAliveGroups(instanceID),
+                        "Groups differ at step " + step);
+                assertEquals(handler.checkWin(alive), WinTracker.getInstance().checkWin(instanceID, handler),
+                        "Winner differs at step " + step);
+            }
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether changes that are rolled back are discarded by the tracker. */
+    @Test
+    public void rollbackTest() {
+        try {
+            for (Player player : players) {
+                player.setMainRole(new Townsperson());
+            }
+            players.get(0).setMainRole(new Werewolf());
+            assertNull(WinTracker.getInstance().checkWin(instanceID, new WinWolves(new WinTownspeople())));
+
+            try (Transaction ignored = DatabaseConnection.getInstance().beginTransaction()) {
+                state.killPlayer(players.get(0));
+                assertEquals(Set.of(Group.TOWNSPEOPLE), WinTracker.getInstance().getAliveGroups(instanceID));
+            }
+
+            assertEquals(Set.of(Group.WEREWOLVES, Group.TOWNSPEOPLE),
+                    WinTracker.getInstance().getAliveGroups(instanceID));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+
+    /** @utp.description Tests whether the main roles assigned to all players at once are taken into account by the tracker. */
+    @Test
+    public void assignRolesTest() {
+        try {
+            for (Player player : players) {
+                player.setMainRole(new Townsperson());
+            }
+            assertEquals(Set.of(Group.TOWNSPEOPLE), WinTracker.getInstance().getAliveGroups(instanceID));
+
+            GeneralInstanceHelper.assignRoles(2022, new ArrayList<>(players));
+            List<Player> alive = InstanceDB.getAlivePlayers(instanceID).stream().map(Player::new).toList();
+            assertNotEquals(Set.of(Group.TOWNSPEOPLE), WinHandler.listGroups(alive));
+            assertEquals(WinHandler.listGroups(alive), WinTracker.getInstance().getAliveGroups(instanceID));
+        } catch (Exception e) {
+            fail("Unexpected exception thrown: " + e);
+        }
+    }
+}
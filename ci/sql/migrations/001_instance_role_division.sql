@@ -0,0 +1,5 @@
+-- Adds the role division a game is started with to existing databases.
+-- New databases created from mysql_init.sql already contain this column.
+
+ALTER TABLE `Instance`
+  ADD COLUMN `roleDivision` enum('CONFIGURED','DEFAULT') NOT NULL DEFAULT 'CONFIGURED' AFTER `seed`;
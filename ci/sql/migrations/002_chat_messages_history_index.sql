@@ -0,0 +1,8 @@
+-- Indexes the messages of a chat on their ID, used as cursor when paging through the history, and on the time they
+-- were sent, used by the history that is limited by time.
+-- New databases created from mysql_init.sql already contain these indexes.
+
+ALTER TABLE `ChatMessages`
+  DROP KEY `chatID`,
+  ADD KEY `chatID` (`chatID`,`messageID`),
+  ADD KEY `chatID_timeSent` (`chatID`,`timeSent`);
@@ -0,0 +1,27 @@
+-- Moves the players that are allowed to take part in a vote from the JSON column `InstanceVotes`.`allowed` to a
+-- table with a row per player, such that checking whether a player is allowed to vote is an index lookup.
+-- New databases created from mysql_init.sql already contain this table, and lack the JSON column.
+
+CREATE TABLE `VoteEligibility` (
+  `voteID` int NOT NULL,
+  `userID` int NOT NULL,
+  `instanceID` int NOT NULL,
+  PRIMARY KEY (`voteID`,`userID`),
+  KEY `userID` (`userID`),
+  CONSTRAINT `VoteEligibility_ibfk_1` FOREIGN KEY (`voteID`) REFERENCES `InstanceVotes` (`voteID`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `VoteEligibility_ibfk_2` FOREIGN KEY (`userID`) REFERENCES `Users` (`userID`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Players of users that have since been deleted are skipped
+INSERT IGNORE INTO `VoteEligibility` (`voteID`, `userID`, `instanceID`)
+SELECT `InstanceVotes`.`voteID`, `allowed`.`userID`, `allowed`.`instanceID`
+FROM `InstanceVotes`,
+     JSON_TABLE(`InstanceVotes`.`allowed`, '$[*]' COLUMNS (
+         `userID` int PATH '$.userID',
+         `instanceID` int PATH '$.instanceID'
+     )) AS `allowed`
+WHERE `InstanceVotes`.`allowed` IS NOT NULL
+  AND EXISTS (SELECT 1 FROM `Users` WHERE `Users`.`userID` = `allowed`.`userID`);
+
+ALTER TABLE `InstanceVotes`
+  DROP COLUMN `allowed`;
@@ -0,0 +1,21 @@
+-- Stores the number of units a player has of every item in a single row of `PlayerItems`, instead of a row per unit,
+-- such that items can be counted, used and replenished with a single statement.
+-- New databases created from mysql_init.sql already have the new layout.
+
+CREATE TEMPORARY TABLE `PlayerItemAmounts` AS
+SELECT `userID`, `instanceID`, `item`, COUNT(*) AS `amount`
+FROM `PlayerItems`
+GROUP BY `userID`, `instanceID`, `item`;
+
+DELETE FROM `PlayerItems`;
+
+ALTER TABLE `PlayerItems`
+  DROP COLUMN `itemID`,
+  ADD COLUMN `amount` int NOT NULL DEFAULT '0',
+  ADD PRIMARY KEY (`instanceID`,`userID`,`item`);
+
+INSERT INTO `PlayerItems` (`userID`, `instanceID`, `item`, `amount`)
+SELECT `userID`, `instanceID`, `item`, `amount`
+FROM `PlayerItemAmounts`;
+
+DROP TEMPORARY TABLE `PlayerItemAmounts`;
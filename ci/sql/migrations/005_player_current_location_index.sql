@@ -0,0 +1,6 @@
+-- Indexes the players on the location they are currently at, covering the lookup of who is at a location when the
+-- locations of an instance are not kept in memory by the server.
+-- New databases created from mysql_init.sql already contain this index.
+
+ALTER TABLE `Players`
+  ADD KEY `currentLocation` (`currentLocation`,`instanceID`,`userID`);
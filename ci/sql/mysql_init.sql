@@ -162,7 +162,8 @@ CREATE TABLE `Instance` (
   `dayPhase` enum('MORNING','DAY','VOTE','EXECUTION','EVENING','NIGHT') DEFAULT NULL,
   `gameMasterID` int NOT NULL,
   `undecidedLynches` int DEFAULT '0',
-  `seed` int NOT NULL
+  `seed` int NOT NULL,
+  `roleDivision` enum('CONFIGURED','DEFAULT') NOT NULL DEFAULT 'CONFIGURED'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- --------------------------------------------------------
@@ -176,8 +177,7 @@ CREATE TABLE `InstanceVotes` (
   `instanceID` int NOT NULL,
   `voteType` enum('LYNCH','MAYOR','ALPHA_WOLF','MISC') NOT NULL,
   `started` tinyint(1) DEFAULT NULL,
-  `ended` tinyint(1) DEFAULT NULL,
-  `allowed` json DEFAULT NULL
+  `ended` tinyint(1) DEFAULT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- --------------------------------------------------------
@@ -198,10 +198,10 @@ CREATE TABLE `Location` (
 --
 
 CREATE TABLE `PlayerItems` (
-  `itemID` int NOT NULL,
   `userID` int NOT NULL,
   `instanceID` int NOT NULL,
-  `item` varchar(100) NOT NULL
+  `item` varchar(100) NOT NULL,
+  `amount` int NOT NULL DEFAULT '0'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- --------------------------------------------------------
@@ -295,6 +295,18 @@ CREATE TABLE `UserStats` (
   `wins` int NOT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `VoteEligibility`
+--
+
+CREATE TABLE `VoteEligibility` (
+  `voteID` int NOT NULL,
+  `userID` int NOT NULL,
+  `instanceID` int NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
 --
 -- Indexes for dumped tables
 --
@@ -369,7 +381,8 @@ ALTER TABLE `ChatMembers`
 ALTER TABLE `ChatMessages`
   ADD PRIMARY KEY (`messageID`) USING BTREE,
   ADD KEY `userID` (`userID`,`timeSent`,`chatID`) USING BTREE,
-  ADD KEY `chatID` (`chatID`);
+  ADD KEY `chatID` (`chatID`,`messageID`),
+  ADD KEY `chatID_timeSent` (`chatID`,`timeSent`);
 
 --
 -- Indexes for table `Instance`
@@ -395,7 +408,7 @@ ALTER TABLE `Location`
 -- Indexes for table `PlayerItems`
 --
 ALTER TABLE `PlayerItems`
-  ADD PRIMARY KEY (`itemID`) USING BTREE,
+  ADD PRIMARY KEY (`instanceID`,`userID`,`item`),
   ADD KEY `userID` (`userID`),
   ADD KEY `instanceID` (`instanceID`);
 
@@ -405,7 +418,8 @@ ALTER TABLE `PlayerItems`
 ALTER TABLE `Players`
   ADD PRIMARY KEY (`instanceID`,`userID`),
   ADD KEY `userID` (`userID`),
-  ADD KEY `houseID` (`houseID`);
+  ADD KEY `houseID` (`houseID`),
+  ADD KEY `currentLocation` (`currentLocation`,`instanceID`,`userID`);
 
 --
 -- Indexes for table `Roles`
@@ -440,6 +454,13 @@ ALTER TABLE `UserStats`
   ADD PRIMARY KEY (`purpose`,`userID`),
   ADD KEY `userID` (`userID`);
 
+--
+-- Indexes for table `VoteEligibility`
+--
+ALTER TABLE `VoteEligibility`
+  ADD PRIMARY KEY (`voteID`,`userID`),
+  ADD KEY `userID` (`userID`);
+
 --
 -- AUTO_INCREMENT for dumped tables
 --
@@ -486,12 +507,6 @@ ALTER TABLE `InstanceVotes`
 ALTER TABLE `Location`
   MODIFY `locationID` int NOT NULL AUTO_INCREMENT;
 
---
--- AUTO_INCREMENT for table `PlayerItems`
---
-ALTER TABLE `PlayerItems`
-  MODIFY `itemID` int NOT NULL AUTO_INCREMENT;
-
 --
 -- AUTO_INCREMENT for table `Users`
 --
@@ -617,6 +632,13 @@ ALTER TABLE `TiedPlayers`
 --
 ALTER TABLE `UserStats`
   ADD CONSTRAINT `UserStats_ibfk_1` FOREIGN KEY (`userID`) REFERENCES `Users` (`userID`) ON DELETE CASCADE ON UPDATE CASCADE;
+
+--
+-- Constraints for table `VoteEligibility`
+--
+ALTER TABLE `VoteEligibility`
+  ADD CONSTRAINT `VoteEligibility_ibfk_1` FOREIGN KEY (`voteID`) REFERENCES `InstanceVotes` (`voteID`) ON DELETE CASCADE ON UPDATE CASCADE,
+  ADD CONSTRAINT `VoteEligibility_ibfk_2` FOREIGN KEY (`userID`) REFERENCES `Users` (`userID`) ON DELETE CASCADE ON UPDATE CASCADE;
 COMMIT;
 
 /*!40101 SET CHARACTER_SET_CLIENT=@OLD_CHARACTER_SET_CLIENT */;